@@ -51,7 +51,7 @@ struct RClientMetrics
 {   
    RClientMetrics() 
       : consoleWidth(0), buildConsoleWidth(0), graphicsWidth(0),
-        graphicsHeight(0), devicePixelRatio(1.0)
+        graphicsHeight(0), devicePixelRatio(1.0), deferGraphicsResize(false)
    {
    }
    int consoleWidth;
@@ -59,6 +59,10 @@ struct RClientMetrics
    int graphicsWidth;
    int graphicsHeight;
    double devicePixelRatio;
+
+   // resize the graphics device when it is next used, rather than replaying
+   // the current plot now (the client already has it at this size)
+   bool deferGraphicsResize;
 };
    
 struct ROptions
@@ -80,7 +80,10 @@ void set(const RClientMetrics& metrics)
       height = std::min(height, 10000);
 
       // set device size
-      graphics::device::setSize(width, height, metrics.devicePixelRatio);
+      graphics::device::setSize(width,
+                                height,
+                                metrics.devicePixelRatio,
+                                metrics.deferGraphicsResize);
    }
 }
       
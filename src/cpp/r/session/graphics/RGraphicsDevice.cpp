@@ -86,6 +86,9 @@ DeviceType s_deviceType = DeviceTypeUnknown;
 int s_width = 0;
 int s_height = 0;
 double s_devicePixelRatio = 1.0;
+
+// has the size changed without the device being resized?
+bool s_resizePending = false;
    
 // provide GraphicsDeviceEvents for plot manager
 GraphicsDeviceEvents s_graphicsDeviceEvents;
@@ -376,6 +379,8 @@ void GD_Close(pDevDesc dev)
       s_pGEDevDesc = nullptr;
    }
 
+   s_resizePending = false;
+
    s_graphicsDeviceEvents.onClosed();
 }
    
@@ -543,12 +548,21 @@ void resyncDisplayList()
 
 void resizeGraphicsDevice()
 {
+   s_resizePending = false;
+
    // resync display list
    resyncDisplayList();
 
    // notify listeners of resize
    s_graphicsDeviceEvents.onResized();
 }   
+
+// resize the device if a resize was deferred by setSize
+void syncPendingResize()
+{
+   if (s_resizePending && s_pGEDevDesc != nullptr)
+      resizeGraphicsDevice();
+}
    
 // routine which creates device  
 SEXP rs_createGD()
@@ -776,6 +790,9 @@ Error saveSnapshot(const core::FilePath& snapshotFile,
    Error error = makeActive();
    if (error)
       return error;
+
+   // the image must be written at the current size
+   syncPendingResize();
    
    // save snapshot file
    error = r::exec::RFunction(".rs.saveGraphics",
@@ -794,6 +811,8 @@ Error restoreSnapshot(const core::FilePath& snapshotFile)
    Error error = makeActive();
    if (error)
       return error;
+
+   syncPendingResize();
    
    // restore
    return r::exec::RFunction(".rs.restoreGraphics",
@@ -813,6 +832,9 @@ std::string imageFileExtension()
 
 void onBeforeExecute()
 {
+   // code about to run may draw on the device, so it needs its real size
+   syncPendingResize();
+
    if (s_pGEDevDesc != nullptr)
    {
       DeviceContext* pDC = (DeviceContext*)s_pGEDevDesc->dev->deviceSpecific;
@@ -895,7 +917,10 @@ Error initialize(
 }
 
 
-void setSize(int width, int height, double devicePixelRatio)
+void setSize(int width,
+             int height,
+             double devicePixelRatio,
+             bool deferResize)
 {
    // only set if the values have changed (prevents unnecessary plot 
    // invalidations from occurring)
@@ -905,9 +930,15 @@ void setSize(int width, int height, double devicePixelRatio)
       s_height = height;
       s_devicePixelRatio = devicePixelRatio;
       
-      // if there is a device active sync its size
+      // if there is a device active sync its size (replaying the current
+      // plot), unless that can wait until the device is next used
       if (s_pGEDevDesc != nullptr)
-         resizeGraphicsDevice();
+      {
+         if (deferResize)
+            s_resizePending = true;
+         else
+            resizeGraphicsDevice();
+      }
    }
 }
    
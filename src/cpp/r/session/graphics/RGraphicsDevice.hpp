@@ -40,8 +40,12 @@ core::Error initialize(
           const core::FilePath& graphicsPath,
           const boost::function<bool(double*,double*)>& locatorFunction);
    
-// device size
-void setSize(int width, int height, double devicePixelRatio);
+// device size (if deferResize is set, the device is resized before R next
+// runs code or a plot is saved or restored, rather than straight away)
+void setSize(int width,
+             int height,
+             double devicePixelRatio,
+             bool deferResize = false);
 int getWidth();
 int getHeight();
 double devicePixelRatio();
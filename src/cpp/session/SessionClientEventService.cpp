@@ -50,6 +50,43 @@ bool hasEventIdLessThanOrEqualTo(const json::Value& event, int targetId)
    int eventId = (*eventJSON.find("id")).getValue().getInt();
    return eventId <= targetId;
 }
+
+// Approximate size of a value once written as JSON. This is used to page
+// events out against the client's byte limit, so it skips the work of
+// actually writing them (and ignores escapes and number formatting).
+std::size_t estimateJsonSize(const json::Value& value)
+{
+   switch (value.getType())
+   {
+      case json::Type::STRING:
+         return value.getString().size() + 2;
+
+      case json::Type::OBJECT:
+      {
+         std::size_t size = 2;
+         for (json::Object::Member member : value.getObject())
+            size += member.getName().size() + 4 + estimateJsonSize(member.getValue());
+         return size;
+      }
+
+      case json::Type::ARRAY:
+      {
+         std::size_t size = 2;
+         for (const json::Value& element : value.getArray())
+            size += estimateJsonSize(element) + 1;
+         return size;
+      }
+
+      case json::Type::BOOL:
+         return 5;
+
+      case json::Type::NULL_TYPE:
+         return 4;
+
+      default:
+         return 8;
+   }
+}
          
 } // anonymous namespace
 
@@ -175,11 +212,44 @@ void ClientEventService::addClientEvent(const json::Object& eventObject)
 }
 
 void ClientEventService::setClientEventResult(
-                                       core::json::JsonRpcResponse* pResponse)
+                                       core::json::JsonRpcResponse* pResponse,
+                                       int maxEvents,
+                                       int maxBytes)
 {
    LOCK_MUTEX(mutex_)
    {
-      pResponse->setResult(clientEvents_);
+      // no limits requested; send everything we have
+      if (maxEvents <= 0 && maxBytes <= 0)
+      {
+         pResponse->setResult(clientEvents_);
+         return;
+      }
+
+      // send the oldest events that fit within the client's limits (always
+      // sending at least one). the rest stay in clientEvents_ and go out
+      // on the next request, once the client has acknowledged these
+      json::Array batch;
+      std::size_t batchBytes = 0;
+      for (const json::Value& event : clientEvents_)
+      {
+         if (maxEvents > 0 && batch.getSize() >= static_cast<std::size_t>(maxEvents))
+            break;
+
+         if (maxBytes > 0)
+         {
+            std::size_t eventBytes = estimateJsonSize(event);
+            if (!batch.isEmpty() &&
+                batchBytes + eventBytes > static_cast<std::size_t>(maxBytes))
+            {
+               break;
+            }
+            batchBytes += eventBytes;
+         }
+
+         batch.push_back(event);
+      }
+
+      pResponse->setResult(batch);
    }
    END_LOCK_MUTEX
 }
@@ -275,6 +345,23 @@ void ClientEventService::run()
             ptrConnection->sendJsonRpcError(paramError);
             continue;
          }
+
+         // optional per-response limits (newer clients page large backlogs
+         // rather than receiving them in a single response)
+         int maxEvents = 0;
+         int maxBytes = 0;
+         if (request.params.getSize() > 2)
+         {
+            paramError = json::readParams(request.params,
+                                          &lastClientEventIdSeen,
+                                          &maxEvents,
+                                          &maxBytes);
+            if (paramError)
+            {
+               ptrConnection->sendJsonRpcError(paramError);
+               continue;
+            }
+         }
            
          // remove all events already seen by the client from our internal list
          erasePreviouslyDeliveredEvents(lastClientEventIdSeen);
@@ -288,8 +375,14 @@ void ClientEventService::run()
          // check for events (and wait a specified internal if there are none)
          try
          {
+            // if a paging client still has events left over from the
+            // previous response then send them without batching delay
+            bool pagedBacklog = (maxEvents > 0 || maxBytes > 0) &&
+                                havePendingClientEvents();
+
             // wait for the specified maximum time
-            if (havePendingClientEvents() || clientEventQueue.hasEvents() ||
+            if (pagedBacklog ||
+                havePendingClientEvents() || clientEventQueue.hasEvents() ||
                 clientEventQueue.waitForEvent(maxRequestSec))
             {
                // ...got at least one event
@@ -299,7 +392,8 @@ void ClientEventService::run()
                boost::system_time maxBatchDelayTime = 
                               boost::get_system_time() + maxTotalBatchDelay;
                
-               while ( clientEventQueue.waitForEvent(batchDelay) &&
+               while ( !pagedBacklog &&
+                       clientEventQueue.waitForEvent(batchDelay) &&
                        (boost::get_system_time() < maxBatchDelayTime) )
                {
                }
@@ -337,7 +431,7 @@ void ClientEventService::run()
             // event service shouldn't interact with automatic event service
             // starting/re-starting)
             json::JsonRpcResponse response;
-            setClientEventResult(&response);
+            setClientEventResult(&response, maxEvents, maxBytes);
             response.setField(kEventsPending, "false");
             ptrConnection->sendJsonRpcResponse(response);
          }
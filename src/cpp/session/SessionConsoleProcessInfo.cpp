@@ -120,7 +120,7 @@ void ConsoleProcessInfo::appendToOutputBuffer(char ch)
 }
 
 std::string ConsoleProcessInfo::getSavedBufferChunk(
-      int requestedChunk, bool* pMoreAvailable) const
+      int requestedChunk, bool* pMoreAvailable, int* pChunkCount) const
 {
    // We read the entire buffer into memory to return a given chunk. This is
    // ok for our current usage pattern, where the buffer-size is bounded
@@ -136,6 +136,14 @@ std::string ConsoleProcessInfo::getSavedBufferChunk(
 
    *pMoreAvailable = false;
 
+   // Let the caller know how many chunks there are, so that it can request
+   // them in parallel (an empty buffer is still one, empty, chunk)
+   if (pChunkCount)
+   {
+      *pChunkCount = std::max(static_cast<int>(
+            (buffer.length() + kOutputBufferSize - 1) / kOutputBufferSize), 1);
+   }
+
    // Common case, entire buffer fits in chunk zero
    if (requestedChunk == 0 && (buffer.length() <= kOutputBufferSize))
       return buffer;
@@ -386,6 +386,7 @@ Error initialize()
 
    s_offlineableUris.insert("/rpc/save_document");
    s_offlineableUris.insert("/rpc/save_document_diff");
+   s_offlineableUris.insert("/rpc/save_document_patch");
    s_offlineableUris.insert("/rpc/open_document");
    s_offlineableUris.insert("/rpc/set_client_state");
    s_offlineableUris.insert("/rpc/list_files");
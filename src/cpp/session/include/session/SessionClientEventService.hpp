@@ -60,7 +60,9 @@ private:
    void erasePreviouslyDeliveredEvents(int lastClientEventIdSeen);
    bool havePendingClientEvents();
    void addClientEvent(const core::json::Object& eventObject);
-   void setClientEventResult(core::json::JsonRpcResponse* pResponse);
+   void setClientEventResult(core::json::JsonRpcResponse* pResponse,
+                             int maxEvents,
+                             int maxBytes);
 
   
 private:
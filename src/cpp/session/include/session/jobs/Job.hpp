@@ -127,7 +127,9 @@ public:
 
    // add and retrieve output
    void addOutput(const std::string& output, bool error);
-   core::json::Array output(int position);
+   // (count is the most entries to return, or -1 for all of them)
+   core::json::Array output(int position, int count = -1);
+   int outputLength();
 
    // whether the job pane should should be shown at start
    bool show() const;
@@ -798,13 +798,15 @@ Error lintRSourceDocument(const json::JsonRpcRequest& request,
    std::string content;
    bool showMarkersTab = false;
    bool isExplicit = false;
+   bool isPartial = false;
    bool isFragment = false;
    Error error = json::readParams(request.params,
                                   &documentId,
                                   &documentPath,
                                   &content,
                                   &showMarkersTab,
-                                  &isExplicit);
+                                  &isExplicit,
+                                  &isPartial);
    
    if (error)
    {
@@ -873,8 +875,11 @@ Error lintRSourceDocument(const json::JsonRpcRequest& request,
             isExplicit,
             isFragment);
 
-   std::vector<module_context::SourceMarker> markers =
-       modules::markers::markersForFile(documentPath);
+   // the file's markers are in document rows, so leave them out when only
+   // part of the document was linted
+   std::vector<module_context::SourceMarker> markers;
+   if (!isPartial)
+      markers = modules::markers::markersForFile(documentPath);
    LintItems lintItems = results.lint();
 
    using namespace module_context;
@@ -64,11 +64,29 @@ const std::string& findCategory()
 
 namespace {
 
-// This must be the same as MAX_COUNT in FindOutputPane.java
-const size_t MAX_COUNT = 1000;
+// This must be the same as MAX_COUNT in FindOutputPane.java. Results are
+// streamed to the client in batches and rendered on demand there, so this
+// only guards against runaway searches (e.g. for a single character).
+const size_t MAX_COUNT = 50000;
 
 const size_t MAX_LINE_LENGTH = 3000;
 
+// The most results saved with the suspended session and sent to the client
+// when it connects; the rest would make both much larger for results the
+// user can search for again.
+const size_t MAX_SAVED_COUNT = 1000;
+
+json::Array firstValues(const json::Array& values, size_t count)
+{
+   if (values.getSize() <= count)
+      return values;
+
+   json::Array result;
+   for (size_t i = 0; i < count; i++)
+      result.push_back(values.getValueAt(i));
+   return result;
+}
+
 class ProgramArguments
 {
  public:
@@ -178,6 +196,7 @@ public:
       replace_(false),
       preview_(false),
       gitFlag_(false),
+      truncated_(false),
       pReplaceProgress_(nullptr)
    {
    }
@@ -330,6 +349,7 @@ public:
       replacePattern_.clear();
       replaceMatchOns_.clear();
       replaceMatchOffs_.clear();
+      truncated_ = false;
       pReplaceProgress_ = nullptr;
    }
 
@@ -362,6 +382,10 @@ public:
       if (error)
          return error;
 
+      error = json::getOptionalParam(asJson, "truncated", false, &truncated_);
+      if (error)
+         return error;
+
       if (files_.getSize() != lineNums_.getSize() || files_.getSize() != contents_.getSize())
       {
          files_.clear();
@@ -382,14 +406,15 @@ public:
       obj["ignoreCase"] = ignoreCase_;
 
       json::Object results;
-      results["file"] = files_;
-      results["line"] = lineNums_;
-      results["lineValue"] = contents_;
-      results["matchOn"] = matchOns_;
-      results["matchOff"] = matchOffs_;
-      results["replaceMatchOn"] = replaceMatchOns_;
-      results["replaceMatchOff"] = replaceMatchOffs_;
+      results["file"] = firstValues(files_, MAX_SAVED_COUNT);
+      results["line"] = firstValues(lineNums_, MAX_SAVED_COUNT);
+      results["lineValue"] = firstValues(contents_, MAX_SAVED_COUNT);
+      results["matchOn"] = firstValues(matchOns_, MAX_SAVED_COUNT);
+      results["matchOff"] = firstValues(matchOffs_, MAX_SAVED_COUNT);
+      results["replaceMatchOn"] = firstValues(replaceMatchOns_, MAX_SAVED_COUNT);
+      results["replaceMatchOff"] = firstValues(replaceMatchOffs_, MAX_SAVED_COUNT);
       obj["results"] = results;
+      obj["truncated"] = truncated_ || files_.getSize() > MAX_SAVED_COUNT;
 
       obj["running"] = running_;
 
@@ -419,6 +444,8 @@ private:
    std::string replacePattern_;
    json::Array replaceMatchOns_;
    json::Array replaceMatchOffs_;
+   // whether results were dropped when this state was last saved
+   bool truncated_;
    // this is not tracked via json because it exclusively applies to replaces (not previews)
    // which can not currently be paused
    LocalProgress* pReplaceProgress_;
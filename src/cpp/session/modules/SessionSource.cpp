@@ -16,9 +16,11 @@
 #include "SessionSource.hpp"
 #include "rmarkdown/NotebookChunkDefs.hpp"
 
+#include <cstdint>
 #include <string>
 #include <map>
 #include <fstream>
+#include <sstream>
 
 #include <gsl/gsl-lite.hpp>
 
@@ -28,6 +30,7 @@
 #include <shared_core/Error.hpp>
 #include <shared_core/FilePath.hpp>
 
+#include <core/Algorithm.hpp>
 #include <core/Log.hpp>
 #include <core/Exec.hpp>
 #include <core/FileInfo.hpp>
@@ -653,6 +656,205 @@ Error saveDocumentDiff(const json::JsonRpcRequest& request,
    return Success();
 }
 
+// Apply a set of line-based hunks (each replacing 'length' rows starting at
+// 'row' with 'lines') to a document, where rows are separated by 'newline'.
+// Returns false if the hunks don't fit the document.
+bool applyLinePatch(const json::Array& hunks,
+                    const std::string& newline,
+                    std::string* pContents)
+{
+   if (newline.empty())
+      return false;
+
+   std::vector<std::string> rows = core::algorithm::split(*pContents, newline);
+   std::vector<std::string> patched;
+   patched.reserve(rows.size());
+
+   std::size_t next = 0;
+   for (const json::Value& value : hunks)
+   {
+      if (!value.isObject())
+         return false;
+
+      int row, length;
+      json::Array lines;
+      Error error = json::readObject(value.getObject(),
+                                     "row", row,
+                                     "length", length,
+                                     "lines", lines);
+      if (error)
+         return false;
+
+      // hunks must be sorted, non-overlapping, and within the document
+      if (row < 0 || length < 0 ||
+          static_cast<std::size_t>(row) < next ||
+          static_cast<std::size_t>(row) + length > rows.size())
+      {
+         return false;
+      }
+
+      patched.insert(patched.end(), rows.begin() + next, rows.begin() + row);
+      for (const json::Value& line : lines)
+      {
+         if (!line.isString())
+            return false;
+         patched.push_back(line.getString());
+      }
+
+      next = row + length;
+   }
+
+   patched.insert(patched.end(), rows.begin() + next, rows.end());
+   *pContents = core::algorithm::join(patched, newline);
+   return true;
+}
+
+// A 32-bit FNV-1a hash of a UTF-8 document's UTF-16 code units, as a hex
+// string. This matches the checksum the client computes over the editor's
+// contents (see Document.getChecksum()). Invalid UTF-8 just produces a hash
+// that won't match, which makes the client fall back to a full save.
+std::string documentChecksum(const std::string& contents)
+{
+   std::uint32_t hash = 0x811c9dc5;
+   auto mix = [&](std::uint32_t unit)
+   {
+      hash = (hash ^ unit) * 0x01000193;
+   };
+
+   std::size_t i = 0;
+   while (i < contents.size())
+   {
+      unsigned char ch = contents[i];
+      std::uint32_t codePoint;
+      std::size_t extra;
+      if (ch < 0x80)
+      {
+         codePoint = ch;
+         extra = 0;
+      }
+      else if ((ch & 0xE0) == 0xC0)
+      {
+         codePoint = ch & 0x1F;
+         extra = 1;
+      }
+      else if ((ch & 0xF0) == 0xE0)
+      {
+         codePoint = ch & 0x0F;
+         extra = 2;
+      }
+      else
+      {
+         codePoint = ch & 0x07;
+         extra = 3;
+      }
+
+      i++;
+      for (std::size_t j = 0; j < extra && i < contents.size(); j++, i++)
+         codePoint = (codePoint << 6) | (contents[i] & 0x3F);
+
+      if (codePoint >= 0x10000)
+      {
+         codePoint -= 0x10000;
+         mix(0xD800 + (codePoint >> 10));
+         mix(0xDC00 + (codePoint & 0x3FF));
+      }
+      else
+      {
+         mix(codePoint);
+      }
+   }
+
+   std::ostringstream ostr;
+   ostr << std::hex << hash;
+   return ostr.str();
+}
+
+Error saveDocumentPatch(const json::JsonRpcRequest& request,
+                        json::JsonRpcResponse* pResponse)
+{
+   // unique id and jsonPath (can be null for auto-save)
+   std::string id;
+   json::Value jsonPath, jsonType, jsonEncoding, jsonFoldSpec, jsonChunkOutput;
+
+   // The line-based hunks to apply to the current document, and the
+   // newline sequence separating its rows.
+   json::Array hunks;
+   std::string newline;
+
+   // The checksum of the client's document (see documentChecksum()); the
+   // patched document must match it, or the client falls back to a full save.
+   std::string checksum;
+
+   // This is the expected hash of the current document. If the current hash
+   // value is different than this value, then the document cannot be patched
+   // and the client will fall back to a full save.
+   std::string hash;
+
+   // whether the write should be retried if the file handle can't be acquired
+   bool retryWrite = false;
+
+   Error error = json::readParams(request.params,
+                                  &id,
+                                  &jsonPath,
+                                  &jsonType,
+                                  &jsonEncoding,
+                                  &jsonFoldSpec,
+                                  &jsonChunkOutput,
+                                  &hunks,
+                                  &newline,
+                                  &checksum,
+                                  &hash,
+                                  &retryWrite);
+   if (error)
+      return error;
+
+   // if this has no path then it is an autosave, in this case
+   // suppress change detection and write retries
+   bool hasPath = json::isType<std::string>(jsonPath);
+   if (!hasPath)
+      pResponse->setSuppressDetectChanges(true);
+
+   // get the doc
+   boost::shared_ptr<SourceDocument> pDoc(new SourceDocument());
+   error = source_database::get(id, pDoc);
+   if (error)
+      return sourceDatabaseError(error);
+
+   // Don't even attempt anything if we're not working off the same original
+   if (pDoc->hash() != hash)
+      return Success();
+
+   // as with saveDocumentDiff, returning without a hash tells the client to
+   // fall back to a full save
+   try
+   {
+      std::string contents(pDoc->contents());
+      if (!applyLinePatch(hunks, newline, &contents))
+         return Success();
+
+      if (documentChecksum(contents) != checksum)
+      {
+         LOG_WARNING_MESSAGE("Patched document " + id + " doesn't match the editor's contents");
+         return Success();
+      }
+
+      bool hasChanges = contents != pDoc->contents();
+      error = saveDocumentCore(contents, jsonPath, jsonType, jsonEncoding,
+                               jsonFoldSpec, jsonChunkOutput, pDoc, retryWrite);
+      if (error)
+         return error;
+
+      error = sourceDatabasePutWithUpdatedContents(pDoc, hasChanges, retryWrite);
+      if (error)
+         return error;
+
+      pResponse->setResult(pDoc->hash());
+   }
+   CATCH_UNEXPECTED_EXCEPTION
+
+   return Success();
+}
+
 Error onFormatError(
       const Error& error,
       const json::JsonRpcFunctionContinuation& continuation)
@@ -1736,6 +1938,7 @@ Error initialize()
       (bind(registerRpcMethod, "open_document", openDocument))
       (bind(registerRpcMethod, "save_document", saveDocument))
       (bind(registerRpcMethod, "save_document_diff", saveDocumentDiff))
+      (bind(registerRpcMethod, "save_document_patch", saveDocumentPatch))
       (bind(registerRpcMethod, "check_for_external_edit", checkForExternalEdit))
       (bind(registerRpcMethod, "ignore_external_edit", ignoreExternalEdit))
       (bind(registerRpcMethod, "set_source_document_on_save", setSourceDocumentOnSave))
@@ -212,6 +212,16 @@ Error setWorkbenchMetrics(const json::JsonRpcRequest& request,
                                  "devicePixelRatio", &(metrics.devicePixelRatio));
    if (error)
       return error;
+
+   // the client may already have the current plot at the new size
+   json::Object metricsJson;
+   error = json::readParam(request.params, 0, &metricsJson);
+   if (error)
+      return error;
+   error = json::getOptionalParam(metricsJson, "deferGraphicsResize", false,
+                                  &(metrics.deferGraphicsResize));
+   if (error)
+      return error;
    
    // set the metrics
    r::session::setClientMetrics(metrics);
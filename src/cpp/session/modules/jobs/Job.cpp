@@ -480,7 +480,7 @@ void Job::addOutput(const std::string& output, bool asError)
    *file << std::endl;
 }
 
-json::Array Job::output(int position)
+json::Array Job::output(int position, int count)
 {
    // read the lines from the file
    json::Array output;
@@ -508,6 +508,9 @@ json::Array Job::output(int position)
       // position
       while (!pIfs->eof())
       {
+         if (count >= 0 && line >= position + count)
+            break;
+
          std::getline(*pIfs, content);
          if (++line > position)
          {
@@ -530,6 +533,47 @@ json::Array Job::output(int position)
    return output;
 }
 
+int Job::outputLength()
+{
+   // count the entries in the file without parsing them
+   FilePath outputFile = outputCacheFile();
+   std::shared_ptr<std::istream> pIfs;
+   Error error = outputFile.openForRead(pIfs);
+   if (error)
+   {
+      // path not found is expected if the job hasn't produced any output yet
+      if (!isPathNotFoundError(error))
+         LOG_ERROR(error);
+      return 0;
+   }
+
+   int length = 0;
+   try
+   {
+      std::string content;
+
+      // reading eof can trigger a failbit
+      pIfs->exceptions(std::istream::badbit);
+
+      while (!pIfs->eof())
+      {
+         std::getline(*pIfs, content);
+         if (!content.empty())
+            length++;
+      }
+   }
+   catch(const std::exception& e)
+   {
+      error = systemError(boost::system::errc::io_error, 
+                                ERROR_LOCATION);
+      error.addProperty("what", e.what());
+      error.addProperty("path", outputFile.getAbsolutePath());
+      LOG_ERROR(error);
+   }
+
+   return length;
+}
+
 void Job::cleanup()
 {
    outputCacheFile().removeIfExists();
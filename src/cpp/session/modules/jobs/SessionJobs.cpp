@@ -326,13 +326,23 @@ Error jobOutput(const json::JsonRpcRequest& request,
    if (error)
       return error;
 
+   // the client may ask for a page of output rather than everything after
+   // the position (e.g. to backfill older output as it's scrolled into view)
+   int count = -1;
+   if (request.params.getSize() > 2)
+   {
+      error = json::readParam(request.params, 2, &count);
+      if (error)
+         return error;
+   }
+
    // look up in cache
    boost::shared_ptr<Job> pJob;
    if (!lookupJob(id, &pJob))
       return Error(json::errc::ParamInvalid, ERROR_LOCATION);
 
    // show output
-   pResponse->setResult(pJob->output(position));
+   pResponse->setResult(pJob->output(position, count));
 
    return Success();
 }
@@ -413,10 +423,11 @@ Error setJobListening(const json::JsonRpcRequest& request,
    if (pJob->type() == JobType::JobTypeLauncher && !bypassLauncherCall)
       modules::overlay::streamLauncherOutput(id, listening);
 
-   // if listening started, return the output so far
+   // if listening started, return the number of entries of output so far;
+   // the client reads as much of it as it wants to show with job_output
    if (listening)
    {
-      pResponse->setResult(pJob->output(0));
+      pResponse->setResult(pJob->outputLength());
    }
 
    // begin/end listening
@@ -77,6 +77,8 @@ public class ConsoleOutputWriter
    public void setMaxOutputLines(int maxLines)
    {
       maxLines_ = maxLines;
+      if (virtualConsole_ != null)
+         virtualConsole_.setMaxLines(maxLines_);
       trimExcess();
    }
 
@@ -110,6 +112,9 @@ public class ConsoleOutputWriter
          outEl.appendChild(trailing);
          virtualConsole_ = vcFactory_.create(trailing);
          virtualConsole_.setVirtualizedDisableOverride(false);
+
+         // the console doesn't need to remember lines that have been trimmed
+         virtualConsole_.setMaxLines(maxLines_);
       }
 
       // set the appendTarget to the VirtualConsole bucket if possible
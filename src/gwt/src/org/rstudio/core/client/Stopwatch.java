@@ -39,6 +39,16 @@ public class Stopwatch
       return stopTime - startTime_;
    }
 
+   /**
+    * High-resolution timestamp in (fractional) milliseconds, suitable for
+    * timing operations that take well under a millisecond.
+    */
+   public static native double now() /*-{
+      if ($wnd.performance && $wnd.performance.now)
+         return $wnd.performance.now();
+      return Date.now();
+   }-*/;
+
    private long startTime_;
    private final boolean debugLog_;
 }
@@ -24,6 +24,8 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 
 import org.rstudio.core.client.hyperlink.Hyperlink;
+import org.rstudio.core.client.metrics.LatencyHistogram;
+import org.rstudio.core.client.metrics.MetricsRegistry;
 import org.rstudio.core.client.regex.Match;
 import org.rstudio.core.client.regex.Pattern;
 import org.rstudio.core.client.virtualscroller.VirtualScrollerManager;
@@ -244,11 +246,30 @@ public class VirtualConsole
    public void clear()
    {
       if (isVirtualized())
+      {
          clearVirtualScroller();
+         resetOutput();
+      }
       else
          formfeed();
    }
 
+   /**
+    * Limits the output the console keeps track of. Once the console has
+    * written about twice this many lines, the text and ranges of all but the
+    * newest lines are dropped; those lines can no longer be overwritten
+    * (e.g. by moving the cursor back over them), but are left in the DOM for
+    * the owner to trim.
+    *
+    * @param maxLines The number of lines before the cursor's line to keep, or
+    *    zero (the default) to keep all output
+    */
+   public void setMaxLines(int maxLines)
+   {
+      maxLines_ = Math.max(0, maxLines);
+      compact();
+   }
+
    public boolean isLimitConsoleVisible()
    {
       return prefs_.limitConsoleVisible();
@@ -304,17 +325,83 @@ public class VirtualConsole
       while (cursor_ < output_.length() && output_.charAt(cursor_) != '\n')
          cursor_++;
       // Now we're either at the end of the buffer, or on top of a '\n'
+      if (cursor_ == output_.length())
+         lineCount_++;
       text("\n", clazz, false/*forceNewRange*/);
    }
 
    private void formfeed()
    {
       clearPartialAnsiCode();
+      resetOutput();
+      if (parent_ != null)
+         parent_.setInnerHTML("");
+   }
+
+   private void resetOutput()
+   {
       output_.setLength(0);
       cursor_ = 0;
+      lineCount_ = 0;
       class_.clear();
-      if (parent_ != null)
-         parent_.setInnerHTML("");
+   }
+
+   /**
+    * Drops the text and ranges for lines more than maxLines_ lines before the
+    * cursor's line, and rebases what's left to start at zero. This only runs
+    * once the output has grown to twice the limit, so each character is
+    * moved about once.
+    *
+    * Everything the cursor can still reach (the cursor's line and any text
+    * after it) is kept, so carriage returns and backspaces behave as before;
+    * a range that starts before the cut just loses its leading text. Ranges
+    * are edited relative to their end, so its element needn't be trimmed to
+    * match.
+    */
+   private void compact()
+   {
+      if (maxLines_ <= 0 || lineCount_ < maxLines_ * 2)
+         return;
+
+      // find the start of the cursor's line, then back up maxLines_ lines
+      int cut = cursor_;
+      while (cut > 0 && output_.charAt(cut - 1) != '\n')
+         cut--;
+      for (int i = 0; i < maxLines_ && cut > 0; i++)
+      {
+         cut--;
+         while (cut > 0 && output_.charAt(cut - 1) != '\n')
+            cut--;
+      }
+
+      if (cut > 0)
+      {
+         output_.delete(0, cut);
+         cursor_ -= cut;
+
+         List<ClassRange> retained = new ArrayList<>();
+         for (ClassRange range : class_.tailMap(cut, false).values())
+            retained.add(range);
+
+         Entry<Integer, ClassRange> first = class_.floorEntry(cut);
+         if (first != null && first.getKey() + first.getValue().length > cut)
+         {
+            ClassRange range = first.getValue();
+            range.length -= cut - range.start;
+            range.start = cut;
+            retained.add(0, range);
+         }
+
+         class_.clear();
+         for (ClassRange range : retained)
+         {
+            range.start -= cut;
+            class_.put(range.start, range);
+         }
+         COMPACTED_CHARS.add(cut);
+      }
+
+      lineCount_ = StringUtil.newlineCount(output_.toString());
    }
 
    private void clearPartialAnsiCode()
@@ -380,6 +467,11 @@ public class VirtualConsole
       return output_.length();
    }
 
+   public int getRangeCount()
+   {
+      return class_.size();
+   }
+
    public Element getParent()
    {
       return parent_;
@@ -703,6 +795,21 @@ public class VirtualConsole
     * output range (span) even if style matches previous output
     */
    public void submit(String data, String clazz, boolean forceNewRange, boolean ariaLiveAnnounce)
+   {
+      double start = Stopwatch.now();
+      try
+      {
+         submitImpl(data, clazz, forceNewRange, ariaLiveAnnounce);
+      }
+      finally
+      {
+         SUBMIT_TIMING.recordSince(start);
+         if (data != null)
+            SUBMIT_CHARS.add(data.length());
+      }
+   }
+
+   private void submitImpl(String data, String clazz, boolean forceNewRange, boolean ariaLiveAnnounce)
    {
       boolean wasAtBottom = false;
       if (isVirtualized())
@@ -1009,6 +1116,8 @@ public class VirtualConsole
          
       if (wasAtBottom && isVirtualized())
          VirtualScrollerManager.scrollToBottom(parent_.getParentElement());
+
+      compact();
    }
    
    private Match nextMatch(String data, int offset)
@@ -1243,7 +1352,11 @@ public class VirtualConsole
 
       public void overwrite(String content, int pos)
       {
+         // measure from the end of the text, which still lines up with the
+         // range after older lines have been trimmed from the front
          String text = element.getInnerText();
+         if (!isHTML_)
+            pos = Math.max(0, text.length() - (length - pos));
          setText(
                StringUtil.substring(text, 0, pos) + content +
                StringUtil.substring(text, pos + content.length()));
@@ -1287,6 +1400,13 @@ public class VirtualConsole
    
    private static final Pattern CONTROL = Pattern.create("[\r\b\f\n]");
 
+   private static final LatencyHistogram SUBMIT_TIMING =
+         MetricsRegistry.get().histogram("console.submit");
+   private static final MetricsRegistry.Counter SUBMIT_CHARS =
+         MetricsRegistry.get().counter("console.submit_chars");
+   private static final MetricsRegistry.Counter COMPACTED_CHARS =
+         MetricsRegistry.get().counter("console.compacted_chars");
+
    // only a select few panes should be virtualized. default it to off everywhere.
    private boolean virtualizedDisableOverride_ = true;
 
@@ -1299,6 +1419,12 @@ public class VirtualConsole
    private String ansiColorMode_;
 
    private int cursor_ = 0;
+
+   // number of newlines in output_, and the number of lines to keep (0 to
+   // keep everything)
+   private int lineCount_ = 0;
+   private int maxLines_ = 0;
+
    private AnsiCode ansi_ = new AnsiCode();
    private AnsiCode.AnsiClazzes ansiCodeStyles_ = new AnsiCode.AnsiClazzes();
    private String partialAnsiCode_;
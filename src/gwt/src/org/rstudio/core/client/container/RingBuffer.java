@@ -0,0 +1,102 @@
+/*
+ * RingBuffer.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client.container;
+
+// A growable FIFO queue backed by a circular array. Unlike removing the
+// head of an ArrayList, add() and poll() are both (amortized) O(1).
+public class RingBuffer<T>
+{
+   public RingBuffer()
+   {
+      this(DEFAULT_CAPACITY);
+   }
+
+   public RingBuffer(int initialCapacity)
+   {
+      items_ = new Object[Math.max(initialCapacity, 1)];
+   }
+
+   public void add(T item)
+   {
+      if (size_ == items_.length)
+         grow();
+
+      items_[(head_ + size_) % items_.length] = item;
+      size_++;
+   }
+
+   // Removes and returns the oldest item, or null if the buffer is empty.
+   @SuppressWarnings("unchecked")
+   public T poll()
+   {
+      if (size_ == 0)
+         return null;
+
+      T item = (T) items_[head_];
+      items_[head_] = null;
+      head_ = (head_ + 1) % items_.length;
+      size_--;
+      return item;
+   }
+
+   // Returns the oldest item without removing it, or null if empty.
+   @SuppressWarnings("unchecked")
+   public T peek()
+   {
+      return size_ == 0 ? null : (T) items_[head_];
+   }
+
+   // Returns the item at the given offset from the head.
+   @SuppressWarnings("unchecked")
+   public T get(int index)
+   {
+      if (index < 0 || index >= size_)
+         throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size_);
+      return (T) items_[(head_ + index) % items_.length];
+   }
+
+   public int size()
+   {
+      return size_;
+   }
+
+   public boolean isEmpty()
+   {
+      return size_ == 0;
+   }
+
+   public void clear()
+   {
+      for (int i = 0; i < size_; i++)
+         items_[(head_ + i) % items_.length] = null;
+      head_ = 0;
+      size_ = 0;
+   }
+
+   private void grow()
+   {
+      Object[] items = new Object[items_.length * 2];
+      for (int i = 0; i < size_; i++)
+         items[i] = items_[(head_ + i) % items_.length];
+      items_ = items;
+      head_ = 0;
+   }
+
+   private Object[] items_;
+   private int head_ = 0;
+   private int size_ = 0;
+
+   private static final int DEFAULT_CAPACITY = 64;
+}
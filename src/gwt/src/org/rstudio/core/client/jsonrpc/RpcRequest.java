@@ -23,6 +23,7 @@ import com.google.gwt.json.client.JSONString;
 import com.google.gwt.user.client.Random;
 import org.rstudio.core.client.CoreClientConstants;
 import org.rstudio.core.client.Debug;
+import org.rstudio.core.client.Stopwatch;
 import org.rstudio.core.client.jsonrpc.RequestLogEntry.ResponseType;
 import org.rstudio.studio.client.application.ApplicationCsrfToken;
 import org.rstudio.studio.client.application.Desktop;
@@ -146,7 +147,10 @@ public class RpcRequest
                         Debug.log("Response: " + responseText);
                      requestLogEntry_.logResponse(ResponseType.Normal,
                                                  responseText);
+                     double parseStart = Stopwatch.now();
                      rpcResponse = RpcResponse.parseUnsafe(responseText);
+                     lastResponseLength_ = responseText.length();
+                     lastParseMs_ = Stopwatch.now() - parseStart;
                      
                      // response received and validated, process it!
                      requestCallback.onResponseReceived(enclosingRequest, 
@@ -286,6 +290,24 @@ public class RpcRequest
       return refreshCredentials_;
    }
 
+   /**
+    * @return The length (in characters) of the most recent response body
+    *         received for this request, or 0 if none has been received
+    */
+   public int getLastResponseLength()
+   {
+      return lastResponseLength_;
+   }
+
+   /**
+    * @return The time (in milliseconds) spent parsing the most recent
+    *         response received for this request
+    */
+   public double getLastParseMs()
+   {
+      return lastParseMs_;
+   }
+
    final private String url_;
    final private String method_;
    final private JSONArray params_;
@@ -298,5 +320,7 @@ public class RpcRequest
    final private boolean refreshCredentials_;
    private Request request_ = null;
    private RequestLogEntry requestLogEntry_ = null;
+   private int lastResponseLength_ = 0;
+   private double lastParseMs_ = 0;
    private static final CoreClientConstants constants_ = GWT.create(CoreClientConstants.class);
 }
@@ -0,0 +1,158 @@
+/*
+ * LatencyHistogram.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client.metrics;
+
+import org.rstudio.core.client.Stopwatch;
+
+// A fixed-size histogram of durations, in milliseconds. Bucket i holds
+// samples up to MIN_BUCKET_MS * 2^i, so resolution is relative (within a
+// factor of two) from a few microseconds up to a couple of minutes, and
+// recording a sample is constant time and allocation free. The final bucket
+// collects everything larger.
+public class LatencyHistogram
+{
+   public LatencyHistogram(String name)
+   {
+      name_ = name;
+      reset();
+   }
+
+   public String getName()
+   {
+      return name_;
+   }
+
+   public void record(double ms)
+   {
+      if (ms < 0)
+         ms = 0;
+
+      counts_[bucketFor(ms)]++;
+      count_++;
+      totalMs_ += ms;
+      minMs_ = Math.min(minMs_, ms);
+      maxMs_ = Math.max(maxMs_, ms);
+   }
+
+   /**
+    * Record the time elapsed since a timestamp taken with Stopwatch.now().
+    */
+   public void recordSince(double startMs)
+   {
+      record(Stopwatch.now() - startMs);
+   }
+
+   public int getCount()
+   {
+      return count_;
+   }
+
+   public double getTotalMs()
+   {
+      return totalMs_;
+   }
+
+   public double getMinMs()
+   {
+      return count_ == 0 ? 0 : minMs_;
+   }
+
+   public double getMaxMs()
+   {
+      return maxMs_;
+   }
+
+   public double getMeanMs()
+   {
+      return count_ == 0 ? 0 : totalMs_ / count_;
+   }
+
+   /**
+    * Estimate a percentile from the bucket counts.
+    *
+    * @param fraction The percentile to compute, between 0 and 1.
+    * @return The upper bound of the bucket containing the percentile (never
+    *    more than the largest recorded sample).
+    */
+   public double getPercentileMs(double fraction)
+   {
+      if (count_ == 0)
+         return 0;
+
+      long rank = (long) Math.ceil(fraction * count_);
+      long seen = 0;
+      for (int i = 0; i < counts_.length; i++)
+      {
+         seen += counts_[i];
+         if (seen >= rank && seen > 0)
+            return Math.min(getBucketUpperBoundMs(i), maxMs_);
+      }
+      return maxMs_;
+   }
+
+   public int getBucketCount()
+   {
+      return counts_.length;
+   }
+
+   public int getBucketSamples(int bucket)
+   {
+      return counts_[bucket];
+   }
+
+   // the largest sample held by a bucket (infinite for the overflow bucket)
+   public static double getBucketUpperBoundMs(int bucket)
+   {
+      if (bucket >= BUCKETS - 1)
+         return Double.POSITIVE_INFINITY;
+      return MIN_BUCKET_MS * Math.pow(2, bucket);
+   }
+
+   public void reset()
+   {
+      counts_ = new int[BUCKETS];
+      count_ = 0;
+      totalMs_ = 0;
+      minMs_ = Double.MAX_VALUE;
+      maxMs_ = 0;
+   }
+
+   static int bucketFor(double ms)
+   {
+      if (ms <= MIN_BUCKET_MS)
+         return 0;
+
+      int bucket = (int) Math.ceil(Math.log(ms / MIN_BUCKET_MS) / LOG_2);
+
+      // guard against rounding in the log putting a sample that sits exactly
+      // on a boundary into the next bucket up
+      if (bucket > 0 && ms <= getBucketUpperBoundMs(bucket - 1))
+         bucket--;
+
+      return Math.min(bucket, BUCKETS - 1);
+   }
+
+   private final String name_;
+   private int[] counts_;
+   private int count_;
+   private double totalMs_;
+   private double minMs_;
+   private double maxMs_;
+
+   // 2^-6 ms (~16us) up to 2^17 ms (~131s), plus an overflow bucket
+   private static final double MIN_BUCKET_MS = 1.0 / 64;
+   private static final int BUCKETS = 25;
+   private static final double LOG_2 = Math.log(2);
+}
@@ -0,0 +1,295 @@
+/*
+ * MetricsRegistry.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.gwt.json.client.JSONArray;
+import com.google.gwt.json.client.JSONNumber;
+import com.google.gwt.json.client.JSONObject;
+
+// Named counters, gauges and latency histograms for the client's hot paths
+// (RPC round trips, client event dispatch, console output, editor changes).
+// Metrics are created on first use; callers on hot paths should look them up
+// once and hold on to the returned object rather than going through the
+// registry on every sample.
+public class MetricsRegistry
+{
+   public static class Counter
+   {
+      Counter(String name)
+      {
+         name_ = name;
+      }
+
+      public String getName()
+      {
+         return name_;
+      }
+
+      public void increment()
+      {
+         value_++;
+      }
+
+      public void add(long amount)
+      {
+         value_ += amount;
+      }
+
+      public long get()
+      {
+         return value_;
+      }
+
+      void reset()
+      {
+         value_ = 0;
+      }
+
+      private final String name_;
+      private long value_ = 0;
+   }
+
+   public static class Gauge
+   {
+      Gauge(String name)
+      {
+         name_ = name;
+      }
+
+      public String getName()
+      {
+         return name_;
+      }
+
+      public void set(double value)
+      {
+         value_ = value;
+         maxValue_ = Math.max(maxValue_, value);
+      }
+
+      public double get()
+      {
+         return value_;
+      }
+
+      // the largest value seen since the last reset
+      public double getMax()
+      {
+         return maxValue_;
+      }
+
+      void reset()
+      {
+         value_ = 0;
+         maxValue_ = 0;
+      }
+
+      private final String name_;
+      private double value_ = 0;
+      private double maxValue_ = 0;
+   }
+
+   public static MetricsRegistry get()
+   {
+      if (INSTANCE == null)
+         INSTANCE = new MetricsRegistry();
+      return INSTANCE;
+   }
+
+   public Counter counter(String name)
+   {
+      Counter counter = counters_.get(name);
+      if (counter == null)
+      {
+         counter = new Counter(name);
+         counters_.put(name, counter);
+      }
+      return counter;
+   }
+
+   public Gauge gauge(String name)
+   {
+      Gauge gauge = gauges_.get(name);
+      if (gauge == null)
+      {
+         gauge = new Gauge(name);
+         gauges_.put(name, gauge);
+      }
+      return gauge;
+   }
+
+   public LatencyHistogram histogram(String name)
+   {
+      LatencyHistogram histogram = histograms_.get(name);
+      if (histogram == null)
+      {
+         histogram = new LatencyHistogram(name);
+         histograms_.put(name, histogram);
+      }
+      return histogram;
+   }
+
+   public List<Counter> getCounters()
+   {
+      return new ArrayList<>(counters_.values());
+   }
+
+   public List<Gauge> getGauges()
+   {
+      return new ArrayList<>(gauges_.values());
+   }
+
+   // Histograms ordered by total time recorded, most expensive first.
+   public List<LatencyHistogram> getHistograms()
+   {
+      List<LatencyHistogram> histograms = new ArrayList<>(histograms_.values());
+      Collections.sort(histograms, (a, b) -> Double.compare(b.getTotalMs(), a.getTotalMs()));
+      return histograms;
+   }
+
+   // Clears recorded values; metrics themselves stay registered since
+   // callers hold references to them.
+   public void reset()
+   {
+      for (Counter counter : counters_.values())
+         counter.reset();
+      for (Gauge gauge : gauges_.values())
+         gauge.reset();
+      for (LatencyHistogram histogram : histograms_.values())
+         histogram.reset();
+   }
+
+   public JSONObject toJson()
+   {
+      JSONObject counters = new JSONObject();
+      for (Counter counter : counters_.values())
+         counters.put(counter.getName(), new JSONNumber(counter.get()));
+
+      JSONObject gauges = new JSONObject();
+      for (Gauge gauge : gauges_.values())
+      {
+         JSONObject value = new JSONObject();
+         value.put("value", new JSONNumber(gauge.get()));
+         value.put("max", new JSONNumber(gauge.getMax()));
+         gauges.put(gauge.getName(), value);
+      }
+
+      JSONObject histograms = new JSONObject();
+      for (LatencyHistogram histogram : histograms_.values())
+      {
+         if (histogram.getCount() == 0)
+            continue;
+
+         JSONObject value = new JSONObject();
+         value.put("count", new JSONNumber(histogram.getCount()));
+         value.put("total_ms", new JSONNumber(round(histogram.getTotalMs())));
+         value.put("mean_ms", new JSONNumber(round(histogram.getMeanMs())));
+         value.put("min_ms", new JSONNumber(round(histogram.getMinMs())));
+         value.put("max_ms", new JSONNumber(round(histogram.getMaxMs())));
+         value.put("p50_ms", new JSONNumber(round(histogram.getPercentileMs(0.5))));
+         value.put("p90_ms", new JSONNumber(round(histogram.getPercentileMs(0.9))));
+         value.put("p99_ms", new JSONNumber(round(histogram.getPercentileMs(0.99))));
+
+         // only non-empty buckets, as [upper bound (ms), samples] pairs; the
+         // overflow bucket's bound is reported as -1
+         JSONArray buckets = new JSONArray();
+         for (int i = 0; i < histogram.getBucketCount(); i++)
+         {
+            int samples = histogram.getBucketSamples(i);
+            if (samples == 0)
+               continue;
+
+            double bound = LatencyHistogram.getBucketUpperBoundMs(i);
+            JSONArray bucket = new JSONArray();
+            bucket.set(0, new JSONNumber(Double.isInfinite(bound) ? -1 : bound));
+            bucket.set(1, new JSONNumber(samples));
+            buckets.set(buckets.size(), bucket);
+         }
+         value.put("buckets", buckets);
+
+         histograms.put(histogram.getName(), value);
+      }
+
+      JSONObject result = new JSONObject();
+      result.put("timestamp", new JSONNumber(System.currentTimeMillis()));
+      result.put("counters", counters);
+      result.put("gauges", gauges);
+      result.put("histograms", histograms);
+      return result;
+   }
+
+   // A plain-text summary, for display and logging.
+   public String format()
+   {
+      StringBuilder builder = new StringBuilder();
+
+      builder.append("Timings (ms):\n");
+      for (LatencyHistogram histogram : getHistograms())
+      {
+         if (histogram.getCount() == 0)
+            continue;
+
+         builder.append("  ")
+                .append(histogram.getName())
+                .append(": count=").append(histogram.getCount())
+                .append(" total=").append(round(histogram.getTotalMs()))
+                .append(" mean=").append(round(histogram.getMeanMs()))
+                .append(" p50=").append(round(histogram.getPercentileMs(0.5)))
+                .append(" p90=").append(round(histogram.getPercentileMs(0.9)))
+                .append(" p99=").append(round(histogram.getPercentileMs(0.99)))
+                .append(" max=").append(round(histogram.getMaxMs()))
+                .append("\n");
+      }
+
+      builder.append("\nCounters:\n");
+      for (Counter counter : counters_.values())
+      {
+         builder.append("  ")
+                .append(counter.getName())
+                .append(": ").append(counter.get())
+                .append("\n");
+      }
+
+      builder.append("\nGauges:\n");
+      for (Gauge gauge : gauges_.values())
+      {
+         builder.append("  ")
+                .append(gauge.getName())
+                .append(": ").append(round(gauge.get()))
+                .append(" (max ").append(round(gauge.getMax())).append(")")
+                .append("\n");
+      }
+
+      return builder.toString();
+   }
+
+   private static double round(double value)
+   {
+      return Math.round(value * 1000) / 1000.0;
+   }
+
+   // sorted by name, so the report and JSON dump are stable
+   private final Map<String, Counter> counters_ = new TreeMap<>();
+   private final Map<String, Gauge> gauges_ = new TreeMap<>();
+   private final Map<String, LatencyHistogram> histograms_ = new TreeMap<>();
+
+   private static MetricsRegistry INSTANCE;
+}
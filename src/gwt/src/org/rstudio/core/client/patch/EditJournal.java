@@ -0,0 +1,181 @@
+/*
+ * EditJournal.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client.patch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Tracks which rows of a document have been edited since some base version,
+// as a sorted list of non-overlapping hunks. Each hunk records a range of
+// rows in the base document and the range of rows that replaced it in the
+// current document; rows outside of any hunk are unchanged. Together with
+// the current document this is enough to build a LinePatch that turns the
+// base version into the current one.
+//
+// Edits are recorded as row replacements, so an edit within a single line
+// marks just that line as changed.
+public class EditJournal
+{
+   public static class Hunk
+   {
+      Hunk(int row, int length, int newRow, int newLength)
+      {
+         row_ = row;
+         length_ = length;
+         newRow_ = newRow;
+         newLength_ = newLength;
+      }
+
+      // first row replaced in the base document
+      public int getRow()
+      {
+         return row_;
+      }
+
+      // number of rows replaced in the base document
+      public int getLength()
+      {
+         return length_;
+      }
+
+      // first row of the replacement in the current document
+      public int getNewRow()
+      {
+         return newRow_;
+      }
+
+      // number of rows of the replacement in the current document
+      public int getNewLength()
+      {
+         return newLength_;
+      }
+
+      private int delta()
+      {
+         return newLength_ - length_;
+      }
+
+      private int row_;
+      private int length_;
+      private int newRow_;
+      private int newLength_;
+   }
+
+   public EditJournal()
+   {
+      this(DEFAULT_MAX_HUNKS);
+   }
+
+   public EditJournal(int maxHunks)
+   {
+      maxHunks_ = maxHunks;
+   }
+
+   /**
+    * Record that the rows [row, row + length) of the current document were
+    * replaced with newLength rows.
+    */
+   public void replaceRows(int row, int length, int newLength)
+   {
+      if (overflowed_)
+         return;
+
+      int end = row + length;
+
+      // skip past hunks that end before the edited range, keeping track of
+      // how far they've shifted rows relative to the base document
+      int index = 0;
+      int delta = 0;
+      while (index < hunks_.size())
+      {
+         Hunk hunk = hunks_.get(index);
+         if (hunk.newRow_ + hunk.newLength_ >= row)
+            break;
+         delta += hunk.delta();
+         index++;
+      }
+
+      // merge the edit with any hunks it overlaps or touches
+      int first = index;
+      int start = row;
+      int stop = end;
+      int mergedDelta = 0;
+      while (index < hunks_.size())
+      {
+         Hunk hunk = hunks_.get(index);
+         if (hunk.newRow_ > end)
+            break;
+         start = Math.min(start, hunk.newRow_);
+         stop = Math.max(stop, hunk.newRow_ + hunk.newLength_);
+         mergedDelta += hunk.delta();
+         index++;
+      }
+
+      Hunk merged = new Hunk(
+            start - delta,
+            (stop - start) - mergedDelta,
+            start,
+            (stop - start) - length + newLength);
+
+      hunks_.subList(first, index).clear();
+      hunks_.add(first, merged);
+
+      // later hunks move with the edit
+      int shift = newLength - length;
+      if (shift != 0)
+      {
+         for (int i = first + 1; i < hunks_.size(); i++)
+            hunks_.get(i).newRow_ += shift;
+      }
+
+      if (hunks_.size() > maxHunks_)
+      {
+         overflowed_ = true;
+         hunks_.clear();
+      }
+   }
+
+   public List<Hunk> getHunks()
+   {
+      return new ArrayList<>(hunks_);
+   }
+
+   public boolean isEmpty()
+   {
+      return !overflowed_ && hunks_.isEmpty();
+   }
+
+   // Whether too many separate regions were edited for a patch to be
+   // worthwhile; the journal no longer describes the edits in this case.
+   public boolean isOverflowed()
+   {
+      return overflowed_;
+   }
+
+   // The change in the number of rows since the base version.
+   public int getRowDelta()
+   {
+      int delta = 0;
+      for (Hunk hunk : hunks_)
+         delta += hunk.delta();
+      return delta;
+   }
+
+   private final int maxHunks_;
+   private final ArrayList<Hunk> hunks_ = new ArrayList<>();
+   private boolean overflowed_ = false;
+
+   private static final int DEFAULT_MAX_HUNKS = 500;
+}
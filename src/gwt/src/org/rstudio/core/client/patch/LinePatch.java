@@ -0,0 +1,117 @@
+/*
+ * LinePatch.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client.patch;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsArrayString;
+
+// A set of line-based replacements to apply to a document. Each hunk
+// replaces 'length' rows starting at 'row' (in the original document) with
+// 'lines'; hunks are sorted and don't overlap. Documents are split into rows
+// on the given newline sequence, so e.g. "a\n" has the two rows "a" and "".
+//
+// The hunks are plain JavaScript objects so that the patch can be sent to
+// the server as-is.
+public class LinePatch
+{
+   public static class Hunk extends JavaScriptObject
+   {
+      protected Hunk()
+      {
+      }
+
+      public static native final Hunk create(int row,
+                                             int length,
+                                             JsArrayString lines) /*-{
+         return { row: row, length: length, lines: lines };
+      }-*/;
+
+      public native final int getRow() /*-{
+         return this.row;
+      }-*/;
+
+      public native final int getLength() /*-{
+         return this.length;
+      }-*/;
+
+      public native final JsArrayString getLines() /*-{
+         return this.lines;
+      }-*/;
+   }
+
+   public LinePatch(String newline)
+   {
+      newline_ = newline;
+   }
+
+   public void addHunk(int row, int length, JsArrayString lines)
+   {
+      hunks_.push(Hunk.create(row, length, lines));
+   }
+
+   public JsArray<Hunk> getHunks()
+   {
+      return hunks_;
+   }
+
+   public String getNewline()
+   {
+      return newline_;
+   }
+
+   public boolean isEmpty()
+   {
+      return hunks_.length() == 0;
+   }
+
+   /**
+    * Apply the patch to the original document.
+    *
+    * @return The patched document, or null if the patch doesn't fit it.
+    */
+   public String apply(String contents)
+   {
+      return applyImpl(contents, newline_, hunks_);
+   }
+
+   private static native final String applyImpl(String contents,
+                                                String newline,
+                                                JsArray<Hunk> hunks) /*-{
+      var rows = contents.split(newline);
+      var result = [];
+      var next = 0;
+      for (var i = 0; i < hunks.length; i++)
+      {
+         var hunk = hunks[i];
+         if (hunk.row < next || hunk.row + hunk.length > rows.length)
+            return null;
+
+         for (; next < hunk.row; next++)
+            result.push(rows[next]);
+         for (var j = 0; j < hunk.lines.length; j++)
+            result.push(hunk.lines[j]);
+         next = hunk.row + hunk.length;
+      }
+
+      for (; next < rows.length; next++)
+         result.push(rows[next]);
+
+      return result.join(newline);
+   }-*/;
+
+   private final String newline_;
+   private final JsArray<Hunk> hunks_ = JavaScriptObject.createArray().cast();
+}
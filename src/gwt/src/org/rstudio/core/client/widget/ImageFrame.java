@@ -45,7 +45,7 @@ public class ImageFrame extends Frame
             {
                String sizing = "width=\"100%\" height=\"100%\"";
                setupContent(getElement(), sizing);
-               replaceLocation(getElement(), url_);
+               replaceLocation(getElement(), url_, preserveAspectRatio_);
             }
          }
       }.schedule(100);
@@ -63,14 +63,26 @@ public class ImageFrame extends Frame
                                 Integer.toString(height));
    }
    
+   /**
+    * Whether to scale the image without distorting it when the frame's size
+    * doesn't match the image's (e.g. while the frame is being resized); by
+    * default, the image is stretched to fill the frame.
+    */
+   public void setPreserveAspectRatio(boolean preserveAspectRatio)
+   {
+      preserveAspectRatio_ = preserveAspectRatio;
+   }
+
    public void setImageUrl(String url)
    {
       url_ = url;
       if (isAttached())
-         replaceLocation(getElement(), url);
+         replaceLocation(getElement(), url, preserveAspectRatio_);
    }
 
-   private native final boolean replaceLocation(Element el, String url) /*-{
+   private native final boolean replaceLocation(Element el,
+                                                String url,
+                                                boolean preserveAspectRatio) /*-{
       if (!el.contentWindow.document)
          return false;
       var img = el.contentWindow.document.getElementById('img');
@@ -78,6 +90,7 @@ public class ImageFrame extends Frame
          return false;
       if (url && url != 'javascript:false') {
          img.style.display = 'inline';
+         img.style.objectFit = preserveAspectRatio ? 'contain' : '';
          img.src = url;
       }
       else {
@@ -111,4 +124,5 @@ public class ImageFrame extends Frame
    }-*/;
 
    private String url_ = "javascript:false";
+   private boolean preserveAspectRatio_ = false;
 }
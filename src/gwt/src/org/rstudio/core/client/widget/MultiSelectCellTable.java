@@ -28,6 +28,9 @@ import com.google.gwt.user.cellview.client.CellTable;
 import com.google.gwt.user.client.ui.Widget;
 import com.google.gwt.view.client.MultiSelectionModel;
 import com.google.gwt.view.client.ProvidesKey;
+
+import java.util.List;
+
 import org.rstudio.core.client.BrowseCap;
 import org.rstudio.core.client.command.KeyboardShortcut;
 import org.rstudio.core.client.dom.DomUtils;
@@ -171,7 +174,7 @@ public class MultiSelectCellTable<T> extends CellTable<T>
                   event.preventDefault();
                   event.stopPropagation();
 
-                  for (T item : getVisibleItems())
+                  for (T item : getSelectableItems())
                      getSelectionModel().setSelected(item, true);
                }
             }
@@ -316,6 +319,15 @@ public class MultiSelectCellTable<T> extends CellTable<T>
       return true;
    }
 
+   /**
+    * @return The items selected by Select All; subclasses that render only
+    *    some of their rows can include the rest.
+    */
+   protected List<T> getSelectableItems()
+   {
+      return getVisibleItems();
+   }
+
    @Override
    public HandlerRegistration addClickHandler(ClickHandler handler)
    {
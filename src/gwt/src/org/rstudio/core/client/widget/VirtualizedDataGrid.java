@@ -278,8 +278,20 @@ public abstract class VirtualizedDataGrid<T> extends RStudioDataGrid<T>
       int rowsActive = (int) (getOffsetHeight() / rowHeight);
       
       // set our active rows -- use padding to allow smoother scrolling
-      firstActiveRow_ = Math.max(0, numRowsScrolled - ROW_PADDING);
-      lastActiveRow_ = Math.min(n, numRowsScrolled + rowsActive + ROW_PADDING);
+      firstActiveRow_ = firstActiveRow(numRowsScrolled);
+      lastActiveRow_ = lastActiveRow(numRowsScrolled, rowsActive, n);
+   }
+   
+   static int firstActiveRow(int numRowsScrolled)
+   {
+      return Math.max(0, numRowsScrolled - ROW_PADDING);
+   }
+   
+   // the last row is an index, so it's at most n - 1 (the bottom padding
+   // row is drawn after it)
+   static int lastActiveRow(int numRowsScrolled, int rowsActive, int n)
+   {
+      return Math.min(n - 1, numRowsScrolled + rowsActive + ROW_PADDING);
    }
    
    private int firstActiveRow_;
@@ -287,6 +299,6 @@ public abstract class VirtualizedDataGrid<T> extends RStudioDataGrid<T>
    private Timer redrawTimer_;
    
    // Static Members ----
-   private static final int ROW_PADDING = 200;
+   static final int ROW_PADDING = 200;
    private static final Resources RES = GWT.create(RStudioDataGridResources.class);
 }
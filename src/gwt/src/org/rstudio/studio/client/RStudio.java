@@ -301,9 +301,25 @@ public class RStudio implements EntryPoint
       String view = Window.Location.getParameter("view");
       if (VCSApplication.NAME.equals(view))
       {
-         RStudioGinjector.INSTANCE.getVCSApplication().go(
-               RootLayoutPanel.get(),
-               dismissProgressAnimation_);
+         // the review and history windows are only opened on request, so
+         // their code is loaded separately from the main window's
+         GWT.runAsync(VCSApplication.class, new RunAsyncCallback()
+         {
+            @Override
+            public void onSuccess()
+            {
+               RStudioGinjector.INSTANCE.getVCSApplication().go(
+                     RootLayoutPanel.get(),
+                     dismissProgressAnimation_);
+            }
+
+            @Override
+            public void onFailure(Throwable reason)
+            {
+               dismissProgressAnimation_.execute();
+               Window.alert(constants_.errorText(reason.getMessage()));
+            }
+         });
       }
       else if (HTMLPreviewApplication.NAME.equals(view))
       {
@@ -23,6 +23,7 @@ import org.rstudio.core.client.BrowseCap;
 import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.DragDropReceiver;
 import org.rstudio.core.client.ElementIds;
+import org.rstudio.core.client.JSON;
 import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.command.CommandBinder;
 import org.rstudio.core.client.command.Handler;
@@ -31,8 +32,10 @@ import org.rstudio.core.client.dom.DocumentEx;
 import org.rstudio.core.client.dom.DomUtils;
 import org.rstudio.core.client.dom.WindowEx;
 import org.rstudio.core.client.files.FileSystemItem;
+import org.rstudio.core.client.metrics.MetricsRegistry;
 import org.rstudio.core.client.widget.ModalDialogTracker;
 import org.rstudio.core.client.widget.Operation;
+import org.rstudio.core.client.widget.ShowContentDialog;
 import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.application.ApplicationQuit.QuitContext;
 import org.rstudio.studio.client.application.events.ApplicationEventHandlers;
@@ -65,6 +68,7 @@ import org.rstudio.studio.client.application.model.ProductInfo;
 import org.rstudio.studio.client.application.model.SessionInitOptions;
 import org.rstudio.studio.client.application.model.SessionSerializationAction;
 import org.rstudio.studio.client.application.ui.AboutDialog;
+import org.rstudio.studio.client.application.ui.PerformanceMetricsDialog;
 import org.rstudio.studio.client.application.ui.RTimeoutOptions;
 import org.rstudio.studio.client.application.ui.RequestLogVisualization;
 import org.rstudio.studio.client.common.GlobalDisplay;
@@ -112,6 +116,7 @@ import com.google.gwt.dom.client.Style.Unit;
 import com.google.gwt.event.logical.shared.CloseEvent;
 import com.google.gwt.event.logical.shared.CloseHandler;
 import com.google.gwt.http.client.URL;
+import com.google.gwt.safehtml.shared.SafeHtmlUtils;
 import com.google.gwt.user.client.Command;
 import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.Window;
@@ -654,6 +659,21 @@ public class Application implements ApplicationEventHandlers
       });
    }
 
+   @Handler
+   public void onShowPerformanceMetrics()
+   {
+      new PerformanceMetricsDialog(MetricsRegistry.get()).showModal();
+   }
+
+   @Handler
+   public void onDumpPerformanceMetrics()
+   {
+      String json = JSON.stringify(MetricsRegistry.get().toJson().getJavaScriptObject(), 2);
+      new ShowContentDialog(
+            constants_.performanceMetricsJsonCaption(),
+            SafeHtmlUtils.htmlEscape(json)).showModal();
+   }
+
    @Handler
    public void onLogFocusedElement()
    {
@@ -1591,4 +1591,40 @@ public interface StudioClientApplicationConstants extends com.google.gwt.i18n.cl
     @DefaultMessage("Login")
     @Key("loginButton")
     String loginButton();
+
+    /**
+     * Translated "Performance Metrics".
+     *
+     * @return translated "Performance Metrics"
+     */
+    @DefaultMessage("Performance Metrics")
+    @Key("performanceMetricsCaption")
+    String performanceMetricsCaption();
+
+    /**
+     * Translated "Performance Metrics (JSON)".
+     *
+     * @return translated "Performance Metrics (JSON)"
+     */
+    @DefaultMessage("Performance Metrics (JSON)")
+    @Key("performanceMetricsJsonCaption")
+    String performanceMetricsJsonCaption();
+
+    /**
+     * Translated "Reset".
+     *
+     * @return translated "Reset"
+     */
+    @DefaultMessage("Reset")
+    @Key("resetMetricsButton")
+    String resetMetricsButton();
+
+    /**
+     * Translated "Refresh".
+     *
+     * @return translated "Refresh"
+     */
+    @DefaultMessage("Refresh")
+    @Key("refreshMetricsButton")
+    String refreshMetricsButton();
 }
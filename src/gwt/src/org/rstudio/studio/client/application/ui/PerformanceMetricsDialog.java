@@ -0,0 +1,74 @@
+/*
+ * PerformanceMetricsDialog.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.application.ui;
+
+import org.rstudio.core.client.metrics.MetricsRegistry;
+import org.rstudio.core.client.theme.res.ThemeResources;
+import org.rstudio.core.client.widget.FontSizer;
+import org.rstudio.core.client.widget.ModalDialogBase;
+import org.rstudio.core.client.widget.PreWidget;
+import org.rstudio.core.client.widget.ThemedButton;
+import org.rstudio.studio.client.application.StudioClientApplicationConstants;
+
+import com.google.gwt.aria.client.Roles;
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.user.client.ui.ScrollPanel;
+import com.google.gwt.user.client.ui.Widget;
+
+// Shows a live summary of the client's performance metrics (see
+// MetricsRegistry), with the option to reset them before reproducing a
+// problem.
+public class PerformanceMetricsDialog extends ModalDialogBase
+{
+   public PerformanceMetricsDialog(MetricsRegistry metrics)
+   {
+      super(Roles.getDialogRole());
+      setText(constants_.performanceMetricsCaption());
+      metrics_ = metrics;
+
+      content_ = new PreWidget();
+      content_.addStyleName(ThemeResources.INSTANCE.themeStyles().showFilePreFixed());
+      FontSizer.applyNormalFontSize(content_);
+
+      addActionButton(new ThemedButton(constants_.resetMetricsButton(), clickEvent ->
+      {
+         metrics_.reset();
+         refresh();
+      }));
+      addActionButton(new ThemedButton(constants_.refreshMetricsButton(), clickEvent -> refresh()));
+      addOkButton(new ThemedButton(constants_.closeButtonText(), clickEvent -> closeDialog()));
+
+      refresh();
+   }
+
+   @Override
+   protected Widget createMainWidget()
+   {
+      ScrollPanel scrollPanel = new ScrollPanel(content_);
+      scrollPanel.setStylePrimaryName(ThemeResources.INSTANCE.themeStyles().showFileFixed());
+      scrollPanel.setSize("700px", "450px");
+      return scrollPanel;
+   }
+
+   private void refresh()
+   {
+      content_.setText(metrics_.format());
+   }
+
+   private final MetricsRegistry metrics_;
+   private final PreWidget content_;
+
+   private static final StudioClientApplicationConstants constants_ = GWT.create(StudioClientApplicationConstants.class);
+}
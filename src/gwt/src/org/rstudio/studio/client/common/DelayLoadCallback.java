@@ -0,0 +1,65 @@
+/*
+ * DelayLoadCallback.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.common;
+
+import org.rstudio.studio.client.RStudioGinjector;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.RunAsyncCallback;
+import com.google.gwt.user.client.Command;
+
+// Callback for the split points in front of rarely used UI (publishing,
+// connection and package installation wizards, visual editor dialogs, etc.)
+// so that its code is only downloaded the first time it's shown. Each split
+// point is named after the class it loads, e.g.
+//
+//    GWT.runAsync(NewConnectionWizard.class, new DelayLoadCallback()
+//    {
+//       public void onSuccess() { new NewConnectionWizard(...).showModal(); }
+//    });
+//
+// Note that the code to be loaded must only be referenced from within
+// onSuccess(); anything the caller references stays in the fragment it was
+// already in.
+public abstract class DelayLoadCallback implements RunAsyncCallback
+{
+   public DelayLoadCallback()
+   {
+      this(null);
+   }
+
+   /**
+    * @param onFailure Invoked after reporting a failure to load the code,
+    *    e.g. to resolve a promise that's waiting on a dialog; can be null
+    */
+   public DelayLoadCallback(Command onFailure)
+   {
+      onFailure_ = onFailure;
+   }
+
+   @Override
+   public void onFailure(Throwable reason)
+   {
+      RStudioGinjector.INSTANCE.getGlobalDisplay().showErrorMessage(
+            constants_.errorCaption(),
+            reason.getMessage());
+
+      if (onFailure_ != null)
+         onFailure_.execute();
+   }
+
+   private final Command onFailure_;
+   private static final StudioClientCommonConstants constants_ = GWT.create(StudioClientCommonConstants.class);
+}
@@ -38,6 +38,20 @@ public class CompileOutputBufferWithHighlight extends Composite
    
    public CompileOutputBufferWithHighlight()
    {
+      this(MAX_LINES_DISPLAY, false);
+   }
+
+   /**
+    * @param maxDisplayLines The most lines to keep on screen
+    * @param streaming Whether the owner streams output into the buffer and
+    *    takes care of scrolling and of bounding the output itself; if so, the
+    *    buffer neither scrolls on a timer nor holds back output when a lot of
+    *    it arrives at once
+    */
+   public CompileOutputBufferWithHighlight(int maxDisplayLines, boolean streaming)
+   {
+      maxDisplayLines_ = Math.max(1, maxDisplayLines);
+      streaming_ = streaming;
       styles_ = ConsoleResources.INSTANCE.consoleStyles();
       
       output_ = new PreWidget();
@@ -45,8 +59,9 @@ public class CompileOutputBufferWithHighlight extends Composite
       output_.addStyleName(styles_.paddedOutput());
       FontSizer.applyNormalFontSize(output_);
       console_ = RStudioGinjector.INSTANCE.getVirtualConsoleFactory().create(output_.getElement());
+      console_.setMaxLines(maxDisplayLines_);
 
-      scrollPanel_ = new BottomScrollPanel();
+      scrollPanel_ = new BottomScrollPanel(!streaming);
       scrollPanel_.setSize("100%", "100%");
       scrollPanel_.addStyleName("ace_editor");
       scrollPanel_.addStyleName("ace_scroller");
@@ -79,6 +94,11 @@ public class CompileOutputBufferWithHighlight extends Composite
       scrollPanel_.scrollToBottom();
    }
 
+   public BottomScrollPanel getScrollPanel()
+   {
+      return scrollPanel_;
+   }
+
    @Override
    public void clear()
    {
@@ -132,13 +152,13 @@ public class CompileOutputBufferWithHighlight extends Composite
          totalSubmittedLines_ += numNewlines;
          numDisplayedLines_ += numNewlines;
 
-         if (numDisplayedLines_ > MAX_LINES_DISPLAY)
+         if (numDisplayedLines_ > maxDisplayLines_)
          {
-            DomUtils.trimLines(output_.getElement(), numDisplayedLines_ - MAX_LINES_DISPLAY);
-            numDisplayedLines_ = MAX_LINES_DISPLAY;
+            DomUtils.trimLines(output_.getElement(), numDisplayedLines_ - maxDisplayLines_);
+            numDisplayedLines_ = maxDisplayLines_;
          }
 
-         if (totalSubmittedLines_ > MAX_LINES_OVERLOAD_BUFFER)
+         if (!streaming_ && totalSubmittedLines_ > MAX_LINES_OVERLOAD_BUFFER)
          {
             state_ = PanelState.OVERLOADED;
             console_.submit(constants_.consoleBufferedMessage(MAX_LINES_OVERLOAD_BUFFER), styles_.warning());
@@ -180,6 +200,8 @@ public class CompileOutputBufferWithHighlight extends Composite
    private int numLinesSaved_ = 0;
    private BottomScrollPanel scrollPanel_;
    private ConsoleResources.ConsoleStyles styles_;
+   private final int maxDisplayLines_;
+   private final boolean streaming_;
    
    private static final int MAX_LINES_DISPLAY = 500;
    private static final int MAX_LINES_OVERLOAD_BUFFER = 5000;
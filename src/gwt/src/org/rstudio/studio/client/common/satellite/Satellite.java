@@ -16,6 +16,7 @@ package org.rstudio.studio.client.common.satellite;
 
 import org.rstudio.core.client.CommandWithArg;
 import org.rstudio.core.client.dom.WindowEx;
+import org.rstudio.core.client.js.JsUtil;
 import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.application.Desktop;
 import org.rstudio.studio.client.application.events.EventBus;
@@ -29,6 +30,7 @@ import org.rstudio.studio.client.workbench.model.SessionInfo;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 
 import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayString;
 import com.google.gwt.event.dom.client.FocusEvent;
 import com.google.gwt.event.dom.client.FocusHandler;
 import com.google.gwt.event.logical.shared.CloseEvent;
@@ -62,9 +64,21 @@ public class Satellite implements HasCloseHandlers<Satellite>
 
    public void initialize(String name,
                           CommandWithArg<JavaScriptObject> onReactivated)
+   {
+      initialize(name, null, onReactivated);
+   }
+
+   /**
+    * @param eventTopics The SatelliteEventTopics this window consumes, or
+    *    null to receive every client event.
+    */
+   public void initialize(String name,
+                          String[] eventTopics,
+                          CommandWithArg<JavaScriptObject> onReactivated)
    {
       onReactivated_ = onReactivated;
-      initializeNative(name);
+      initializeNative(name,
+            eventTopics == null ? null : JsUtil.toJsArrayString(eventTopics));
 
       // load MathJax
       MathJaxLoader.ensureMathJaxLoaded();
@@ -126,12 +140,15 @@ public class Satellite implements HasCloseHandlers<Satellite>
 
    // satellite windows should call this during startup to setup a
    // communication channel with the main window
-   private native void initializeNative(String name) /*-{
+   private native void initializeNative(String name, JsArrayString eventTopics) /*-{
 
       // global flag used to conditionalize behavior
       $wnd.isRStudioSatellite = true;
       $wnd.RStudioSatelliteName = name;
 
+      // event topics we want the main window to forward (read on registration)
+      $wnd.RStudioSatelliteEventTopics = eventTopics;
+
       // export setSessionInfo callback
       var satellite = this;
       $wnd.setRStudioSatelliteSessionInfo = $entry(
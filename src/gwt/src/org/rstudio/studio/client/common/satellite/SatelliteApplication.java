@@ -117,12 +117,23 @@ public class SatelliteApplication
    {
       return false;
    }
+
+   /**
+    * Have subclasses override and return the SatelliteEventTopics they
+    * consume; the main window won't forward events from other topics. The
+    * default (null) receives every event.
+    */
+   protected String[] getEventTopics()
+   {
+      return null;
+   }
    
    public void go(RootLayoutPanel rootPanel, 
                   final Command dismissLoadingProgress)
    {
       // indicate that we are a satellite window
       satellite_.initialize(name_,
+                            getEventTopics(),
                             new CommandWithArg<JavaScriptObject> () {
                                @Override
                                public void execute(JavaScriptObject params)
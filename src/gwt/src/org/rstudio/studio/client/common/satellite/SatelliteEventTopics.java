@@ -0,0 +1,112 @@
+/*
+ * SatelliteEventTopics.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.common.satellite;
+
+import java.util.HashMap;
+import java.util.HashSet;
+
+import org.rstudio.studio.client.server.remote.ClientEvent;
+
+// Groups the high-volume client event types into topics. Satellite windows
+// declare which topics they consume, and the main window only forwards
+// events in those topics to them. Event types that don't belong to any topic
+// are always forwarded, so a satellite only ever misses events it has
+// explicitly opted out of.
+public class SatelliteEventTopics
+{
+   // console output and input echo (used by inline chunk output in source
+   // windows)
+   public static final String CONSOLE = "console";
+
+   // output from child processes (e.g. git operations)
+   public static final String PROCESS_OUTPUT = "process_output";
+
+   // state for the main window's panes; no satellite hosts these
+   public static final String PLOTS = "plots";
+   public static final String ENVIRONMENT = "environment";
+   public static final String BUILD_OUTPUT = "build_output";
+   public static final String FIND = "find";
+   public static final String JOBS = "jobs";
+
+   /**
+    * @return The topic for the given client event type, or null if the event
+    *    isn't part of a topic (and so is delivered to every satellite).
+    */
+   public static String topicFor(String eventType)
+   {
+      return TOPICS.get(eventType);
+   }
+
+   /**
+    * @return Whether only the most recent event of this type matters (i.e.
+    *    each event carries the complete state), so that older ones still
+    *    waiting to be delivered can be discarded.
+    */
+   public static boolean isCollapsible(String eventType)
+   {
+      return COLLAPSIBLE.contains(eventType);
+   }
+
+   private static void add(String topic, String... eventTypes)
+   {
+      for (String eventType : eventTypes)
+         TOPICS.put(eventType, topic);
+   }
+
+   private static final HashMap<String, String> TOPICS = new HashMap<>();
+   private static final HashSet<String> COLLAPSIBLE = new HashSet<>();
+
+   static
+   {
+      add(CONSOLE,
+            ClientEvent.ConsoleOutput,
+            ClientEvent.ConsoleError,
+            ClientEvent.ConsoleWritePrompt,
+            ClientEvent.ConsoleWriteInput);
+
+      add(PROCESS_OUTPUT,
+            ClientEvent.ConsoleProcessOutput,
+            ClientEvent.PosixShellOutput);
+
+      add(PLOTS,
+            ClientEvent.PlotsStateChanged,
+            ClientEvent.PlotsZoomSizeChanged);
+
+      add(ENVIRONMENT,
+            ClientEvent.EnvironmentRefresh,
+            ClientEvent.EnvironmentAssigned,
+            ClientEvent.EnvironmentRemoved,
+            ClientEvent.EnvironmentChanged,
+            ClientEvent.MemoryUsageChanged);
+
+      add(BUILD_OUTPUT,
+            ClientEvent.BuildOutput,
+            ClientEvent.CompilePdfOutputEvent,
+            ClientEvent.TestsOutput,
+            ClientEvent.RSConnectDeploymentOutput);
+
+      add(FIND,
+            ClientEvent.FindResult);
+
+      add(JOBS,
+            ClientEvent.JobOutput);
+
+      COLLAPSIBLE.add(ClientEvent.PlotsStateChanged);
+      COLLAPSIBLE.add(ClientEvent.PlotsZoomSizeChanged);
+      COLLAPSIBLE.add(ClientEvent.MemoryUsageChanged);
+      COLLAPSIBLE.add(ClientEvent.ConnectionListChanged);
+      COLLAPSIBLE.add(ClientEvent.ActiveConnectionsChanged);
+   }
+}
@@ -16,7 +16,8 @@ package org.rstudio.studio.client.common.satellite;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Map.Entry;
+import java.util.HashSet;
+import java.util.List;
 
 import com.google.inject.Provider;
 
@@ -29,7 +30,9 @@ import org.rstudio.core.client.command.AppCommand;
 import org.rstudio.core.client.dom.DomUtils;
 import org.rstudio.core.client.dom.WindowEx;
 import org.rstudio.core.client.js.JsObject;
+import org.rstudio.core.client.js.JsUtil;
 import org.rstudio.core.client.layout.ScreenUtils;
+import org.rstudio.core.client.metrics.MetricsRegistry;
 import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.application.ApplicationUncaughtExceptionHandler;
 import org.rstudio.studio.client.application.Desktop;
@@ -40,12 +43,14 @@ import org.rstudio.studio.client.common.satellite.events.AllSatellitesClosingEve
 import org.rstudio.studio.client.common.satellite.events.SatelliteClosedEvent;
 import org.rstudio.studio.client.common.satellite.events.WindowClosedEvent;
 import org.rstudio.studio.client.common.satellite.events.WindowOpenedEvent;
+import org.rstudio.studio.client.server.remote.ClientEvent;
 import org.rstudio.studio.client.workbench.model.Session;
 import org.rstudio.studio.client.workbench.model.SessionInfo;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.source.SourceWindowManager;
 
 import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayString;
 import com.google.gwt.dom.client.Document;
 import com.google.gwt.event.logical.shared.CloseEvent;
 import com.google.gwt.event.logical.shared.CloseHandler;
@@ -187,7 +192,7 @@ public class SatelliteManager implements CloseHandler<Window>
       if (!pendingEventsBySatelliteName_.containsKey(name))
       {
          pendingEventsBySatelliteName_.put(name,
-                                           new ArrayList<>());
+                                           new SatellitePendingEvents<>());
       }
 
       // record satellite params for subsequent setting (this value is read
@@ -343,19 +348,20 @@ public class SatelliteManager implements CloseHandler<Window>
       }
    }
 
-   // dispatch an event to all satellites
+   // dispatch an event to the satellites subscribed to it
    public void dispatchClientEvent(JavaScriptObject clientEvent)
    {
+      String type = clientEvent.<ClientEvent>cast().getType();
+      String topic = SatelliteEventTopics.topicFor(type);
+
       // list of windows to remove (because they were closed)
       ArrayList<ActiveSatellite> removeWindows = null;
 
-      // iterate over the satellites (make a copy to avoid races if
-      // for some reason firing an event creates or destroys a satellite)
-      @SuppressWarnings("unchecked")
-      ArrayList<ActiveSatellite> satellites =
-                           (ArrayList<ActiveSatellite>)satellites_.clone();
-      for (ActiveSatellite satellite : satellites)
+      // iterate by index rather than over a copy of the list; this tolerates
+      // satellites being added or removed while we're dispatching
+      for (int i = 0; i < satellites_.size(); i++)
       {
+         ActiveSatellite satellite = satellites_.get(i);
          try
          {
             // If we're buffering events for this satellite, then don't dispatch
@@ -363,6 +369,12 @@ public class SatelliteManager implements CloseHandler<Window>
             if (pendingEventsBySatelliteName_.containsKey(satellite.getName()))
                continue;
 
+            if (!satellite.isSubscribed(topic))
+            {
+               eventsFiltered_.increment();
+               continue;
+            }
+
             WindowEx satelliteWnd = satellite.getWindow();
             if (satelliteWnd.isClosed())
             {
@@ -373,6 +385,7 @@ public class SatelliteManager implements CloseHandler<Window>
             else
             {
                callDispatchEvent(satelliteWnd, clientEvent);
+               eventsForwarded_.increment();
             }
          }
          catch(Throwable e)
@@ -380,10 +393,12 @@ public class SatelliteManager implements CloseHandler<Window>
          }
       }
 
-      for (Entry<String, ArrayList<JavaScriptObject>> entry :
-                                       pendingEventsBySatelliteName_.entrySet())
+      // the satellite's subscription may not be known yet, so buffer
+      // everything and filter when the events are flushed
+      for (SatellitePendingEvents<JavaScriptObject> pending :
+                                       pendingEventsBySatelliteName_.values())
       {
-         entry.getValue().add(clientEvent);
+         pending.add(type, clientEvent);
       }
 
       // remove windows if necessary
@@ -452,9 +467,16 @@ public class SatelliteManager implements CloseHandler<Window>
       // case we make sure not to add a duplicate
       WindowEx satelliteWnd = wnd.<WindowEx>cast();
       ActiveSatellite satellite = new ActiveSatellite(name, satelliteWnd);
-      if (!satellites_.contains(satellite))
+      int idx = satellites_.indexOf(satellite);
+      if (idx >= 0)
+         satellite = satellites_.get(idx);
+      else
          satellites_.add(satellite);
 
+      // record which event topics the satellite wants (it may have changed
+      // if the window was reloaded)
+      satellite.setTopics(getSatelliteEventTopics(satelliteWnd));
+
       // augment the current session info with an up-to-date set of source
       // documents
       SessionInfo sessionInfo = session_.getSessionInfo();
@@ -503,12 +525,37 @@ public class SatelliteManager implements CloseHandler<Window>
 
    private void flushPendingEvents(String name)
    {
-      ArrayList<JavaScriptObject> events =
+      SatellitePendingEvents<JavaScriptObject> pending =
                                     pendingEventsBySatelliteName_.remove(name);
 
-      if (events == null || events.size() == 0)
+      if (pending == null)
+         return;
+
+      // the queue overflowed while the satellite was loading, so replaying
+      // it would leave the satellite out of date; reload the satellite
+      // instead, so it starts over from the current session state. this is
+      // only done once in a row, so a steady flood of events can't keep it
+      // reloading
+      if (pending.getDroppedCount() > 0 && reloadedAfterDrop_.add(name))
+      {
+         for (ActiveSatellite satellite : satellites_)
+         {
+            if (satellite.getName() == name
+                && !satellite.getWindow().isClosed())
+            {
+               pendingEventsBySatelliteName_.put(name,
+                                                 new SatellitePendingEvents<>());
+               satellite.getWindow().reload();
+               return;
+            }
+         }
+      }
+      reloadedAfterDrop_.remove(name);
+
+      if (pending.size() == 0)
          return;
 
+      List<JavaScriptObject> events = pending.drain();
       for (ActiveSatellite satellite :
                                     new ArrayList<>(satellites_))
       {
@@ -517,9 +564,18 @@ public class SatelliteManager implements CloseHandler<Window>
          {
             for (JavaScriptObject evt : events)
             {
+               String topic = SatelliteEventTopics.topicFor(
+                     evt.<ClientEvent>cast().getType());
+               if (!satellite.isSubscribed(topic))
+               {
+                  eventsFiltered_.increment();
+                  continue;
+               }
+
                try
                {
                   callDispatchEvent(satellite.getWindow(), evt);
+                  eventsForwarded_.increment();
                }
                catch (Exception e)
                {
@@ -610,6 +666,11 @@ public class SatelliteManager implements CloseHandler<Window>
       satellite.notifyRStudioSatelliteReactivated(params);
    }-*/;
 
+   // read the event topics a satellite subscribes to (null for all events)
+   private native JsArrayString getSatelliteEventTopics(JavaScriptObject satellite) /*-{
+      return satellite.RStudioSatelliteEventTopics || null;
+   }-*/;
+
    // dispatch event to a satellite
    private native void callDispatchEvent(JavaScriptObject satellite,
                                          JavaScriptObject clientEvent) /*-{
@@ -663,8 +724,14 @@ public class SatelliteManager implements CloseHandler<Window>
 
    private final HashMap<String,JavaScriptObject> satelliteParams_ = new HashMap<>();
 
-   private final HashMap<String, ArrayList<JavaScriptObject>>
+   private final HashMap<String, SatellitePendingEvents<JavaScriptObject>>
          pendingEventsBySatelliteName_ = new HashMap<>();
+   private final HashSet<String> reloadedAfterDrop_ = new HashSet<>();
+
+   private final MetricsRegistry.Counter eventsForwarded_ =
+         MetricsRegistry.get().counter("satellite.events_forwarded");
+   private final MetricsRegistry.Counter eventsFiltered_ =
+         MetricsRegistry.get().counter("satellite.events_filtered");
 
    private class ActiveSatellite
    {
@@ -684,6 +751,26 @@ public class SatelliteManager implements CloseHandler<Window>
          return window_;
       }
 
+      public void setTopics(JsArrayString topics)
+      {
+         if (topics == null)
+         {
+            topics_ = null;
+            return;
+         }
+
+         topics_ = new HashSet<>();
+         for (String topic : JsUtil.asIterable(topics))
+            topics_.add(topic);
+      }
+
+      // events outside of any topic go to every satellite; otherwise the
+      // satellite must have subscribed to the topic (or to everything)
+      public boolean isSubscribed(String topic)
+      {
+         return topic == null || topics_ == null || topics_.contains(topic);
+      }
+
       public void close()
       {
          try
@@ -710,6 +797,7 @@ public class SatelliteManager implements CloseHandler<Window>
 
       private final String name_;
       private final WindowEx window_;
+      private HashSet<String> topics_ = null;
    }
 
    private final Provider<UserPrefs> pUIPrefs_;
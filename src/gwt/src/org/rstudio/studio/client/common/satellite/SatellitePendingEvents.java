@@ -0,0 +1,148 @@
+/*
+ * SatellitePendingEvents.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.common.satellite;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.rstudio.core.client.container.RingBuffer;
+import org.rstudio.core.client.metrics.MetricsRegistry;
+
+// Events buffered for a satellite window that is still loading. The queue
+// is bounded: when full, the oldest events are dropped (and counted in the
+// "satellite.events_dropped" metric). Collapsible state
+// events (see SatelliteEventTopics.isCollapsible) replace any earlier event
+// of the same type that is still waiting, so a burst of e.g. plot state
+// changes only delivers the last one.
+class SatellitePendingEvents<T>
+{
+   private static class Entry<T>
+   {
+      Entry(String type, T event)
+      {
+         type_ = type;
+         event_ = event;
+      }
+
+      final String type_;
+      final T event_;
+      boolean superseded_ = false;
+   }
+
+   SatellitePendingEvents()
+   {
+      this(DEFAULT_MAX_EVENTS);
+   }
+
+   SatellitePendingEvents(int maxEvents)
+   {
+      maxEvents_ = maxEvents;
+   }
+
+   public void add(String type, T event)
+   {
+      Entry<T> entry = new Entry<>(type, event);
+
+      if (SatelliteEventTopics.isCollapsible(type))
+      {
+         Entry<T> previous = latestByType_.put(type, entry);
+         if (previous != null)
+         {
+            previous.superseded_ = true;
+            size_--;
+            collapsed_++;
+         }
+      }
+
+      entries_.add(entry);
+      size_++;
+
+      while (size_ > maxEvents_)
+      {
+         Entry<T> oldest = entries_.poll();
+         if (oldest.superseded_)
+            continue;
+
+         if (latestByType_.get(oldest.type_) == oldest)
+            latestByType_.remove(oldest.type_);
+         size_--;
+         dropped_++;
+         droppedMetric_.increment();
+      }
+
+      // superseded entries stay in the buffer until they reach the front;
+      // if enough of them pile up, squeeze them out
+      if (entries_.size() > 2 * Math.max(size_, maxEvents_ / 2))
+         compact();
+   }
+
+   /**
+    * Remove and return the pending events, oldest first.
+    */
+   public List<T> drain()
+   {
+      List<T> events = new ArrayList<>(size_);
+      while (!entries_.isEmpty())
+      {
+         Entry<T> entry = entries_.poll();
+         if (!entry.superseded_)
+            events.add(entry.event_);
+      }
+
+      latestByType_.clear();
+      size_ = 0;
+      return events;
+   }
+
+   public int size()
+   {
+      return size_;
+   }
+
+   // number of events discarded because a newer event of the same type arrived
+   public int getCollapsedCount()
+   {
+      return collapsed_;
+   }
+
+   // number of events discarded because the queue was full
+   public int getDroppedCount()
+   {
+      return dropped_;
+   }
+
+   private void compact()
+   {
+      for (int i = 0, n = entries_.size(); i < n; i++)
+      {
+         Entry<T> entry = entries_.poll();
+         if (!entry.superseded_)
+            entries_.add(entry);
+      }
+   }
+
+   private final int maxEvents_;
+   private final RingBuffer<Entry<T>> entries_ = new RingBuffer<>();
+   private final HashMap<String, Entry<T>> latestByType_ = new HashMap<>();
+   private int size_ = 0;
+   private int collapsed_ = 0;
+   private int dropped_ = 0;
+
+   private final MetricsRegistry.Counter droppedMetric_ =
+         MetricsRegistry.get().counter("satellite.events_dropped");
+
+   private static final int DEFAULT_MAX_EVENTS = 10000;
+}
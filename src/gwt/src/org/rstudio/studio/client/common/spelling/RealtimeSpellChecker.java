@@ -156,11 +156,45 @@ public class RealtimeSpellChecker
          {
             result.getIncorrect().add(word);
          }
+         else
+         {
+            // checked on behalf of another document (or an earlier session)
+            Boolean correct = spellingService_.getCachedVerdict(word);
+            if (correct != null)
+            {
+               if (correct)
+                  result.getCorrect().add(word);
+               else
+                  result.getIncorrect().add(word);
+            }
+         }
       }
 
       return result;
    }
 
+   /**
+    * Check words that aren't visible yet, so that their verdicts are cached
+    * by the time they're scrolled into view.
+    */
+   public void prefetchWords(ArrayList<String> words)
+   {
+      ArrayList<String> unknown = new ArrayList<>();
+      for (String word : words)
+      {
+         if (!isWordIgnored(word) &&
+             !correctWords.contains(word) &&
+             !incorrectWords.containsKey(word) &&
+             spellingService_.getCachedVerdict(word) == null)
+         {
+            unknown.add(word);
+         }
+      }
+
+      if (!unknown.isEmpty())
+         spellingService_.prefetchSpelling(unknown);
+   }
+
    public void checkWords(ArrayList<String> words,
                           ServerRequestCallback<SpellCheckerResult> callback)
    {
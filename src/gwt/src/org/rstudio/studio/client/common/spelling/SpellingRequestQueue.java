@@ -0,0 +1,316 @@
+/*
+ * SpellingRequestQueue.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.common.spelling;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.rstudio.core.client.js.JsUtil;
+import org.rstudio.core.client.metrics.MetricsRegistry;
+import org.rstudio.studio.client.common.spelling.model.SpellCheckerResult;
+import org.rstudio.studio.client.server.ServerError;
+import org.rstudio.studio.client.server.ServerRequestCallback;
+
+import com.google.gwt.core.client.JsArrayInteger;
+import com.google.gwt.core.client.JsArrayString;
+
+// Checks words against the server's dictionaries on behalf of every open
+// document. Words without a cached verdict are queued (once, no matter how
+// many documents ask for them) and sent in bounded batches, with at most one
+// request in flight. Words that are on screen are queued ahead of words that
+// are only being checked in advance.
+public class SpellingRequestQueue
+{
+   public interface Server
+   {
+      // the response holds the indexes of the misspelled words
+      void checkSpelling(JsArrayString words,
+                         ServerRequestCallback<JsArrayInteger> callback);
+   }
+
+   private static class Waiter
+   {
+      Waiter(int remaining, ServerRequestCallback<SpellCheckerResult> callback)
+      {
+         remaining_ = remaining;
+         callback_ = callback;
+      }
+
+      final SpellCheckerResult result_ = new SpellCheckerResult();
+      final ServerRequestCallback<SpellCheckerResult> callback_;
+      int remaining_;
+      boolean failed_ = false;
+   }
+
+   public SpellingRequestQueue(Server server, SpellingVerdictCache cache)
+   {
+      this(server, cache, DEFAULT_MAX_BATCH);
+   }
+
+   public SpellingRequestQueue(Server server,
+                               SpellingVerdictCache cache,
+                               int maxBatch)
+   {
+      server_ = server;
+      cache_ = cache;
+      maxBatch_ = Math.max(1, maxBatch);
+   }
+
+   /**
+    * Check the spelling of some words.
+    *
+    * @param words The words to check
+    * @param visible Whether the words are on screen (and should be checked
+    *    before words that aren't)
+    * @param callback Called once every word has a verdict; may be null
+    */
+   public void check(List<String> words,
+                     boolean visible,
+                     ServerRequestCallback<SpellCheckerResult> callback)
+   {
+      Waiter waiter = new Waiter(0, callback);
+      ArrayList<String> missing = new ArrayList<>();
+      HashSet<String> seen = new HashSet<>();
+      for (String word : words)
+      {
+         if (!seen.add(word))
+            continue;
+
+         wordsChecked_++;
+         WORDS_CHECKED.increment();
+
+         Boolean correct = cache_.get(word);
+         if (correct != null)
+         {
+            cacheHits_++;
+            CACHE_HITS.increment();
+            addVerdict(waiter.result_, word, correct);
+         }
+         else
+         {
+            missing.add(word);
+         }
+      }
+
+      if (missing.isEmpty())
+      {
+         if (callback != null)
+            callback.onResponseReceived(waiter.result_);
+         return;
+      }
+
+      waiter.remaining_ = missing.size();
+      for (String word : missing)
+      {
+         ArrayList<Waiter> waiters = waiters_.get(word);
+         if (waiters == null)
+         {
+            waiters = new ArrayList<>();
+            waiters_.put(word, waiters);
+         }
+         waiters.add(waiter);
+
+         if (inFlight_.contains(word))
+            continue;
+
+         if (visible)
+         {
+            background_.remove(word);
+            visible_.add(word);
+         }
+         else if (!visible_.contains(word))
+         {
+            background_.add(word);
+         }
+      }
+
+      sendNextBatch();
+   }
+
+   /**
+    * Called when the dictionary changes. Callers waiting on the request in
+    * flight are still answered, but its verdicts aren't cached.
+    */
+   public void invalidate()
+   {
+      generation_++;
+   }
+
+   public boolean isIdle()
+   {
+      return inFlight_.isEmpty() && visible_.isEmpty() && background_.isEmpty();
+   }
+
+   public int getQueuedCount()
+   {
+      return visible_.size() + background_.size();
+   }
+
+   // Counters ----
+
+   public int getWordsChecked()
+   {
+      return wordsChecked_;
+   }
+
+   public int getCacheHits()
+   {
+      return cacheHits_;
+   }
+
+   public double getCacheHitRate()
+   {
+      return wordsChecked_ == 0 ? 0 : (double) cacheHits_ / wordsChecked_;
+   }
+
+   public int getRequestCount()
+   {
+      return requestCount_;
+   }
+
+   private void sendNextBatch()
+   {
+      if (!inFlight_.isEmpty())
+         return;
+
+      takeWords(visible_);
+      takeWords(background_);
+      if (inFlight_.isEmpty())
+         return;
+
+      final ArrayList<String> batch = new ArrayList<>(inFlight_);
+      final int generation = generation_;
+
+      requestCount_++;
+      REQUESTS.increment();
+      HIT_RATE.set(getCacheHitRate());
+
+      server_.checkSpelling(JsUtil.toJsArrayString(batch),
+                            new ServerRequestCallback<JsArrayInteger>()
+      {
+         @Override
+         public void onResponseReceived(JsArrayInteger response)
+         {
+            HashSet<Integer> misspelled = new HashSet<>();
+            for (int i = 0; i < response.length(); i++)
+               misspelled.add(response.get(i));
+
+            inFlight_.clear();
+            for (int i = 0; i < batch.size(); i++)
+            {
+               String word = batch.get(i);
+               boolean correct = !misspelled.contains(i);
+               if (generation == generation_)
+                  cache_.put(word, correct);
+               resolve(word, correct);
+            }
+
+            sendNextBatch();
+         }
+
+         @Override
+         public void onError(ServerError error)
+         {
+            inFlight_.clear();
+            for (String word : batch)
+               fail(word, error);
+
+            sendNextBatch();
+         }
+      });
+   }
+
+   private void takeWords(LinkedHashSet<String> queue)
+   {
+      Iterator<String> it = queue.iterator();
+      while (it.hasNext() && inFlight_.size() < maxBatch_)
+      {
+         inFlight_.add(it.next());
+         it.remove();
+      }
+   }
+
+   private void resolve(String word, boolean correct)
+   {
+      ArrayList<Waiter> waiters = waiters_.remove(word);
+      if (waiters == null)
+         return;
+
+      for (Waiter waiter : waiters)
+      {
+         addVerdict(waiter.result_, word, correct);
+         if (--waiter.remaining_ == 0 && !waiter.failed_ && waiter.callback_ != null)
+            waiter.callback_.onResponseReceived(waiter.result_);
+      }
+   }
+
+   private void fail(String word, ServerError error)
+   {
+      ArrayList<Waiter> waiters = waiters_.remove(word);
+      if (waiters == null)
+         return;
+
+      for (Waiter waiter : waiters)
+      {
+         waiter.remaining_--;
+         if (!waiter.failed_)
+         {
+            waiter.failed_ = true;
+            if (waiter.callback_ != null)
+               waiter.callback_.onError(error);
+         }
+      }
+   }
+
+   private static void addVerdict(SpellCheckerResult result,
+                                  String word,
+                                  boolean correct)
+   {
+      if (correct)
+         result.getCorrect().add(word);
+      else
+         result.getIncorrect().add(word);
+   }
+
+   private final Server server_;
+   private final SpellingVerdictCache cache_;
+   private final int maxBatch_;
+
+   // words waiting to be sent, on screen first
+   private final LinkedHashSet<String> visible_ = new LinkedHashSet<>();
+   private final LinkedHashSet<String> background_ = new LinkedHashSet<>();
+   private final LinkedHashSet<String> inFlight_ = new LinkedHashSet<>();
+   private final HashMap<String, ArrayList<Waiter>> waiters_ = new HashMap<>();
+   private int generation_ = 0;
+
+   private int wordsChecked_ = 0;
+   private int cacheHits_ = 0;
+   private int requestCount_ = 0;
+
+   private static final MetricsRegistry.Counter WORDS_CHECKED =
+         MetricsRegistry.get().counter("spelling.words_checked");
+   private static final MetricsRegistry.Counter CACHE_HITS =
+         MetricsRegistry.get().counter("spelling.cache_hits");
+   private static final MetricsRegistry.Counter REQUESTS =
+         MetricsRegistry.get().counter("spelling.requests");
+   private static final MetricsRegistry.Gauge HIT_RATE =
+         MetricsRegistry.get().gauge("spelling.cache_hit_rate");
+
+   private static final int DEFAULT_MAX_BATCH = 500;
+}
@@ -15,11 +15,8 @@
 
 package org.rstudio.studio.client.common.spelling;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
-import org.rstudio.core.client.js.JsUtil;
 import org.rstudio.studio.client.common.spelling.model.SpellCheckerResult;
 import org.rstudio.studio.client.common.spelling.model.SpellingServerOperations;
 import org.rstudio.studio.client.server.ServerError;
@@ -27,7 +24,6 @@ import org.rstudio.studio.client.server.ServerRequestCallback;
 import org.rstudio.studio.client.workbench.prefs.model.SpellingPrefsContext;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 
-import com.google.gwt.core.client.JsArrayInteger;
 import com.google.gwt.core.client.JsArrayString;
 import com.google.gwt.dom.client.Document;
 import com.google.gwt.event.dom.client.ChangeEvent;
@@ -39,6 +35,7 @@ import com.google.gwt.event.logical.shared.ValueChangeHandler;
 import com.google.gwt.event.shared.GwtEvent;
 import com.google.gwt.event.shared.HandlerManager;
 import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.storage.client.Storage;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
@@ -51,12 +48,17 @@ public class SpellingService implements HasChangeHandlers
    {
       server_ = server;
       uiPrefs_ = uiPrefs;
+      verdicts_ = new SpellingVerdictCache(Storage.getLocalStorageIfSupported());
+      verdicts_.setDictionary(dictionaryKey());
+      queue_ = new SpellingRequestQueue(server_::checkSpelling, verdicts_);
       
       uiPrefs.spellingDictionaryLanguage().addValueChangeHandler(
                                            new ValueChangeHandler<String>(){
          @Override
          public void onValueChange(ValueChangeEvent<String> event)
          {
+            // verdicts for each language are kept separately
+            verdicts_.setDictionary(dictionaryKey());
             invalidateCache();
          }
       });
@@ -66,6 +68,10 @@ public class SpellingService implements HasChangeHandlers
          @Override
          public void onValueChange(ValueChangeEvent<JsArrayString> event)
          {
+            // a custom dictionary's contents may have changed, so don't
+            // trust anything saved for this combination of dictionaries
+            verdicts_.setDictionary(dictionaryKey());
+            verdicts_.clear();
             invalidateCache();
          }
       });
@@ -75,75 +81,27 @@ public class SpellingService implements HasChangeHandlers
                      List<String> words, 
                      final ServerRequestCallback<SpellCheckerResult> callback)
    {
-      // results to return
-      final SpellCheckerResult spellCheckerResult = new SpellCheckerResult();
-      
-      // only send words to the server that aren't in the cache
-      final ArrayList<String> wordsToCheck = new ArrayList<>();
-      for (int i = 0; i<words.size(); i++)
-      {
-         String word = words.get(i);
-         Boolean isCorrect = previousResults_.get(word);
-         if (isCorrect != null)
-         {
-            if (isCorrect)
-               spellCheckerResult.getCorrect().add(word);
-            else
-               spellCheckerResult.getIncorrect().add(word);
-         }
-         else
-         {
-            wordsToCheck.add(word);
-         }
-      }
-      
-      // if there are no words to check then return
-      if (wordsToCheck.size() == 0)
-      {
-         callback.onResponseReceived(spellCheckerResult);
-         return;
-      }
-      
-      // hit the server
-      server_.checkSpelling(JsUtil.toJsArrayString(wordsToCheck), 
-                            new ServerRequestCallback<JsArrayInteger>() {
-
-         @Override
-         public void onResponseReceived(JsArrayInteger result)
-         {
-            // get misspelled indexes
-            ArrayList<Integer> misspelledIndexes = new ArrayList<>();
-            for (int i=0; i<result.length(); i++)
-               misspelledIndexes.add(result.get(i));
-            
-            // determine correct/incorrect status and populate result & cache
-            for (int i=0; i<wordsToCheck.size(); i++)
-            {
-               String word = wordsToCheck.get(i);
-               if (misspelledIndexes.contains(i))
-               {
-                  spellCheckerResult.getIncorrect().add(word);
-                  previousResults_.put(word, false);
-               }
-               else
-               {
-                  spellCheckerResult.getCorrect().add(word);
-                  previousResults_.put(word,  true);
-               }
-            }
-            
-            // return result
-            callback.onResponseReceived(spellCheckerResult);     
-         }
-         
-         @Override
-         public void onError(ServerError error)
-         {
-            callback.onError(error);
-         }
-      });
+      queue_.check(words, true, callback);
    }
-
+   
+   // check words that aren't on screen yet, so that their verdicts are
+   // cached by the time they are
+   public void prefetchSpelling(List<String> words)
+   {
+      queue_.check(words, false, null);
+   }
+   
+   // the verdict for a word, if it's already known
+   public Boolean getCachedVerdict(String word)
+   {
+      return verdicts_.get(word);
+   }
+   
+   public SpellingRequestQueue getRequestQueue()
+   {
+      return queue_;
+   }
+   
    public void suggestionList(String word,
                               ServerRequestCallback<JsArrayString> callback)
    {
@@ -172,7 +130,7 @@ public class SpellingService implements HasChangeHandlers
    
    public void invalidateCache()
    {
-      previousResults_.clear();
+      queue_.invalidate();
       DomEvent.fireNativeEvent(Document.get().createChangeEvent(),
                                handlerManager_);
    }
@@ -189,6 +147,16 @@ public class SpellingService implements HasChangeHandlers
       handlerManager_.fireEvent(event);
    }
    
+   private String dictionaryKey()
+   {
+      StringBuilder key = new StringBuilder(
+            uiPrefs_.spellingDictionaryLanguage().getValue());
+      JsArrayString customDicts = uiPrefs_.spellingCustomDictionaries().getValue();
+      for (int i = 0; customDicts != null && i < customDicts.length(); i++)
+         key.append("|").append(customDicts.get(i));
+      return key.toString();
+   }
+   
    private class CustomDictCallback extends ServerRequestCallback<JsArrayString>
    {
       public CustomDictCallback(ServerRequestCallback<JsArrayString> callback)
@@ -225,7 +193,8 @@ public class SpellingService implements HasChangeHandlers
    private final SpellingServerOperations server_;
    private final UserPrefs uiPrefs_;
    
-   private HashMap<String,Boolean> previousResults_ = new HashMap<>();
+   private final SpellingVerdictCache verdicts_;
+   private final SpellingRequestQueue queue_;
    
    HandlerManager handlerManager_ = new HandlerManager(this);
    
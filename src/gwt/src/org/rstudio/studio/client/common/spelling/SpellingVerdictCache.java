@@ -0,0 +1,175 @@
+/*
+ * SpellingVerdictCache.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.common.spelling;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.google.gwt.storage.client.Storage;
+import com.google.gwt.user.client.Timer;
+
+// Whether each word checked so far is spelled correctly, according to the
+// server's dictionaries. Verdicts are kept per dictionary (the language plus
+// any custom dictionaries) and saved to the browser's local storage, so that
+// they survive reloading the IDE. The number of words kept is bounded; the
+// oldest verdicts are dropped first.
+public class SpellingVerdictCache
+{
+   public SpellingVerdictCache(Storage storage)
+   {
+      this(storage, DEFAULT_MAX_WORDS);
+   }
+
+   /**
+    * @param storage Where to save verdicts, or null to keep them in memory
+    * @param maxWords The most verdicts to keep for a dictionary
+    */
+   public SpellingVerdictCache(Storage storage, int maxWords)
+   {
+      storage_ = storage;
+      maxWords_ = maxWords;
+   }
+
+   /**
+    * Switch to the verdicts for another dictionary, loading any that were
+    * saved for it.
+    */
+   public void setDictionary(String dictionary)
+   {
+      if (dictionary.equals(dictionary_))
+         return;
+
+      save();
+      dictionary_ = dictionary;
+      verdicts_.clear();
+
+      if (storage_ != null)
+         deserialize(storage_.getItem(storageKey()));
+   }
+
+   public Boolean get(String word)
+   {
+      return verdicts_.get(word);
+   }
+
+   public void put(String word, boolean correct)
+   {
+      verdicts_.put(word, correct);
+
+      if (verdicts_.size() > maxWords_)
+      {
+         Iterator<String> it = verdicts_.keySet().iterator();
+         for (int i = verdicts_.size() - maxWords_; i > 0; i--)
+         {
+            it.next();
+            it.remove();
+         }
+      }
+
+      scheduleSave();
+   }
+
+   public int size()
+   {
+      return verdicts_.size();
+   }
+
+   /**
+    * Forget the verdicts for the current dictionary, including saved ones.
+    */
+   public void clear()
+   {
+      verdicts_.clear();
+      saveTimer_.cancel();
+      if (storage_ != null && dictionary_ != null)
+         storage_.removeItem(storageKey());
+   }
+
+   public void save()
+   {
+      saveTimer_.cancel();
+      if (storage_ == null || dictionary_ == null)
+         return;
+
+      try
+      {
+         storage_.setItem(storageKey(), serialize());
+      }
+      catch (Exception e)
+      {
+         // local storage is full or unavailable; the verdicts just won't
+         // outlive this session
+      }
+   }
+
+   // one verdict per line: '+' or '-' followed by the word
+   String serialize()
+   {
+      StringBuilder builder = new StringBuilder();
+      for (Map.Entry<String, Boolean> entry : verdicts_.entrySet())
+      {
+         builder.append(entry.getValue() ? '+' : '-');
+         builder.append(entry.getKey());
+         builder.append('\n');
+      }
+      return builder.toString();
+   }
+
+   void deserialize(String value)
+   {
+      if (value == null)
+         return;
+
+      for (String line : value.split("\n"))
+      {
+         if (line.length() < 2)
+            continue;
+
+         char verdict = line.charAt(0);
+         if (verdict == '+' || verdict == '-')
+            verdicts_.put(line.substring(1), verdict == '+');
+      }
+   }
+
+   private void scheduleSave()
+   {
+      if (storage_ != null && !saveTimer_.isRunning())
+         saveTimer_.schedule(SAVE_DELAY_MS);
+   }
+
+   private String storageKey()
+   {
+      return STORAGE_PREFIX + dictionary_;
+   }
+
+   private final Storage storage_;
+   private final int maxWords_;
+   private final LinkedHashMap<String, Boolean> verdicts_ = new LinkedHashMap<>();
+   private String dictionary_;
+
+   private final Timer saveTimer_ = new Timer()
+   {
+      @Override
+      public void run()
+      {
+         save();
+      }
+   };
+
+   private static final String STORAGE_PREFIX = "rstudio.spelling.verdicts.";
+   private static final int DEFAULT_MAX_WORDS = 20000;
+   private static final int SAVE_DELAY_MS = 2000;
+}
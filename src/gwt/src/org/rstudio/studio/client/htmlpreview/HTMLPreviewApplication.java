@@ -41,4 +41,11 @@ public class HTMLPreviewApplication extends SatelliteApplication
    {
       super(NAME, view, satellite, pAceThemes, pUserPrefs, exHandler, commands);
    }
+
+   // none of the high-volume topics are used by the viewer
+   @Override
+   protected String[] getEventTopics()
+   {
+      return new String[] {};
+   }
 }
@@ -16,10 +16,12 @@
 package org.rstudio.studio.client.panmirror.dialogs;
 
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.user.client.Command;
 import org.rstudio.core.client.MessageDisplay;
 import org.rstudio.core.client.jsinterop.JsVoidFunction;
 import org.rstudio.core.client.widget.Operation;
 import org.rstudio.studio.client.RStudioGinjector;
+import org.rstudio.studio.client.common.DelayLoadCallback;
 import org.rstudio.studio.client.common.GlobalDisplay;
 import org.rstudio.studio.client.panmirror.PanmirrorConstants;
 import org.rstudio.studio.client.panmirror.dialogs.model.PanmirrorAttrProps;
@@ -154,10 +156,17 @@ public class PanmirrorDialogs {
    {
       return new Promise<>(
          (ResolveCallbackFn<PanmirrorLinkEditResult> resolve, RejectCallbackFn reject) -> {  
-            PanmirrorEditLinkDialog dialog = new PanmirrorEditLinkDialog(link, targets, capabilities,
-               (result) -> { resolve.onInvoke(result); }
-            );
-            dialog.showModal(false);
+            GWT.runAsync(PanmirrorEditLinkDialog.class, new DelayLoadCallback(cancel(resolve))
+            {
+               @Override
+               public void onSuccess()
+               {
+                  PanmirrorEditLinkDialog dialog = new PanmirrorEditLinkDialog(link, targets, capabilities,
+                     (result) -> { resolve.onInvoke(result); }
+                  );
+                  dialog.showModal(false);
+               }
+            });
          }   
       );
    }
@@ -167,10 +176,17 @@ public class PanmirrorDialogs {
    {
       return new Promise<>(
          (ResolveCallbackFn<PanmirrorImageProps> resolve, RejectCallbackFn reject) -> {  
-            PanmirrorEditImageDialog dialog = new PanmirrorEditImageDialog(image, dims, figure, editAttributes, uiContext_,
-               (result) -> { resolve.onInvoke(result); }
-            );
-            dialog.showModal(false);
+            GWT.runAsync(PanmirrorEditImageDialog.class, new DelayLoadCallback(cancel(resolve))
+            {
+               @Override
+               public void onSuccess()
+               {
+                  PanmirrorEditImageDialog dialog = new PanmirrorEditImageDialog(image, dims, figure, editAttributes, uiContext_,
+                     (result) -> { resolve.onInvoke(result); }
+                  );
+                  dialog.showModal(false);
+               }
+            });
          }
       );      
    }
@@ -179,10 +195,17 @@ public class PanmirrorDialogs {
    {
       return new Promise<>(
          (ResolveCallbackFn<PanmirrorCodeBlockProps> resolve, RejectCallbackFn reject) -> {  
-            PanmirrorEditCodeBlockDialog dialog = new PanmirrorEditCodeBlockDialog(codeBlock, attributes, languages,
-               (result) -> { resolve.onInvoke(result); }
-            );
-            dialog.showModal(false);
+            GWT.runAsync(PanmirrorEditCodeBlockDialog.class, new DelayLoadCallback(cancel(resolve))
+            {
+               @Override
+               public void onSuccess()
+               {
+                  PanmirrorEditCodeBlockDialog dialog = new PanmirrorEditCodeBlockDialog(codeBlock, attributes, languages,
+                     (result) -> { resolve.onInvoke(result); }
+                  );
+                  dialog.showModal(false);
+               }
+            });
          }
       );   
    }
@@ -192,10 +215,17 @@ public class PanmirrorDialogs {
    {
       return new Promise<>(
          (ResolveCallbackFn<PanmirrorListProps> resolve, RejectCallbackFn reject) -> {  
-            PanmirrorEditListDialog dialog = new PanmirrorEditListDialog(props, capabilities,
-               (result) -> { resolve.onInvoke(result); }
-            );
-            dialog.showModal(false);
+            GWT.runAsync(PanmirrorEditListDialog.class, new DelayLoadCallback(cancel(resolve))
+            {
+               @Override
+               public void onSuccess()
+               {
+                  PanmirrorEditListDialog dialog = new PanmirrorEditListDialog(props, capabilities,
+                     (result) -> { resolve.onInvoke(result); }
+                  );
+                  dialog.showModal(false);
+               }
+            });
          }
       );
    }
@@ -221,10 +251,17 @@ public class PanmirrorDialogs {
    {
       return new Promise<>(
          (ResolveCallbackFn<PanmirrorAttrEditResult> resolve, RejectCallbackFn reject) -> {  
-            PanmirrorEditAttrDialog dialog = new PanmirrorEditAttrDialog(caption, removeButtonCaption, idHint, attr, 
-               (result) -> { resolve.onInvoke(result); }
-            );
-            dialog.showModal(false);
+            GWT.runAsync(PanmirrorEditAttrDialog.class, new DelayLoadCallback(cancel(resolve))
+            {
+               @Override
+               public void onSuccess()
+               {
+                  PanmirrorEditAttrDialog dialog = new PanmirrorEditAttrDialog(caption, removeButtonCaption, idHint, attr, 
+                     (result) -> { resolve.onInvoke(result); }
+                  );
+                  dialog.showModal(false);
+               }
+            });
          }
       );
    }
@@ -235,10 +272,17 @@ public class PanmirrorDialogs {
    {
      return new Promise<>(
        (ResolveCallbackFn<PanmirrorCalloutEditResult> resolve, RejectCallbackFn reject) -> {
-          PanmirrorEditCalloutDialog dialog = new PanmirrorEditCalloutDialog(removeEnabled, attr, (result) -> {
-             resolve.onInvoke(result);
+          GWT.runAsync(PanmirrorEditCalloutDialog.class, new DelayLoadCallback(cancel(resolve))
+          {
+             @Override
+             public void onSuccess()
+             {
+                PanmirrorEditCalloutDialog dialog = new PanmirrorEditCalloutDialog(removeEnabled, attr, (result) -> {
+                   resolve.onInvoke(result);
+                });
+                dialog.showModal(false);
+             }
           });
-          dialog.showModal(false);
        }
      );
    }
@@ -259,10 +303,17 @@ public class PanmirrorDialogs {
    {
       return new Promise<>(
          (ResolveCallbackFn<PanmirrorRawFormatResult> resolve, RejectCallbackFn reject) -> {  
-            PanmirrorEditRawDialog dialog = new PanmirrorEditRawDialog(raw, outputFormats, inline, 
-               (result) -> { resolve.onInvoke(result); }
-            );
-            dialog.showModal(false);
+            GWT.runAsync(PanmirrorEditRawDialog.class, new DelayLoadCallback(cancel(resolve))
+            {
+               @Override
+               public void onSuccess()
+               {
+                  PanmirrorEditRawDialog dialog = new PanmirrorEditRawDialog(raw, outputFormats, inline, 
+                     (result) -> { resolve.onInvoke(result); }
+                  );
+                  dialog.showModal(false);
+               }
+            });
          }
       );
    }
@@ -270,10 +321,17 @@ public class PanmirrorDialogs {
    public Promise<String> editMath(String id) 
    {
       return new Promise<>((ResolveCallbackFn<String> resolve, RejectCallbackFn reject) -> {
-         PanmirrorEditMathDialog dialog = new PanmirrorEditMathDialog(id, (result) -> {
-           resolve.onInvoke(result);
+         GWT.runAsync(PanmirrorEditMathDialog.class, new DelayLoadCallback(cancel(resolve))
+         {
+            @Override
+            public void onSuccess()
+            {
+               PanmirrorEditMathDialog dialog = new PanmirrorEditMathDialog(id, (result) -> {
+                 resolve.onInvoke(result);
+               });
+               dialog.showModal(false);
+            }
          });
-         dialog.showModal(false);
          
       });
    }
@@ -282,10 +340,17 @@ public class PanmirrorDialogs {
    {
       return new Promise<>(
          (ResolveCallbackFn<PanmirrorInsertTableResult> resolve, RejectCallbackFn reject) -> {  
-            PanmirrorInsertTableDialog dialog = new PanmirrorInsertTableDialog(capabilities, (result) -> {
-               resolve.onInvoke(result);
+            GWT.runAsync(PanmirrorInsertTableDialog.class, new DelayLoadCallback(cancel(resolve))
+            {
+               @Override
+               public void onSuccess()
+               {
+                  PanmirrorInsertTableDialog dialog = new PanmirrorInsertTableDialog(capabilities, (result) -> {
+                     resolve.onInvoke(result);
+                  });
+                  dialog.showModal(false);
+               }
             });
-            dialog.showModal(false);
          }
       );
    }
@@ -294,10 +359,17 @@ public class PanmirrorDialogs {
    {
       return new Promise<>(
          (ResolveCallbackFn<PanmirrorInsertTabsetResult> resolve, RejectCallbackFn reject) -> { 
-            PanmirrorInsertTabsetDialog dialog = new PanmirrorInsertTabsetDialog((result) -> {
-              resolve.onInvoke(result);
+            GWT.runAsync(PanmirrorInsertTabsetDialog.class, new DelayLoadCallback(cancel(resolve))
+            {
+               @Override
+               public void onSuccess()
+               {
+                  PanmirrorInsertTabsetDialog dialog = new PanmirrorInsertTabsetDialog((result) -> {
+                    resolve.onInvoke(result);
+                  });
+                  dialog.showModal(false);
+               }
             });
-            dialog.showModal(false);
          }
       );
    }
@@ -306,10 +378,17 @@ public class PanmirrorDialogs {
    {
       return new Promise<>(
          (ResolveCallbackFn<PanmirrorInsertCiteResult> resolve, RejectCallbackFn reject) -> {  
-            PanmirrorInsertCiteDialog dialog = new PanmirrorInsertCiteDialog(citeProps, (result) -> {
-               resolve.onInvoke(result);
+            GWT.runAsync(PanmirrorInsertCiteDialog.class, new DelayLoadCallback(cancel(resolve))
+            {
+               @Override
+               public void onSuccess()
+               {
+                  PanmirrorInsertCiteDialog dialog = new PanmirrorInsertCiteDialog(citeProps, (result) -> {
+                     resolve.onInvoke(result);
+                  });
+                  dialog.showModal(false);
+               }
             });
-            dialog.showModal(false);
          }
       );
    }
@@ -327,6 +406,13 @@ public class PanmirrorDialogs {
       });
    }
    
+   // resolves a dialog's promise as though the dialog were cancelled, for
+   // when the dialog's code can't be loaded
+   private static <T> Command cancel(ResolveCallbackFn<T> resolve)
+   {
+      return () -> resolve.onInvoke((T) null);
+   }
+   
    private GlobalDisplay globalDisplay_; 
    private PanmirrorUIContext uiContext_;
    private static final PanmirrorConstants constants_ = GWT.create(PanmirrorConstants.class);
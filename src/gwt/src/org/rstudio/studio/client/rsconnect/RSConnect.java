@@ -34,6 +34,7 @@ import org.rstudio.core.client.widget.ThemedButton;
 import org.rstudio.core.client.widget.images.MessageDialogImages;
 import org.rstudio.studio.client.application.Desktop;
 import org.rstudio.studio.client.application.events.EventBus;
+import org.rstudio.studio.client.common.DelayLoadCallback;
 import org.rstudio.studio.client.common.FilePathUtils;
 import org.rstudio.studio.client.common.GlobalDisplay;
 import org.rstudio.studio.client.common.dependencies.DependencyManager;
@@ -538,42 +539,56 @@ public class RSConnect implements SessionInitEvent.Handler,
    private void publishAsFiles(RSConnectActionEvent event,
          RSConnectPublishSource source)
    {
-      RSConnectDeployDialog dialog =
-            new RSConnectDeployDialog(
-                      event.getContentType(),
-                      server_, this, display_,
-                      source,
-                      event.getFromPrevious());
-      dialog.showModal();
+      GWT.runAsync(RSConnectDeployDialog.class, new DelayLoadCallback()
+      {
+         @Override
+         public void onSuccess()
+         {
+            RSConnectDeployDialog dialog =
+                  new RSConnectDeployDialog(
+                            event.getContentType(),
+                            server_, RSConnect.this, display_,
+                            source,
+                            event.getFromPrevious());
+            dialog.showModal();
+         }
+      });
    }
 
    private void publishWithWizard(final RSConnectPublishInput input)
    {
-      RSConnectPublishWizard wizard =
-            new RSConnectPublishWizard(input,
-                  new ProgressOperationWithInput<RSConnectPublishResult>()
-            {
-               @Override
-               public void execute(RSConnectPublishResult result,
-                     ProgressIndicator indicator)
-               {
-                  switch (result.getPublishType())
+      GWT.runAsync(RSConnectPublishWizard.class, new DelayLoadCallback()
+      {
+         @Override
+         public void onSuccess()
+         {
+            RSConnectPublishWizard wizard =
+                  new RSConnectPublishWizard(input,
+                        new ProgressOperationWithInput<RSConnectPublishResult>()
                   {
-                  case RSConnectPublishResult.PUBLISH_STATIC:
-                  case RSConnectPublishResult.PUBLISH_CODE:
-                     // always launch the browser--the wizard implies we're
-                     // doing a first-time publish, and we may need to do some
-                     // post-publish configuration
-                     fireRSConnectPublishEvent(result, true);
-                     indicator.onCompleted();
-                     break;
-                  case RSConnectPublishResult.PUBLISH_RPUBS:
-                     uploadToRPubs(input, result, indicator);
-                     break;
-                  }
-               }
-            });
-      wizard.showModal();
+                     @Override
+                     public void execute(RSConnectPublishResult result,
+                           ProgressIndicator indicator)
+                     {
+                        switch (result.getPublishType())
+                        {
+                        case RSConnectPublishResult.PUBLISH_STATIC:
+                        case RSConnectPublishResult.PUBLISH_CODE:
+                           // always launch the browser--the wizard implies we're
+                           // doing a first-time publish, and we may need to do some
+                           // post-publish configuration
+                           fireRSConnectPublishEvent(result, true);
+                           indicator.onCompleted();
+                           break;
+                        case RSConnectPublishResult.PUBLISH_RPUBS:
+                           uploadToRPubs(input, result, indicator);
+                           break;
+                        }
+                     }
+                  });
+            wizard.showModal();
+         }
+      });
    }
 
    @Override
@@ -16,7 +16,7 @@ package org.rstudio.studio.client.server.remote;
 
 import com.google.gwt.core.client.JavaScriptObject;
 
-class ClientEvent extends JavaScriptObject
+public class ClientEvent extends JavaScriptObject
 {   
    public static final String Busy = "busy";
    public static final String ConsolePrompt = "console_prompt";
@@ -0,0 +1,40 @@
+/*
+ * ClientEventDispatchTimings.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.server.remote;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.rstudio.core.client.metrics.LatencyHistogram;
+import org.rstudio.core.client.metrics.MetricsRegistry;
+
+// Records how long the handlers for each client event type take to run (as
+// the "client_event.<type>" histograms in the MetricsRegistry), so we can see
+// which events eat into the frame budget while draining.
+public class ClientEventDispatchTimings
+{
+   public void record(String type, double ms)
+   {
+      LatencyHistogram histogram = histograms_.get(type);
+      if (histogram == null)
+      {
+         histogram = MetricsRegistry.get().histogram("client_event." + type);
+         histograms_.put(type, histogram);
+      }
+      histogram.record(ms);
+   }
+
+   private final Map<String, LatencyHistogram> histograms_ = new HashMap<>();
+}
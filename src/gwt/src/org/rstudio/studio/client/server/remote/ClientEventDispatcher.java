@@ -15,14 +15,15 @@
 package org.rstudio.studio.client.server.remote;
 
 
-import java.util.ArrayList;
-
+import org.rstudio.core.client.Stopwatch;
 import org.rstudio.core.client.command.CommandCallbacksChangedEvent;
+import org.rstudio.core.client.container.RingBuffer;
 import org.rstudio.core.client.events.ExecuteAppCommandEvent;
 import org.rstudio.core.client.events.HighlightEvent;
 import org.rstudio.core.client.files.FileSystemItem;
 import org.rstudio.core.client.files.filedialog.events.OpenFileDialogEvent;
 import org.rstudio.core.client.js.JsObject;
+import org.rstudio.core.client.metrics.MetricsRegistry;
 import org.rstudio.studio.client.application.events.ClipboardActionEvent;
 import org.rstudio.studio.client.application.events.ComputeThemeColorsEvent;
 import org.rstudio.studio.client.application.events.DeferredInitCompletedEvent;
@@ -199,6 +200,7 @@ import org.rstudio.studio.client.workbench.views.output.data.events.DataOutputCo
 import org.rstudio.studio.client.workbench.views.output.data.model.DataOutputResult;
 import org.rstudio.studio.client.workbench.views.output.find.events.FindOperationEndedEvent;
 import org.rstudio.studio.client.workbench.views.output.find.events.FindResultEvent;
+import org.rstudio.studio.client.workbench.views.ai.AiStreamCoalescer;
 import org.rstudio.studio.client.workbench.views.ai.events.AiStreamDataEvent;
 import org.rstudio.studio.client.workbench.views.output.find.events.ReplaceProgressEvent;
 import org.rstudio.studio.client.workbench.views.output.find.events.ReplaceResultEvent;
@@ -261,6 +263,7 @@ import com.google.gwt.core.client.JsArray;
 import com.google.gwt.core.client.JsArrayString;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.core.client.Scheduler.RepeatingCommand;
+import com.google.gwt.event.shared.GwtEvent;
 import org.rstudio.studio.client.workbench.views.source.events.RefreshDocumentContentEvent;
 
 public class ClientEventDispatcher 
@@ -268,6 +271,52 @@ public class ClientEventDispatcher
    public ClientEventDispatcher(EventBus eventBus)
    {
       eventBus_ = eventBus;
+      aiStreamCoalescer_ = new AiStreamCoalescer(eventBus);
+   }
+   
+   /**
+    * Register a decoder for a client event type on this dispatcher, replacing
+    * the built-in decoder (if any) for that type.
+    */
+   public void registerDecoder(String type,
+                               GwtEvent.Type<?> eventType,
+                               ClientEventRegistry.Decoder decoder)
+   {
+      registry_.register(type, eventType, decoder);
+   }
+   
+   /**
+    * Register a decoder for a client event type that isn't handled by the
+    * built-in decoders. Applies to every dispatcher (main and satellite
+    * windows), including ones created before the registration.
+    */
+   public static void registerModuleDecoder(String type,
+                                            GwtEvent.Type<?> eventType,
+                                            ClientEventRegistry.Decoder decoder)
+   {
+      moduleRegistry_.register(type, eventType, decoder);
+   }
+   
+   /**
+    * The built-in decoders, shared by every dispatcher.
+    */
+   public static ClientEventRegistry getDefaultRegistry()
+   {
+      return defaultRegistry_;
+   }
+   
+   /**
+    * The decoder this dispatcher uses for a client event type, or null if it
+    * has none.
+    */
+   public ClientEventRegistry.Decoder getDecoder(String type)
+   {
+      ClientEventRegistry.Decoder decoder = registry_.getDecoder(type);
+      if (decoder == null)
+         decoder = defaultRegistry_.getDecoder(type);
+      if (decoder == null)
+         decoder = moduleRegistry_.getDecoder(type);
+      return decoder;
    }
    
    public void enqueEventAsJso(JavaScriptObject event)
@@ -279,1108 +328,1339 @@ public class ClientEventDispatcher
    public void enqueEvent(ClientEvent event)
    {
       pendingEvents_.add(event);
-      if (pendingEvents_.size() == 1)
+      queueDepth_.set(pendingEvents_.size());
+      if (!draining_)
       {
+         draining_ = true;
          Scheduler.get().scheduleIncremental(new RepeatingCommand()
          {
             public boolean execute()
             {
-               for (int i = 0;
-                    i < MAX_EVENTS_AT_ONCE && pendingEvents_.size() > 0;
-                    i++)
+               // dispatch events until this slice's time budget is used up
+               // (always dispatching at least one) and then yield to the browser
+               double deadline = Stopwatch.now() + SLICE_BUDGET_MS;
+               do
                {
-                  ClientEvent currentEvent = pendingEvents_.remove(0);
+                  ClientEvent currentEvent = consoleWriteCoalescer_.coalesce(
+                        pendingEvents_.poll(), pendingEvents_);
+                  double start = Stopwatch.now();
                   dispatchEvent(currentEvent);
+                  dispatchTimings_.record(currentEvent.getType(), Stopwatch.now() - start);
                }
-               return pendingEvents_.size() > 0;
+               while (!pendingEvents_.isEmpty() && Stopwatch.now() < deadline);
+
+               draining_ = !pendingEvents_.isEmpty();
+               return draining_;
             }
          });
       }
    }
    
+   public int getPendingEventCount()
+   {
+      return pendingEvents_.size();
+   }
+   
    private void dispatchEvent(ClientEvent event) 
    { 
       String type = event.getType();
       try
       {
-         if (type == ClientEvent.Busy)
-         {
-            boolean busy = event.<Bool>getData().getValue();
-            eventBus_.dispatchEvent(new BusyEvent(busy));
-         }
-         else if (type == ClientEvent.AiStreamData)
-         {
-            // Extract data using proper R/Java object handling (R sends arrays!)
-            com.google.gwt.core.client.JavaScriptObject jsData = event.getData();
-            
-            String messageId = getStringFromRData(jsData, "messageId");
-            if (messageId == null || messageId.isEmpty()) {
-               messageId = getStringFromRData(jsData, "message_id");
-            }
-            if (messageId == null || messageId.isEmpty()) {
-               throw new RuntimeException("AiStreamData event missing required messageId");
-            }
-            
-            String delta = getStringFromRData(jsData, "delta");
-            boolean isComplete = getBooleanFromRData(jsData, "isComplete");
-            if (!isComplete) {
-               isComplete = getBooleanFromRData(jsData, "is_complete");
-            }
-            
-            // Extract edit_file specific properties
-            boolean isEditFile = getBooleanFromRData(jsData, "isEditFile");
-            String filename = getStringFromRData(jsData, "filename");
-            
-            // Extract sequence number - REQUIRED for streaming event ordering
-            int sequence;
-            try {
-               sequence = getIntegerFromRData(jsData, "sequence");
-               if (sequence <= 0) {
-                  throw new RuntimeException("AiStreamData event has invalid sequence number: " + sequence);
-               }
-            } catch (Exception e) {
-               throw new RuntimeException("AiStreamData event missing required sequence number: " + e.getMessage());
-            }
-            
-            // Extract cancelled flag for partial content preservation
-            boolean isCancelled = getBooleanFromRData(jsData, "cancelled");
-            
-            // Extract function call flag
-            boolean isFunctionCall = getBooleanFromRData(jsData, "isFunctionCall");
-            
-            // Extract requestId for edit_file widgets
-            String requestId = getStringFromRData(jsData, "requestId");
-            
-            // Create event with extracted data including all flags
-            AiStreamDataEvent streamEvent = new AiStreamDataEvent(messageId, delta, isComplete, isEditFile, filename, sequence, isCancelled, isFunctionCall);
-            
-            // Set the requestId if present
-            if (requestId != null && !requestId.isEmpty()) {
-               streamEvent.setRequestId(requestId);
-            }
-            eventBus_.dispatchEvent(streamEvent);
-         }
-         else if (type == ClientEvent.AiOperation)
-         {
-            // Handle unified AI operation event using the working AiStreamData pattern
-            com.google.gwt.core.client.JavaScriptObject jsData = event.getData();
-            
-            // Extract operation type (required field)
-            String operationType = getStringFromRData(jsData, "operation_type");
-            if (operationType == null || operationType.isEmpty()) {
-               return;
-            }
-            
-            // Extract messageId with fallback patterns like AiStreamData
-            String messageId = getStringFromRData(jsData, "message_id");
-            if (messageId == null || messageId.isEmpty()) {
-               messageId = getStringFromRData(jsData, "messageId");
-            }
-            
-            // For operations that don't need messageId, generate one
-            if (messageId == null || messageId.isEmpty()) {
-               if ("clear_conversation".equals(operationType) || "revert_button".equals(operationType)) {
-                  messageId = operationType + "-" + System.currentTimeMillis();
-               } else {
-                  return;
-               }
-            }
-            
-            // Extract optional fields safely (no exceptions for missing fields)
-            String command = getStringFromRData(jsData, "command", "");
-            String explanation = getStringFromRData(jsData, "explanation", "");
-            String requestId = getStringFromRData(jsData, "request_id", "");
-            String filename = getStringFromRData(jsData, "filename", "");
-            String content = getStringFromRData(jsData, "content", "");
-            
-            // Clean up filename to remove HTML diff markup
-            if (filename != null && filename.contains("<span")) {
-               // Extract just the filename part before any HTML
-               int spanIndex = filename.indexOf("<span");
-               if (spanIndex > 0) {
-                  filename = filename.substring(0, spanIndex).trim();
-               }
-            }
-            
-            // Extract sequence number from R data - MANDATORY!
-            int sequence;
-            try {
-               sequence = getIntegerFromRData(jsData, "sequence");
-            } catch (Exception e) {
-               throw new RuntimeException("SEQUENCE VIOLATION: R must provide sequence number in ai_operation events - " + e.getMessage());
-            }
-            
-            // Route to sequence-based processing
-            if ("clear_conversation".equals(operationType) || 
-                "create_user_message".equals(operationType) || 
-                "create_assistant_message".equals(operationType) ||
-                "create_console_command".equals(operationType) ||
-                "create_terminal_command".equals(operationType) ||
-                "edit_file_command".equals(operationType) ||
-                "revert_button".equals(operationType) ||
-                "hide_widget_buttons".equals(operationType) ||
-                "create_function_call_message".equals(operationType) ||
-                "start_background_recreation".equals(operationType) ||
-                "finish_background_recreation".equals(operationType)) {
-               
-               callAddOperationEvent(sequence, operationType, messageId, command, explanation, requestId, filename, content);
-            } else {
-               // Unknown operation type - skip
-            }
-         }
-         else if (type == ClientEvent.ConsoleOutput)
-         {
-            ConsoleText output = event.getData();
-            eventBus_.dispatchEvent(new ConsoleWriteOutputEvent(output));
-         }
-         else if (type == ClientEvent.ConsoleError)
-         {
-            ConsoleText error = event.getData();
-            eventBus_.dispatchEvent(new ConsoleWriteErrorEvent(error));
-         }
-         else if (type == ClientEvent.ConsoleWritePrompt)
-         {
-            String prompt = event.getData();
-            eventBus_.dispatchEvent(new ConsoleWritePromptEvent(prompt));
-         }
-         else if (type == ClientEvent.ConsoleWriteInput)
-         {
-            ConsoleText input = event.getData();
-            eventBus_.dispatchEvent(new ConsoleWriteInputEvent(input));
-         }
-         else if (type == ClientEvent.ConsolePrompt)
-         {
-            ConsolePrompt prompt = event.getData();
-            eventBus_.dispatchEvent(new ConsolePromptEvent(prompt));
-         }
-         else if (type == ClientEvent.ShowEditor)
-         {
-            ShowEditorData data = event.getData();
-            eventBus_.dispatchEvent(new ShowEditorEvent(data));
-         }
-         else if (type == ClientEvent.FileChanged)
-         {
-            FileChange fileChange = event.getData();
-            eventBus_.dispatchEvent(new FileChangeEvent(fileChange));
-         }
-         else if (type == ClientEvent.WorkingDirChanged)
-         {
-            String path = event.getData();
-            eventBus_.dispatchEvent(new WorkingDirChangedEvent(path));
-         }
-         else if (type == ClientEvent.ShowHelp)
-         {
-            String helpUrl = event.getData();
-            eventBus_.dispatchEvent(new ShowHelpEvent(helpUrl));
-         }
-         else if (type == ClientEvent.ShowErrorMessage)
-         {
-            ErrorMessage errorMessage = event.getData();
-            eventBus_.dispatchEvent(new ShowErrorMessageEvent(errorMessage));
-         }
-         else if (type == ClientEvent.ChooseFile)
-         {
-            boolean newFile = event.<Bool>getData().getValue();
-            eventBus_.dispatchEvent(new ChooseFileEvent(newFile));
-         }
-         else if (type == ClientEvent.BrowseUrl)
-         {
-            BrowseUrlInfo urlInfo = event.getData();
-            eventBus_.dispatchEvent(new BrowseUrlEvent(urlInfo));
-         }
-         else if (type == ClientEvent.PlotsStateChanged)
-         {
-            PlotsState plotsState = event.getData();
-            eventBus_.dispatchEvent(new PlotsChangedEvent(plotsState));
-         }
-         else if (type == ClientEvent.PackageStateChanged)
-         {
-            PackageState newState = event.getData();
-            eventBus_.dispatchEvent(new PackageStateChangedEvent(newState));
-         }
-         else if (type == ClientEvent.PackageStatusChanged)
-         {
-            PackageStatus status = event.getData();
-            eventBus_.dispatchEvent(new PackageStatusChangedEvent(status));
-         }
-         else if (type == ClientEvent.Locator)
-         {
-            eventBus_.dispatchEvent(new LocatorEvent());
-         }
-         else if (type == ClientEvent.ConsoleResetHistory)
-         {
-            ConsoleResetHistory reset = event.getData();
-            eventBus_.dispatchEvent(new ConsoleResetHistoryEvent(reset));
-         }
-         else if (type == ClientEvent.SessionSerialization)
-         {
-            SessionSerializationAction action = event.getData();
-            eventBus_.dispatchEvent(new SessionSerializationEvent(action));
-         }
-         else if (type == ClientEvent.HistoryEntriesAdded)
-         {
-            HistoryEntriesAddedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new HistoryEntriesAddedEvent(data));
-         }
-         else if (type == ClientEvent.QuotaStatus)
-         {
-            QuotaStatus quotaStatus = event.getData();
-            eventBus_.dispatchEvent(new QuotaStatusEvent(quotaStatus));
-         }
-         else if (type == ClientEvent.FileEdit)
-         {
-            FileEditEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new FileEditEvent(data));
-         }
-         else if (type == ClientEvent.ShowContent)
-         {
-            ContentItem content = event.getData();
-            eventBus_.dispatchEvent(new ShowContentEvent(content));
-         }
-         else if (type == ClientEvent.ShowData)
-         {
-            DataItem data = event.getData();
-            eventBus_.dispatchEvent(new ShowDataEvent(data));
-         }
-         else if (type == ClientEvent.AbendWarning)
-         {            
-            eventBus_.dispatchEvent(new SessionAbendWarningEvent());
-         }
-         else if (type == ClientEvent.ShowWarningBar)
-         {
-            eventBus_.dispatchEvent(new ShowWarningBarEvent(event.getData()));
-         }
-         else if (type == ClientEvent.OpenProjectError)
-         {
-            OpenProjectError error = event.getData();
-            eventBus_.dispatchEvent(new OpenProjectErrorEvent(error));
-         }
-         else if (type == ClientEvent.VcsRefresh)
-         {
-            JsObject data = event.getData();
-            eventBus_.dispatchEvent(new VcsRefreshEvent(Reason.NA,
-                                                    data.getInteger("delay")));
-         }
-         else if (type == ClientEvent.AskPass)
-         {
-            AskPassEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new AskPassEvent(data));
-         }
-         else if (type == ClientEvent.ConsoleProcessOutput)
-         {
-            ServerConsoleOutputEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ServerConsoleOutputEvent(data.getHandle(),
-                                                            data.getOutput()));
-         }
-         else if (type == ClientEvent.ConsoleProcessPrompt)
-         {
-            ServerConsolePromptEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ServerConsolePromptEvent(data.getHandle(),
-                                                             data.getPrompt()));
-         }
-         else if (type == ClientEvent.ConsoleProcessCreated)
-         {
-            ConsoleProcessCreatedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ConsoleProcessCreatedEvent(data));
-         }
-         else if (type == ClientEvent.ConsoleProcessExit)
-         {
-            ServerProcessExitEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ServerProcessExitEvent(data.getHandle(),
-                                                          data.getExitCode()));
-         }
-         else if (type == ClientEvent.HTMLPreviewStartedEvent)
-         {
-            HTMLPreviewStartedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new HTMLPreviewStartedEvent(data));
-         }
-         else if (type == ClientEvent.HTMLPreviewOutputEvent)
-         {
-            String output = event.getData();
-            eventBus_.dispatchEvent(new HTMLPreviewOutputEvent(output));
-         }
-         else if (type == ClientEvent.HTMLPreviewCompletedEvent)
-         {
-            HTMLPreviewResult result = event.getData();
-            eventBus_.dispatchEvent(new HTMLPreviewCompletedEvent(result));
-         }
-         else if (type == ClientEvent.CompilePdfStartedEvent)
-         {
-            CompilePdfStartedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new CompilePdfStartedEvent(data));
-         }
-         else if (type == ClientEvent.CompilePdfOutputEvent)
-         {
-            CompileOutput output = event.getData();
-            eventBus_.dispatchEvent(new CompilePdfOutputEvent(output));
-         }
-         else if (type == ClientEvent.CompilePdfErrorsEvent)
-         {
-            JsArray<SourceMarker> data = event.getData();
-            eventBus_.dispatchEvent(new CompilePdfErrorsEvent(data));
-         }
-         else if (type == ClientEvent.CompilePdfCompletedEvent)
-         {
-            CompilePdfResult result = event.getData();
-            eventBus_.dispatchEvent(new CompilePdfCompletedEvent(result));
-         }
-         else if (type == ClientEvent.SynctexEditFile)
-         {
-            SourceLocation sourceLocation = event.getData();
-            eventBus_.dispatchEvent(new SynctexEditFileEvent(sourceLocation));
-         }
-         else if (type == ClientEvent.FindResult)
-         {
-            FindResultEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new FindResultEvent(
-                  data.getHandle(), data.getResults().toArrayList()));
-         }
-         else if (type == ClientEvent.FindOperationEnded)
+         ClientEventRegistry.Decoder decoder = getDecoder(type);
+         if (decoder == null)
          {
-            String data = event.getData();
-            eventBus_.dispatchEvent(new FindOperationEndedEvent(data));
-         }
-         else if (type == ClientEvent.ReplaceResult)
-         {
-            ReplaceResultEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ReplaceResultEvent(
-                   data.getHandle(), data.getResults().toArrayList()));
-         }
-         else if (type == ClientEvent.ReplaceProgress)
-         {
-            ReplaceProgressEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(
-               new ReplaceProgressEvent(data.getTotalReplaceCount(), data.getReplacedCount()));
-         }
-         else if (type == ClientEvent.RPubsUploadStatus)
-         {
-            RPubsUploadStatusEvent.Status status = event.getData();
-            eventBus_.dispatchEvent(new RPubsUploadStatusEvent(status));
-         }
-         else if (type == ClientEvent.BuildStarted)
-         {
-            BuildStartedEvent.Data buildStartedData = event.getData();
-            eventBus_.dispatchEvent(new BuildStartedEvent(buildStartedData));
-         }
-         else if (type == ClientEvent.BuildOutput)
-         {
-            CompileOutput data = event.getData();
-            eventBus_.dispatchEvent(new BuildOutputEvent(data));
-         }
-         else if (type == ClientEvent.BuildCompleted)
-         {
-            BuildCompletedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new BuildCompletedEvent(data));
-         }
-         else if (type == ClientEvent.BuildErrors)
-         {
-            BuildErrorsEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new BuildErrorsEvent(data));
-         }
-         else if (type == ClientEvent.DirectoryNavigate)
-         {
-            DirectoryNavigateEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new DirectoryNavigateEvent(data));
-         }
-         else if (type == ClientEvent.DeferredInitCompleted)
-         {
-            eventBus_.dispatchEvent(new DeferredInitCompletedEvent());
-         }
-         else if (type == ClientEvent.PlotsZoomSizeChanged)
-         {
-            PlotsZoomSizeChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new PlotsZoomSizeChangedEvent(data));
-         }
-         else if (type == ClientEvent.SourceCppStarted)
-         {
-            eventBus_.dispatchEvent(new SourceCppStartedEvent());
-         }
-         else if (type == ClientEvent.SourceCppCompleted)
-         {
-            SourceCppState state = event.getData();
-            eventBus_.dispatchEvent(new SourceCppCompletedEvent(state));
-         }
-         else if (type == ClientEvent.LoadedPackageUpdates)
-         {
-            String installCmd = event.getData();
-            eventBus_.dispatchEvent(new LoadedPackageUpdatesEvent(installCmd));
-         }
-         else if (type == ClientEvent.ActivatePane)
-         {
-            String pane = event.getData();
-            eventBus_.dispatchEvent(new ActivatePaneEvent(pane));
-         }
-         else if (type == ClientEvent.ShowPresentationPane)
-         {
-            PresentationState state = event.getData();
-            eventBus_.dispatchEvent(new ShowPresentationPaneEvent(state));
-         }
-         else if (type == ClientEvent.EnvironmentRefresh)
-         {
-            eventBus_.dispatchEvent(new EnvironmentRefreshEvent());
-         }
-         else if (type == ClientEvent.ListChanged)
-         {
-            eventBus_.dispatchEvent(new ListChangedEvent(event.<JsObject>getData()));
-         }
-         else if (type == ClientEvent.UserPrefsChanged)
-         {
-            PrefLayer data = event.getData();
-            eventBus_.dispatchEvent(new UserPrefsChangedEvent(data));
-         }
-         else if (type == ClientEvent.UserStateChanged)
-         {
-            PrefLayer data = event.getData();
-            eventBus_.dispatchEvent(new UserStateChangedEvent(data));
-         }
-         else if (type == ClientEvent.ContextDepthChanged)
-         {
-            EnvironmentContextData data = event.getData();
-            eventBus_.dispatchEvent(new ContextDepthChangedEvent(data, true));
-         }
-         else if (type == ClientEvent.HandleUnsavedChanges)
-         {
-            eventBus_.dispatchEvent(new HandleUnsavedChangesEvent());
-         }
-         else if (type == ClientEvent.Quit)
-         {
-            QuitEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new QuitEvent(data));
-         }
-         else if (type == ClientEvent.Suicide)
-         {
-            // NOTE: we don't explicitly stop listening for events here
-            // for the reasons cited above in ClientEvent.Quit
-            
-            // fire event
-            String message = event.getData();
-            eventBus_.dispatchEvent(new SuicideEvent(message));
-         }
-         else if (type == ClientEvent.SaveActionChanged)
-         {
-            SaveAction action = event.getData();
-            eventBus_.dispatchEvent(new SaveActionChangedEvent(action));
-         }
-         else if (type == ClientEvent.EnvironmentAssigned)
-         {
-            RObject objectInfo = event.getData();
-            eventBus_.dispatchEvent(new EnvironmentObjectAssignedEvent(objectInfo));
-         }
-         else if (type == ClientEvent.EnvironmentRemoved)
-         {
-            String objectName = event.getData();
-            eventBus_.dispatchEvent(new EnvironmentObjectRemovedEvent(objectName));
-         }
-         else if (type == ClientEvent.EnvironmentChanged)
-         {
-            EnvironmentChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new EnvironmentChangedEvent(data));
-         }
-         else if (type == ClientEvent.BrowserLineChanged)
-         {
-            LineData lineData = event.getData();
-            eventBus_.dispatchEvent(new BrowserLineChangedEvent(lineData));
-         }
-         else if (type == ClientEvent.PackageLoaded)
-         {
-            eventBus_.dispatchEvent(new PackageLoadedEvent(
-                  (String)event.getData()));
-         }
-         else if (type == ClientEvent.PackageUnloaded)
-         {
-            eventBus_.dispatchEvent(new PackageUnloadedEvent(
-                  (String)event.getData()));
-         }
-         else if (type == ClientEvent.PresentationPaneRequestCompleted)
-         {
-            eventBus_.dispatchEvent(new PresentationPaneRequestCompletedEvent());
-         }
-         else if (type == ClientEvent.UnhandledError)
-         {
-            UnhandledError err = event.getData();
-            eventBus_.dispatchEvent(new UnhandledErrorEvent(err));
-         }
-         else if (type == ClientEvent.ErrorHandlerChanged)
-         {
-            ErrorHandlerChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ErrorHandlerChangedEvent(data));
-         }
-         else if (type == ClientEvent.ViewerNavigate)
-         {
-            ViewerNavigateEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ViewerNavigateEvent(data));
-         }
-         else if (type == ClientEvent.SourceExtendedTypeDetected)
-         {
-            SourceExtendedTypeDetectedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new SourceExtendedTypeDetectedEvent(data));
-         }
-         else if (type == ClientEvent.ShinyViewer)
-         {
-            ShinyApplicationParams data = event.getData();
-            eventBus_.dispatchEvent(new ShinyApplicationStatusEvent(data, true));
-         }
-         else if (type == ClientEvent.DebugSourceCompleted)
-         {
-            DebugSourceResult result = (DebugSourceResult)event.getData();
-            eventBus_.dispatchEvent(new DebugSourceCompletedEvent(result));
-         }
-         else if (type == ClientEvent.RmdRenderStarted)
-         {
-            RmdRenderStartedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RmdRenderStartedEvent(data));
-         }
-         else if (type == ClientEvent.RmdRenderOutput)
-         {
-            CompileOutput data = event.getData();
-            eventBus_.dispatchEvent(new RmdRenderOutputEvent(data));
+            GWT.log("WARNING: Server event not dispatched: " + type, null);
+            return;
          }
-         else if (type == ClientEvent.RmdRenderCompleted)
+         
+         // operations can refer to streamed content (e.g. an edit_file
+         // widget), so any deltas still waiting for a frame go first
+         if (ClientEvent.AiOperation.equals(type))
+            aiStreamCoalescer_.flush();
+         
+         GwtEvent<?> gwtEvent = decoder.decode(event);
+         if (gwtEvent instanceof AiStreamDataEvent)
          {
-            RmdRenderResult result = event.getData();
-            eventBus_.dispatchEvent(new RmdRenderCompletedEvent(result));
+            // coalesce deltas so the panel updates at most once per frame
+            aiStreamCoalescer_.add((AiStreamDataEvent) gwtEvent);
          }
-         else if (type == ClientEvent.RmdShinyDocStarted)
+         else if (gwtEvent != null)
          {
-            RmdShinyDocInfo docInfo = event.getData();
-            eventBus_.dispatchEvent(new RmdShinyDocStartedEvent(docInfo));
+            eventBus_.dispatchEvent(gwtEvent);
          }
-         else if (type == ClientEvent.RSConnectDeploymentOutput)
-         {
-            CompileOutput output = event.getData();
-            eventBus_.dispatchEvent(new RSConnectDeploymentOutputEvent(output));
+      }
+      catch(Throwable e)
+      {
+         GWT.log("WARNING: Exception occurred dispatching event: " + type, e);
+      }
+   }
+   
+   /**
+    * Create the registry of decoders for every client event type the server
+    * knows about; built once, and shared by every dispatcher.
+    */
+   private static ClientEventRegistry createDefaultRegistry()
+   {
+      ClientEventRegistry registry = new ClientEventRegistry();
+      
+      registry.register(ClientEvent.Busy, BusyEvent.TYPE, event ->
+      {
+         boolean busy = event.<Bool>getData().getValue();
+         return new BusyEvent(busy);
+      });
+
+      registry.register(ClientEvent.AiStreamData, AiStreamDataEvent.TYPE, event ->
+      {
+         // Extract data using proper R/Java object handling (R sends arrays!)
+         com.google.gwt.core.client.JavaScriptObject jsData = event.getData();
+
+         String messageId = getStringFromRData(jsData, "messageId");
+         if (messageId == null || messageId.isEmpty()) {
+            messageId = getStringFromRData(jsData, "message_id");
          }
-         else if (type == ClientEvent.RSConnectDeploymentCompleted)
-         {
-            String url = event.getData();
-            eventBus_.dispatchEvent(new RSConnectDeploymentCompletedEvent(url));
+         if (messageId == null || messageId.isEmpty()) {
+            throw new RuntimeException("AiStreamData event missing required messageId");
          }
-         else if (type == ClientEvent.RSConnectDeploymentFailed)
-         {
-            RSConnectDeploymentFailedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RSConnectDeploymentFailedEvent(data));
+
+         String delta = getStringFromRData(jsData, "delta");
+         boolean isComplete = getBooleanFromRData(jsData, "isComplete");
+         if (!isComplete) {
+            isComplete = getBooleanFromRData(jsData, "is_complete");
          }
-         else if (type == ClientEvent.UserPrompt)
-         {
-            UserPrompt prompt = event.getData();
-            eventBus_.dispatchEvent(new UserPromptEvent(prompt));
+
+         // Extract edit_file specific properties
+         boolean isEditFile = getBooleanFromRData(jsData, "isEditFile");
+         String filename = getStringFromRData(jsData, "filename");
+
+         // Extract sequence number - REQUIRED for streaming event ordering
+         int sequence;
+         try {
+            sequence = getIntegerFromRData(jsData, "sequence");
+            if (sequence <= 0) {
+               throw new RuntimeException("AiStreamData event has invalid sequence number: " + sequence);
+            }
+         } catch (Exception e) {
+            throw new RuntimeException("AiStreamData event missing required sequence number: " + e.getMessage());
          }
-         else if (type == ClientEvent.InstallRtools)
-         {
-            InstallRtoolsEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new InstallRtoolsEvent(data));
+
+         // Extract cancelled flag for partial content preservation
+         boolean isCancelled = getBooleanFromRData(jsData, "cancelled");
+
+         // Extract function call flag
+         boolean isFunctionCall = getBooleanFromRData(jsData, "isFunctionCall");
+
+         // Extract requestId for edit_file widgets
+         String requestId = getStringFromRData(jsData, "requestId");
+
+         // Create event with extracted data including all flags
+         AiStreamDataEvent streamEvent = new AiStreamDataEvent(messageId, delta, isComplete, isEditFile, filename, sequence, isCancelled, isFunctionCall);
+
+         // Set the requestId if present
+         if (requestId != null && !requestId.isEmpty()) {
+            streamEvent.setRequestId(requestId);
          }
-         else if (type == ClientEvent.InstallShiny)
-         {
-            String userAction = event.getData();
-            eventBus_.dispatchEvent(new InstallShinyEvent(userAction));
+
+         return streamEvent;
+      });
+
+      registry.register(ClientEvent.AiOperation, null, event ->
+      {
+         // Handle unified AI operation event using the working AiStreamData pattern
+         com.google.gwt.core.client.JavaScriptObject jsData = event.getData();
+
+         // Extract operation type (required field)
+         String operationType = getStringFromRData(jsData, "operation_type");
+         if (operationType == null || operationType.isEmpty()) {
+            return null;
          }
-         else if (type == ClientEvent.SuspendAndRestart)
-         {
-            SuspendAndRestartEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new SuspendAndRestartEvent(data));
+
+         // Extract messageId with fallback patterns like AiStreamData
+         String messageId = getStringFromRData(jsData, "message_id");
+         if (messageId == null || messageId.isEmpty()) {
+            messageId = getStringFromRData(jsData, "messageId");
          }
-         else if (type == ClientEvent.DataViewChanged)
-         {
-            DataViewChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new DataViewChangedEvent(data));
+
+         // For operations that don't need messageId, generate one
+         if (messageId == null || messageId.isEmpty()) {
+            if ("clear_conversation".equals(operationType) || "revert_button".equals(operationType)) {
+               messageId = operationType + "-" + System.currentTimeMillis();
+            } else {
+               return null;
+            }
          }
-         else if (type == ClientEvent.ViewFunction)
-         {
-            SearchPathFunctionDefinition data = event.getData();
-            eventBus_.dispatchEvent(new CodeBrowserNavigationEvent(
-                  data, null, false, true, false));
+
+         // Extract optional fields safely (no exceptions for missing fields)
+         String command = getStringFromRData(jsData, "command", "");
+         String explanation = getStringFromRData(jsData, "explanation", "");
+         String requestId = getStringFromRData(jsData, "request_id", "");
+         String filename = getStringFromRData(jsData, "filename", "");
+         String content = getStringFromRData(jsData, "content", "");
+
+         // Clean up filename to remove HTML diff markup
+         if (filename != null && filename.contains("<span")) {
+            // Extract just the filename part before any HTML
+            int spanIndex = filename.indexOf("<span");
+            if (spanIndex > 0) {
+               filename = filename.substring(0, spanIndex).trim();
+            }
          }
-         else if (type == ClientEvent.MarkersChanged)
-         {
-            MarkersChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new MarkersChangedEvent(data));
+
+         // Extract sequence number from R data - MANDATORY!
+         int sequence;
+         try {
+            sequence = getIntegerFromRData(jsData, "sequence");
+         } catch (Exception e) {
+            throw new RuntimeException("SEQUENCE VIOLATION: R must provide sequence number in ai_operation events - " + e.getMessage());
          }
-         else if (type == ClientEvent.EnableRStudioConnect)
-         {
-            EnableRStudioConnectUIEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new EnableRStudioConnectUIEvent(data));
+
+         // Route to sequence-based processing
+         if ("clear_conversation".equals(operationType) || 
+             "create_user_message".equals(operationType) || 
+             "create_assistant_message".equals(operationType) ||
+             "create_console_command".equals(operationType) ||
+             "create_terminal_command".equals(operationType) ||
+             "edit_file_command".equals(operationType) ||
+             "revert_button".equals(operationType) ||
+             "hide_widget_buttons".equals(operationType) ||
+             "create_function_call_message".equals(operationType) ||
+             "start_background_recreation".equals(operationType) ||
+             "finish_background_recreation".equals(operationType)) {
+
+            callAddOperationEvent(sequence, operationType, messageId, command, explanation, requestId, filename, content);
+         } else {
+            // Unknown operation type - skip
          }
-         else if (type == ClientEvent.UpdateGutterMarkers)
-         {
-            LintEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new LintEvent(data));
-         }
-         else if (type == ClientEvent.SnippetsChanged)
-         {
-            SnippetsChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new SnippetsChangedEvent(data));
-         }
-         else if (type == ClientEvent.JumpToFunction)
-         {
-            JumpToFunctionEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new JumpToFunctionEvent(data));
-         }
-         else if (type == ClientEvent.CollabEditStarted)
-         {
-            CollabEditStartParams params = event.getData();
-            eventBus_.dispatchEvent(new CollabEditStartedEvent(params));
-         }
-         else if (type == ClientEvent.SessionCountChanged)
-         {
-            SessionCountChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new SessionCountChangedEvent(data));
-         }
-         else if (type == ClientEvent.SessionLabelChanged)
-         {
-            SessionLabelChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new SessionLabelChangedEvent(data));
-         }
-         else if (type == ClientEvent.CollabEditEnded)
-         {
-            CollabEditEndedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new CollabEditEndedEvent(data));
-         }
-         else if (type == ClientEvent.ProjectUsersChanged)
-         {
-            ProjectUserChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ProjectUserChangedEvent(data));
-         }
-         else if (type == ClientEvent.RVersionsChanged)
-         {
-            RVersionsInfo versions = event.getData();
-            eventBus_.dispatchEvent(new RVersionsChangedEvent(versions));
-         }
-         else if (type == ClientEvent.ShinyGadgetDialog)
-         {
-            ShinyGadgetDialogEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ShinyGadgetDialogEvent(data));
-         }
-         else if (type == ClientEvent.RmdParamsReady)
-         {
-            String paramsFile = event.getData();
-            eventBus_.dispatchEvent(new RmdParamsReadyEvent(paramsFile));
-         }
-         else if (type == ClientEvent.RegisterUserCommand)
-         {
-            RegisterUserCommandEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RegisterUserCommandEvent(data));
-         }
-         else if (type == ClientEvent.SendToConsole)
-         {
-            SendToConsoleEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new SendToConsoleEvent(data));
-         }
-         else if (type == ClientEvent.UserFollowStarted)
-         {
-            ProjectUser user = event.getData();
-            eventBus_.dispatchEvent(new FollowUserEvent(user, true));
-         }
-         else if (type == ClientEvent.UserFollowEnded)
-         {
-            ProjectUser user = event.getData();
-            eventBus_.dispatchEvent(new FollowUserEvent(user, false));
-         }
-         else if (type == ClientEvent.ProjectAccessRevoked)
-         {
-            eventBus_.dispatchEvent(new ProjectAccessRevokedEvent());
-         }
-         else if (type == ClientEvent.CollabEditSaved)
-         {
-            CollabEditSavedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new CollabEditSavedEvent(data));
-         }
-         else if (type == ClientEvent.AddinRegistryUpdated)
-         {
-            RAddins data = event.getData();
-            eventBus_.dispatchEvent(new AddinRegistryUpdatedEvent(data));
-         }
-         else if (type == ClientEvent.ChunkOutput)
-         {
-            RmdChunkOutput data = event.getData();
-            eventBus_.dispatchEvent(new RmdChunkOutputEvent(data));
-         }
-         else if (type == ClientEvent.ChunkOutputFinished)
-         {
-            RmdChunkOutputFinishedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RmdChunkOutputFinishedEvent(data));
-         }
-         else if (type == ClientEvent.RprofStarted)
-         {
-            eventBus_.dispatchEvent(new RprofEvent(RprofEvent.RprofEventType.START, null));
-         }
-         else if (type == ClientEvent.RprofStopped)
-         {
-            eventBus_.dispatchEvent(new RprofEvent(RprofEvent.RprofEventType.STOP, null));
-         }
-         else if (type == ClientEvent.RprofCreated)
-         {
-            RprofEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RprofEvent(RprofEvent.RprofEventType.CREATE, data));
-         }
-         else if (type == ClientEvent.EditorCommand)
-         {
-            EditorCommandEvent.Data data = event.getData();
-            EditorCommandEvent payload = new EditorCommandEvent(data);
-            eventBus_.dispatchEvent(new EditorCommandDispatchEvent(payload));
-         }
-         else if (type == ClientEvent.PreviewRmd)
-         {
-            PreviewRmdEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new PreviewRmdEvent(data));
-         }
-         else if (type == ClientEvent.WebsiteFileSaved)
-         {
-            FileSystemItem fsi = event.getData();
-            eventBus_.dispatchEvent(new WebsiteFileSavedEvent(fsi));
-         }
-         else if (type == ClientEvent.ChunkPlotRefreshed)
-         {
-            ChunkPlotRefreshedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ChunkPlotRefreshedEvent(data));
-         }
-         else if (type == ClientEvent.ChunkPlotRefreshFinished)
-         {
-            ChunkPlotRefreshFinishedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ChunkPlotRefreshFinishedEvent(data));
-         }
-         else if (type == ClientEvent.ReloadWithLastChanceSave)
-         {
-            eventBus_.dispatchEvent(new ReloadWithLastChanceSaveEvent());
-         }
-         else if (type == ClientEvent.ConnectionUpdated)
-         {
-            ConnectionUpdatedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ConnectionUpdatedEvent(data));
-         }
-         else if (type == ClientEvent.EnableConnections)
-         {
-            eventBus_.dispatchEvent(new EnableConnectionsEvent());
-         }
-         else if (type == ClientEvent.ConnectionListChanged)
-         {
-            JsArray<Connection> connections = event.getData();
-            eventBus_.dispatchEvent(new ConnectionListChangedEvent(connections));
-         }
-         else if (type == ClientEvent.ActiveConnectionsChanged)
-         {
-            JsArray<ConnectionId> connections = event.getData();
-            eventBus_.dispatchEvent(new ActiveConnectionsChangedEvent(connections));
-         }
-         else if (type == ClientEvent.ConnectionOpened)
-         {
-            Connection connection = event.getData();
-            eventBus_.dispatchEvent(new ConnectionOpenedEvent(connection));
-         }
-         else if (type == ClientEvent.NotebookRangeExecuted)
-         {
-            NotebookRangeExecutedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new NotebookRangeExecutedEvent(data));
-         }
-         else if (type == ClientEvent.ChunkExecStateChanged)
-         {
-            ChunkExecStateChangedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ChunkExecStateChangedEvent(data));
-         }
-         else if (type == ClientEvent.NavigateShinyFrame)
-         {
-            ShinyFrameNavigatedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ShinyFrameNavigatedEvent(data));
-         }
-         else if (type == ClientEvent.UpdateNewConnectionDialog)
-         {
-            NewConnectionDialogUpdatedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new NewConnectionDialogUpdatedEvent(data));
-         }
-         else if (type == ClientEvent.ProjectTemplateRegistryUpdated)
-         {
-            ProjectTemplateRegistry data = event.getData();
-            eventBus_.dispatchEvent(new ProjectTemplateRegistryUpdatedEvent(data));
-         }
-         else if (type == ClientEvent.TerminalSubProcs)
-         {
-            TerminalSubprocEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new TerminalSubprocEvent(data));
-         }
-         else if (type == ClientEvent.PackageExtensionIndexingCompleted)
-         {
-            PackageProvidedExtensions.Data data = event.getData();
-            eventBus_.dispatchEvent(new PackageExtensionIndexingCompletedEvent(data));
-         }
-         else if (type == ClientEvent.RStudioAPIShowDialog)
-         {
-            RStudioAPIShowDialogEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RStudioAPIShowDialogEvent(data));
-         }
-         else if (type == ClientEvent.ObjectExplorerEvent)
-         {
-            ObjectExplorerEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ObjectExplorerEvent(data));
-         }
-         else if (type == ClientEvent.SendToTerminal)
-         {
-            SendToTerminalEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new SendToTerminalEvent(data));
-         }
-         else if (type == ClientEvent.ClearTerminal)
-         {
-            ClearTerminalEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ClearTerminalEvent(data));
-         }
-         else if (type == ClientEvent.AddTerminal)
-         {
-            AddTerminalEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new AddTerminalEvent(data));
-         }
-         else if (type == ClientEvent.RemoveTerminal)
-         {
-            RemoveTerminalEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RemoveTerminalEvent(data));
-         }
-         else if (type == ClientEvent.ActivateTerminal)
-         {
-            ActivateNamedTerminalEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ActivateNamedTerminalEvent(data));
-         }
-         else if (type == ClientEvent.TerminalCwd)
-         {
-            TerminalCwdEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new TerminalCwdEvent(data));
-         }
-         else if (type == ClientEvent.AdminNotification)
-         {
-            AdminNotification notification = event.getData();
-            eventBus_.dispatchEvent(new AdminNotificationEvent(notification));
-         }
-         else if (type == ClientEvent.RequestDocumentSave)
-         {
-            RequestDocumentSaveEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RequestDocumentSaveEvent(data));
-         }
-         else if (type == ClientEvent.RequestOpenProject)
-         {
-            RequestOpenProjectEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RequestOpenProjectEvent(data));
-         }
-         else if (type == ClientEvent.OpenFileDialog)
-         {
-            OpenFileDialogEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new OpenFileDialogEvent(data));
-         }
-         else if (type == ClientEvent.ShowPageViewer)
-         {
-            HTMLPreviewParams params = event.getData();
-            eventBus_.dispatchEvent(new ShowPageViewerEvent(params));
-         }
-         else if (type == ClientEvent.AskSecret)
-         {
-            AskSecretEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new AskSecretEvent(data));
-         }
-         else if (type == ClientEvent.TestsStarted)
-         {
-            TestsStartedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new TestsStartedEvent(data));
-         }
-         else if (type == ClientEvent.TestsOutput)
-         {
-            CompileOutput data = event.getData();
-            eventBus_.dispatchEvent(new TestsOutputEvent(data));
-         }
-         else if (type == ClientEvent.TestsCompleted)
-         {
-            TestsResult result = event.getData();
-            eventBus_.dispatchEvent(new TestsCompletedEvent(result));
-         }
-         else if (type == ClientEvent.JobUpdated)
-         {
-            JobUpdate data = event.getData();
-            eventBus_.dispatchEvent(new JobUpdatedEvent(data));
-         }
-         else if (type == ClientEvent.JobRefresh)
-         {
-            JobState data = event.getData();
-            eventBus_.dispatchEvent(new JobRefreshEvent(data));
-         }
-         else if (type == ClientEvent.JobOutput)
-         {
-            JobOutputEvent.Data output = event.getData();
-            eventBus_.dispatchEvent(new JobOutputEvent(output));
-         }
-         else if (type == ClientEvent.DataOutputCompleted)
-         {
-            DataOutputResult result = event.getData();
-            eventBus_.dispatchEvent(new DataOutputCompletedEvent(result));
-         }
-         else if (type == ClientEvent.NewDocumentWithCode)
-         {
-            NewDocumentWithCodeEvent.Data result = event.getData();
-            eventBus_.dispatchEvent(new NewDocumentWithCodeEvent(result));
-         }
-         else if (type == ClientEvent.AvailablePackagesReady)
-         {
-            AvailablePackagesReadyEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new AvailablePackagesReadyEvent(data));
-         }
-         else if (type == ClientEvent.PlumberViewer)
-         {
-            PlumberAPIParams data = event.getData();
-            eventBus_.dispatchEvent(new PlumberAPIStatusEvent(data, true));
-         }
-         else if (type == ClientEvent.ComputeThemeColors)
-         {
-            eventBus_.dispatchEvent(new ComputeThemeColorsEvent());
-         }
-         else if (type == ClientEvent.RequestDocumentClose)
-         {
-            RequestDocumentCloseEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RequestDocumentCloseEvent(data));
-         }
-         else if (type == ClientEvent.ExecuteAppCommand)
-         {
-            ExecuteAppCommandEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ExecuteAppCommandEvent(data));
-         }
-         else if (type == ClientEvent.HighlightUi)
-         {
-            HighlightEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new HighlightEvent(data));
-         }
-         else if (type == ClientEvent.TutorialCommand)
-         {
-            TutorialCommandEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new TutorialCommandEvent(data));
-         }
-         else if (type == ClientEvent.TutorialLaunch)
-         {
-            TutorialLaunchEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new TutorialLaunchEvent(data));
-         }
-         else if (type == ClientEvent.ReticulateEvent)
-         {
-            ReticulateEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ReticulateEvent(data));
-         }
-         else if (type == ClientEvent.RStudioApiRequest)
-         {
-            RStudioApiRequestEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RStudioApiRequestEvent(data));
-         }
-         else if (type == ClientEvent.DocumentCloseAllNoSave)
-         {
-            eventBus_.dispatchEvent(new DocumentCloseAllNoSaveEvent());
-         }
-         else if (type == ClientEvent.MemoryUsageChanged)
-         {
-            MemoryUsage data = event.getData();
-            eventBus_.dispatchEvent(new MemoryUsageChangedEvent(data));
-         }
-         else if (type == ClientEvent.CommandCallbacksChanged)
-         {
-            JsArrayString commands = event.getData();
-            eventBus_.dispatchEvent(new CommandCallbacksChangedEvent(commands));
-         }
-         else if (type == ClientEvent.ConsoleActivate)
-         {
-            boolean focusWindow = event.<Bool>getData().getValue();
-            eventBus_.dispatchEvent(new ConsoleActivateEvent(focusWindow));
-         }
-         else if (type == ClientEvent.JobsActivate)
-         {
-            JobsActivateEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new JobsActivateEvent(data));
-         }
-         else if (type == ClientEvent.PresentationPreview)
-         {
-            PresentationPreviewEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new PresentationPreviewEvent(data));
-         }
-         else if (type == ClientEvent.SuspendBlocked)
-         {
-            SessionSuspendBlockedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new SessionSuspendBlockedEvent(data));
-         }
-         else if (type == ClientEvent.ClipboardAction)
-         {
-            ClipboardActionEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new ClipboardActionEvent(data));
-         }
-         else if (type == ClientEvent.DeploymentRecordsUpdated)
-         {
-            DeploymentRecordsUpdatedEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new DeploymentRecordsUpdatedEvent(data));
-         }
-         else if (type == ClientEvent.RunAutomation)
-         {
-            eventBus_.dispatchEvent(new RunAutomationEvent());
-         }
-         else if (type == ClientEvent.UpdateThinkingMessage)
-         {
-            UpdateThinkingMessageEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new UpdateThinkingMessageEvent(data));
-         }
-         else if (type == ClientEvent.StoreActiveRequestId)
-         {
-            StoreActiveRequestIdEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new StoreActiveRequestIdEvent(data));
-         }
-         else if (type == ClientEvent.AiStartConversation)
-         {
-            AiStartConversationEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new AiStartConversationEvent(data));
-         }
-         else if (type == ClientEvent.AiLoadConversation)
-         {
-            AiLoadConversationEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new AiLoadConversationEvent(data));
-         }
-         else if (type == ClientEvent.RefreshDocumentContent)
-         {
-            // Handle refresh document content event
-            com.google.gwt.core.client.JavaScriptObject jsData = event.getData();
-            
-            String documentId = getStringFromRData(jsData, "document_id");
-            String filePath = getStringFromRData(jsData, "file_path");
-            String content = getStringFromRData(jsData, "content");
-            boolean markClean = getBooleanFromRData(jsData, "mark_clean"); // Default is false from getBooleanFromRData
-            
-            if (documentId != null && filePath != null && content != null) {
-               // Fire an event to update the document content directly
-               RefreshDocumentContentEvent refreshEvent = new RefreshDocumentContentEvent(documentId, filePath, content, markClean);
-               eventBus_.dispatchEvent(refreshEvent);
-            }
-         }
-         else if (type == ClientEvent.RequestDocumentCloseForRevert)
-         {
-            RequestDocumentCloseForRevertEvent.Data data = event.getData();
-            eventBus_.dispatchEvent(new RequestDocumentCloseForRevertEvent(data));
-         }
-         else
-         {
-            GWT.log("WARNING: Server event not dispatched: " + type, null);
+         return null;
+      });
+
+      registry.register(ClientEvent.ConsoleOutput, ConsoleWriteOutputEvent.TYPE, event ->
+      {
+         ConsoleText output = event.getData();
+         return new ConsoleWriteOutputEvent(output);
+      });
+
+      registry.register(ClientEvent.ConsoleError, ConsoleWriteErrorEvent.TYPE, event ->
+      {
+         ConsoleText error = event.getData();
+         return new ConsoleWriteErrorEvent(error);
+      });
+
+      registry.register(ClientEvent.ConsoleWritePrompt, ConsoleWritePromptEvent.TYPE, event ->
+      {
+         String prompt = event.getData();
+         return new ConsoleWritePromptEvent(prompt);
+      });
+
+      registry.register(ClientEvent.ConsoleWriteInput, ConsoleWriteInputEvent.TYPE, event ->
+      {
+         ConsoleText input = event.getData();
+         return new ConsoleWriteInputEvent(input);
+      });
+
+      registry.register(ClientEvent.ConsolePrompt, ConsolePromptEvent.TYPE, event ->
+      {
+         ConsolePrompt prompt = event.getData();
+         return new ConsolePromptEvent(prompt);
+      });
+
+      registry.register(ClientEvent.ShowEditor, ShowEditorEvent.TYPE, event ->
+      {
+         ShowEditorData data = event.getData();
+         return new ShowEditorEvent(data);
+      });
+
+      registry.register(ClientEvent.FileChanged, FileChangeEvent.TYPE, event ->
+      {
+         FileChange fileChange = event.getData();
+         return new FileChangeEvent(fileChange);
+      });
+
+      registry.register(ClientEvent.WorkingDirChanged, WorkingDirChangedEvent.TYPE, event ->
+      {
+         String path = event.getData();
+         return new WorkingDirChangedEvent(path);
+      });
+
+      registry.register(ClientEvent.ShowHelp, ShowHelpEvent.TYPE, event ->
+      {
+         String helpUrl = event.getData();
+         return new ShowHelpEvent(helpUrl);
+      });
+
+      registry.register(ClientEvent.ShowErrorMessage, ShowErrorMessageEvent.TYPE, event ->
+      {
+         ErrorMessage errorMessage = event.getData();
+         return new ShowErrorMessageEvent(errorMessage);
+      });
+
+      registry.register(ClientEvent.ChooseFile, ChooseFileEvent.TYPE, event ->
+      {
+         boolean newFile = event.<Bool>getData().getValue();
+         return new ChooseFileEvent(newFile);
+      });
+
+      registry.register(ClientEvent.BrowseUrl, BrowseUrlEvent.TYPE, event ->
+      {
+         BrowseUrlInfo urlInfo = event.getData();
+         return new BrowseUrlEvent(urlInfo);
+      });
+
+      registry.register(ClientEvent.PlotsStateChanged, PlotsChangedEvent.TYPE, event ->
+      {
+         PlotsState plotsState = event.getData();
+         return new PlotsChangedEvent(plotsState);
+      });
+
+      registry.register(ClientEvent.PackageStateChanged, PackageStateChangedEvent.TYPE, event ->
+      {
+         PackageState newState = event.getData();
+         return new PackageStateChangedEvent(newState);
+      });
+
+      registry.register(ClientEvent.PackageStatusChanged, PackageStatusChangedEvent.TYPE, event ->
+      {
+         PackageStatus status = event.getData();
+         return new PackageStatusChangedEvent(status);
+      });
+
+      registry.register(ClientEvent.Locator, LocatorEvent.TYPE, event ->
+      {
+         return new LocatorEvent();
+      });
+
+      registry.register(ClientEvent.ConsoleResetHistory, ConsoleResetHistoryEvent.TYPE, event ->
+      {
+         ConsoleResetHistory reset = event.getData();
+         return new ConsoleResetHistoryEvent(reset);
+      });
+
+      registry.register(ClientEvent.SessionSerialization, SessionSerializationEvent.TYPE, event ->
+      {
+         SessionSerializationAction action = event.getData();
+         return new SessionSerializationEvent(action);
+      });
+
+      registry.register(ClientEvent.HistoryEntriesAdded, HistoryEntriesAddedEvent.TYPE, event ->
+      {
+         HistoryEntriesAddedEvent.Data data = event.getData();
+         return new HistoryEntriesAddedEvent(data);
+      });
+
+      registry.register(ClientEvent.QuotaStatus, QuotaStatusEvent.TYPE, event ->
+      {
+         QuotaStatus quotaStatus = event.getData();
+         return new QuotaStatusEvent(quotaStatus);
+      });
+
+      registry.register(ClientEvent.FileEdit, FileEditEvent.TYPE, event ->
+      {
+         FileEditEvent.Data data = event.getData();
+         return new FileEditEvent(data);
+      });
+
+      registry.register(ClientEvent.ShowContent, ShowContentEvent.TYPE, event ->
+      {
+         ContentItem content = event.getData();
+         return new ShowContentEvent(content);
+      });
+
+      registry.register(ClientEvent.ShowData, ShowDataEvent.TYPE, event ->
+      {
+         DataItem data = event.getData();
+         return new ShowDataEvent(data);
+      });
+
+      registry.register(ClientEvent.AbendWarning, SessionAbendWarningEvent.TYPE, event ->
+      {
+         return new SessionAbendWarningEvent();
+      });
+
+      registry.register(ClientEvent.ShowWarningBar, ShowWarningBarEvent.TYPE, event ->
+      {
+         return new ShowWarningBarEvent(event.getData());
+      });
+
+      registry.register(ClientEvent.OpenProjectError, OpenProjectErrorEvent.TYPE, event ->
+      {
+         OpenProjectError error = event.getData();
+         return new OpenProjectErrorEvent(error);
+      });
+
+      registry.register(ClientEvent.VcsRefresh, VcsRefreshEvent.TYPE, event ->
+      {
+         JsObject data = event.getData();
+         return new VcsRefreshEvent(Reason.NA,
+                                    data.getInteger("delay"));
+      });
+
+      registry.register(ClientEvent.AskPass, AskPassEvent.TYPE, event ->
+      {
+         AskPassEvent.Data data = event.getData();
+         return new AskPassEvent(data);
+      });
+
+      registry.register(ClientEvent.ConsoleProcessOutput, ServerConsoleOutputEvent.TYPE, event ->
+      {
+         ServerConsoleOutputEvent.Data data = event.getData();
+         return new ServerConsoleOutputEvent(data.getHandle(),
+                                             data.getOutput());
+      });
+
+      registry.register(ClientEvent.ConsoleProcessPrompt, ServerConsolePromptEvent.TYPE, event ->
+      {
+         ServerConsolePromptEvent.Data data = event.getData();
+         return new ServerConsolePromptEvent(data.getHandle(),
+                                             data.getPrompt());
+      });
+
+      registry.register(ClientEvent.ConsoleProcessCreated, ConsoleProcessCreatedEvent.TYPE, event ->
+      {
+         ConsoleProcessCreatedEvent.Data data = event.getData();
+         return new ConsoleProcessCreatedEvent(data);
+      });
+
+      registry.register(ClientEvent.ConsoleProcessExit, ServerProcessExitEvent.TYPE, event ->
+      {
+         ServerProcessExitEvent.Data data = event.getData();
+         return new ServerProcessExitEvent(data.getHandle(),
+                                           data.getExitCode());
+      });
+
+      registry.register(ClientEvent.HTMLPreviewStartedEvent, HTMLPreviewStartedEvent.TYPE, event ->
+      {
+         HTMLPreviewStartedEvent.Data data = event.getData();
+         return new HTMLPreviewStartedEvent(data);
+      });
+
+      registry.register(ClientEvent.HTMLPreviewOutputEvent, HTMLPreviewOutputEvent.TYPE, event ->
+      {
+         String output = event.getData();
+         return new HTMLPreviewOutputEvent(output);
+      });
+
+      registry.register(ClientEvent.HTMLPreviewCompletedEvent, HTMLPreviewCompletedEvent.TYPE, event ->
+      {
+         HTMLPreviewResult result = event.getData();
+         return new HTMLPreviewCompletedEvent(result);
+      });
+
+      registry.register(ClientEvent.CompilePdfStartedEvent, CompilePdfStartedEvent.TYPE, event ->
+      {
+         CompilePdfStartedEvent.Data data = event.getData();
+         return new CompilePdfStartedEvent(data);
+      });
+
+      registry.register(ClientEvent.CompilePdfOutputEvent, CompilePdfOutputEvent.TYPE, event ->
+      {
+         CompileOutput output = event.getData();
+         return new CompilePdfOutputEvent(output);
+      });
+
+      registry.register(ClientEvent.CompilePdfErrorsEvent, CompilePdfErrorsEvent.TYPE, event ->
+      {
+         JsArray<SourceMarker> data = event.getData();
+         return new CompilePdfErrorsEvent(data);
+      });
+
+      registry.register(ClientEvent.CompilePdfCompletedEvent, CompilePdfCompletedEvent.TYPE, event ->
+      {
+         CompilePdfResult result = event.getData();
+         return new CompilePdfCompletedEvent(result);
+      });
+
+      registry.register(ClientEvent.SynctexEditFile, SynctexEditFileEvent.TYPE, event ->
+      {
+         SourceLocation sourceLocation = event.getData();
+         return new SynctexEditFileEvent(sourceLocation);
+      });
+
+      registry.register(ClientEvent.FindResult, FindResultEvent.TYPE, event ->
+      {
+         FindResultEvent.Data data = event.getData();
+         return new FindResultEvent(
+                                    data.getHandle(), data.getResults().toArrayList());
+      });
+
+      registry.register(ClientEvent.FindOperationEnded, FindOperationEndedEvent.TYPE, event ->
+      {
+         String data = event.getData();
+         return new FindOperationEndedEvent(data);
+      });
+
+      registry.register(ClientEvent.ReplaceResult, ReplaceResultEvent.TYPE, event ->
+      {
+         ReplaceResultEvent.Data data = event.getData();
+         return new ReplaceResultEvent(
+                                       data.getHandle(), data.getResults().toArrayList());
+      });
+
+      registry.register(ClientEvent.ReplaceProgress, ReplaceProgressEvent.TYPE, event ->
+      {
+         ReplaceProgressEvent.Data data = event.getData();
+         return new ReplaceProgressEvent(data.getTotalReplaceCount(), data.getReplacedCount());
+      });
+
+      registry.register(ClientEvent.RPubsUploadStatus, RPubsUploadStatusEvent.TYPE, event ->
+      {
+         RPubsUploadStatusEvent.Status status = event.getData();
+         return new RPubsUploadStatusEvent(status);
+      });
+
+      registry.register(ClientEvent.BuildStarted, BuildStartedEvent.TYPE, event ->
+      {
+         BuildStartedEvent.Data buildStartedData = event.getData();
+         return new BuildStartedEvent(buildStartedData);
+      });
+
+      registry.register(ClientEvent.BuildOutput, BuildOutputEvent.TYPE, event ->
+      {
+         CompileOutput data = event.getData();
+         return new BuildOutputEvent(data);
+      });
+
+      registry.register(ClientEvent.BuildCompleted, BuildCompletedEvent.TYPE, event ->
+      {
+         BuildCompletedEvent.Data data = event.getData();
+         return new BuildCompletedEvent(data);
+      });
+
+      registry.register(ClientEvent.BuildErrors, BuildErrorsEvent.TYPE, event ->
+      {
+         BuildErrorsEvent.Data data = event.getData();
+         return new BuildErrorsEvent(data);
+      });
+
+      registry.register(ClientEvent.DirectoryNavigate, DirectoryNavigateEvent.TYPE, event ->
+      {
+         DirectoryNavigateEvent.Data data = event.getData();
+         return new DirectoryNavigateEvent(data);
+      });
+
+      registry.register(ClientEvent.DeferredInitCompleted, DeferredInitCompletedEvent.TYPE, event ->
+      {
+         return new DeferredInitCompletedEvent();
+      });
+
+      registry.register(ClientEvent.PlotsZoomSizeChanged, PlotsZoomSizeChangedEvent.TYPE, event ->
+      {
+         PlotsZoomSizeChangedEvent.Data data = event.getData();
+         return new PlotsZoomSizeChangedEvent(data);
+      });
+
+      registry.register(ClientEvent.SourceCppStarted, SourceCppStartedEvent.TYPE, event ->
+      {
+         return new SourceCppStartedEvent();
+      });
+
+      registry.register(ClientEvent.SourceCppCompleted, SourceCppCompletedEvent.TYPE, event ->
+      {
+         SourceCppState state = event.getData();
+         return new SourceCppCompletedEvent(state);
+      });
+
+      registry.register(ClientEvent.LoadedPackageUpdates, LoadedPackageUpdatesEvent.TYPE, event ->
+      {
+         String installCmd = event.getData();
+         return new LoadedPackageUpdatesEvent(installCmd);
+      });
+
+      registry.register(ClientEvent.ActivatePane, ActivatePaneEvent.TYPE, event ->
+      {
+         String pane = event.getData();
+         return new ActivatePaneEvent(pane);
+      });
+
+      registry.register(ClientEvent.ShowPresentationPane, ShowPresentationPaneEvent.TYPE, event ->
+      {
+         PresentationState state = event.getData();
+         return new ShowPresentationPaneEvent(state);
+      });
+
+      registry.register(ClientEvent.EnvironmentRefresh, EnvironmentRefreshEvent.TYPE, event ->
+      {
+         return new EnvironmentRefreshEvent();
+      });
+
+      registry.register(ClientEvent.ListChanged, ListChangedEvent.TYPE, event ->
+      {
+         return new ListChangedEvent(event.<JsObject>getData());
+      });
+
+      registry.register(ClientEvent.UserPrefsChanged, UserPrefsChangedEvent.TYPE, event ->
+      {
+         PrefLayer data = event.getData();
+         return new UserPrefsChangedEvent(data);
+      });
+
+      registry.register(ClientEvent.UserStateChanged, UserStateChangedEvent.TYPE, event ->
+      {
+         PrefLayer data = event.getData();
+         return new UserStateChangedEvent(data);
+      });
+
+      registry.register(ClientEvent.ContextDepthChanged, ContextDepthChangedEvent.TYPE, event ->
+      {
+         EnvironmentContextData data = event.getData();
+         return new ContextDepthChangedEvent(data, true);
+      });
+
+      registry.register(ClientEvent.HandleUnsavedChanges, HandleUnsavedChangesEvent.TYPE, event ->
+      {
+         return new HandleUnsavedChangesEvent();
+      });
+
+      registry.register(ClientEvent.Quit, QuitEvent.TYPE, event ->
+      {
+         QuitEvent.Data data = event.getData();
+         return new QuitEvent(data);
+      });
+
+      registry.register(ClientEvent.Suicide, SuicideEvent.TYPE, event ->
+      {
+         // NOTE: we don't explicitly stop listening for events here
+         // for the reasons cited above in ClientEvent.Quit
+
+         // fire event
+         String message = event.getData();
+         return new SuicideEvent(message);
+      });
+
+      registry.register(ClientEvent.SaveActionChanged, SaveActionChangedEvent.TYPE, event ->
+      {
+         SaveAction action = event.getData();
+         return new SaveActionChangedEvent(action);
+      });
+
+      registry.register(ClientEvent.EnvironmentAssigned, EnvironmentObjectAssignedEvent.TYPE, event ->
+      {
+         RObject objectInfo = event.getData();
+         return new EnvironmentObjectAssignedEvent(objectInfo);
+      });
+
+      registry.register(ClientEvent.EnvironmentRemoved, EnvironmentObjectRemovedEvent.TYPE, event ->
+      {
+         String objectName = event.getData();
+         return new EnvironmentObjectRemovedEvent(objectName);
+      });
+
+      registry.register(ClientEvent.EnvironmentChanged, EnvironmentChangedEvent.TYPE, event ->
+      {
+         EnvironmentChangedEvent.Data data = event.getData();
+         return new EnvironmentChangedEvent(data);
+      });
+
+      registry.register(ClientEvent.BrowserLineChanged, BrowserLineChangedEvent.TYPE, event ->
+      {
+         LineData lineData = event.getData();
+         return new BrowserLineChangedEvent(lineData);
+      });
+
+      registry.register(ClientEvent.PackageLoaded, PackageLoadedEvent.TYPE, event ->
+      {
+         return new PackageLoadedEvent(
+                                       (String)event.getData());
+      });
+
+      registry.register(ClientEvent.PackageUnloaded, PackageUnloadedEvent.TYPE, event ->
+      {
+         return new PackageUnloadedEvent(
+                                         (String)event.getData());
+      });
+
+      registry.register(ClientEvent.PresentationPaneRequestCompleted, PresentationPaneRequestCompletedEvent.TYPE, event ->
+      {
+         return new PresentationPaneRequestCompletedEvent();
+      });
+
+      registry.register(ClientEvent.UnhandledError, UnhandledErrorEvent.TYPE, event ->
+      {
+         UnhandledError err = event.getData();
+         return new UnhandledErrorEvent(err);
+      });
+
+      registry.register(ClientEvent.ErrorHandlerChanged, ErrorHandlerChangedEvent.TYPE, event ->
+      {
+         ErrorHandlerChangedEvent.Data data = event.getData();
+         return new ErrorHandlerChangedEvent(data);
+      });
+
+      registry.register(ClientEvent.ViewerNavigate, ViewerNavigateEvent.TYPE, event ->
+      {
+         ViewerNavigateEvent.Data data = event.getData();
+         return new ViewerNavigateEvent(data);
+      });
+
+      registry.register(ClientEvent.SourceExtendedTypeDetected, SourceExtendedTypeDetectedEvent.TYPE, event ->
+      {
+         SourceExtendedTypeDetectedEvent.Data data = event.getData();
+         return new SourceExtendedTypeDetectedEvent(data);
+      });
+
+      registry.register(ClientEvent.ShinyViewer, ShinyApplicationStatusEvent.TYPE, event ->
+      {
+         ShinyApplicationParams data = event.getData();
+         return new ShinyApplicationStatusEvent(data, true);
+      });
+
+      registry.register(ClientEvent.DebugSourceCompleted, DebugSourceCompletedEvent.TYPE, event ->
+      {
+         DebugSourceResult result = (DebugSourceResult)event.getData();
+         return new DebugSourceCompletedEvent(result);
+      });
+
+      registry.register(ClientEvent.RmdRenderStarted, RmdRenderStartedEvent.TYPE, event ->
+      {
+         RmdRenderStartedEvent.Data data = event.getData();
+         return new RmdRenderStartedEvent(data);
+      });
+
+      registry.register(ClientEvent.RmdRenderOutput, RmdRenderOutputEvent.TYPE, event ->
+      {
+         CompileOutput data = event.getData();
+         return new RmdRenderOutputEvent(data);
+      });
+
+      registry.register(ClientEvent.RmdRenderCompleted, RmdRenderCompletedEvent.TYPE, event ->
+      {
+         RmdRenderResult result = event.getData();
+         return new RmdRenderCompletedEvent(result);
+      });
+
+      registry.register(ClientEvent.RmdShinyDocStarted, RmdShinyDocStartedEvent.TYPE, event ->
+      {
+         RmdShinyDocInfo docInfo = event.getData();
+         return new RmdShinyDocStartedEvent(docInfo);
+      });
+
+      registry.register(ClientEvent.RSConnectDeploymentOutput, RSConnectDeploymentOutputEvent.TYPE, event ->
+      {
+         CompileOutput output = event.getData();
+         return new RSConnectDeploymentOutputEvent(output);
+      });
+
+      registry.register(ClientEvent.RSConnectDeploymentCompleted, RSConnectDeploymentCompletedEvent.TYPE, event ->
+      {
+         String url = event.getData();
+         return new RSConnectDeploymentCompletedEvent(url);
+      });
+
+      registry.register(ClientEvent.RSConnectDeploymentFailed, RSConnectDeploymentFailedEvent.TYPE, event ->
+      {
+         RSConnectDeploymentFailedEvent.Data data = event.getData();
+         return new RSConnectDeploymentFailedEvent(data);
+      });
+
+      registry.register(ClientEvent.UserPrompt, UserPromptEvent.TYPE, event ->
+      {
+         UserPrompt prompt = event.getData();
+         return new UserPromptEvent(prompt);
+      });
+
+      registry.register(ClientEvent.InstallRtools, InstallRtoolsEvent.TYPE, event ->
+      {
+         InstallRtoolsEvent.Data data = event.getData();
+         return new InstallRtoolsEvent(data);
+      });
+
+      registry.register(ClientEvent.InstallShiny, InstallShinyEvent.TYPE, event ->
+      {
+         String userAction = event.getData();
+         return new InstallShinyEvent(userAction);
+      });
+
+      registry.register(ClientEvent.SuspendAndRestart, SuspendAndRestartEvent.TYPE, event ->
+      {
+         SuspendAndRestartEvent.Data data = event.getData();
+         return new SuspendAndRestartEvent(data);
+      });
+
+      registry.register(ClientEvent.DataViewChanged, DataViewChangedEvent.TYPE, event ->
+      {
+         DataViewChangedEvent.Data data = event.getData();
+         return new DataViewChangedEvent(data);
+      });
+
+      registry.register(ClientEvent.ViewFunction, CodeBrowserNavigationEvent.TYPE, event ->
+      {
+         SearchPathFunctionDefinition data = event.getData();
+         return new CodeBrowserNavigationEvent(
+                                               data, null, false, true, false);
+      });
+
+      registry.register(ClientEvent.MarkersChanged, MarkersChangedEvent.TYPE, event ->
+      {
+         MarkersChangedEvent.Data data = event.getData();
+         return new MarkersChangedEvent(data);
+      });
+
+      registry.register(ClientEvent.EnableRStudioConnect, EnableRStudioConnectUIEvent.TYPE, event ->
+      {
+         EnableRStudioConnectUIEvent.Data data = event.getData();
+         return new EnableRStudioConnectUIEvent(data);
+      });
+
+      registry.register(ClientEvent.UpdateGutterMarkers, LintEvent.TYPE, event ->
+      {
+         LintEvent.Data data = event.getData();
+         return new LintEvent(data);
+      });
+
+      registry.register(ClientEvent.SnippetsChanged, SnippetsChangedEvent.TYPE, event ->
+      {
+         SnippetsChangedEvent.Data data = event.getData();
+         return new SnippetsChangedEvent(data);
+      });
+
+      registry.register(ClientEvent.JumpToFunction, JumpToFunctionEvent.TYPE, event ->
+      {
+         JumpToFunctionEvent.Data data = event.getData();
+         return new JumpToFunctionEvent(data);
+      });
+
+      registry.register(ClientEvent.CollabEditStarted, CollabEditStartedEvent.TYPE, event ->
+      {
+         CollabEditStartParams params = event.getData();
+         return new CollabEditStartedEvent(params);
+      });
+
+      registry.register(ClientEvent.SessionCountChanged, SessionCountChangedEvent.TYPE, event ->
+      {
+         SessionCountChangedEvent.Data data = event.getData();
+         return new SessionCountChangedEvent(data);
+      });
+
+      registry.register(ClientEvent.SessionLabelChanged, SessionLabelChangedEvent.TYPE, event ->
+      {
+         SessionLabelChangedEvent.Data data = event.getData();
+         return new SessionLabelChangedEvent(data);
+      });
+
+      registry.register(ClientEvent.CollabEditEnded, CollabEditEndedEvent.TYPE, event ->
+      {
+         CollabEditEndedEvent.Data data = event.getData();
+         return new CollabEditEndedEvent(data);
+      });
+
+      registry.register(ClientEvent.ProjectUsersChanged, ProjectUserChangedEvent.TYPE, event ->
+      {
+         ProjectUserChangedEvent.Data data = event.getData();
+         return new ProjectUserChangedEvent(data);
+      });
+
+      registry.register(ClientEvent.RVersionsChanged, RVersionsChangedEvent.TYPE, event ->
+      {
+         RVersionsInfo versions = event.getData();
+         return new RVersionsChangedEvent(versions);
+      });
+
+      registry.register(ClientEvent.ShinyGadgetDialog, ShinyGadgetDialogEvent.TYPE, event ->
+      {
+         ShinyGadgetDialogEvent.Data data = event.getData();
+         return new ShinyGadgetDialogEvent(data);
+      });
+
+      registry.register(ClientEvent.RmdParamsReady, RmdParamsReadyEvent.TYPE, event ->
+      {
+         String paramsFile = event.getData();
+         return new RmdParamsReadyEvent(paramsFile);
+      });
+
+      registry.register(ClientEvent.RegisterUserCommand, RegisterUserCommandEvent.TYPE, event ->
+      {
+         RegisterUserCommandEvent.Data data = event.getData();
+         return new RegisterUserCommandEvent(data);
+      });
+
+      registry.register(ClientEvent.SendToConsole, SendToConsoleEvent.TYPE, event ->
+      {
+         SendToConsoleEvent.Data data = event.getData();
+         return new SendToConsoleEvent(data);
+      });
+
+      registry.register(ClientEvent.UserFollowStarted, FollowUserEvent.TYPE, event ->
+      {
+         ProjectUser user = event.getData();
+         return new FollowUserEvent(user, true);
+      });
+
+      registry.register(ClientEvent.UserFollowEnded, FollowUserEvent.TYPE, event ->
+      {
+         ProjectUser user = event.getData();
+         return new FollowUserEvent(user, false);
+      });
+
+      registry.register(ClientEvent.ProjectAccessRevoked, ProjectAccessRevokedEvent.TYPE, event ->
+      {
+         return new ProjectAccessRevokedEvent();
+      });
+
+      registry.register(ClientEvent.CollabEditSaved, CollabEditSavedEvent.TYPE, event ->
+      {
+         CollabEditSavedEvent.Data data = event.getData();
+         return new CollabEditSavedEvent(data);
+      });
+
+      registry.register(ClientEvent.AddinRegistryUpdated, AddinRegistryUpdatedEvent.TYPE, event ->
+      {
+         RAddins data = event.getData();
+         return new AddinRegistryUpdatedEvent(data);
+      });
+
+      registry.register(ClientEvent.ChunkOutput, RmdChunkOutputEvent.TYPE, event ->
+      {
+         RmdChunkOutput data = event.getData();
+         return new RmdChunkOutputEvent(data);
+      });
+
+      registry.register(ClientEvent.ChunkOutputFinished, RmdChunkOutputFinishedEvent.TYPE, event ->
+      {
+         RmdChunkOutputFinishedEvent.Data data = event.getData();
+         return new RmdChunkOutputFinishedEvent(data);
+      });
+
+      registry.register(ClientEvent.RprofStarted, RprofEvent.TYPE, event ->
+      {
+         return new RprofEvent(RprofEvent.RprofEventType.START, null);
+      });
+
+      registry.register(ClientEvent.RprofStopped, RprofEvent.TYPE, event ->
+      {
+         return new RprofEvent(RprofEvent.RprofEventType.STOP, null);
+      });
+
+      registry.register(ClientEvent.RprofCreated, RprofEvent.TYPE, event ->
+      {
+         RprofEvent.Data data = event.getData();
+         return new RprofEvent(RprofEvent.RprofEventType.CREATE, data);
+      });
+
+      registry.register(ClientEvent.EditorCommand, EditorCommandDispatchEvent.TYPE, event ->
+      {
+         EditorCommandEvent.Data data = event.getData();
+         EditorCommandEvent payload = new EditorCommandEvent(data);
+         return new EditorCommandDispatchEvent(payload);
+      });
+
+      registry.register(ClientEvent.PreviewRmd, PreviewRmdEvent.TYPE, event ->
+      {
+         PreviewRmdEvent.Data data = event.getData();
+         return new PreviewRmdEvent(data);
+      });
+
+      registry.register(ClientEvent.WebsiteFileSaved, WebsiteFileSavedEvent.TYPE, event ->
+      {
+         FileSystemItem fsi = event.getData();
+         return new WebsiteFileSavedEvent(fsi);
+      });
+
+      registry.register(ClientEvent.ChunkPlotRefreshed, ChunkPlotRefreshedEvent.TYPE, event ->
+      {
+         ChunkPlotRefreshedEvent.Data data = event.getData();
+         return new ChunkPlotRefreshedEvent(data);
+      });
+
+      registry.register(ClientEvent.ChunkPlotRefreshFinished, ChunkPlotRefreshFinishedEvent.TYPE, event ->
+      {
+         ChunkPlotRefreshFinishedEvent.Data data = event.getData();
+         return new ChunkPlotRefreshFinishedEvent(data);
+      });
+
+      registry.register(ClientEvent.ReloadWithLastChanceSave, ReloadWithLastChanceSaveEvent.TYPE, event ->
+      {
+         return new ReloadWithLastChanceSaveEvent();
+      });
+
+      registry.register(ClientEvent.ConnectionUpdated, ConnectionUpdatedEvent.TYPE, event ->
+      {
+         ConnectionUpdatedEvent.Data data = event.getData();
+         return new ConnectionUpdatedEvent(data);
+      });
+
+      registry.register(ClientEvent.EnableConnections, EnableConnectionsEvent.TYPE, event ->
+      {
+         return new EnableConnectionsEvent();
+      });
+
+      registry.register(ClientEvent.ConnectionListChanged, ConnectionListChangedEvent.TYPE, event ->
+      {
+         JsArray<Connection> connections = event.getData();
+         return new ConnectionListChangedEvent(connections);
+      });
+
+      registry.register(ClientEvent.ActiveConnectionsChanged, ActiveConnectionsChangedEvent.TYPE, event ->
+      {
+         JsArray<ConnectionId> connections = event.getData();
+         return new ActiveConnectionsChangedEvent(connections);
+      });
+
+      registry.register(ClientEvent.ConnectionOpened, ConnectionOpenedEvent.TYPE, event ->
+      {
+         Connection connection = event.getData();
+         return new ConnectionOpenedEvent(connection);
+      });
+
+      registry.register(ClientEvent.NotebookRangeExecuted, NotebookRangeExecutedEvent.TYPE, event ->
+      {
+         NotebookRangeExecutedEvent.Data data = event.getData();
+         return new NotebookRangeExecutedEvent(data);
+      });
+
+      registry.register(ClientEvent.ChunkExecStateChanged, ChunkExecStateChangedEvent.TYPE, event ->
+      {
+         ChunkExecStateChangedEvent.Data data = event.getData();
+         return new ChunkExecStateChangedEvent(data);
+      });
+
+      registry.register(ClientEvent.NavigateShinyFrame, ShinyFrameNavigatedEvent.TYPE, event ->
+      {
+         ShinyFrameNavigatedEvent.Data data = event.getData();
+         return new ShinyFrameNavigatedEvent(data);
+      });
+
+      registry.register(ClientEvent.UpdateNewConnectionDialog, NewConnectionDialogUpdatedEvent.TYPE, event ->
+      {
+         NewConnectionDialogUpdatedEvent.Data data = event.getData();
+         return new NewConnectionDialogUpdatedEvent(data);
+      });
+
+      registry.register(ClientEvent.ProjectTemplateRegistryUpdated, ProjectTemplateRegistryUpdatedEvent.TYPE, event ->
+      {
+         ProjectTemplateRegistry data = event.getData();
+         return new ProjectTemplateRegistryUpdatedEvent(data);
+      });
+
+      registry.register(ClientEvent.TerminalSubProcs, TerminalSubprocEvent.TYPE, event ->
+      {
+         TerminalSubprocEvent.Data data = event.getData();
+         return new TerminalSubprocEvent(data);
+      });
+
+      registry.register(ClientEvent.PackageExtensionIndexingCompleted, PackageExtensionIndexingCompletedEvent.TYPE, event ->
+      {
+         PackageProvidedExtensions.Data data = event.getData();
+         return new PackageExtensionIndexingCompletedEvent(data);
+      });
+
+      registry.register(ClientEvent.RStudioAPIShowDialog, RStudioAPIShowDialogEvent.TYPE, event ->
+      {
+         RStudioAPIShowDialogEvent.Data data = event.getData();
+         return new RStudioAPIShowDialogEvent(data);
+      });
+
+      registry.register(ClientEvent.ObjectExplorerEvent, ObjectExplorerEvent.TYPE, event ->
+      {
+         ObjectExplorerEvent.Data data = event.getData();
+         return new ObjectExplorerEvent(data);
+      });
+
+      registry.register(ClientEvent.SendToTerminal, SendToTerminalEvent.TYPE, event ->
+      {
+         SendToTerminalEvent.Data data = event.getData();
+         return new SendToTerminalEvent(data);
+      });
+
+      registry.register(ClientEvent.ClearTerminal, ClearTerminalEvent.TYPE, event ->
+      {
+         ClearTerminalEvent.Data data = event.getData();
+         return new ClearTerminalEvent(data);
+      });
+
+      registry.register(ClientEvent.AddTerminal, AddTerminalEvent.TYPE, event ->
+      {
+         AddTerminalEvent.Data data = event.getData();
+         return new AddTerminalEvent(data);
+      });
+
+      registry.register(ClientEvent.RemoveTerminal, RemoveTerminalEvent.TYPE, event ->
+      {
+         RemoveTerminalEvent.Data data = event.getData();
+         return new RemoveTerminalEvent(data);
+      });
+
+      registry.register(ClientEvent.ActivateTerminal, ActivateNamedTerminalEvent.TYPE, event ->
+      {
+         ActivateNamedTerminalEvent.Data data = event.getData();
+         return new ActivateNamedTerminalEvent(data);
+      });
+
+      registry.register(ClientEvent.TerminalCwd, TerminalCwdEvent.TYPE, event ->
+      {
+         TerminalCwdEvent.Data data = event.getData();
+         return new TerminalCwdEvent(data);
+      });
+
+      registry.register(ClientEvent.AdminNotification, AdminNotificationEvent.TYPE, event ->
+      {
+         AdminNotification notification = event.getData();
+         return new AdminNotificationEvent(notification);
+      });
+
+      registry.register(ClientEvent.RequestDocumentSave, RequestDocumentSaveEvent.TYPE, event ->
+      {
+         RequestDocumentSaveEvent.Data data = event.getData();
+         return new RequestDocumentSaveEvent(data);
+      });
+
+      registry.register(ClientEvent.RequestOpenProject, RequestOpenProjectEvent.TYPE, event ->
+      {
+         RequestOpenProjectEvent.Data data = event.getData();
+         return new RequestOpenProjectEvent(data);
+      });
+
+      registry.register(ClientEvent.OpenFileDialog, OpenFileDialogEvent.TYPE, event ->
+      {
+         OpenFileDialogEvent.Data data = event.getData();
+         return new OpenFileDialogEvent(data);
+      });
+
+      registry.register(ClientEvent.ShowPageViewer, ShowPageViewerEvent.TYPE, event ->
+      {
+         HTMLPreviewParams params = event.getData();
+         return new ShowPageViewerEvent(params);
+      });
+
+      registry.register(ClientEvent.AskSecret, AskSecretEvent.TYPE, event ->
+      {
+         AskSecretEvent.Data data = event.getData();
+         return new AskSecretEvent(data);
+      });
+
+      registry.register(ClientEvent.TestsStarted, TestsStartedEvent.TYPE, event ->
+      {
+         TestsStartedEvent.Data data = event.getData();
+         return new TestsStartedEvent(data);
+      });
+
+      registry.register(ClientEvent.TestsOutput, TestsOutputEvent.TYPE, event ->
+      {
+         CompileOutput data = event.getData();
+         return new TestsOutputEvent(data);
+      });
+
+      registry.register(ClientEvent.TestsCompleted, TestsCompletedEvent.TYPE, event ->
+      {
+         TestsResult result = event.getData();
+         return new TestsCompletedEvent(result);
+      });
+
+      registry.register(ClientEvent.JobUpdated, JobUpdatedEvent.TYPE, event ->
+      {
+         JobUpdate data = event.getData();
+         return new JobUpdatedEvent(data);
+      });
+
+      registry.register(ClientEvent.JobRefresh, JobRefreshEvent.TYPE, event ->
+      {
+         JobState data = event.getData();
+         return new JobRefreshEvent(data);
+      });
+
+      registry.register(ClientEvent.JobOutput, JobOutputEvent.TYPE, event ->
+      {
+         JobOutputEvent.Data output = event.getData();
+         return new JobOutputEvent(output);
+      });
+
+      registry.register(ClientEvent.DataOutputCompleted, DataOutputCompletedEvent.TYPE, event ->
+      {
+         DataOutputResult result = event.getData();
+         return new DataOutputCompletedEvent(result);
+      });
+
+      registry.register(ClientEvent.NewDocumentWithCode, NewDocumentWithCodeEvent.TYPE, event ->
+      {
+         NewDocumentWithCodeEvent.Data result = event.getData();
+         return new NewDocumentWithCodeEvent(result);
+      });
+
+      registry.register(ClientEvent.AvailablePackagesReady, AvailablePackagesReadyEvent.TYPE, event ->
+      {
+         AvailablePackagesReadyEvent.Data data = event.getData();
+         return new AvailablePackagesReadyEvent(data);
+      });
+
+      registry.register(ClientEvent.PlumberViewer, PlumberAPIStatusEvent.TYPE, event ->
+      {
+         PlumberAPIParams data = event.getData();
+         return new PlumberAPIStatusEvent(data, true);
+      });
+
+      registry.register(ClientEvent.ComputeThemeColors, ComputeThemeColorsEvent.TYPE, event ->
+      {
+         return new ComputeThemeColorsEvent();
+      });
+
+      registry.register(ClientEvent.RequestDocumentClose, RequestDocumentCloseEvent.TYPE, event ->
+      {
+         RequestDocumentCloseEvent.Data data = event.getData();
+         return new RequestDocumentCloseEvent(data);
+      });
+
+      registry.register(ClientEvent.ExecuteAppCommand, ExecuteAppCommandEvent.TYPE, event ->
+      {
+         ExecuteAppCommandEvent.Data data = event.getData();
+         return new ExecuteAppCommandEvent(data);
+      });
+
+      registry.register(ClientEvent.HighlightUi, HighlightEvent.TYPE, event ->
+      {
+         HighlightEvent.Data data = event.getData();
+         return new HighlightEvent(data);
+      });
+
+      registry.register(ClientEvent.TutorialCommand, TutorialCommandEvent.TYPE, event ->
+      {
+         TutorialCommandEvent.Data data = event.getData();
+         return new TutorialCommandEvent(data);
+      });
+
+      registry.register(ClientEvent.TutorialLaunch, TutorialLaunchEvent.TYPE, event ->
+      {
+         TutorialLaunchEvent.Data data = event.getData();
+         return new TutorialLaunchEvent(data);
+      });
+
+      registry.register(ClientEvent.ReticulateEvent, ReticulateEvent.TYPE, event ->
+      {
+         ReticulateEvent.Data data = event.getData();
+         return new ReticulateEvent(data);
+      });
+
+      registry.register(ClientEvent.RStudioApiRequest, RStudioApiRequestEvent.TYPE, event ->
+      {
+         RStudioApiRequestEvent.Data data = event.getData();
+         return new RStudioApiRequestEvent(data);
+      });
+
+      registry.register(ClientEvent.DocumentCloseAllNoSave, DocumentCloseAllNoSaveEvent.TYPE, event ->
+      {
+         return new DocumentCloseAllNoSaveEvent();
+      });
+
+      registry.register(ClientEvent.MemoryUsageChanged, MemoryUsageChangedEvent.TYPE, event ->
+      {
+         MemoryUsage data = event.getData();
+         return new MemoryUsageChangedEvent(data);
+      });
+
+      registry.register(ClientEvent.CommandCallbacksChanged, CommandCallbacksChangedEvent.TYPE, event ->
+      {
+         JsArrayString commands = event.getData();
+         return new CommandCallbacksChangedEvent(commands);
+      });
+
+      registry.register(ClientEvent.ConsoleActivate, ConsoleActivateEvent.TYPE, event ->
+      {
+         boolean focusWindow = event.<Bool>getData().getValue();
+         return new ConsoleActivateEvent(focusWindow);
+      });
+
+      registry.register(ClientEvent.JobsActivate, JobsActivateEvent.TYPE, event ->
+      {
+         JobsActivateEvent.Data data = event.getData();
+         return new JobsActivateEvent(data);
+      });
+
+      registry.register(ClientEvent.PresentationPreview, PresentationPreviewEvent.TYPE, event ->
+      {
+         PresentationPreviewEvent.Data data = event.getData();
+         return new PresentationPreviewEvent(data);
+      });
+
+      registry.register(ClientEvent.SuspendBlocked, SessionSuspendBlockedEvent.TYPE, event ->
+      {
+         SessionSuspendBlockedEvent.Data data = event.getData();
+         return new SessionSuspendBlockedEvent(data);
+      });
+
+      registry.register(ClientEvent.ClipboardAction, ClipboardActionEvent.TYPE, event ->
+      {
+         ClipboardActionEvent.Data data = event.getData();
+         return new ClipboardActionEvent(data);
+      });
+
+      registry.register(ClientEvent.DeploymentRecordsUpdated, DeploymentRecordsUpdatedEvent.TYPE, event ->
+      {
+         DeploymentRecordsUpdatedEvent.Data data = event.getData();
+         return new DeploymentRecordsUpdatedEvent(data);
+      });
+
+      registry.register(ClientEvent.RunAutomation, RunAutomationEvent.TYPE, event ->
+      {
+         return new RunAutomationEvent();
+      });
+
+      registry.register(ClientEvent.UpdateThinkingMessage, UpdateThinkingMessageEvent.TYPE, event ->
+      {
+         UpdateThinkingMessageEvent.Data data = event.getData();
+         return new UpdateThinkingMessageEvent(data);
+      });
+
+      registry.register(ClientEvent.StoreActiveRequestId, StoreActiveRequestIdEvent.TYPE, event ->
+      {
+         StoreActiveRequestIdEvent.Data data = event.getData();
+         return new StoreActiveRequestIdEvent(data);
+      });
+
+      registry.register(ClientEvent.AiStartConversation, AiStartConversationEvent.TYPE, event ->
+      {
+         AiStartConversationEvent.Data data = event.getData();
+         return new AiStartConversationEvent(data);
+      });
+
+      registry.register(ClientEvent.AiLoadConversation, AiLoadConversationEvent.TYPE, event ->
+      {
+         AiLoadConversationEvent.Data data = event.getData();
+         return new AiLoadConversationEvent(data);
+      });
+
+      registry.register(ClientEvent.RefreshDocumentContent, RefreshDocumentContentEvent.TYPE, event ->
+      {
+         // Handle refresh document content event
+         com.google.gwt.core.client.JavaScriptObject jsData = event.getData();
+
+         String documentId = getStringFromRData(jsData, "document_id");
+         String filePath = getStringFromRData(jsData, "file_path");
+         String content = getStringFromRData(jsData, "content");
+         boolean markClean = getBooleanFromRData(jsData, "mark_clean"); // Default is false from getBooleanFromRData
+
+         if (documentId != null && filePath != null && content != null) {
+            // Fire an event to update the document content directly
+            RefreshDocumentContentEvent refreshEvent = new RefreshDocumentContentEvent(documentId, filePath, content, markClean);
+            return refreshEvent;
          }
-      }
-      catch(Throwable e)
+         return null;
+      });
+
+      registry.register(ClientEvent.RequestDocumentCloseForRevert, RequestDocumentCloseForRevertEvent.TYPE, event ->
       {
-         GWT.log("WARNING: Exception occurred dispatching event: " + type, e);
-      }
+         RequestDocumentCloseForRevertEvent.Data data = event.getData();
+         return new RequestDocumentCloseForRevertEvent(data);
+      });
+      
+      return registry;
    }
    
    /**
     * Extract string from R data - using the established AiOrchestrator pattern
     */
-   private String getStringFromRData(JavaScriptObject obj, String key) {
+   private static String getStringFromRData(JavaScriptObject obj, String key) {
       com.google.gwt.json.client.JSONObject jsonObj = new com.google.gwt.json.client.JSONObject(obj);
       return getString(jsonObj, key, "");  // Use empty string as default instead of null
-   }
-   
-   /**
-    * Extract string from R data with default value - safe version for optional fields
-    */
-   private String getStringFromRData(JavaScriptObject obj, String key, String defaultValue) {
-      com.google.gwt.json.client.JSONObject jsonObj = new com.google.gwt.json.client.JSONObject(obj);
+                       }
+                       
+                       /**
+                       * Extract string from R data with default value - safe version for optional fields
+                       */
+                       private static String getStringFromRData(JavaScriptObject obj, String key, String defaultValue) {
+                       com.google.gwt.json.client.JSONObject jsonObj = new com.google.gwt.json.client.JSONObject(obj);
       return getString(jsonObj, key, defaultValue);
    }
    
    /**
     * Extract boolean from R data - using the established AiOrchestrator pattern
     */
-   private boolean getBooleanFromRData(JavaScriptObject obj, String key) {
+   private static boolean getBooleanFromRData(JavaScriptObject obj, String key) {
       com.google.gwt.json.client.JSONObject jsonObj = new com.google.gwt.json.client.JSONObject(obj);
       return getBoolean(jsonObj, key, false);
    }
@@ -1388,7 +1668,7 @@ public class ClientEventDispatcher
    /**
     * Extract integer from R data - using the established AiOrchestrator pattern
     */
-   private int getIntegerFromRData(JavaScriptObject obj, String key) {
+   private static int getIntegerFromRData(JavaScriptObject obj, String key) {
       com.google.gwt.json.client.JSONObject jsonObj = new com.google.gwt.json.client.JSONObject(obj);
       Integer result = getInteger(jsonObj, key, null);
       if (result == null) {
@@ -1400,7 +1680,7 @@ public class ClientEventDispatcher
    /**
     * Extract string value from JSON object handling R arrays - from AiOrchestrator pattern
     */
-   private String getString(com.google.gwt.json.client.JSONObject obj, String key, String defaultValue)
+   private static String getString(com.google.gwt.json.client.JSONObject obj, String key, String defaultValue)
    {
       com.google.gwt.json.client.JSONValue value = obj.get(key);
       if (value != null && value.isString() != null) {
@@ -1428,7 +1708,7 @@ public class ClientEventDispatcher
    /**
     * Extract boolean value from JSON object handling R arrays - from AiOrchestrator pattern
     */
-   private boolean getBoolean(com.google.gwt.json.client.JSONObject obj, String key, boolean defaultValue)
+   private static boolean getBoolean(com.google.gwt.json.client.JSONObject obj, String key, boolean defaultValue)
    {
       com.google.gwt.json.client.JSONValue value = obj.get(key);
       if (value != null && value.isBoolean() != null) {
@@ -1449,7 +1729,7 @@ public class ClientEventDispatcher
    /**
     * Extract integer value from JSON object handling R arrays - from AiOrchestrator pattern
     */
-   private Integer getInteger(com.google.gwt.json.client.JSONObject obj, String key, Integer defaultValue)
+   private static Integer getInteger(com.google.gwt.json.client.JSONObject obj, String key, Integer defaultValue)
    {
       com.google.gwt.json.client.JSONValue value = obj.get(key);
       if (value != null && value.isNumber() != null) {
@@ -1467,7 +1747,7 @@ public class ClientEventDispatcher
       return defaultValue;
    }
      
-     private native void callAddOperationEvent(int sequence, String operationType, String messageId, String command, String explanation, String requestId, String filename, String content) /*-{
+     private static native void callAddOperationEvent(int sequence, String operationType, String messageId, String command, String explanation, String requestId, String filename, String content) /*-{
       if ($wnd.aiAddOperationEvent) {
          $wnd.aiAddOperationEvent(sequence, operationType, messageId, command, explanation, requestId, filename, content);
       }
@@ -1480,7 +1760,7 @@ public class ClientEventDispatcher
    /**
     * Debug method to print the entire structure of a JavaScript object from R
     */
-   private native void debugPrintJavaScriptObject(com.google.gwt.core.client.JavaScriptObject obj) /*-{
+   private static native void debugPrintJavaScriptObject(com.google.gwt.core.client.JavaScriptObject obj) /*-{
       console.log("JavaScript Object Debug:");
       console.log("Type: " + typeof obj);
       console.log("Object: ", obj);
@@ -1508,9 +1788,19 @@ public class ClientEventDispatcher
    }-*/;
 
    private final EventBus eventBus_;
+   private final AiStreamCoalescer aiStreamCoalescer_;
+   private final ClientEventRegistry registry_ = new ClientEventRegistry();
+   private static final ClientEventRegistry defaultRegistry_ = createDefaultRegistry();
+   private static final ClientEventRegistry moduleRegistry_ = new ClientEventRegistry();
 
-   private final ArrayList<ClientEvent> pendingEvents_ = new ArrayList<>();
+   private final RingBuffer<ClientEvent> pendingEvents_ = new RingBuffer<>();
+   private final ClientEventDispatchTimings dispatchTimings_ = new ClientEventDispatchTimings();
+   private final MetricsRegistry.Gauge queueDepth_ =
+         MetricsRegistry.get().gauge("client_event.queue_depth");
+   private final ConsoleWriteCoalescer consoleWriteCoalescer_ = new ConsoleWriteCoalescer();
+   private boolean draining_ = false;
 
-   private static final int MAX_EVENTS_AT_ONCE = 200;
+   // time spent dispatching events before yielding back to the browser
+   private static final double SLICE_BUDGET_MS = 8;
 
 }
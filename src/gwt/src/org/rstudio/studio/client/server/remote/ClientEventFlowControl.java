@@ -0,0 +1,232 @@
+/*
+ * ClientEventFlowControl.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.server.remote;
+
+import org.rstudio.core.client.metrics.LatencyHistogram;
+import org.rstudio.core.client.metrics.MetricsRegistry;
+
+// Decides how much the event listener asks for per poll and when it is
+// allowed to poll again. Each poll is bounded to maxEvents / maxBytes (the
+// server pages whatever doesn't fit), and once the dispatcher's queue climbs
+// past the high watermark we hold off polling until it drains below the low
+// watermark. Also keeps metrics on batch size, parse time and queue depth,
+// and publishes them to the MetricsRegistry as "client_event.poll*".
+public class ClientEventFlowControl
+{
+   public interface QueueDepth
+   {
+      int getPendingEventCount();
+   }
+
+   public ClientEventFlowControl(QueueDepth queue)
+   {
+      queue_ = queue;
+   }
+
+   public int getMaxEventsPerPoll()
+   {
+      return maxEventsPerPoll_;
+   }
+
+   public int getMaxBytesPerPoll()
+   {
+      return maxBytesPerPoll_;
+   }
+
+   public void setLimits(int maxEventsPerPoll, int maxBytesPerPoll)
+   {
+      maxEventsPerPoll_ = maxEventsPerPoll;
+      maxBytesPerPoll_ = maxBytesPerPoll;
+   }
+
+   public void setWatermarks(int lowWatermark, int highWatermark)
+   {
+      lowWatermark_ = lowWatermark;
+      highWatermark_ = Math.max(lowWatermark, highWatermark);
+   }
+
+   /**
+    * @return Whether the listener should issue its next poll now. Once the
+    *    queue has reached the high watermark this stays false until the
+    *    queue falls below the low watermark.
+    */
+   public boolean canPoll()
+   {
+      int depth = queue_.getPendingEventCount();
+      if (holding_)
+         holding_ = depth >= lowWatermark_;
+      else if (depth >= highWatermark_)
+      {
+         holding_ = true;
+         holdCount_++;
+         pollHolds_.increment();
+      }
+      return !holding_;
+   }
+
+   public boolean isHolding()
+   {
+      return holding_;
+   }
+
+   /**
+    * Record a completed poll.
+    *
+    * @param events The number of events received.
+    * @param bytes The size of the response body, in characters.
+    * @param parseMs The time taken to parse the response.
+    */
+   public void recordBatch(int events, int bytes, double parseMs)
+   {
+      int depth = queue_.getPendingEventCount();
+
+      pollCount_++;
+      totalEvents_ += events;
+      totalBytes_ += bytes;
+      totalParseMs_ += parseMs;
+
+      lastBatchEvents_ = events;
+      lastBatchBytes_ = bytes;
+      lastParseMs_ = parseMs;
+      lastQueueDepth_ = depth;
+
+      maxBatchEvents_ = Math.max(maxBatchEvents_, events);
+      maxBatchBytes_ = Math.max(maxBatchBytes_, bytes);
+      maxParseMs_ = Math.max(maxParseMs_, parseMs);
+      maxQueueDepth_ = Math.max(maxQueueDepth_, depth);
+
+      polls_.increment();
+      pollEvents_.set(events);
+      pollBytes_.set(bytes);
+      pollParse_.record(parseMs);
+   }
+
+   public int getPollCount()
+   {
+      return pollCount_;
+   }
+
+   // number of times polling was held back by the high watermark
+   public int getHoldCount()
+   {
+      return holdCount_;
+   }
+
+   public int getLastBatchEvents()
+   {
+      return lastBatchEvents_;
+   }
+
+   public int getMaxBatchEvents()
+   {
+      return maxBatchEvents_;
+   }
+
+   public double getAverageBatchEvents()
+   {
+      return pollCount_ == 0 ? 0 : (double) totalEvents_ / pollCount_;
+   }
+
+   public int getLastBatchBytes()
+   {
+      return lastBatchBytes_;
+   }
+
+   public int getMaxBatchBytes()
+   {
+      return maxBatchBytes_;
+   }
+
+   public double getLastParseMs()
+   {
+      return lastParseMs_;
+   }
+
+   public double getMaxParseMs()
+   {
+      return maxParseMs_;
+   }
+
+   public double getAverageParseMs()
+   {
+      return pollCount_ == 0 ? 0 : totalParseMs_ / pollCount_;
+   }
+
+   // queue depth right after the most recent batch was enqueued
+   public int getLastQueueDepth()
+   {
+      return lastQueueDepth_;
+   }
+
+   public int getMaxQueueDepth()
+   {
+      return maxQueueDepth_;
+   }
+
+   public void resetMetrics()
+   {
+      pollCount_ = 0;
+      holdCount_ = 0;
+      totalEvents_ = 0;
+      totalBytes_ = 0;
+      totalParseMs_ = 0;
+      lastBatchEvents_ = 0;
+      lastBatchBytes_ = 0;
+      lastParseMs_ = 0;
+      lastQueueDepth_ = 0;
+      maxBatchEvents_ = 0;
+      maxBatchBytes_ = 0;
+      maxParseMs_ = 0;
+      maxQueueDepth_ = 0;
+   }
+
+   private final QueueDepth queue_;
+
+   private int maxEventsPerPoll_ = DEFAULT_MAX_EVENTS_PER_POLL;
+   private int maxBytesPerPoll_ = DEFAULT_MAX_BYTES_PER_POLL;
+   private int lowWatermark_ = DEFAULT_LOW_WATERMARK;
+   private int highWatermark_ = DEFAULT_HIGH_WATERMARK;
+   private boolean holding_ = false;
+
+   private int pollCount_ = 0;
+   private int holdCount_ = 0;
+   private long totalEvents_ = 0;
+   private long totalBytes_ = 0;
+   private double totalParseMs_ = 0;
+   private int lastBatchEvents_ = 0;
+   private int lastBatchBytes_ = 0;
+   private double lastParseMs_ = 0;
+   private int lastQueueDepth_ = 0;
+   private int maxBatchEvents_ = 0;
+   private int maxBatchBytes_ = 0;
+   private double maxParseMs_ = 0;
+   private int maxQueueDepth_ = 0;
+
+   private final MetricsRegistry.Counter polls_ =
+         MetricsRegistry.get().counter("client_event.polls");
+   private final MetricsRegistry.Counter pollHolds_ =
+         MetricsRegistry.get().counter("client_event.poll_holds");
+   private final MetricsRegistry.Gauge pollEvents_ =
+         MetricsRegistry.get().gauge("client_event.poll_events");
+   private final MetricsRegistry.Gauge pollBytes_ =
+         MetricsRegistry.get().gauge("client_event.poll_bytes");
+   private final LatencyHistogram pollParse_ =
+         MetricsRegistry.get().histogram("client_event.poll_parse");
+
+   public static final int DEFAULT_MAX_EVENTS_PER_POLL = 500;
+   public static final int DEFAULT_MAX_BYTES_PER_POLL = 512 * 1024;
+   public static final int DEFAULT_LOW_WATERMARK = 250;
+   public static final int DEFAULT_HIGH_WATERMARK = 1000;
+}
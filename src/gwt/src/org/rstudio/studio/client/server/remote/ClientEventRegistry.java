@@ -0,0 +1,82 @@
+/*
+ * ClientEventRegistry.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.server.remote;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gwt.event.shared.GwtEvent;
+
+// Maps client event types (the ClientEvent.* constants) to the decoder that
+// turns the event's payload into the GWT event fired on the event bus.
+public class ClientEventRegistry
+{
+   public interface Decoder
+   {
+      // Returns the GWT event to dispatch, or null if the decoder handled
+      // (or intentionally dropped) the client event itself.
+      GwtEvent<?> decode(ClientEvent event);
+   }
+
+   private static class Entry
+   {
+      Entry(GwtEvent.Type<?> eventType, Decoder decoder)
+      {
+         eventType_ = eventType;
+         decoder_ = decoder;
+      }
+
+      final GwtEvent.Type<?> eventType_;
+      final Decoder decoder_;
+   }
+
+   /**
+    * Register a decoder for a client event type.
+    *
+    * @param type The client event type (one of the ClientEvent.* constants).
+    * @param eventType The type of GWT event the decoder produces, or null if
+    *    the decoder doesn't fire an event on the event bus.
+    * @param decoder The decoder.
+    */
+   public void register(String type, GwtEvent.Type<?> eventType, Decoder decoder)
+   {
+      entries_.put(type, new Entry(eventType, decoder));
+   }
+
+   public Decoder getDecoder(String type)
+   {
+      Entry entry = entries_.get(type);
+      return entry == null ? null : entry.decoder_;
+   }
+
+   public GwtEvent.Type<?> getEventType(String type)
+   {
+      Entry entry = entries_.get(type);
+      return entry == null ? null : entry.eventType_;
+   }
+
+   public boolean isRegistered(String type)
+   {
+      return entries_.containsKey(type);
+   }
+
+   public Set<String> getRegisteredTypes()
+   {
+      return entries_.keySet();
+   }
+
+   private final Map<String, Entry> entries_ = new HashMap<>();
+}
@@ -0,0 +1,107 @@
+/*
+ * ConsoleWriteCoalescer.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.server.remote;
+
+import java.util.Objects;
+
+import org.rstudio.core.client.container.RingBuffer;
+import org.rstudio.studio.client.workbench.views.console.model.ConsoleText;
+
+// Merges runs of adjacent console output (or error) events that are already
+// queued for dispatch into a single event, so a burst of small writes reaches
+// the VirtualConsole as one submit. Output and error writes are never mixed,
+// writes for different consoles are never mixed, and any other event in the
+// queue (e.g. a prompt) ends the run.
+public class ConsoleWriteCoalescer
+{
+   /**
+    * If the given event is a console write, absorb any immediately following
+    * writes of the same kind from the pending queue.
+    *
+    * @param event The event about to be dispatched.
+    * @param pending The queue of events waiting to be dispatched; merged
+    *    events are removed from it.
+    * @return The event to dispatch in place of the given one.
+    */
+   ClientEvent coalesce(ClientEvent event, RingBuffer<ClientEvent> pending)
+   {
+      if (!isConsoleWrite(event) || !canMerge(event, pending.peek()))
+         return event;
+
+      ConsoleText first = event.getData();
+      StringBuilder text = new StringBuilder(first.text);
+      ClientEvent last = event;
+      int merged = 1;
+      while (text.length() < maxMergedChars_ && canMerge(event, pending.peek()))
+      {
+         last = pending.poll();
+         text.append(last.<ConsoleText>getData().text);
+         merged++;
+      }
+
+      eventsMerged_ += merged;
+      writesDispatched_++;
+
+      ConsoleText data = new ConsoleText();
+      data.text = text.toString();
+      data.console = first.console;
+      return create(last.getId(), event.getType(), data);
+   }
+
+   public void setMaxMergedChars(int maxMergedChars)
+   {
+      maxMergedChars_ = maxMergedChars;
+   }
+
+   // number of console write events folded into merged writes
+   public int getEventsMerged()
+   {
+      return eventsMerged_;
+   }
+
+   // number of merged writes dispatched in their place
+   public int getMergedWritesDispatched()
+   {
+      return writesDispatched_;
+   }
+
+   private static boolean isConsoleWrite(ClientEvent event)
+   {
+      String type = event.getType();
+      return ClientEvent.ConsoleOutput.equals(type) || ClientEvent.ConsoleError.equals(type);
+   }
+
+   private static boolean canMerge(ClientEvent event, ClientEvent next)
+   {
+      if (next == null || !event.getType().equals(next.getType()))
+         return false;
+
+      ConsoleText data = event.getData();
+      ConsoleText nextData = next.getData();
+      return data != null && nextData != null &&
+             data.text != null && nextData.text != null &&
+             Objects.equals(data.console, nextData.console);
+   }
+
+   private static native ClientEvent create(int id, String type, Object data) /*-{
+      return { id: id, type: type, data: data };
+   }-*/;
+
+   private int maxMergedChars_ = DEFAULT_MAX_MERGED_CHARS;
+   private int eventsMerged_ = 0;
+   private int writesDispatched_ = 0;
+
+   private static final int DEFAULT_MAX_MERGED_CHARS = 64 * 1024;
+}
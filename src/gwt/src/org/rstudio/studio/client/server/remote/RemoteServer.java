@@ -23,6 +23,7 @@ import java.util.Map;
 import org.rstudio.core.client.BrowseCap;
 import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.JsVector;
+import org.rstudio.core.client.Stopwatch;
 import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.dom.WindowEx;
 import org.rstudio.core.client.files.FileSystemItem;
@@ -38,6 +39,9 @@ import org.rstudio.core.client.jsonrpc.RpcRequest;
 import org.rstudio.core.client.jsonrpc.RpcRequestCallback;
 import org.rstudio.core.client.jsonrpc.RpcResponse;
 import org.rstudio.core.client.jsonrpc.RpcResponseHandler;
+import org.rstudio.core.client.metrics.LatencyHistogram;
+import org.rstudio.core.client.metrics.MetricsRegistry;
+import org.rstudio.core.client.patch.LinePatch;
 import org.rstudio.studio.client.application.ApplicationTutorialEvent;
 import org.rstudio.studio.client.application.Desktop;
 import org.rstudio.studio.client.application.events.ClientDisconnectedEvent;
@@ -2704,6 +2708,35 @@ public class RemoteServer implements Server, AiServerOperations
       params.set(11, JSONBoolean.getInstance(retryWrite));
       sendRequest(RPC_SCOPE, SAVE_DOCUMENT_DIFF, params, requestCallback);
    }
+
+   public void saveDocumentPatch(String id,
+                                 String path,
+                                 String fileType,
+                                 String encoding,
+                                 String foldSpec,
+                                 JsArray<ChunkDefinition> chunkDefs,
+                                 LinePatch patch,
+                                 String checksum,
+                                 String hash,
+                                 boolean retryWrite,
+                                 ServerRequestCallback<String> requestCallback)
+   {
+      eventBus_.fireEvent(new ApplicationTutorialEvent(ApplicationTutorialEvent.FILE_SAVE));
+
+      JSONArray params = new JSONArray();
+      params.set(0, new JSONString(id));
+      params.set(1, path == null ? JSONNull.getInstance() : new JSONString(path));
+      params.set(2, fileType == null ? JSONNull.getInstance() : new JSONString(fileType));
+      params.set(3, encoding == null ? JSONNull.getInstance() : new JSONString(encoding));
+      params.set(4, new JSONString(StringUtil.notNull(foldSpec)));
+      params.set(5, chunkDefs == null ? JSONNull.getInstance() : new JSONObject(chunkDefs));
+      params.set(6, new JSONArray(patch.getHunks()));
+      params.set(7, new JSONString(patch.getNewline()));
+      params.set(8, new JSONString(checksum));
+      params.set(9, new JSONString(hash));
+      params.set(10, JSONBoolean.getInstance(retryWrite));
+      sendRequest(RPC_SCOPE, SAVE_DOCUMENT_PATCH, params, requestCallback);
+   }
    
    public void formatDocument(String id,
                               String path,
@@ -3619,8 +3652,12 @@ public class RemoteServer implements Server, AiServerOperations
       return eventBus_;
    }
 
+   // maxEvents and maxBytes bound the size of each response (0 means no
+   // limit); any events beyond them are delivered by subsequent requests
    RpcRequest getEvents(
                   int lastEventId,
+                  int maxEvents,
+                  int maxBytes,
                   ServerRequestCallback<JsArray<ClientEvent>> requestCallback,
                   RetryHandler retryHandler)
    {
@@ -3633,6 +3670,8 @@ public class RemoteServer implements Server, AiServerOperations
 
       JSONArray params = new JSONArray();
       params.set(0, new JSONNumber(lastEventId));
+      params.set(1, new JSONNumber(maxEvents));
+      params.set(2, new JSONNumber(maxBytes));
       return sendRequest(EVENTS_SCOPE,
                          "get_events",
                          params,
@@ -4003,10 +4042,20 @@ public class RemoteServer implements Server, AiServerOperations
             return rpcRequest;
          }
 
-         // send the request
+         // send the request (timing the round trip per method). get_events
+         // is a long poll that waits for the server to have something to
+         // send, so its round trip says nothing about latency
+         final LatencyHistogram roundTrip = EVENTS_SCOPE.equals(scope)
+               ? null
+               : MetricsRegistry.get().histogram("rpc." + rpcRequest.getMethod());
+         final double requestStart = Stopwatch.now();
          rpcRequest.send(new RpcRequestCallback() {
             public void onError(RpcRequest request, RpcError error)
             {
+               if (roundTrip != null)
+                  roundTrip.recordSince(requestStart);
+               MetricsRegistry.get().counter("rpc.errors").increment();
+
                // ignore errors if we are disconnected
                if (isDisconnected(scope))
                   return;
@@ -4032,6 +4081,9 @@ public class RemoteServer implements Server, AiServerOperations
             public void onResponseReceived(final RpcRequest request,
                                           RpcResponse response)
             {
+               if (roundTrip != null)
+                  roundTrip.recordSince(requestStart);
+
                // ignore response if we are disconnected
                //   - handler was cancelled
                if (isDisconnected(scope))
@@ -6344,6 +6396,7 @@ public class RemoteServer implements Server, AiServerOperations
                                    String content,
                                    boolean showMarkersPane,
                                    boolean explicit,
+                                   boolean partial,
                                    ServerRequestCallback<JsArray<LintItem>> requestCallback)
    {
       JSONArray params = new JSONArray();
@@ -6352,6 +6405,7 @@ public class RemoteServer implements Server, AiServerOperations
       params.set(2, new JSONString(content));
       params.set(3, JSONBoolean.getInstance(showMarkersPane));
       params.set(4, JSONBoolean.getInstance(explicit));
+      params.set(5, JSONBoolean.getInstance(partial));
       sendRequest(RPC_SCOPE, LINT_R_SOURCE_DOCUMENT, params, requestCallback);
    }
 
@@ -6781,7 +6835,7 @@ public class RemoteServer implements Server, AiServerOperations
 
    @Override
    public void setJobListening(String id, boolean listening, boolean bypassLauncherCall,
-                               ServerRequestCallback<JsArray<JobOutput>> callback)
+                               ServerRequestCallback<Double> callback)
    {
       JSONArray params = new JSONArray();
       params.set(0, new JSONString(id));
@@ -6790,6 +6844,17 @@ public class RemoteServer implements Server, AiServerOperations
       sendRequest(RPC_SCOPE, "set_job_listening", params, callback);
    }
 
+   @Override
+   public void getJobOutput(String id, int position, int count,
+                            ServerRequestCallback<JsArray<JobOutput>> callback)
+   {
+      JSONArray params = new JSONArray();
+      params.set(0, new JSONString(id));
+      params.set(1, new JSONNumber(position));
+      params.set(2, new JSONNumber(count));
+      sendRequest(RPC_SCOPE, "job_output", params, callback);
+   }
+
    @Override
    public void executeJobAction(String id, String action,
                                 ServerRequestCallback<Void> callback)
@@ -7348,6 +7413,7 @@ public class RemoteServer implements Server, AiServerOperations
    private static final String OPEN_DOCUMENT = "open_document";
    private static final String SAVE_DOCUMENT = "save_document";
    private static final String SAVE_DOCUMENT_DIFF = "save_document_diff";
+   private static final String SAVE_DOCUMENT_PATCH = "save_document_patch";
    private static final String FORMAT_DOCUMENT = "format_document";
    private static final String FORMAT_CODE = "format_code";
    private static final String CHECK_FOR_EXTERNAL_EDIT = "check_for_external_edit";
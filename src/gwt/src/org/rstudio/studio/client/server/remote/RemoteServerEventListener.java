@@ -55,6 +55,8 @@ class RemoteServerEventListener
       server_ = server;
       externalEventHandler_ = externalEventHandler;
       eventDispatcher_ = new ClientEventDispatcher(server_.getEventBus());
+      flowControl_ = new ClientEventFlowControl(
+            () -> eventDispatcher_.getPendingEventCount());
       lastEventId_ = -1;
       listenCount_ = 0;
       listenErrorCount_ = 0;
@@ -68,6 +70,14 @@ class RemoteServerEventListener
             doListen();
          }
       };
+
+      backpressureTimer_ = new Timer() {
+         @Override
+         public void run()
+         {
+            listenWhenReady();
+         }
+      };
       
       // we take the liberty of stopping ourselves if the window is on 
       // the verge of being closed. this allows us to prevent the scenario:
@@ -137,6 +147,7 @@ class RemoteServerEventListener
    public void stop()
    {
       listenTimer_.cancel();
+      backpressureTimer_.cancel();
       isListening_ = false;
       listenCount_ = 0;
       if (activeRequestCallback_ != null)
@@ -207,7 +218,11 @@ class RemoteServerEventListener
         //   2) the user navigates Back within a Frame 
         //
         // can only imagine that it could happen in other scenarios!
-        watchdog_.schedule(kWatchdogIntervalMs);
+        //
+        // (skip this while we're holding off polling for the dispatcher to
+        // drain its backlog -- there's no outstanding request to check on)
+        if (!backpressureTimer_.isRunning())
+           watchdog_.schedule(kWatchdogIntervalMs);
      }
    }
    
@@ -241,6 +256,19 @@ class RemoteServerEventListener
 
       listenTimer_.schedule(bounceMs);
    }
+
+   // listen again, unless the dispatcher still has a large backlog of events
+   // to work through, in which case check back shortly
+   private void listenWhenReady()
+   {
+      if (!isListening_)
+         return;
+
+      if (flowControl_.canPoll())
+         listen();
+      else
+         backpressureTimer_.schedule(kBackpressureCheckMs);
+   }
    
    private void doListen()
    {  
@@ -281,6 +309,8 @@ class RemoteServerEventListener
                      dispatchEvent(event);
                      lastEventId_ = event.getId();
                   }   
+
+                  recordBatch(events.length());
                }
             }
             // catch all here to make sure that in all cases we call
@@ -290,8 +320,8 @@ class RemoteServerEventListener
                GWT.log("ERROR: Processing client events", e);
             }
             
-            // listen for more events
-            listen();
+            // listen for more events (once the dispatcher has caught up)
+            listenWhenReady();
          }
          
          @Override
@@ -366,11 +396,25 @@ class RemoteServerEventListener
       
       // send request
       activeRequest_ = server_.getEvents(lastEventId_, 
+                                         flowControl_.getMaxEventsPerPoll(),
+                                         flowControl_.getMaxBytesPerPoll(),
                                          activeRequestCallback_,
                                          retryHandler);                             
    }
    
    
+   private void recordBatch(int eventCount)
+   {
+      int bytes = 0;
+      double parseMs = 0;
+      if (activeRequest_ != null)
+      {
+         bytes = activeRequest_.getLastResponseLength();
+         parseMs = activeRequest_.getLastParseMs();
+      }
+      flowControl_.recordBatch(eventCount, bytes, parseMs);
+   }
+
    private void dispatchEvent(ClientEvent event)
    {
       // do some special handling before calling the standard dispatcher
@@ -467,7 +511,9 @@ class RemoteServerEventListener
    // unnecessarily during a listen delay
    private final int kWatchdogIntervalMs = 2000;
    private final int kSecondListenBounceMs = 250;
+   private final int kBackpressureCheckMs = 50;
    private Timer listenTimer_;
+   private Timer backpressureTimer_;
        
    private boolean isListening_;
    private int lastEventId_;
@@ -479,6 +525,7 @@ class RemoteServerEventListener
    private ServerRequestCallback<JsArray<ClientEvent>> activeRequestCallback_;
 
    private final ClientEventDispatcher eventDispatcher_;
+   private final ClientEventFlowControl flowControl_;
    
    private final ClientEventHandler externalEventHandler_;
      
@@ -58,5 +58,12 @@ public class ShinyApplicationSatellite extends SatelliteApplication
       initialize(name_, view, satellite, pAceThemes, pUserPrefs, exHandler, commands);
    }
    
+   // none of the high-volume topics are used by the viewer
+   @Override
+   protected String[] getEventTopics()
+   {
+      return new String[] {};
+   }
+
    private final String name_;
 }
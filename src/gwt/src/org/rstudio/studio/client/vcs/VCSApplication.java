@@ -17,6 +17,7 @@ package org.rstudio.studio.client.vcs;
 import org.rstudio.studio.client.application.ApplicationUncaughtExceptionHandler;
 import org.rstudio.studio.client.common.satellite.Satellite;
 import org.rstudio.studio.client.common.satellite.SatelliteApplication;
+import org.rstudio.studio.client.common.satellite.SatelliteEventTopics;
 import org.rstudio.studio.client.common.vcs.AskPassManager;
 import org.rstudio.studio.client.workbench.commands.Commands;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
@@ -41,5 +42,14 @@ public class VCSApplication extends SatelliteApplication
       super(NAME, view, satellite, pAceThemes, pUserPrefs, uncaughtExHandler, commands);
    }
 
+   // git operations report progress through process output
+   @Override
+   protected String[] getEventTopics()
+   {
+      return new String[] {
+         SatelliteEventTopics.PROCESS_OUTPUT
+      };
+   }
+
    public final static String NAME = "review_changes";
 }
@@ -17,13 +17,13 @@ package org.rstudio.studio.client.workbench;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.user.client.Command;
+import com.google.gwt.user.client.Timer;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 
 import org.rstudio.core.client.BrowseCap;
 import org.rstudio.core.client.Size;
 import org.rstudio.core.client.StringUtil;
-import org.rstudio.core.client.TimeBufferedCommand;
 import org.rstudio.core.client.command.AppCommand;
 import org.rstudio.core.client.command.CommandBinder;
 import org.rstudio.core.client.command.Handler;
@@ -77,6 +77,7 @@ import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.snippets.ui.EditSnippetsDialog;
 import org.rstudio.studio.client.workbench.views.choosefile.ChooseFile;
 import org.rstudio.studio.client.workbench.views.files.events.DirectoryNavigateEvent;
+import org.rstudio.studio.client.workbench.views.plots.PlotSizeCache;
 import org.rstudio.studio.client.workbench.views.source.SourceWindowManager;
 import org.rstudio.studio.client.workbench.views.source.editors.profiler.ProfilerPresenter;
 import org.rstudio.studio.client.workbench.views.tutorial.TutorialPresenter.Tutorial;
@@ -121,6 +122,7 @@ public class Workbench implements BusyEvent.Handler,
                     ProjectOpener projectOpener,
                     Provider<GitState> pGitState,
                     SourceWindowManager sourceWindowManager,
+                    PlotSizeCache plotSizeCache,
                     UserInterfaceHighlighter highlighter,       // force gin to create
                     ChooseFile chooseFile,                      // force gin to create
                     AskPassManager askPass,                     // force gin to create
@@ -153,6 +155,7 @@ public class Workbench implements BusyEvent.Handler,
       newSession_ = newSession;
       serverOperations_ = serverOperations;
       sourceWindowManager_ = sourceWindowManager;
+      plotSizeCache_ = plotSizeCache;
 
       ((Binder)GWT.create(Binder.class)).bind(commands, this);
 
@@ -175,15 +178,27 @@ public class Workbench implements BusyEvent.Handler,
       eventBus.addHandler(DeferredInitCompletedEvent.TYPE, this);
       eventBus.addHandler(ReportShortcutBindingEvent.TYPE, this);
 
-      // We don't want to send setWorkbenchMetrics more than once per 1/2-second
-      metricsChangedCommand_ = new TimeBufferedCommand(500)
+      // Send setWorkbenchMetrics once the metrics have stopped changing for
+      // 1/2-second. A change in the size of the plots pane makes R re-render
+      // the current plot, so while a splitter is being dragged we leave the
+      // pane to scale the plot it has and only ask for one re-render, after
+      // the drag ends. If the pane already has the plot at its new size,
+      // the server needn't render it at all.
+      metricsChangedTimer_ = new Timer()
       {
          @Override
-         protected void performAction(boolean shouldSchedulePassive)
+         public void run()
          {
-            assert !shouldSchedulePassive;
+            WorkbenchMetrics metrics = lastWorkbenchMetrics_;
+            Size graphicsSize = new Size(metrics.getGraphicsWidth(),
+                                         metrics.getGraphicsHeight());
+            if (plotSizeCache_.hasCurrentPlot(graphicsSize,
+                                              metrics.getDevicePixelRatio()))
+            {
+               metrics = metrics.withDeferredGraphicsResize();
+            }
 
-            server_.setWorkbenchMetrics(lastWorkbenchMetrics_,
+            server_.setWorkbenchMetrics(metrics,
                                         new VoidServerRequestCallback());
          }
       };
@@ -278,7 +293,7 @@ public class Workbench implements BusyEvent.Handler,
    public void onWorkbenchMetricsChanged(WorkbenchMetricsChangedEvent event)
    {
       lastWorkbenchMetrics_ = event.getWorkbenchMetrics();
-      metricsChangedCommand_.nudge();
+      metricsChangedTimer_.schedule(METRICS_CHANGED_DELAY_MS);
    }
 
    public void onQuotaStatus(QuotaStatusEvent event)
@@ -785,11 +800,14 @@ public class Workbench implements BusyEvent.Handler,
    private final ProjectOpener projectOpener_;
    private final ConsoleDispatcher consoleDispatcher_;
    private final Provider<GitState> pGitState_;
-   private final TimeBufferedCommand metricsChangedCommand_;
+   private final Timer metricsChangedTimer_;
+   private final PlotSizeCache plotSizeCache_;
    private WorkbenchMetrics lastWorkbenchMetrics_;
    private final WorkbenchNewSession newSession_;
    private boolean nearQuotaWarningShown_ = false;
    
    @SuppressWarnings("unused") private final SourceWindowManager sourceWindowManager_;
+
+   private static final int METRICS_CHANGED_DELAY_MS = 500;
    private static final ClientWorkbenchConstants constants_ = GWT.create(ClientWorkbenchConstants.class);
 }
@@ -152,8 +152,11 @@ public class CodeSearch
         @Override
         public void onFileChange(FileChangeEvent event)
         {
-           // if this was an R file then invalidate the cache
+           // keep the oracle's index up to date
            CodeSearchOracle oracle = display_.getSearchOracle();
+           oracle.onFileChange(event.getFileChange());
+
+           // if this was an R file then invalidate the cache
            if (oracle.hasCachedResults())
            {
               FileSystemItem fsi = event.getFileChange().getFile();
@@ -0,0 +1,281 @@
+/*
+ * CodeSearchIndex.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.codesearch;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.rstudio.core.client.Stopwatch;
+import org.rstudio.core.client.StringUtil;
+import org.rstudio.core.client.regex.Match;
+import org.rstudio.core.client.regex.Pattern;
+
+// A client-side index of the files and symbols returned by code searches,
+// used to answer queries without a round trip to the server.
+//
+// The index only holds what the server has sent us, so it can only answer
+// a query when it's known to contain every possible match. That's the case
+// when the query refines (starts with) an earlier query for which the server
+// sent every match: anything matching the new query also matches the old
+// one. Those earlier queries are the index's "coverage"; a query that isn't
+// covered is cold and has to go to the server.
+//
+// Each entry records a bitmap of the letters and digits in its name, so most
+// entries can be rejected without running the subsequence match.
+public class CodeSearchIndex<T>
+{
+   private static class Entry<T>
+   {
+      Entry(String name, String file, boolean isFile, T value)
+      {
+         nameLower_ = name.toLowerCase();
+         mask_ = characterMask(nameLower_);
+         file_ = file;
+         isFile_ = isFile;
+         value_ = value;
+      }
+
+      final String nameLower_;
+      final int mask_;
+      final String file_;
+      final boolean isFile_;
+      final T value_;
+   }
+
+   private static class Coverage
+   {
+      Coverage(String query, double time)
+      {
+         query_ = query;
+         time_ = time;
+      }
+
+      final String query_;
+      final double time_;
+   }
+
+   public CodeSearchIndex()
+   {
+      this(DEFAULT_MAX_ENTRIES, DEFAULT_COVERAGE_TTL_MS);
+   }
+
+   public CodeSearchIndex(int maxEntries, double coverageTtlMs)
+   {
+      maxEntries_ = maxEntries;
+      coverageTtlMs_ = coverageTtlMs;
+   }
+
+   /**
+    * Add a file or symbol to the index; an existing entry with the same key
+    * is replaced.
+    *
+    * @param key Identifies the item (e.g. its path, or its path and position)
+    * @param name The name queries are matched against
+    * @param file The file the item lives in
+    * @param isFile Whether the item is the file itself
+    */
+   public void add(String key, String name, String file, boolean isFile, T value)
+   {
+      entries_.put(key, new Entry<>(name, file, isFile, value));
+
+      // rather than track which entries are still useful, start over
+      if (entries_.size() > maxEntries_)
+         clear();
+   }
+
+   /**
+    * Record that the server has sent every match for the given query (and
+    * that they've been added to the index).
+    */
+   public void addCoverage(String query)
+   {
+      if (query.indexOf('*') != -1)
+         return;
+
+      // matching is case insensitive, so coverage is too
+      coverage_.add(new Coverage(query.toLowerCase(), Stopwatch.now()));
+      if (coverage_.size() > MAX_COVERAGE)
+         coverage_.remove(0);
+   }
+
+   public boolean isCovered(String query)
+   {
+      return findCoverage(query) != null;
+   }
+
+   /**
+    * Look up the matches for a query.
+    *
+    * @return The matches, in no particular order, or null if the index can't
+    *    answer the query.
+    */
+   public ArrayList<T> lookup(String query)
+   {
+      if (findCoverage(query) == null)
+         return null;
+
+      ArrayList<T> results = new ArrayList<>();
+
+      String queryLower = query.toLowerCase();
+      if (queryLower.indexOf('*') != -1)
+      {
+         Pattern pattern = patternForTerm(queryLower);
+         for (Entry<T> entry : entries_.values())
+         {
+            Match match = pattern.match(entry.nameLower_, 0);
+            if (match != null && match.getIndex() == 0)
+               results.add(entry.value_);
+         }
+         return results;
+      }
+
+      // queries of the form 'foo:<line>:<col>' match on 'foo'
+      int colonIndex = queryLower.indexOf(':');
+      String term = colonIndex == -1 ?
+            queryLower :
+            StringUtil.substring(queryLower, 0, colonIndex);
+
+      int mask = characterMask(term);
+      for (Entry<T> entry : entries_.values())
+      {
+         if ((entry.mask_ & mask) != mask)
+            continue;
+
+         if (term.isEmpty() || StringUtil.isSubsequence(entry.nameLower_, term))
+            results.add(entry.value_);
+      }
+      return results;
+   }
+
+   /**
+    * Remove the entries for a file (or everything under a directory) that
+    * no longer exists. Coverage is unaffected, as nothing new can match.
+    */
+   public void removeFile(String path)
+   {
+      String prefix = path.endsWith("/") ? path : path + "/";
+      Iterator<Entry<T>> it = entries_.values().iterator();
+      while (it.hasNext())
+      {
+         Entry<T> entry = it.next();
+         if (entry.file_.equals(path) || entry.file_.startsWith(prefix))
+            it.remove();
+      }
+   }
+
+   /**
+    * A file was added; drop the coverage its name could fall under, since
+    * the server would now return it for those queries.
+    */
+   public void addFile(String name)
+   {
+      String nameLower = name.toLowerCase();
+      Iterator<Coverage> it = coverage_.iterator();
+      while (it.hasNext())
+      {
+         String query = it.next().query_;
+         if (query.isEmpty() || StringUtil.isSubsequence(nameLower, query))
+            it.remove();
+      }
+   }
+
+   /**
+    * The symbols defined in a file may have changed. Its symbols are removed
+    * and, since new ones could match any query, all coverage is dropped.
+    */
+   public void invalidateSymbols(String path)
+   {
+      Iterator<Entry<T>> it = entries_.values().iterator();
+      while (it.hasNext())
+      {
+         Entry<T> entry = it.next();
+         if (!entry.isFile_ && entry.file_.equals(path))
+            it.remove();
+      }
+      coverage_.clear();
+   }
+
+   public int size()
+   {
+      return entries_.size();
+   }
+
+   public void clear()
+   {
+      entries_.clear();
+      coverage_.clear();
+   }
+
+   private Coverage findCoverage(String query)
+   {
+      String queryLower = query.toLowerCase();
+      double now = Stopwatch.now();
+      for (int i = coverage_.size() - 1; i >= 0; i--)
+      {
+         Coverage coverage = coverage_.get(i);
+
+         // symbols in unsaved documents can change without a file change,
+         // so coverage doesn't last forever
+         if (now - coverage.time_ > coverageTtlMs_)
+         {
+            coverage_.remove(i);
+            continue;
+         }
+
+         if (queryLower.startsWith(coverage.query_))
+            return coverage;
+      }
+      return null;
+   }
+
+   private static Pattern patternForTerm(String term)
+   {
+      // split the term on *
+      StringBuilder regex = new StringBuilder();
+      String[] components = term.split("\\*", -1);
+      for (int i = 0; i < components.length; i++)
+      {
+         if (i > 0)
+            regex.append(".*");
+         regex.append(Pattern.escape(components[i]));
+      }
+      return Pattern.create(regex.toString());
+   }
+
+   // one bit for each letter, plus one for any digit
+   private static int characterMask(String lower)
+   {
+      int mask = 0;
+      for (int i = 0, n = lower.length(); i < n; i++)
+      {
+         char ch = lower.charAt(i);
+         if (ch >= 'a' && ch <= 'z')
+            mask |= 1 << (ch - 'a');
+         else if (ch >= '0' && ch <= '9')
+            mask |= 1 << 26;
+      }
+      return mask;
+   }
+
+   private final int maxEntries_;
+   private final double coverageTtlMs_;
+   private final LinkedHashMap<String, Entry<T>> entries_ = new LinkedHashMap<>();
+   private final ArrayList<Coverage> coverage_ = new ArrayList<>();
+
+   private static final int MAX_COVERAGE = 200;
+   private static final int DEFAULT_MAX_ENTRIES = 50000;
+   private static final double DEFAULT_COVERAGE_TTL_MS = 5 * 60 * 1000;
+}
@@ -16,7 +16,9 @@ package org.rstudio.studio.client.workbench.codesearch;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.google.gwt.core.client.GWT;
 import org.rstudio.core.client.CodeNavigationTarget;
@@ -26,8 +28,6 @@ import org.rstudio.core.client.Invalidation;
 import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.TimeBufferedCommand;
 import org.rstudio.core.client.files.FileSystemItem;
-import org.rstudio.core.client.regex.Match;
-import org.rstudio.core.client.regex.Pattern;
 import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.server.ServerError;
 import org.rstudio.studio.client.server.ServerRequestCallback;
@@ -36,6 +36,7 @@ import org.rstudio.studio.client.workbench.codesearch.model.CodeSearchResults;
 import org.rstudio.studio.client.workbench.codesearch.model.FileItem;
 import org.rstudio.studio.client.workbench.codesearch.model.SourceItem;
 import org.rstudio.studio.client.workbench.codesearch.model.CodeSearchServerOperations;
+import org.rstudio.studio.client.workbench.views.files.model.FileChange;
 
 import com.google.gwt.user.client.ui.SuggestOracle;
 import com.google.inject.Inject;
@@ -137,67 +138,43 @@ public class CodeSearchOracle extends SuggestOracle
       searchInvalidation_.invalidate();
       
       // first see if we can serve the request from the cache
+      String query = request.getQuery();
       for (int i=resultCache_.size() - 1; i >= 0; i--)
       {
-         // get the previous result
-         SearchResult res = resultCache_.get(i);
-         
          // exact match of previous query
-         if (request.getQuery() == res.getQuery())
+         SearchResult res = resultCache_.get(i);
+         if (query == res.getQuery())
          {
             callback.onSuggestionsReady(request, 
                                         new Response(res.getSuggestions()));
             return;
          }
+      }
+      
+      // next see if the index has everything that could match
+      ArrayList<CodeSearchSuggestion> indexed = index_.lookup(query);
+      if (indexed != null)
+      {
+         // keep the same ordering (files first) as server results
+         ArrayList<CodeSearchSuggestion> suggestions = new ArrayList<>();
+         for (CodeSearchSuggestion sugg : indexed)
+            if (sugg.isFileTarget())
+               suggestions.add(sugg);
+         for (CodeSearchSuggestion sugg : indexed)
+            if (!sugg.isFileTarget())
+               suggestions.add(sugg);
          
-         // if this query is a further refinement of a non-overflowed 
-         // previous query then satisfy it by filtering the previous results
-         if (!res.getMoreAvailable() && 
-             request.getQuery().startsWith(res.getQuery()))
-         {
-            Pattern pattern = null;
-            String query = request.getQuery();
-            String queryLower = query.toLowerCase();
-            
-            if (queryLower.indexOf('*') != -1)
-               pattern = patternForTerm(queryLower);
-            
-            ArrayList<CodeSearchSuggestion> suggestions = new ArrayList<>();
-            for (int s=0; s<res.getSuggestions().size(); s++)
-            {
-               CodeSearchSuggestion sugg = res.getSuggestions().get(s);
-               
-               String name = sugg.getMatchedString().toLowerCase();
-               if (pattern != null)
-               {
-                  Match match = pattern.match(name, 0);
-                  if (match != null && match.getIndex() == 0)
-                     suggestions.add(sugg);
-               }
-               else
-               {
-                  int colonIndex = query.indexOf(":");
-                  if (colonIndex == -1)
-                     colonIndex = query.length();
-                  
-                  if (StringUtil.isSubsequence(name, StringUtil.substring(query, 0, colonIndex), true))
-                     suggestions.add(sugg);
-               }
-            }
-            
-            // process and cache suggestions. note that this adds an item to
-            // the end of the resultCache_ (which we are currently iterating
-            // over) no biggie because we are about to return from the loop
-            suggestions = processSuggestions(request, suggestions, false);
-            
-            // sort suggestions
-            sortSuggestions(suggestions, query);
-            
-            // return suggestions
-            callback.onSuggestionsReady(request, new Response(suggestions));
-            
-            return;
-         } 
+         // process and cache suggestions
+         suggestions = processSuggestions(request, suggestions, false);
+         
+         // sort suggestions, and keep as many as the server would have sent
+         sortSuggestions(suggestions, query);
+         if (request.getLimit() > 0 && suggestions.size() > request.getLimit())
+            suggestions.subList(request.getLimit(), suggestions.size()).clear();
+         
+         // return suggestions
+         callback.onSuggestionsReady(request, new Response(suggestions));
+         return;
       }
       
       // failed to short-circuit via the cache, hit the server
@@ -263,18 +240,72 @@ public class CodeSearchOracle extends SuggestOracle
       return true;
    }
    
-   private Pattern patternForTerm(String term)
+   public void onFileChange(FileChange fileChange)
    {
-      // split the term on *
-      StringBuilder regex = new StringBuilder();
-      String[] components = term.split("\\*", -1);
-      for (int i=0; i<components.length; i++)
+      FileSystemItem file = fileChange.getFile();
+      String path = file.getPath();
+      switch (fileChange.getType())
       {
-         if (i > 0)
-            regex.append(".*");
-         regex.append(Pattern.escape(components[i]));
-      }    
-      return Pattern.create(regex.toString());
+      case FileChange.ADD:
+         index_.addFile(file.getName());
+         if (mayDefineSymbols(file))
+            index_.invalidateSymbols(path);
+         break;
+      case FileChange.DELETE:
+         index_.removeFile(path);
+         break;
+      case FileChange.MODIFIED:
+         if (mayDefineSymbols(file))
+            index_.invalidateSymbols(path);
+         break;
+      }
+   }
+   
+   private static boolean mayDefineSymbols(FileSystemItem file)
+   {
+      if (file.isDirectory())
+         return false;
+      
+      String extension = file.getExtension().toLowerCase();
+      for (String symbolExtension : SYMBOL_FILE_EXTENSIONS)
+      {
+         if (extension.equals(symbolExtension))
+            return true;
+      }
+      return false;
+   }
+   
+   private void addToIndex(String query,
+                           ArrayList<CodeSearchSuggestion> suggestions,
+                           boolean moreAvailable)
+   {
+      for (CodeSearchSuggestion suggestion : suggestions)
+      {
+         CodeNavigationTarget target = suggestion.getNavigationTarget();
+         String file = StringUtil.notNull(target.getFile());
+         
+         String key;
+         if (suggestion.isFileTarget())
+         {
+            key = "f:" + file;
+         }
+         else
+         {
+            FilePosition pos = target.getPosition();
+            key = "s:" + file + ":" +
+                  (pos == null ? "" : pos.getLine() + ":" + pos.getColumn()) + ":" +
+                  suggestion.getMatchedString();
+         }
+         
+         index_.add(key,
+                    suggestion.getMatchedString(),
+                    file,
+                    suggestion.isFileTarget(),
+                    suggestion);
+      }
+      
+      if (!moreAvailable)
+         index_.addCoverage(query);
    }
    
    private class CodeSearchCommand extends TimeBufferedCommand  
@@ -327,6 +358,11 @@ public class CodeSearchOracle extends SuggestOracle
                      new CodeSearchSuggestion(srcResults.get(i), context));    
                }
                   
+               // remember them for later queries
+               addToIndex(request_.getQuery(),
+                          suggestions,
+                          response.getMoreAvailable());
+               
                // process suggestions (disambiguate paths & cache)
               suggestions = processSuggestions(request_, 
                                                suggestions,
@@ -375,6 +411,11 @@ public class CodeSearchOracle extends SuggestOracle
             StringUtil.substring(query, 0, colonIndex) :
             query;
       
+      // score each suggestion once, rather than on every comparison
+      final Map<CodeSearchSuggestion, Integer> scores = new HashMap<>();
+      for (CodeSearchSuggestion suggestion : suggestions)
+         scores.put(suggestion, scoreMatch(suggestion, localQuery));
+      
       java.util.Collections.sort(suggestions,
             new Comparator<CodeSearchSuggestion>() {
 
@@ -382,8 +423,8 @@ public class CodeSearchOracle extends SuggestOracle
          public int compare(CodeSearchSuggestion lhs,
                             CodeSearchSuggestion rhs)
          {
-            int lhsScore = scoreMatch(lhs, localQuery);
-            int rhsScore = scoreMatch(rhs, localQuery);
+            int lhsScore = scores.get(lhs);
+            int rhsScore = scores.get(rhs);
 
             if (lhsScore == rhsScore)
             {
@@ -449,6 +490,7 @@ public class CodeSearchOracle extends SuggestOracle
    private final CodeSearchCommand codeSearch_ = new CodeSearchCommand();
    
    private final ArrayList<SearchResult> resultCache_ = new ArrayList<>();
+   private final CodeSearchIndex<CodeSearchSuggestion> index_ = new CodeSearchIndex<>();
    
    private class SearchResult
    {
@@ -480,5 +522,11 @@ public class CodeSearchOracle extends SuggestOracle
       private final ArrayList<CodeSearchSuggestion> suggestions_;
       private final boolean moveAvailable_;
    }
+   
+   // files whose symbols the server indexes
+   private static final String[] SYMBOL_FILE_EXTENSIONS = {
+      ".r", ".rmd", ".qmd", ".rnw", ".md", ".c", ".cc", ".cpp", ".h", ".hpp"
+   };
+   
    private static final CodeSearchConstants constants_ = GWT.create(CodeSearchConstants.class);
 }
@@ -3276,6 +3276,18 @@ public interface CmdConstants extends Constants {
     @DefaultStringValue("Show internal request log") // $NON-NLS-1$
     String showRequestLogDesc();
     
+    // showPerformanceMetrics
+    @DefaultStringValue("_Performance Metrics") // $NON-NLS-1$
+    String showPerformanceMetricsMenuLabel();
+    @DefaultStringValue("Show client performance metrics") // $NON-NLS-1$
+    String showPerformanceMetricsDesc();
+    
+    // dumpPerformanceMetrics
+    @DefaultStringValue("Dump Performance Metrics as _JSON") // $NON-NLS-1$
+    String dumpPerformanceMetricsMenuLabel();
+    @DefaultStringValue("Show client performance metrics as JSON, for attaching to bug reports") // $NON-NLS-1$
+    String dumpPerformanceMetricsDesc();
+    
     // diagnosticsReport
     @DefaultStringValue("_Write Diagnostics Report") // $NON-NLS-1$
     String diagnosticsReportMenuLabel();
@@ -534,6 +534,8 @@ public abstract class
    public abstract AppCommand helpUsingRStudio();
    public abstract AppCommand helpKeyboardShortcuts();
    public abstract AppCommand showRequestLog();
+   public abstract AppCommand showPerformanceMetrics();
+   public abstract AppCommand dumpPerformanceMetrics();
    public abstract AppCommand logFocusedElement();
    public abstract AppCommand debugDumpContents();
    public abstract AppCommand debugImportDump();
@@ -55,6 +55,15 @@ public class WorkbenchMetrics extends JavaScriptObject
    public final native double getDevicePixelRatio() /*-{
       return this.devicePixelRatio;
    }-*/;
+
+   // a copy of these metrics which asks the server to resize the graphics
+   // device the next time it's used, rather than re-rendering the current
+   // plot now
+   public final native WorkbenchMetrics withDeferredGraphicsResize() /*-{
+      var clientMetrics = Object.assign({}, this);
+      clientMetrics.deferGraphicsResize = true;
+      return clientMetrics;
+   }-*/;
    
    public final boolean equalTo(WorkbenchMetrics other)
    {  
@@ -132,28 +132,55 @@ public abstract class Prefs
       
       public boolean hasValue()
       {
-         for (PrefLayer layer: JsUtil.asReverseIterable(layers_))
-         {
-            if (layer.getValues().hasKey(name_))
-            {
-               return true;
-            }
-         }
-         return false;
+         return getSourceLayer() >= 0;
       }
       
       public T getValue()
       {
+         resolve();
+         return resolvedValue_;
+      }
+
+      /**
+       * Gets the layer the effective value comes from.
+       * 
+       * @return The index of the layer, or -1 if the pref has no value in any
+       *   layer (and so takes its default value)
+       */
+      public int getSourceLayer()
+      {
+         resolve();
+         return resolvedLayer_;
+      }
+
+      // Prefs are read far more often than they're written, so the effective
+      // value is remembered until this pref is written or the layers are
+      // replaced.
+      private void resolve()
+      {
+         if (resolvedGeneration_ == generation_)
+            return;
+
          // Work backwards through all layers, starting with the most specific
          // and working towards the most general.
-         for (PrefLayer layer: JsUtil.asReverseIterable(layers_))
+         resolvedValue_ = defaultValue_;
+         resolvedLayer_ = -1;
+         for (int i = layers_.length() - 1; i >= 0; i--)
          {
-            if (layer.getValues().hasKey(name_))
+            JsObject values = layers_.get(i).getValues();
+            if (values.hasKey(name_))
             {
-               return doGetValue(layer.getValues());
+               resolvedValue_ = doGetValue(values);
+               resolvedLayer_ = i;
+               break;
             }
          }
-         return defaultValue_;
+         resolvedGeneration_ = generation_;
+      }
+
+      private void invalidate()
+      {
+         resolvedGeneration_ = -1;
       }
 
       public T getGlobalValue()
@@ -195,6 +222,9 @@ public abstract class Prefs
             }
          }
          
+         if (wasUnset)
+            invalidate();
+         
          if (fireEvents && wasUnset)
             ValueChangeEvent.fire(this, getValue());
       }
@@ -227,6 +257,7 @@ public abstract class Prefs
          if (projValues.hasKey(name_))
          {
             projValues.unset(name_);
+            invalidate();
             if (fireEvents)
                ValueChangeEvent.fire(this, getValue());
          }
@@ -255,6 +286,7 @@ public abstract class Prefs
             return;
 
          doSetValue(root, name_, value);
+         invalidate();
          if (fireEvents)
             ValueChangeEvent.fire(this, getValue());
          
@@ -274,6 +306,10 @@ public abstract class Prefs
       private final String description_;
       private final T defaultValue_;
       private final HandlerManager handlerManager_ = new HandlerManager(this);
+
+      private T resolvedValue_;
+      private int resolvedLayer_ = -1;
+      private int resolvedGeneration_ = -1;
    }
 
    public class BooleanValue extends JsonValue<Boolean>
@@ -535,8 +571,12 @@ public abstract class Prefs
    protected void updatePrefs(JsArray<PrefLayer> layers)
    {
       layers_ = layers;
+      generation_++;
    }
    
    private JsArray<PrefLayer> layers_;
+
+   // bumped whenever the layers are replaced, invalidating every resolved value
+   private int generation_ = 0;
    private final HashMap<String, PrefValue<?>> values_ = new HashMap<>();
 }
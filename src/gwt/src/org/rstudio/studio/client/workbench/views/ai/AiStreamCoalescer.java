@@ -0,0 +1,206 @@
+/*
+ * AiStreamCoalescer.java
+ *
+ * Copyright (C) 2025 by William Nickols
+ *
+ * This program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ * COALESCING:
+ * Fast providers can deliver hundreds of AiStreamData events per second for a
+ * single message. Rather than firing one AiStreamDataEvent per delta, this
+ * class merges consecutive deltas for the same message and fires once per
+ * animation frame.
+ *
+ * 1. Two deltas are merged only if they belong to the same message, carry the
+ *    same edit-file/function-call metadata, and have adjacent sequence numbers.
+ *    The merged event spans [getSequence(), getLastSequence()], so the
+ *    sequence-ordering in AiStreamingPanel still sees every number exactly once.
+ * 2. Completed or cancelled deltas flush everything immediately.
+ * 3. Pending deltas are also flushed once their count reaches a configurable cap.
+ */
+
+package org.rstudio.studio.client.workbench.views.ai;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.rstudio.studio.client.application.events.EventBus;
+import org.rstudio.studio.client.workbench.views.ai.events.AiStreamDataEvent;
+
+import com.google.gwt.animation.client.AnimationScheduler;
+
+public class AiStreamCoalescer implements AnimationScheduler.AnimationCallback
+{
+   public AiStreamCoalescer(EventBus eventBus)
+   {
+      this(eventBus, DEFAULT_MAX_DELTAS_PER_FLUSH);
+   }
+
+   public AiStreamCoalescer(EventBus eventBus, int maxDeltasPerFlush)
+   {
+      eventBus_ = eventBus;
+      maxDeltasPerFlush_ = maxDeltasPerFlush;
+   }
+
+   /**
+    * Queue a stream event, merging it into a pending event for the same
+    * message where possible.
+    */
+   public void add(AiStreamDataEvent event)
+   {
+      deltasReceived_++;
+      pendingDeltas_++;
+
+      AiStreamDataEvent pending = pendingByMessage_.get(event.getMessageId());
+      if (pending != null && canMerge(pending, event))
+      {
+         pending.getData().merge(event.getData());
+      }
+      else
+      {
+         pending_.add(event);
+         pendingByMessage_.put(event.getMessageId(), event);
+      }
+
+      if (event.isComplete() || event.isCancelled() ||
+          pendingDeltas_ >= maxDeltasPerFlush_)
+      {
+         flush();
+      }
+      else if (frameHandle_ == null)
+      {
+         frameHandle_ = AnimationScheduler.get().requestAnimationFrame(this);
+      }
+   }
+
+   /**
+    * Fire all pending (merged) events now, in arrival order.
+    */
+   public void flush()
+   {
+      if (frameHandle_ != null)
+      {
+         frameHandle_.cancel();
+         frameHandle_ = null;
+      }
+
+      if (pending_.isEmpty())
+         return;
+
+      List<AiStreamDataEvent> events = new ArrayList<>(pending_);
+      int deltas = pendingDeltas_;
+
+      pending_.clear();
+      pendingByMessage_.clear();
+      pendingDeltas_ = 0;
+
+      flushCount_++;
+      deltasFlushed_ += deltas;
+      lastDeltasPerFlush_ = deltas;
+      peakDeltasPerFlush_ = Math.max(peakDeltasPerFlush_, deltas);
+
+      for (AiStreamDataEvent event : events)
+      {
+         eventsDispatched_++;
+         eventBus_.dispatchEvent(event);
+      }
+   }
+
+   @Override
+   public void execute(double timestamp)
+   {
+      frameHandle_ = null;
+      flush();
+   }
+
+   public void setMaxDeltasPerFlush(int maxDeltasPerFlush)
+   {
+      maxDeltasPerFlush_ = Math.max(1, maxDeltasPerFlush);
+   }
+
+   public int getMaxDeltasPerFlush()
+   {
+      return maxDeltasPerFlush_;
+   }
+
+   // Counters ----
+
+   public int getDeltasReceived()
+   {
+      return deltasReceived_;
+   }
+
+   public int getEventsDispatched()
+   {
+      return eventsDispatched_;
+   }
+
+   public int getFlushCount()
+   {
+      return flushCount_;
+   }
+
+   public int getLastDeltasMergedPerFlush()
+   {
+      return lastDeltasPerFlush_;
+   }
+
+   public int getMaxDeltasMergedPerFlush()
+   {
+      return peakDeltasPerFlush_;
+   }
+
+   public double getAverageDeltasMergedPerFlush()
+   {
+      return flushCount_ == 0 ? 0 : (double) deltasFlushed_ / flushCount_;
+   }
+
+   public void resetCounters()
+   {
+      deltasReceived_ = 0;
+      eventsDispatched_ = 0;
+      flushCount_ = 0;
+      deltasFlushed_ = 0;
+      lastDeltasPerFlush_ = 0;
+      peakDeltasPerFlush_ = 0;
+   }
+
+   private static boolean canMerge(AiStreamDataEvent pending, AiStreamDataEvent next)
+   {
+      return !pending.isComplete() &&
+             !pending.isCancelled() &&
+             next.getSequence() == pending.getLastSequence() + 1 &&
+             pending.isEditFile() == next.isEditFile() &&
+             pending.isFunctionCall() == next.isFunctionCall() &&
+             stringEquals(pending.getFilename(), next.getFilename()) &&
+             stringEquals(pending.getRequestId(), next.getRequestId());
+   }
+
+   private static boolean stringEquals(String a, String b)
+   {
+      return a == null ? b == null : a.equals(b);
+   }
+
+   private final EventBus eventBus_;
+   private final List<AiStreamDataEvent> pending_ = new ArrayList<>();
+   private final Map<String, AiStreamDataEvent> pendingByMessage_ = new HashMap<>();
+
+   private int maxDeltasPerFlush_;
+   private int pendingDeltas_ = 0;
+   private AnimationScheduler.AnimationHandle frameHandle_;
+
+   private int deltasReceived_ = 0;
+   private int eventsDispatched_ = 0;
+   private int flushCount_ = 0;
+   private long deltasFlushed_ = 0;
+   private int lastDeltasPerFlush_ = 0;
+   private int peakDeltasPerFlush_ = 0;
+
+   private static final int DEFAULT_MAX_DELTAS_PER_FLUSH = 256;
+}
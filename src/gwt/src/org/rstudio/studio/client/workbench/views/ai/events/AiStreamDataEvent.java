@@ -36,6 +36,8 @@ public class AiStreamDataEvent extends GwtEvent<AiStreamDataEvent.Handler>
       private int sequence;
       private boolean isCancelled;
       private boolean isFunctionCall;
+      private int lastSequence;
+      private int mergedCount;
       
       public Data(String messageId, String delta, boolean isComplete)
       {
@@ -46,6 +48,8 @@ public class AiStreamDataEvent extends GwtEvent<AiStreamDataEvent.Handler>
          this.filename = null;
          this.requestId = null;
          this.sequence = 0;
+         this.lastSequence = 0;
+         this.mergedCount = 1;
          this.isCancelled = false;
          this.isFunctionCall = false;
       }
@@ -59,6 +63,8 @@ public class AiStreamDataEvent extends GwtEvent<AiStreamDataEvent.Handler>
          this.filename = filename;
          this.requestId = null;
          this.sequence = 0;
+         this.lastSequence = 0;
+         this.mergedCount = 1;
          this.isCancelled = false;
          this.isFunctionCall = false;
       }
@@ -72,6 +78,8 @@ public class AiStreamDataEvent extends GwtEvent<AiStreamDataEvent.Handler>
          this.filename = filename;
          this.requestId = null;
          this.sequence = sequence;
+         this.lastSequence = sequence;
+         this.mergedCount = 1;
          this.isCancelled = false;
          this.isFunctionCall = false;
       }
@@ -85,6 +93,8 @@ public class AiStreamDataEvent extends GwtEvent<AiStreamDataEvent.Handler>
          this.filename = filename;
          this.requestId = null;
          this.sequence = sequence;
+         this.lastSequence = sequence;
+         this.mergedCount = 1;
          this.isCancelled = isCancelled;
          this.isFunctionCall = false;
       }
@@ -99,6 +109,8 @@ public class AiStreamDataEvent extends GwtEvent<AiStreamDataEvent.Handler>
          this.filename = filename;
          this.requestId = null;
          this.sequence = sequence;
+         this.lastSequence = sequence;
+         this.mergedCount = 1;
          this.isCancelled = isCancelled;
          this.isFunctionCall = isFunctionCall;
       }
@@ -148,6 +160,30 @@ public class AiStreamDataEvent extends GwtEvent<AiStreamDataEvent.Handler>
          return requestId;
       }
       
+      public int getLastSequence()
+      {
+         return lastSequence;
+      }
+      
+      public int getMergedCount()
+      {
+         return mergedCount;
+      }
+      
+      /**
+       * Append the delta of a later event for the same message whose sequence
+       * immediately follows this one. The merged data covers sequence numbers
+       * getSequence() through getLastSequence().
+       */
+      public void merge(Data next)
+      {
+         this.delta = this.delta + next.delta;
+         this.isComplete = next.isComplete;
+         this.isCancelled = next.isCancelled;
+         this.lastSequence = next.lastSequence;
+         this.mergedCount += next.mergedCount;
+      }
+      
       public void setRequestId(String requestId)
       {
          this.requestId = requestId;
@@ -234,6 +270,21 @@ public class AiStreamDataEvent extends GwtEvent<AiStreamDataEvent.Handler>
    {
       data_.setRequestId(requestId);
    }
+   
+   public int getLastSequence()
+   {
+      return data_.getLastSequence();
+   }
+   
+   public int getMergedCount()
+   {
+      return data_.getMergedCount();
+   }
+   
+   public Data getData()
+   {
+      return data_;
+   }
 
    @Override
    public Type<Handler> getAssociatedType()
@@ -0,0 +1,353 @@
+/*
+ * AiStreamingMarkdownRenderer.java
+ *
+ * Copyright (C) 2025 by William Nickols
+ *
+ * This program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ */
+
+package org.rstudio.studio.client.workbench.views.ai.widgets;
+
+import org.rstudio.core.client.CommandWithArg;
+import org.rstudio.core.client.Markdown;
+import org.rstudio.core.client.regex.Pattern;
+
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.Element;
+
+/**
+ * Renders a streaming markdown message incrementally. Completed blocks
+ * (paragraphs, headings, closed code fences, finished lists) are rendered
+ * once and left untouched in the DOM; only the trailing, still-open block
+ * is re-rendered as new deltas arrive. This keeps the per-delta cost
+ * proportional to the size of the open block rather than the whole message.
+ */
+public class AiStreamingMarkdownRenderer
+{
+   /**
+    * Converts markdown to HTML. The callback may be invoked asynchronously
+    * (e.g. while the markdown library is still loading) but callbacks must
+    * be invoked in request order.
+    */
+   public interface Converter
+   {
+      void convert(String markdown, CommandWithArg<String> onConverted);
+   }
+
+   public static final Converter DEFAULT_CONVERTER = new Converter()
+   {
+      @Override
+      public void convert(String markdown, CommandWithArg<String> onConverted)
+      {
+         Markdown.markdownToHtml(markdown, onConverted);
+      }
+   };
+
+   public AiStreamingMarkdownRenderer(Element container)
+   {
+      this(container, DEFAULT_CONVERTER);
+   }
+
+   public AiStreamingMarkdownRenderer(Element container, Converter converter)
+   {
+      converter_ = converter;
+
+      root_ = Document.get().createDivElement();
+      root_.setClassName("markdown-content");
+
+      tail_ = Document.get().createDivElement();
+      tail_.setClassName("markdown-tail");
+      root_.appendChild(tail_);
+
+      container.setInnerHTML("");
+      container.appendChild(root_);
+   }
+
+   /**
+    * Append a streamed delta, freezing any blocks it completes and
+    * re-rendering the open tail block.
+    */
+   public void append(String delta)
+   {
+      if (finished_ || delta == null || delta.isEmpty())
+         return;
+
+      content_.append(delta);
+      deltaCount_++;
+      scanCompleteLines();
+      renderTail();
+   }
+
+   /**
+    * Mark the stream as complete; whatever remains in the tail is frozen.
+    */
+   public void finish()
+   {
+      if (finished_)
+         return;
+
+      finished_ = true;
+      if (frozenEnd_ < content_.length())
+         freezeUpTo(content_.length());
+      renderTail();
+   }
+
+   public String getContent()
+   {
+      return content_.toString();
+   }
+
+   public boolean isFinished()
+   {
+      return finished_;
+   }
+
+   /**
+    * @return The offset into the content up to which blocks are frozen.
+    */
+   public int getFrozenLength()
+   {
+      return frozenEnd_;
+   }
+
+   public int getFrozenBlockCount()
+   {
+      return frozenBlockCount_;
+   }
+
+   public int getDeltaCount()
+   {
+      return deltaCount_;
+   }
+
+   /**
+    * @return The total number of markdown characters handed to the
+    *    converter so far; useful for comparing against a full re-render.
+    */
+   public long getConvertedChars()
+   {
+      return convertedChars_;
+   }
+
+   /**
+    * Applies the whitespace cleanup used for all assistant message HTML.
+    */
+   public static String cleanRenderedHtml(String renderedHtml)
+   {
+      return renderedHtml
+         .replaceAll("\\n\\s*\\n", "\n")  // Remove blank lines but keep single line breaks
+         .replaceAll("\\s{3,}", " ")      // Replace 3 or more spaces with single space (preserve intentional double spaces)
+         .replaceAll(">\\s*\\n\\s*<", "><")  // Remove whitespace and newlines only between tags
+         .trim();                        // Remove leading/trailing whitespace
+   }
+
+   // Block scanning ----
+
+   private void scanCompleteLines()
+   {
+      String content = content_.toString();
+      int newline;
+      while ((newline = content.indexOf('\n', scanPos_)) != -1)
+      {
+         String line = content.substring(scanPos_, newline);
+         int lineEnd = newline + 1;
+         scanPos_ = lineEnd;
+         onLine(line, lineEnd);
+      }
+   }
+
+   private void onLine(String line, int lineEnd)
+   {
+      if (inFence_)
+      {
+         if (isFenceClose(line))
+         {
+            inFence_ = false;
+
+            // a top-level fence ends its block; indented fences may belong
+            // to a list item that is still open
+            if (!fenceIndented_ && !blockIsList_)
+               freezeUpTo(lineEnd);
+         }
+         return;
+      }
+
+      if (line.trim().isEmpty())
+      {
+         if (blockHasContent_ && pendingBoundary_ == -1)
+            pendingBoundary_ = lineEnd;
+         return;
+      }
+
+      boolean isListItem = RE_LIST_ITEM.test(line);
+      if (pendingBoundary_ != -1)
+      {
+         // a blank line only ends the block if the following line doesn't
+         // continue it (indented continuation, or another item of a list)
+         boolean continues =
+               Character.isWhitespace(line.charAt(0)) ||
+               (blockIsList_ && isListItem);
+
+         if (continues)
+            pendingBoundary_ = -1;
+         else
+            freezeUpTo(pendingBoundary_);
+      }
+
+      boolean startsBlock = !blockHasContent_;
+      if (startsBlock)
+      {
+         blockHasContent_ = true;
+         blockIsList_ = isListItem;
+      }
+
+      if (RE_FENCE_OPEN.test(line))
+      {
+         String trimmed = line.trim();
+         char fenceChar = trimmed.charAt(0);
+         int fenceLength = 0;
+         while (fenceLength < trimmed.length() &&
+                trimmed.charAt(fenceLength) == fenceChar)
+         {
+            fenceLength++;
+         }
+
+         inFence_ = true;
+         fenceChar_ = fenceChar;
+         fenceLength_ = fenceLength;
+         fenceIndented_ = line.charAt(0) != fenceChar;
+         return;
+      }
+
+      // ATX headings are always single-line blocks
+      if (startsBlock && RE_HEADING.test(line))
+         freezeUpTo(lineEnd);
+   }
+
+   private boolean isFenceClose(String line)
+   {
+      String trimmed = line.trim();
+      if (trimmed.length() < fenceLength_)
+         return false;
+
+      for (int i = 0; i < trimmed.length(); i++)
+         if (trimmed.charAt(i) != fenceChar_)
+            return false;
+
+      return true;
+   }
+
+   // Rendering ----
+
+   private void freezeUpTo(int offset)
+   {
+      String block = content_.substring(frozenEnd_, offset);
+      frozenEnd_ = offset;
+      pendingBoundary_ = -1;
+      blockHasContent_ = false;
+      blockIsList_ = false;
+
+      if (block.trim().isEmpty())
+         return;
+
+      frozenBlockCount_++;
+      convert(block, new CommandWithArg<String>()
+      {
+         @Override
+         public void execute(String html)
+         {
+            Element holder = Document.get().createDivElement();
+            holder.setInnerHTML(html);
+            while (holder.getFirstChild() != null)
+               root_.insertBefore(holder.getFirstChild(), tail_);
+         }
+      });
+   }
+
+   private void renderTail()
+   {
+      // if a conversion is still outstanding (markdown library not yet
+      // loaded), just note that the tail changed and render once it returns
+      if (tailRenderPending_)
+      {
+         tailDirty_ = true;
+         return;
+      }
+
+      String tail = content_.substring(frozenEnd_);
+      if (tail.trim().isEmpty())
+      {
+         tail_.setInnerHTML("");
+         return;
+      }
+
+      tailRenderPending_ = true;
+      convert(tail, new CommandWithArg<String>()
+      {
+         @Override
+         public void execute(String html)
+         {
+            tailRenderPending_ = false;
+            if (tailDirty_)
+            {
+               tailDirty_ = false;
+               renderTail();
+               return;
+            }
+
+            tail_.setInnerHTML(html);
+         }
+      });
+   }
+
+   private void convert(String markdown, final CommandWithArg<String> onConverted)
+   {
+      convertedChars_ += markdown.length();
+      converter_.convert(markdown, new CommandWithArg<String>()
+      {
+         @Override
+         public void execute(String html)
+         {
+            onConverted.execute(cleanRenderedHtml(html));
+         }
+      });
+   }
+
+   private final Converter converter_;
+   private final Element root_;
+   private final Element tail_;
+   private final StringBuilder content_ = new StringBuilder();
+
+   // offset of the first character not yet frozen
+   private int frozenEnd_ = 0;
+
+   // offset of the first character not yet scanned for block boundaries
+   private int scanPos_ = 0;
+
+   // offset just past a blank line that may end the current block, or -1
+   private int pendingBoundary_ = -1;
+
+   private boolean blockHasContent_ = false;
+   private boolean blockIsList_ = false;
+
+   private boolean inFence_ = false;
+   private boolean fenceIndented_ = false;
+   private char fenceChar_;
+   private int fenceLength_;
+
+   private boolean tailRenderPending_ = false;
+   private boolean tailDirty_ = false;
+   private boolean finished_ = false;
+
+   private int deltaCount_ = 0;
+   private int frozenBlockCount_ = 0;
+   private long convertedChars_ = 0;
+
+   private static final Pattern RE_LIST_ITEM = Pattern.create("^\\s{0,3}([*+-]|\\d{1,9}[.)])(\\s|$)", "");
+   private static final Pattern RE_FENCE_OPEN = Pattern.create("^\\s{0,3}(`{3,}|~{3,})", "");
+   private static final Pattern RE_HEADING = Pattern.create("^\\s{0,3}#{1,6}(\\s|$)", "");
+}
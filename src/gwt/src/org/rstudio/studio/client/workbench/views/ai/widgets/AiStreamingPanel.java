@@ -82,6 +82,13 @@ public class AiStreamingPanel extends HTML implements AiStreamDataEvent.Handler,
          this.filename = filename;
          this.content = content;
       }
+      
+      // Last sequence number covered by this event; coalesced stream events
+      // span a contiguous range of sequence numbers
+      int getLastSequence(int sequence)
+      {
+         return streamEvent != null ? streamEvent.getLastSequence() : sequence;
+      }
    }
 
    public interface Styles extends CssResource
@@ -144,6 +151,7 @@ public class AiStreamingPanel extends HTML implements AiStreamDataEvent.Handler,
    {
       eventBus_ = eventBus;
       streamingMessages_ = new HashMap<>();
+      streamRenderers_ = new HashMap<>();
       consoleWidgets_ = new HashMap<>();
       terminalWidgets_ = new HashMap<>();
       editFileWidgets_ = new HashMap<>();
@@ -293,7 +301,7 @@ public class AiStreamingPanel extends HTML implements AiStreamDataEvent.Handler,
       {
          QueuedEvent queuedEvent = eventBuffer_.remove(expectedSequence_);
          processQueuedEvent(queuedEvent, expectedSequence_);
-         expectedSequence_++;
+         expectedSequence_ = queuedEvent.getLastSequence(expectedSequence_) + 1;
       }
    }
    
@@ -619,7 +627,7 @@ public class AiStreamingPanel extends HTML implements AiStreamDataEvent.Handler,
 
    
    /**
-    * Update assistant message content synchronously with real-time markdown rendering
+    * Update assistant message content synchronously with incremental markdown rendering
     */
    private void updateAssistantMessageContentSynchronously(String messageId, String delta, boolean isComplete, boolean isCancelled)
    {
@@ -635,17 +643,22 @@ public class AiStreamingPanel extends HTML implements AiStreamDataEvent.Handler,
       Element contentElement = getElementById("content-" + messageId);
       if (contentElement != null)
       {
-         // Always render markdown in real-time, both during streaming and when complete
-         renderMarkdownContent(newContent, new CommandWithArg<String>() {
-            @Override
-            public void execute(String renderedHtml)
-            {
-               contentElement.setInnerHTML(renderedHtml);
-            }
-         });
+         // Render incrementally: completed markdown blocks stay frozen in the
+         // DOM and only the open tail block is re-rendered for each delta
+         AiStreamingMarkdownRenderer renderer = streamRenderers_.get(messageId);
+         if (renderer == null)
+         {
+            renderer = new AiStreamingMarkdownRenderer(contentElement);
+            streamRenderers_.put(messageId, renderer);
+            renderer.append(currentContent);
+         }
+         renderer.append(delta);
          
          if (isComplete)
          {
+            renderer.finish();
+            streamRenderers_.remove(messageId);
+            
             // Keep tracking content for cancelled responses to preserve them
             if (!isCancelled) {
                // Only clean up tracking for normal completion, not cancellation
@@ -1054,11 +1067,7 @@ public class AiStreamingPanel extends HTML implements AiStreamDataEvent.Handler,
          public void execute(String renderedHtml)
          {
             // Clean up excessive whitespace from rendered HTML while preserving structure
-            String cleanedHtml = renderedHtml
-               .replaceAll("\\n\\s*\\n", "\n")  // Remove blank lines but keep single line breaks
-               .replaceAll("\\s{3,}", " ")      // Replace 3 or more spaces with single space (preserve intentional double spaces)
-               .replaceAll(">\\s*\\n\\s*<", "><")  // Remove whitespace and newlines only between tags
-               .trim();                        // Remove leading/trailing whitespace
+            String cleanedHtml = AiStreamingMarkdownRenderer.cleanRenderedHtml(renderedHtml);
             
             // Add wrapper div with proper spacing class for assistant messages
             cleanedHtml = "<div class='markdown-content'>" + cleanedHtml + "</div>";
@@ -1224,6 +1233,7 @@ public class AiStreamingPanel extends HTML implements AiStreamDataEvent.Handler,
    private void clearTrackingMaps()
    {
       streamingMessages_.clear();
+      streamRenderers_.clear();
       consoleWidgets_.clear();
       terminalWidgets_.clear();
       editFileWidgets_.clear();
@@ -1479,7 +1489,8 @@ public class AiStreamingPanel extends HTML implements AiStreamDataEvent.Handler,
    }
    
    /**
-    * Handle streaming data events with per-message sequence buffering
+    * Handle streaming data events with per-message sequence buffering.
+    * Events may be coalesced and cover several sequence numbers.
     */
    @Override
    public void onAiStreamData(AiStreamDataEvent event)
@@ -1494,7 +1505,7 @@ public class AiStreamingPanel extends HTML implements AiStreamDataEvent.Handler,
       {
          // Process immediately - this is the next expected event
          processQueuedEvent(queuedEvent, sequence);
-         expectedSequence_++;
+         expectedSequence_ = event.getLastSequence() + 1;
          
          // Process any buffered events that are now ready
          processBufferedEvents();
@@ -1679,6 +1690,7 @@ public class AiStreamingPanel extends HTML implements AiStreamDataEvent.Handler,
    
    private final EventBus eventBus_;
    private final Map<String, String> streamingMessages_;
+   private final Map<String, AiStreamingMarkdownRenderer> streamRenderers_;
    private final Map<String, AiConsoleWidget> consoleWidgets_;
    private final Map<String, AiTerminalWidget> terminalWidgets_;
    private final Map<String, org.rstudio.studio.client.workbench.views.ai.widgets.AiEditFileWidget> editFileWidgets_;
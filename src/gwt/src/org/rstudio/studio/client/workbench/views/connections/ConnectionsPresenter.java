@@ -38,6 +38,7 @@ import org.rstudio.core.client.widget.ProgressIndicator;
 import org.rstudio.core.client.widget.ProgressOperationWithInput;
 import org.rstudio.studio.client.application.ApplicationInterrupt;
 import org.rstudio.studio.client.application.events.EventBus;
+import org.rstudio.studio.client.common.DelayLoadCallback;
 import org.rstudio.studio.client.common.DelayedProgressRequestCallback;
 import org.rstudio.studio.client.common.GlobalDisplay;
 import org.rstudio.studio.client.common.GlobalProgressDelayer;
@@ -320,25 +321,31 @@ public class ConnectionsPresenter extends BasePresenter
              protected void onSuccess(final NewConnectionContext context)
              {
                 // show dialog
-                NewConnectionWizard newConnectionWizard = new NewConnectionWizard(
-                   context,
-                   new ProgressOperationWithInput<ConnectionOptions>() {
-                      @Override
-                      public void execute(ConnectionOptions result,
-                                          ProgressIndicator indicator)
-                      {
-                         indicator.onCompleted();
+                GWT.runAsync(NewConnectionWizard.class, new DelayLoadCallback()
+                {
+                   @Override
+                   public void onSuccess()
+                   {
+                      NewConnectionWizard newConnectionWizard = new NewConnectionWizard(
+                         context,
+                         new ProgressOperationWithInput<ConnectionOptions>() {
+                            @Override
+                            public void execute(ConnectionOptions result,
+                                                ProgressIndicator indicator)
+                            {
+                               indicator.onCompleted();
 
-                         eventBus_.fireEvent(new PerformConnectionEvent(
-                            result.getConnectVia(),
-                            result.getConnectCode())
-                         );
-                      }
-                   },
-                   installersWarning_
-                );
-               
-                newConnectionWizard.showModal();
+                               eventBus_.fireEvent(new PerformConnectionEvent(
+                                  result.getConnectVia(),
+                                  result.getConnectCode())
+                               );
+                            }
+                         },
+                         installersWarning_
+                      );
+                      newConnectionWizard.showModal();
+                   }
+                });
              }
           }
        );  
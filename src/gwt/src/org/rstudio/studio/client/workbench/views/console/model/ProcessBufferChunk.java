@@ -34,4 +34,9 @@ public class ProcessBufferChunk extends JavaScriptObject
    public final native boolean getMoreAvailable() /*-{
       return this.more_available;
    }-*/;
+
+   // total number of chunks in the buffer, or -1 if not known
+   public final native int getChunkCount() /*-{
+      return this.chunk_count === undefined ? -1 : this.chunk_count;
+   }-*/;
 }
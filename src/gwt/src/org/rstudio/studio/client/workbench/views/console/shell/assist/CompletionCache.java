@@ -16,20 +16,17 @@ package org.rstudio.studio.client.workbench.views.console.shell.assist;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import org.rstudio.core.client.JsVectorBoolean;
-import org.rstudio.core.client.JsVectorInteger;
-import org.rstudio.core.client.JsVectorString;
 import org.rstudio.core.client.StringUtil;
-import org.rstudio.core.client.container.SafeMap;
 import org.rstudio.studio.client.common.codetools.Completions;
 import org.rstudio.studio.client.common.codetools.RCompletionType;
 import org.rstudio.studio.client.server.ServerRequestCallback;
 import org.rstudio.studio.client.workbench.codesearch.CodeSearchOracle;
 
-import com.google.gwt.core.client.JsArrayBoolean;
+import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.JsArrayInteger;
 import com.google.gwt.core.client.JsArrayString;
 
@@ -37,11 +34,113 @@ import com.google.gwt.core.client.JsArrayString;
 // session. For example, if one retrieves completions for the token 'rn',
 // and the user types 'rnorm', the completion cache should be able to satisfy
 // the intermediate completion requests for 'rno', 'rnor', and 'rnorm'.
+//
+// Completions are stored in a trie keyed on the line they were requested
+// for, so finding the longest cached prefix is a single walk down the trie.
+// A narrowed result is a view of the server's response: the (sorted) indices
+// of the entries that still match. It is stored back into the trie, so each
+// keystroke filters the previous view's indices rather than the full
+// response, and the result vectors are only built when the view is used.
 public class CompletionCache
 {
+   // The completions the server returned, along with each entry's type
+   // score (which doesn't depend on the token, so it's computed only once).
+   private static class Source
+   {
+      Source(Completions completions)
+      {
+         completions_ = completions;
+      }
+
+      int getTypeScore(int index)
+      {
+         if (typeScores_ == null)
+         {
+            JsArrayInteger type = completions_.getType();
+            JsArrayInteger context = completions_.getContext();
+            typeScores_ = new int[type.length()];
+            for (int i = 0; i < typeScores_.length; i++)
+               typeScores_[i] = RCompletionType.score(type.get(i), context.get(i));
+         }
+         return typeScores_[index];
+      }
+
+      final Completions completions_;
+      private int[] typeScores_;
+   }
+
+   // The entries of a source that match a token, in the order they should
+   // be shown.
+   private static class View
+   {
+      View(Completions completions)
+      {
+         source_ = new Source(completions);
+         token_ = completions.getToken();
+         indices_ = null;
+         completions_ = completions;
+      }
+
+      View(Source source, String token, JsArrayInteger indices)
+      {
+         source_ = source;
+         token_ = token;
+         indices_ = indices;
+      }
+
+      int size()
+      {
+         return indices_ == null
+               ? source_.completions_.getCompletions().length()
+               : indices_.length();
+      }
+
+      int indexAt(int i)
+      {
+         return indices_ == null ? i : indices_.get(i);
+      }
+
+      Completions getCompletions()
+      {
+         if (completions_ == null)
+            completions_ = select(token_, source_.completions_, indices_);
+         return completions_;
+      }
+
+      final Source source_;
+      final String token_;
+      final JsArrayInteger indices_;
+      private Completions completions_;
+   }
+
+   private static class Node
+   {
+      Node child(char ch)
+      {
+         return children_ == null ? null : children_.get(ch);
+      }
+
+      Node ensureChild(char ch)
+      {
+         if (children_ == null)
+            children_ = new HashMap<>();
+
+         Node child = children_.get(ch);
+         if (child == null)
+         {
+            child = new Node();
+            children_.put(ch, child);
+         }
+         return child;
+      }
+
+      View view_;
+      private Map<Character, Node> children_;
+   }
+
    public CompletionCache()
    {
-      cache_ = new SafeMap<>();
+      root_ = new Node();
    }
    
    public boolean satisfyRequest(String line,
@@ -50,165 +149,141 @@ public class CompletionCache
       if (StringUtil.isNullOrEmpty(line))
          return false;
       
+      // find the longest prefix of the line with cached completions
+      Node node = root_;
+      Node match = null;
+      int matchLength = 0;
       for (int i = 0, n = line.length(); i < n; i++)
       {
-         String substring = StringUtil.substring(line, 0, n - i);
-         if (cache_.containsKey(substring))
+         node = node.child(line.charAt(i));
+         if (node == null)
+            break;
+
+         if (node.view_ != null)
          {
-            Completions completions = narrow(line, substring, cache_.get(substring));
-            requestCallback.onResponseReceived(completions);
-            return true;
+            match = node;
+            matchLength = i + 1;
          }
       }
-      
-      return false;
+
+      if (match == null)
+         return false;
+
+      View view = match.view_;
+      if (matchLength < line.length())
+      {
+         view = narrow(line, matchLength, view);
+         store(line, view);
+      }
+
+      requestCallback.onResponseReceived(view.getCompletions());
+      return true;
    }
    
    public void store(String token, Completions completions)
    {
-      cache_.put(token, completions);
+      store(token, new View(completions));
    }
    
    public void flush()
    {
-      cache_.clear();
+      root_ = new Node();
    }
    
-   private Completions narrow(String line,
-                              String substring,
-                              Completions original)
+   private void store(String token, View view)
+   {
+      Node node = root_;
+      for (int i = 0, n = token.length(); i < n; i++)
+         node = node.ensureChild(token.charAt(i));
+      node.view_ = view;
+   }
+   
+   // Narrow the view cached for the first 'prefixLength' characters of
+   // 'line' down to the entries matching the whole line. Only the view's
+   // own entries are scored and sorted; nothing is copied out of the
+   // server's response until the result is used.
+   private View narrow(String line,
+                       int prefixLength,
+                       View original)
    {
-      // no need to narrow when line + substring are equivalent
-      if (line.equals(substring))
-         return original;
-      
       // Construct the new completion token by taking the original
       // completion token, and adding the delta between the new line and
       // the original completion line used.
-      String token = original.getToken() + StringUtil.substring(line, substring.length());
+      final String token = original.token_ + StringUtil.substring(line, prefixLength);
       
-      // Extract the vector elements of the completion string
-      JsArrayString completions      = original.getCompletions();
-      JsArrayString display          = original.getCompletionsDisplay();
-      JsArrayString packages         = original.getPackages();
-      JsArrayBoolean quote           = original.getQuote();
-      JsArrayInteger type            = original.getType();
-      JsArrayInteger context         = original.getContext();
-      JsArrayBoolean suggestOnAccept = original.getSuggestOnAccept();
-      JsArrayBoolean replaceToEnd    = original.getReplaceToEnd();
-      JsArrayString meta             = original.getMeta();
+      final Source source = original.source_;
+      final JsArrayString completions = source.completions_.getCompletions();
       
-      // Now, generate narrowed versions of the above
-      final JsVectorString completionsNarrow     = JsVectorString.createVector().cast();
-      final JsVectorString displayNarrow         = JsVectorString.createVector().cast();
-      final JsVectorString packagesNarrow        = JsVectorString.createVector().cast();
-      final JsVectorBoolean quoteNarrow          = JsVectorBoolean.createVector().cast();
-      final JsVectorInteger typeNarrow           = JsVectorInteger.createVector().cast();
-      final JsArrayBoolean suggestOnAcceptNarrow = JsVectorBoolean.createVector().cast();
-      final JsArrayBoolean replaceToEndNarrow    = JsVectorBoolean.createVector().cast();
-      final JsVectorString metaNarrow            = JsVectorString.createVector().cast();
-      final JsVectorInteger contextNarrow        = JsVectorInteger.createVector().cast();
-      
-      for (int i = 0, n = completions.length(); i < n; i++)
+      // Find the matching entries, scoring each one as we go
+      final int n = original.size();
+      final int[] matchScores = new int[n];
+      List<Integer> matches = new ArrayList<>();
+      for (int i = 0; i < n; i++)
       {
-         boolean isSubsequence = StringUtil.isSubsequence(completions.get(i), token, true);
-         if (isSubsequence)
+         String completion = completions.get(original.indexAt(i));
+         if (StringUtil.isSubsequence(completion, token, true))
          {
-            completionsNarrow.push(completions.get(i));
-            displayNarrow.push(display.get(i));
-            packagesNarrow.push(packages.get(i));
-            quoteNarrow.push(quote.get(i));
-            typeNarrow.push(type.get(i));
-            suggestOnAcceptNarrow.push(suggestOnAccept.get(i));
-            replaceToEndNarrow.push(replaceToEnd.get(i));
-            metaNarrow.push(meta.get(i));
-            contextNarrow.push(context.get(i));
+            matchScores[i] = CodeSearchOracle.scoreMatch(completion, token, false);
+            matches.add(i);
          }
       }
       
-      // Finally, sort these based on score
-      List<Integer> indices = new ArrayList<>();
-      for (int i = 0, n = completionsNarrow.size(); i < n; i++)
-         indices.add(i);
-      
-      // Sort our indices vector
-      Collections.sort(indices, new Comparator<Integer>()
+      // Sort the matching entries by score
+      Collections.sort(matches, (lhs, rhs) ->
       {
-         @Override
-         public int compare(Integer lhs, Integer rhs)
-         {
-            int lhsContext = contextNarrow.get(lhs);
-            int rhsContext = contextNarrow.get(rhs);
-
-            int lhsType = typeNarrow.get(lhs);
-            int rhsType = typeNarrow.get(rhs);
-
-            int lhsTypeScore = RCompletionType.score(lhsType, lhsContext);
-            int rhsTypeScore = RCompletionType.score(rhsType, rhsContext);
-            if (lhsTypeScore < rhsTypeScore)
-               return -1;
-            else if (lhsTypeScore > rhsTypeScore)
-               return 1;
-
-            String lhsName = completionsNarrow.get(lhs);
-            String rhsName = completionsNarrow.get(rhs);
-            
-            int lhsScore = CodeSearchOracle.scoreMatch(lhsName, token, false);
-            int rhsScore = CodeSearchOracle.scoreMatch(rhsName, token, false);
-            
-            if (lhsScore == rhsScore)
-               return lhsName.compareTo(rhsName);
-            
+         int lhsIndex = original.indexAt(lhs);
+         int rhsIndex = original.indexAt(rhs);
+
+         int lhsTypeScore = source.getTypeScore(lhsIndex);
+         int rhsTypeScore = source.getTypeScore(rhsIndex);
+         if (lhsTypeScore != rhsTypeScore)
+            return lhsTypeScore < rhsTypeScore ? -1 : 1;
+
+         int lhsScore = matchScores[lhs];
+         int rhsScore = matchScores[rhs];
+         if (lhsScore != rhsScore)
             return lhsScore < rhsScore ? -1 : 1;
-         }
+
+         return completions.get(lhsIndex).compareTo(completions.get(rhsIndex));
       });
       
-      // Finally, re-arrange our vectors.
-      final JsVectorString completionsSorted = JsVectorString.createVector().cast();
-      final JsVectorString displaySorted     = JsVectorString.createVector().cast();
-      final JsVectorString packagesSorted    = JsVectorString.createVector().cast();
-      final JsVectorBoolean quoteSorted      = JsVectorBoolean.createVector().cast();
-      final JsVectorInteger typeSorted       = JsVectorInteger.createVector().cast();
-      final JsVectorInteger contextSorted    = JsVectorInteger.createVector().cast();
-      final JsVectorBoolean suggestOnAcceptSorted = JsVectorBoolean.createVector().cast();
-      final JsVectorBoolean replaceToEndSorted = JsVectorBoolean.createVector().cast();
-      final JsVectorString metaSorted        = JsVectorString.createVector().cast();
-      
-      for (int i = 0, n = indices.size(); i < n; i++)
-      {
-         int index = indices.get(i);
-         completionsSorted.push(completionsNarrow.get(index));
-         displaySorted.push(displayNarrow.get(index));
-         packagesSorted.push(packagesNarrow.get(index));
-         quoteSorted.push(quoteNarrow.get(index));
-         typeSorted.push(typeNarrow.get(index));
-         contextSorted.push(context.get(index));
-         suggestOnAcceptSorted.push(suggestOnAcceptNarrow.get(index));
-         replaceToEndSorted.push(replaceToEndNarrow.get(index));
-         metaSorted.push(metaNarrow.get(index));
-      }
+      JsArrayInteger indices = JavaScriptObject.createArray().cast();
+      for (int i = 0, m = matches.size(); i < m; i++)
+         indices.push(original.indexAt(matches.get(i)));
       
-      // And return the completion result
+      return new View(source, token, indices);
+   }
+   
+   // Build the completion result holding the given entries of 'original'.
+   private static Completions select(String token,
+                                     Completions original,
+                                     JsArrayInteger indices)
+   {
       return Completions.createCompletions(
             token,
-            completionsSorted.cast(),
-            displaySorted.cast(),
-            packagesSorted.cast(),
-            quoteSorted.cast(),
-            typeSorted.cast(),
-            suggestOnAcceptSorted.cast(),
-            replaceToEndSorted.cast(),
-            metaSorted.cast(),
+            select(original.getCompletions(), indices),
+            select(original.getCompletionsDisplay(), indices),
+            select(original.getPackages(), indices),
+            select(original.getQuote(), indices),
+            select(original.getType(), indices),
+            select(original.getSuggestOnAccept(), indices),
+            select(original.getReplaceToEnd(), indices),
+            select(original.getMeta(), indices),
             original.getGuessedFunctionName(),
             original.getExcludeOtherCompletions(),
             original.getExcludeOtherArgumentCompletions(),
             original.getOverrideInsertParens(),
             original.isCacheable(),
             original.getHelpHandler(),
-            original.getLanguage(), 
-            contextSorted.cast()
-            );
+            original.getLanguage(),
+            select(original.getContext(), indices));
    }
    
-   private final SafeMap<String, Completions> cache_;
+   private static final native <T extends JavaScriptObject> T select(T values,
+                                                                     JsArrayInteger indices)
+   /*-{
+      return indices.map(function(index) { return values[index]; });
+   }-*/;
+   
+   private Node root_;
 }
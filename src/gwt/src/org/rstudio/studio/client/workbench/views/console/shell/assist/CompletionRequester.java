@@ -75,6 +75,7 @@ public class CompletionRequester
    // Injected ----
    private CodeToolsServerOperations server_;
    private UserPrefs uiPrefs_;
+   private NamespaceCompletionCache namespaceCache_;
    
    public CompletionRequester(CompletionContext context,
                               RnwCompletionContext rnwContext,
@@ -89,22 +90,27 @@ public class CompletionRequester
    }
 
    @Inject
-   void initialize(CodeToolsServerOperations server, UserPrefs uiPrefs)
+   void initialize(CodeToolsServerOperations server,
+                   UserPrefs uiPrefs,
+                   NamespaceCompletionCache namespaceCache)
    {
       server_ = server;
       uiPrefs_ = uiPrefs;
+      namespaceCache_ = namespaceCache;
    }
 
    private boolean usingCache(
          String token,
+         boolean implicit,
          final ServerRequestCallback<CompletionResult> callback)
    {
-      return usingCache(token, false, callback);
+      return usingCache(token, false, implicit, callback);
    }
 
    private boolean usingCache(
          String token,
          boolean isHelpCompletion,
+         boolean implicit,
          final ServerRequestCallback<CompletionResult> callback)
    {
       if (isHelpCompletion)
@@ -125,14 +131,14 @@ public class CompletionRequester
          CompletionResult cached = cachedCompletions_.get(diff);
          if (cached != null)
          {
-            callback.onResponseReceived(cached);
+            respond(cached, implicit, callback);
             return true;
          }
 
          // otherwise, produce a new completion list
          if (diff.length() > 0 && !diff.endsWith("::"))
          {
-            callback.onResponseReceived(narrow(cachedResult.token + diff, diff, cachedResult));
+            respond(narrow(cachedResult.token + diff, diff, cachedResult), implicit, callback);
             return true;
          }
       }
@@ -199,35 +205,40 @@ public class CompletionRequester
          }
       }
 
-      newCompletions.sort(new Comparator<QualifiedName>()
+      // score each match once up front, rather than on every comparison
+      ArrayList<ScoredName> scored = new ArrayList<>(newCompletions.size());
+      for (QualifiedName qname : newCompletions)
+      {
+         int typeScore = RCompletionType.score(qname.type, qname.context);
+         int matchScore = RCompletionType.isFileType(qname.type)
+               ? CodeSearchOracle.scoreMatch(basename(qname.name), tokenSub, true)
+               : CodeSearchOracle.scoreMatch(qname.name, token, false);
+         scored.add(new ScoredName(qname, typeScore, matchScore));
+      }
+
+      scored.sort(new Comparator<ScoredName>()
       {
          @Override
-         public int compare(QualifiedName lhs, QualifiedName rhs)
+         public int compare(ScoredName lhs, ScoredName rhs)
          {
             // compare completion type first
-            int lhsTypeScore = RCompletionType.score(lhs.type, lhs.context);
-            int rhsTypeScore = RCompletionType.score(rhs.type, rhs.context);
-            if (lhsTypeScore < rhsTypeScore)
+            if (lhs.typeScore < rhs.typeScore)
                return -1;
-            else if (lhsTypeScore > rhsTypeScore)
+            else if (lhs.typeScore > rhs.typeScore)
                return 1;
 
-            // when type score is equal: calculate score with scoreMatch()
-            int lhsScore = RCompletionType.isFileType(lhs.type)
-                  ? CodeSearchOracle.scoreMatch(basename(lhs.name), tokenSub, true)
-                  : CodeSearchOracle.scoreMatch(lhs.name, token, false);
-            
-            int rhsScore = RCompletionType.isFileType(rhs.type)
-               ? CodeSearchOracle.scoreMatch(basename(rhs.name), tokenSub, true)
-               : CodeSearchOracle.scoreMatch(rhs.name, token, false);
-
-            if (lhsScore == rhsScore)
-               return lhs.compareTo(rhs);
+            // when type score is equal: compare scoreMatch() scores
+            if (lhs.matchScore == rhs.matchScore)
+               return lhs.name.compareTo(rhs.name);
 
-            return lhsScore < rhsScore ? -1 : 1;
+            return lhs.matchScore < rhs.matchScore ? -1 : 1;
          }
       });
 
+      newCompletions.clear();
+      for (ScoredName name : scored)
+         newCompletions.add(name.name);
+
       CompletionResult result = new CompletionResult(
             token,
             newCompletions,
@@ -281,9 +292,17 @@ public class CompletionRequester
          cachedCompletions_.put("", result);
       }
 
+      respond(result, implicit, callback);
+   }
+
+   // an implicit (as-you-type) completion request that matched nothing
+   // doesn't get a response
+   private static void respond(CompletionResult result,
+                               boolean implicit,
+                               ServerRequestCallback<CompletionResult> callback)
+   {
       if (!implicit || result.completions.size() != 0)
          callback.onResponseReceived(result);
-
    }
 
    private static final Pattern RE_EXTRACTION = Pattern.create("[$@:]", "");
@@ -307,9 +326,24 @@ public class CompletionRequester
             context.getContextData().length() > 0 &&
             context.getContextData().get(0).getType() == AutocompletionContext.TYPE_HELP;
 
-      if (usingCache(token, isHelp, callback))
+      if (usingCache(token, isHelp, implicit, callback))
          return;
 
+      // completions for a package namespace may be left over from an
+      // earlier completion session; if so, narrow those instead
+      final String namespaceKey = isHelp ? null : NamespaceCompletionCache.keyFor(context);
+      if (namespaceKey != null)
+      {
+         CompletionResult cached = namespaceCache_.get(namespaceKey);
+         if (cached != null)
+         {
+            cachedLinePrefix_ = "";
+            cachedCompletions_.put("", cached);
+            if (usingCache(token, implicit, callback))
+               return;
+         }
+      }
+
       doGetCompletions(
             context,
             infixData,
@@ -439,6 +473,16 @@ public class CompletionRequester
             if (response.isCacheable())
             {
                cachedCompletions_.put("", result);
+
+               // remember the full contents of a namespace for later sessions
+               if (namespaceKey != null &&
+                   StringUtil.isNullOrEmpty(context.getToken()) &&
+                   response.getExcludeOtherCompletions())
+               {
+                  namespaceCache_.put(namespaceKey,
+                                      NamespaceCompletionCache.packageFor(context),
+                                      result);
+               }
             }
 
             callback.onResponseReceived(result);
@@ -768,6 +812,20 @@ public class CompletionRequester
       cachedCompletions_.clear();
    }
 
+   private static class ScoredName
+   {
+      ScoredName(QualifiedName name, int typeScore, int matchScore)
+      {
+         this.name = name;
+         this.typeScore = typeScore;
+         this.matchScore = matchScore;
+      }
+
+      final QualifiedName name;
+      final int typeScore;
+      final int matchScore;
+   }
+
    public static class CompletionResult
    {
       public CompletionResult(String token,
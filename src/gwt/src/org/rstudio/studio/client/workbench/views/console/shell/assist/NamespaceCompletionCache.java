@@ -0,0 +1,247 @@
+/*
+ * NamespaceCompletionCache.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.console.shell.assist;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.rstudio.core.client.JsVector;
+import org.rstudio.core.client.StringUtil;
+import org.rstudio.studio.client.application.events.EventBus;
+import org.rstudio.studio.client.common.debugging.events.PackageLoadedEvent;
+import org.rstudio.studio.client.common.debugging.events.PackageUnloadedEvent;
+import org.rstudio.studio.client.workbench.views.console.shell.assist.CompletionRequester.CompletionResult;
+import org.rstudio.studio.client.workbench.views.console.shell.assist.CompletionRequester.QualifiedName;
+import org.rstudio.studio.client.workbench.views.console.shell.assist.RCompletionManager.AutocompletionContext;
+import org.rstudio.studio.client.workbench.views.console.shell.assist.RCompletionManager.AutocompletionContextData;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+// Keeps the full set of completions for a package namespace (i.e. what the
+// server returns for 'pkg::' or 'pkg:::') across completion sessions, so that
+// completing in a large namespace doesn't go back to the server every time
+// the popup is shown. Entries are dropped when the package is loaded or
+// unloaded, and the least recently used entries are evicted once the
+// (estimated) size of the cache exceeds its memory budget.
+@Singleton
+public class NamespaceCompletionCache
+   implements PackageLoadedEvent.Handler,
+              PackageUnloadedEvent.Handler
+{
+   private static class Entry
+   {
+      Entry(String packageName, CompletionResult result)
+      {
+         packageName_ = packageName;
+         result_ = result;
+         bytes_ = estimateBytes(result);
+      }
+
+      final String packageName_;
+      final CompletionResult result_;
+      final int bytes_;
+   }
+
+   @Inject
+   public NamespaceCompletionCache(EventBus events)
+   {
+      this();
+      events.addHandler(PackageLoadedEvent.TYPE, this);
+      events.addHandler(PackageUnloadedEvent.TYPE, this);
+   }
+
+   NamespaceCompletionCache()
+   {
+      // access-ordered, so iteration starts at the least recently used entry
+      entries_ = new LinkedHashMap<>(16, 0.75f, true);
+   }
+
+   /**
+    * Compute the cache key for a completion request, or null if the request
+    * isn't for the contents of a package namespace.
+    */
+   public static String keyFor(AutocompletionContext context)
+   {
+      if (context == null || context.getContextData() == null)
+         return null;
+
+      boolean isNamespace = false;
+      StringBuilder key = new StringBuilder();
+      JsVector<AutocompletionContextData> data = context.getContextData();
+      for (int i = 0, n = data.length(); i < n; i++)
+      {
+         AutocompletionContextData item = data.get(i);
+         int type = item.getType();
+         if (type == AutocompletionContext.TYPE_NAMESPACE_EXPORTED ||
+             type == AutocompletionContext.TYPE_NAMESPACE_ALL)
+         {
+            isNamespace = true;
+         }
+
+         key.append(type).append(':').append(item.getData()).append(';');
+      }
+
+      return isNamespace ? key.toString() : null;
+   }
+
+   public static String packageFor(AutocompletionContext context)
+   {
+      JsVector<AutocompletionContextData> data = context.getContextData();
+      for (int i = 0, n = data.length(); i < n; i++)
+      {
+         AutocompletionContextData item = data.get(i);
+         int type = item.getType();
+         if (type == AutocompletionContext.TYPE_NAMESPACE_EXPORTED ||
+             type == AutocompletionContext.TYPE_NAMESPACE_ALL)
+         {
+            return item.getData();
+         }
+      }
+      return null;
+   }
+
+   public CompletionResult get(String key)
+   {
+      Entry entry = entries_.get(key);
+      if (entry == null)
+      {
+         misses_++;
+         return null;
+      }
+
+      hits_++;
+      return entry.result_;
+   }
+
+   public void put(String key, String packageName, CompletionResult result)
+   {
+      Entry entry = new Entry(packageName, result);
+      if (entry.bytes_ > budgetBytes_)
+         return;
+
+      Entry previous = entries_.put(key, entry);
+      if (previous != null)
+         sizeBytes_ -= previous.bytes_;
+      sizeBytes_ += entry.bytes_;
+
+      evict();
+   }
+
+   public void invalidatePackage(String packageName)
+   {
+      Iterator<Map.Entry<String, Entry>> it = entries_.entrySet().iterator();
+      while (it.hasNext())
+      {
+         Entry entry = it.next().getValue();
+         if (StringUtil.equals(entry.packageName_, packageName))
+         {
+            sizeBytes_ -= entry.bytes_;
+            it.remove();
+         }
+      }
+   }
+
+   public void clear()
+   {
+      entries_.clear();
+      sizeBytes_ = 0;
+   }
+
+   public void setBudgetBytes(int budgetBytes)
+   {
+      budgetBytes_ = budgetBytes;
+      evict();
+   }
+
+   public int size()
+   {
+      return entries_.size();
+   }
+
+   public int getSizeBytes()
+   {
+      return sizeBytes_;
+   }
+
+   public int getHits()
+   {
+      return hits_;
+   }
+
+   public int getMisses()
+   {
+      return misses_;
+   }
+
+   public int getEvictions()
+   {
+      return evictions_;
+   }
+
+   @Override
+   public void onPackageLoaded(PackageLoadedEvent event)
+   {
+      invalidatePackage(event.getPackageName());
+   }
+
+   @Override
+   public void onPackageUnloaded(PackageUnloadedEvent event)
+   {
+      invalidatePackage(event.getPackageName());
+   }
+
+   private void evict()
+   {
+      Iterator<Map.Entry<String, Entry>> it = entries_.entrySet().iterator();
+      while (sizeBytes_ > budgetBytes_ && it.hasNext())
+      {
+         sizeBytes_ -= it.next().getValue().bytes_;
+         it.remove();
+         evictions_++;
+      }
+   }
+
+   // A rough estimate of the memory held by a completion result: two bytes
+   // per character of each string we keep, plus a fixed per-entry overhead.
+   private static int estimateBytes(CompletionResult result)
+   {
+      int chars = length(result.token) + length(result.guessedFunctionName);
+      for (QualifiedName name : result.completions)
+      {
+         chars += length(name.name) +
+                  length(name.display) +
+                  length(name.source) +
+                  length(name.meta);
+      }
+      return 2 * chars + ENTRY_OVERHEAD_BYTES * (result.completions.size() + 1);
+   }
+
+   private static int length(String value)
+   {
+      return value == null ? 0 : value.length();
+   }
+
+   private final LinkedHashMap<String, Entry> entries_;
+   private int budgetBytes_ = DEFAULT_BUDGET_BYTES;
+   private int sizeBytes_ = 0;
+   private int hits_ = 0;
+   private int misses_ = 0;
+   private int evictions_ = 0;
+
+   private static final int ENTRY_OVERHEAD_BYTES = 64;
+   private static final int DEFAULT_BUDGET_BYTES = 8 * 1024 * 1024;
+}
@@ -310,6 +310,12 @@ public class EnvironmentPane extends WorkbenchPane
       objects_.removeObject(objectName);
    }
 
+   @Override
+   public void updateObjects(List<RObject> assigned, List<String> removed)
+   {
+      objects_.updateObjects(assigned, removed);
+   }
+
    @Override
    public void setContextDepth(int contextDepth)
    {
@@ -101,6 +101,7 @@ import org.rstudio.studio.client.workbench.views.source.model.SourceServerOperat
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JsArray;
 import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.user.client.Timer;
 import com.google.inject.Inject;
 
@@ -121,6 +122,7 @@ public class EnvironmentPresenter extends BasePresenter
       void clearSelection();
       void setContextDepth(int contextDepth);
       void removeObject(String object);
+      void updateObjects(List<RObject> assigned, List<String> removed);
       void setEnvironmentName(String name, boolean local);
       void setEnvironmentMonitoring(boolean monitoring);
       boolean environmentMonitoring();
@@ -238,11 +240,8 @@ public class EnvironmentPresenter extends BasePresenter
          @Override
          public void onEnvironmentObjectAssigned(EnvironmentObjectAssignedEvent event)
          {
-            // ignore changes in R environment when Python is active in Environment pane
-            if (StringUtil.equalsIgnoreCase(view_.getActiveLanguage(), "R"))
-            {
-               view_.addObject(event.getObjectInfo());
-            }
+            pendingObjectChanges_.assign(event.getObjectInfo());
+            scheduleObjectChanges();
          }
       });
 
@@ -252,11 +251,8 @@ public class EnvironmentPresenter extends BasePresenter
          @Override
          public void onEnvironmentObjectRemoved(EnvironmentObjectRemovedEvent event)
          {
-            // ignore changes in R environment when Python is active in Environment pane
-            if (StringUtil.equalsIgnoreCase(view_.getActiveLanguage(), "R"))
-            {
-               view_.removeObject(event.getObjectName());
-            }
+            pendingObjectChanges_.remove(event.getObjectName());
+            scheduleObjectChanges();
          }
       });
 
@@ -264,15 +260,18 @@ public class EnvironmentPresenter extends BasePresenter
       {
          EnvironmentChangedEvent.Data data = event.getData();
 
+         // apply anything still pending first, so it can't overwrite this
+         flushObjectChanges();
+
+         List<RObject> assigned = new ArrayList<>();
          for (RObject object : JsUtil.asIterable(data.getChangedObjects()))
-         {
-            view_.addObject(object);
-         }
+            assigned.add(object);
 
+         List<String> removed = new ArrayList<>();
          for (String object : JsUtil.asIterable(data.getRemovedObjects()))
-         {
-            view_.removeObject(object);
-         }
+            removed.add(object);
+
+         view_.updateObjects(assigned, removed);
       });
 
       eventBus.addHandler(BrowserLineChangedEvent.TYPE,
@@ -471,6 +470,7 @@ public class EnvironmentPresenter extends BasePresenter
                            public void onSuccess()
                            {
                               view_.clearSelection();
+                              pendingObjectChanges_.clear();
                               view_.clearObjects();
                            }
                        });
@@ -484,10 +484,8 @@ public class EnvironmentPresenter extends BasePresenter
                            public void onSuccess()
                            {
                               view_.clearSelection();
-                              for (String obj: objectNames)
-                              {
-                                 view_.removeObject(obj);
-                              }
+                              flushObjectChanges();
+                              view_.updateObjects(new ArrayList<>(), objectNames);
                            }
                        });
             }
@@ -1074,8 +1072,36 @@ public class EnvironmentPresenter extends BasePresenter
       }
    }
 
+   // Assignments and removals tend to arrive in bursts (e.g. a script that
+   // creates many objects); collect them and apply them to the view together
+   // once the burst has been dispatched.
+   private void scheduleObjectChanges()
+   {
+      if (!objectChangesScheduled_)
+      {
+         objectChangesScheduled_ = true;
+         Scheduler.get().scheduleDeferred(() -> flushObjectChanges());
+      }
+   }
+
+   private void flushObjectChanges()
+   {
+      objectChangesScheduled_ = false;
+      if (pendingObjectChanges_.isEmpty())
+         return;
+
+      List<RObject> assigned = pendingObjectChanges_.getAssigned();
+      List<String> removed = pendingObjectChanges_.getRemoved();
+      pendingObjectChanges_.clear();
+
+      // ignore changes in R environment when Python is active in Environment pane
+      if (StringUtil.equalsIgnoreCase(view_.getActiveLanguage(), "R"))
+         view_.updateObjects(assigned, removed);
+   }
+
    private void setViewFromEnvironmentList(JsArray<RObject> objects)
    {
+      pendingObjectChanges_.clear();
       view_.clearObjects();
       view_.addObjects(objects);
    }
@@ -1249,6 +1275,8 @@ public class EnvironmentPresenter extends BasePresenter
    private String functionEnvName_;
    private Timer requeryContextTimer_;
    private SearchPathFunctionDefinition searchFunction_;
+   private final PendingObjectChanges pendingObjectChanges_ = new PendingObjectChanges();
+   private boolean objectChangesScheduled_;
 
    final String dataImportDependecyUserAction_ = "Preparing data import";
    private static final ViewEnvironmentConstants constants_ = GWT.create(ViewEnvironmentConstants.class);
@@ -0,0 +1,76 @@
+/*
+ * PendingObjectChanges.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.environment;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.rstudio.studio.client.workbench.views.environment.model.RObject;
+
+// Assignments and removals of environment objects that have yet to be
+// applied to the view. Only the most recent change to each object is kept,
+// so the removals and then the assignments can be applied in any order.
+class PendingObjectChanges
+{
+   public void assign(RObject object)
+   {
+      put(object.getName(), object);
+   }
+
+   public void remove(String name)
+   {
+      put(name, null);
+   }
+
+   public boolean isEmpty()
+   {
+      return changes_.isEmpty();
+   }
+
+   public void clear()
+   {
+      changes_.clear();
+   }
+
+   public List<RObject> getAssigned()
+   {
+      List<RObject> assigned = new ArrayList<>();
+      for (RObject object : changes_.values())
+         if (object != null)
+            assigned.add(object);
+      return assigned;
+   }
+
+   public List<String> getRemoved()
+   {
+      List<String> removed = new ArrayList<>();
+      for (Map.Entry<String, RObject> change : changes_.entrySet())
+         if (change.getValue() == null)
+            removed.add(change.getKey());
+      return removed;
+   }
+
+   private void put(String name, RObject object)
+   {
+      // remove first so the most recent change to a name is applied last
+      changes_.remove(name);
+      changes_.put(name, object);
+   }
+
+   // a null object marks a removal
+   private final LinkedHashMap<String, RObject> changes_ = new LinkedHashMap<>();
+}
@@ -0,0 +1,188 @@
+/*
+ * EnvironmentObjectIndex.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.environment.view;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+// Index of the entries in the environment pane, by object name. The entries
+// themselves live in the data provider's list, which is kept sorted with the
+// pane's RObjectEntrySort; the index lets an entry's row be found by binary
+// searching that list rather than scanning it.
+class EnvironmentObjectIndex
+{
+   public void clear()
+   {
+      entriesByName_.clear();
+   }
+
+   public void put(RObjectEntry entry)
+   {
+      entriesByName_.put(entry.rObject.getName(), entry);
+   }
+
+   public RObjectEntry get(String name)
+   {
+      return entriesByName_.get(name);
+   }
+
+   public int size()
+   {
+      return entriesByName_.size();
+   }
+
+   // returns the row of the named object, or -1 if it isn't in the list
+   public int indexOf(List<RObjectEntry> objects,
+                      String name,
+                      RObjectEntrySort sort)
+   {
+      RObjectEntry entry = entriesByName_.get(name);
+      if (entry == null)
+         return -1;
+
+      // the list is sorted with the sort, so we can binary search for the
+      // entry itself (even though it's not sorted by name)
+      int lo = 0, hi = objects.size() - 1;
+      while (lo <= hi)
+      {
+         int mid = (lo + hi) >>> 1;
+         int result = sort.compare(objects.get(mid), entry);
+         if (result < 0)
+            lo = mid + 1;
+         else if (result > 0)
+            hi = mid - 1;
+         else
+         {
+            // neighbouring entries may compare equal (e.g. when sorting by
+            // size); look through them for the one we want
+            for (int i = mid; i >= 0 && sort.compare(objects.get(i), entry) == 0; i--)
+               if (objects.get(i) == entry)
+                  return i;
+            for (int i = mid + 1; i < objects.size() && sort.compare(objects.get(i), entry) == 0; i++)
+               if (objects.get(i) == entry)
+                  return i;
+            break;
+         }
+      }
+
+      // not where we expected it to be; fall back to a scan
+      for (int i = 0, n = objects.size(); i < n; i++)
+         if (objects.get(i) == entry)
+            return i;
+
+      return -1;
+   }
+
+   // returns the position a new object entry should occupy in the list
+   public static int indexOfNew(List<RObjectEntry> objects,
+                                RObjectEntry entry,
+                                RObjectEntrySort sort)
+   {
+      int lo = 0, hi = objects.size();
+      while (lo < hi)
+      {
+         int mid = (lo + hi) >>> 1;
+         if (sort.compare(entry, objects.get(mid)) < 0)
+            hi = mid;
+         else
+            lo = mid + 1;
+      }
+      return lo;
+   }
+
+   // Carry the expanded state of the entry being replaced over to its new
+   // entry, if the object's type hasn't changed. Returns true if the new
+   // entry was expanded but its contents have to be fetched again.
+   public static boolean carryExpandedState(RObjectEntry oldEntry,
+                                            RObjectEntry newEntry)
+   {
+      if (oldEntry == null ||
+          oldEntry.rObject.getType() != newEntry.rObject.getType())
+         return false;
+
+      if (oldEntry.expanded && newEntry.contentsAreDeferred)
+         return true;
+
+      newEntry.expanded = oldEntry.expanded;
+      return false;
+   }
+
+   // Add the entry to the list, replacing any existing entry for the same
+   // object. Returns the entry's row.
+   public int assign(List<RObjectEntry> objects,
+                     RObjectEntry entry,
+                     RObjectEntrySort sort)
+   {
+      String name = entry.rObject.getName();
+      RObjectEntry oldEntry = entriesByName_.get(name);
+      int idx = indexOf(objects, name, sort);
+      if (idx >= 0)
+      {
+         if (oldEntry.rObject.getType() == entry.rObject.getType() &&
+             sort.compare(oldEntry, entry) == 0)
+         {
+            objects.set(idx, entry);
+            put(entry);
+            return idx;
+         }
+
+         // the type changed, or the new value sorts differently (e.g. when
+         // sorting by size); move it so the list stays ordered
+         objects.remove(idx);
+      }
+
+      idx = indexOfNew(objects, entry, sort);
+      objects.add(idx, entry);
+      put(entry);
+      return idx;
+   }
+
+   public void remove(List<RObjectEntry> objects,
+                      String name,
+                      RObjectEntrySort sort)
+   {
+      int idx = indexOf(objects, name, sort);
+      if (idx >= 0)
+         objects.remove(idx);
+      entriesByName_.remove(name);
+   }
+
+   // Apply a batch of removals and then assignments to the index, and return
+   // the new list of entries in sorted order. Assigned entries that need
+   // their contents fetched again are added to refill.
+   public ArrayList<RObjectEntry> update(List<RObjectEntry> assigned,
+                                         List<String> removed,
+                                         RObjectEntrySort sort,
+                                         List<RObjectEntry> refill)
+   {
+      for (String name : removed)
+         entriesByName_.remove(name);
+
+      for (RObjectEntry entry : assigned)
+      {
+         if (carryExpandedState(get(entry.rObject.getName()), entry))
+            refill.add(entry);
+         put(entry);
+      }
+
+      ArrayList<RObjectEntry> objects = new ArrayList<>(entriesByName_.values());
+      Collections.sort(objects, sort);
+      return objects;
+   }
+
+   private final HashMap<String, RObjectEntry> entriesByName_ = new HashMap<>();
+}
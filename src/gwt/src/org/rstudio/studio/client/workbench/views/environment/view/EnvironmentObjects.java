@@ -139,47 +139,20 @@ public class EnvironmentObjects extends ResizeComposite
 
    public void addObject(RObject obj)
    {
-      int idx = indexOfExistingObject(obj.getName());
-      final RObjectEntry newEntry = entryFromRObject(obj);
-      boolean added = false;
+      RObjectEntry newEntry = entryFromRObject(obj);
+      boolean refill = EnvironmentObjectIndex.carryExpandedState(
+            objectIndex_.get(obj.getName()), newEntry);
 
-      // if the object is already in the environment, just update the value
-      if (idx >= 0)
-      {
-         final RObjectEntry oldEntry = objectDataProvider_.getList().get(idx);
-
-         if (oldEntry.rObject.getType() == obj.getType())
-         {
-            // type hasn't changed
-            if (oldEntry.expanded &&
-                newEntry.contentsAreDeferred)
-            {
-               // we're replacing an object that has server-deferred contents--
-               // refill it immediately. (another approach would be to push the
-               // set of currently expanded objects to the server so these
-               // objects would show up on the client already expanded)
-               fillEntryContents(newEntry, idx, false);
-            }
-            else
-            {
-               // contents aren't deferred, just use the expanded state directly
-               newEntry.expanded = oldEntry.expanded;
-            }
-            objectDataProvider_.getList().set(idx, newEntry);
-            added = true;
-         }
-         else
-         {
-            // types did change, do a full add/remove
-            objectDataProvider_.getList().remove(idx);
-         }
+      int idx = objectIndex_.assign(
+            objectDataProvider_.getList(), newEntry, objectSort_);
 
-      }
-      if (!added)
+      if (refill)
       {
-         RObjectEntry entry = entryFromRObject(obj);
-         idx = indexOfNewObject(entry);
-         objectDataProvider_.getList().add(idx, entry);
+         // we're replacing an object that has server-deferred contents--
+         // refill it immediately. (another approach would be to push the
+         // set of currently expanded objects to the server so these
+         // objects would show up on the client already expanded)
+         fillEntryContents(newEntry, idx, false);
       }
       updateCategoryLeaders(true);
 
@@ -190,18 +163,59 @@ public class EnvironmentObjects extends ResizeComposite
 
    public void removeObject(String objName)
    {
-      int idx = indexOfExistingObject(objName);
-      if (idx >= 0)
+      objectIndex_.remove(objectDataProvider_.getList(), objName, objectSort_);
+      updateCategoryLeaders(true);
+   }
+
+   // apply a batch of assignments and removals (e.g. from a burst of
+   // environment change events) with a single re-sort and redraw, rather
+   // than updating the table once per object
+   public void updateObjects(List<RObject> assigned, List<String> removed)
+   {
+      if (assigned.isEmpty() && removed.isEmpty())
+         return;
+
+      // a handful of changes are cheaper to apply in place
+      if (assigned.size() + removed.size() <= MAX_INCREMENTAL_UPDATES)
       {
-         objectDataProvider_.getList().remove(idx);
+         for (String name : removed)
+            removeObject(name);
+         for (RObject obj : assigned)
+            addObject(obj);
+         return;
       }
 
-      updateCategoryLeaders(true);
+      List<RObjectEntry> entries = new ArrayList<>();
+      for (RObject obj : assigned)
+         entries.add(entryFromRObject(obj));
+
+      // rebuild and sort the list off to the side, then hand it to the
+      // table in one go
+      List<RObjectEntry> refill = new ArrayList<>();
+      ArrayList<RObjectEntry> objects =
+            objectIndex_.update(entries, removed, objectSort_, refill);
+      updateCategoryLeaders(objects, false);
+      objectDataProvider_.setList(objects);
+
+      for (RObjectEntry entry : refill)
+      {
+         int idx = indexOfExistingObject(entry.rObject.getName());
+         if (idx >= 0)
+            fillEntryContents(entry, idx, false);
+      }
+
+      if (!assigned.isEmpty())
+      {
+         scrollTimer_.setRow(indexOfExistingObject(
+               assigned.get(assigned.size() - 1).getName()));
+         scrollTimer_.schedule(100);
+      }
    }
 
    public void clearObjects()
    {
       objectDataProvider_.getList().clear();
+      objectIndex_.clear();
    }
 
    public void clearSelection()
@@ -224,6 +238,8 @@ public class EnvironmentObjects extends ResizeComposite
 
       // push the list into the UI and update category leaders
       objectDataProvider_.getList().addAll(objectEntryList);
+      for (RObjectEntry entry : objectEntryList)
+         objectIndex_.put(entry);
       updateCategoryLeaders(false);
 
       if (useStatePersistence())
@@ -519,52 +535,24 @@ public class EnvironmentObjects extends ResizeComposite
 
    private int indexOfExistingObject(String objectName)
    {
-      List<RObjectEntry> objects = objectDataProvider_.getList();
-
-      // find the position of the object in the list--we can't use binary
-      // search here since we're matching on names and the list isn't sorted
-      // by name (it's sorted by type, then name)
-      int index;
-      boolean foundObject = false;
-      for (index = 0; index < objects.size(); index++)
-      {
-         if (objects.get(index).rObject.getName() == objectName)
-         {
-            foundObject = true;
-            break;
-         }
-      }
-
-      return foundObject ? index : -1;
+      return objectIndex_.indexOf(
+            objectDataProvider_.getList(), objectName, objectSort_);
    }
 
-   // returns the position a new object entry should occupy in the table
-   private int indexOfNewObject(RObjectEntry obj)
+   // after adds or removes, we need to tag the new category-leading objects
+   private void updateCategoryLeaders(boolean redrawUpdatedRows)
    {
-      List<RObjectEntry> objects = objectDataProvider_.getList();
-      int numObjects = objects.size();
-      int idx;
-      // consider: can we use binary search here?
-      for (idx = 0; idx < numObjects; idx++)
-      {
-         if (objectSort_.compare(obj, objects.get(idx)) < 0)
-         {
-            break;
-         }
-      }
-      return idx;
+      updateCategoryLeaders(objectDataProvider_.getList(), redrawUpdatedRows);
    }
 
-   // after adds or removes, we need to tag the new category-leading objects
-   private void updateCategoryLeaders(boolean redrawUpdatedRows)
+   private void updateCategoryLeaders(List<RObjectEntry> objects,
+                                      boolean redrawUpdatedRows)
    {
       // no need to do these model updates if we're not in the mode that
       // displays them
       if (objectDisplayType_ != OBJECT_LIST_VIEW)
          return;
 
-      List<RObjectEntry> objects = objectDataProvider_.getList();
-
       // whether or not we've found a leader for each category
       Boolean[] leaders = { false, false, false, false };
       boolean foundFirstObject = false;
@@ -749,6 +737,7 @@ public class EnvironmentObjects extends ResizeComposite
 
    private ListDataProvider<RObjectEntry> objectDataProvider_;
    private RObjectEntrySort objectSort_;
+   private final EnvironmentObjectIndex objectIndex_ = new EnvironmentObjectIndex();
 
    private EnvironmentObjectsObserver observer_;
    private int contextDepth_;
@@ -766,4 +755,7 @@ public class EnvironmentObjects extends ResizeComposite
    private int gridRenderRetryCount_ = 0;
 
    public final static int MAX_ENVIRONMENT_OBJECTS = 1024;
+
+   // batches at or below this size are applied one object at a time
+   private final static int MAX_INCREMENTAL_UPDATES = 8;
 }
\ No newline at end of file
@@ -17,7 +17,6 @@ package org.rstudio.studio.client.workbench.views.files.ui;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Set;
 
 import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.StringUtil;
@@ -426,12 +425,13 @@ public class FilesList extends Composite
       containingPath_ = containingPath;
       parentPath_ = containingPath_.getParentPath();
 
-      // set page size (+1 for parent path)
-      filesDataGrid_.setPageSize(files.length() + 1);
+      // note that we don't set a page size here: the data grid is
+      // virtualized, and only draws the rows currently scrolled into view
 
-      // get underlying list
-      List<FileSystemItem> fileList = dataProvider_.getList();
-      fileList.clear();
+      // build the new list off to the side, so that the data provider only
+      // sees a single update
+      List<FileSystemItem> fileList = new ArrayList<>(files.length() + 1);
+      filesIndex_.clear();
 
       // add entry for parent path if we have one
       if (parentPath_ != null)
@@ -439,7 +439,14 @@ public class FilesList extends Composite
 
       // add files to table
       for (int i = 0, n = files.length(); i < n; i++)
-         fileList.add(files.get(i));
+      {
+         FileSystemItem file = files.get(i);
+         fileList.add(file);
+         filesIndex_.put(file);
+      }
+
+      dataProvider_.setList(fileList);
+      sortHandler_.setList(dataProvider_.getList());
 
       // apply sort list
       applyColumnSortList();
@@ -469,16 +476,21 @@ public class FilesList extends Composite
    public ArrayList<FileSystemItem> getSelectedFiles()
    {
       // first make sure there are no leftover items in the selected set
-      Set<FileSystemItem> selectedSet = selectionModel_.getSelectedSet();
-      selectedSet.retainAll(dataProvider_.getList());
+      // (checked against the path index rather than the list itself,
+      // which would be quadratic for large directories)
+      ArrayList<FileSystemItem> selected = new ArrayList<>();
+      for (FileSystemItem item : selectionModel_.getSelectedSet())
+      {
+         if (filesIndex_.get(item.getPath()) == item)
+            selected.add(item);
+      }
 
-      return new ArrayList<>(selectedSet);
+      return selected;
    }
 
    public void updateWithAction(FileChange viewAction)
    {
       final FileSystemItem file = viewAction.getFile();
-      final List<FileSystemItem> files = getFiles();
       switch(viewAction.getType())
       {
       case FileChange.ADD:
@@ -487,8 +499,7 @@ public class FilesList extends Composite
             int row = rowForFile(file);
             if (row == -1)
             {
-               files.add(file);
-               filesDataGrid_.setPageSize(files.size() + 1);
+               insertSorted(file);
             }
             else
             {
@@ -497,7 +508,7 @@ public class FilesList extends Composite
                // a rename. in this case the file already exists due
                // to the eager rename in the client but still needs its
                // metadata updated
-               files.set(row, file);
+               replaceRow(row, file);
             }
          }
          break;
@@ -510,7 +521,7 @@ public class FilesList extends Composite
                // the selection model loses the selection state when we update
                // the row, so save and restore it manually.
                boolean selected = selectionModel_.isSelected(file);
-               files.set(row, file);
+               replaceRow(row, file);
                selectionModel_.setSelected(file, selected);
             }
          }
@@ -521,7 +532,7 @@ public class FilesList extends Composite
             int row = rowForFile(file);
             if (row != -1)
             {
-               files.remove(row);
+               filesIndex_.removeRow(getFiles(), row);
 
                // if a file is deleted and then re-added within the same
                // event loop (as occurs when gedit saves a text file) the
@@ -542,11 +553,11 @@ public class FilesList extends Composite
 
    public void renameFile(FileSystemItem from, FileSystemItem to)
    {
-      int index = getFiles().indexOf(from);
+      int index = rowForFile(from);
       if (index != -1)
       {
          selectNone();
-         getFiles().set(index, to);
+         filesIndex_.renameRow(getFiles(), index, to, getActiveComparator());
       }
    }
 
@@ -557,12 +568,38 @@ public class FilesList extends Composite
 
    private int rowForFile(FileSystemItem file)
    {
-      List<FileSystemItem> files = getFiles();
-      for (int i=0; i<files.size(); i++)
-         if (files.get(i).equalTo(file))
-            return i;
+      return filesIndex_.rowForFile(getFiles(), file, getActiveComparator());
+   }
 
-      return -1;
+   private void insertSorted(FileSystemItem file)
+   {
+      filesIndex_.insertSorted(getFiles(), file, getActiveComparator());
+   }
+
+   private void replaceRow(int row, FileSystemItem file)
+   {
+      filesIndex_.replaceRow(getFiles(), row, file, getActiveComparator());
+   }
+
+   // The comparator the list is currently sorted with, or null if the list
+   // isn't sorted.
+   private Comparator<FileSystemItem> getActiveComparator()
+   {
+      ColumnSortList sortList = filesDataGrid_.getColumnSortList();
+      if (sortList.size() == 0)
+         return null;
+
+      com.google.gwt.user.cellview.client.ColumnSortList.ColumnSortInfo sortInfo = sortList.get(0);
+      @SuppressWarnings("unchecked")
+      Column<FileSystemItem, ?> column = (Column<FileSystemItem, ?>) sortInfo.getColumn();
+      final Comparator<FileSystemItem> comparator = sortHandler_.getComparator(column);
+      if (comparator == null)
+         return null;
+
+      if (sortInfo.isAscending())
+         return comparator;
+
+      return (lhs, rhs) -> comparator.compare(rhs, lhs);
    }
 
    private void applyColumnSortList()
@@ -726,6 +763,9 @@ public class FilesList extends Composite
    private FileSystemItem containingPath_ = null;
    private FileSystemItem parentPath_ = null;
 
+   // index of the files in the list (excluding the parent path), by path
+   private final FilesListIndex filesIndex_ = new FilesListIndex();
+
    private final VirtualizedDataGrid<FileSystemItem> filesDataGrid_;
    private final LinkColumn<FileSystemItem> nameColumn_;
    private final TextColumn<FileSystemItem> sizeColumn_;
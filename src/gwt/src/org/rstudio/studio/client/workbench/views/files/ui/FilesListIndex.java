@@ -0,0 +1,158 @@
+/*
+ * FilesListIndex.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.files.ui;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+import org.rstudio.core.client.files.FileSystemItem;
+
+// Index of the files shown in the Files pane, by path. The rows themselves
+// live in the data provider's list; the index is used to tell whether a file
+// is in that list at all, and (since the list is kept sorted) to binary
+// search for its row. A null comparator means the list isn't sorted.
+class FilesListIndex
+{
+   public void clear()
+   {
+      filesByPath_.clear();
+   }
+
+   public void put(FileSystemItem file)
+   {
+      filesByPath_.put(file.getPath(), file);
+   }
+
+   public FileSystemItem get(String path)
+   {
+      return filesByPath_.get(path);
+   }
+
+   public int size()
+   {
+      return filesByPath_.size();
+   }
+
+   // Find the row currently displaying the given file (matched by path).
+   public int rowForFile(List<FileSystemItem> files,
+                         FileSystemItem file,
+                         Comparator<FileSystemItem> comparator)
+   {
+      FileSystemItem existing = filesByPath_.get(file.getPath());
+      if (existing == null)
+         return -1;
+
+      if (comparator != null)
+      {
+         int lo = 0, hi = files.size() - 1;
+         while (lo <= hi)
+         {
+            int mid = (lo + hi) >>> 1;
+            int result = comparator.compare(files.get(mid), existing);
+            if (result < 0)
+               lo = mid + 1;
+            else if (result > 0)
+               hi = mid - 1;
+            else
+            {
+               // several rows may compare equal (e.g. when sorting by size);
+               // look through them for the one we want
+               for (int i = mid; i >= 0 && comparator.compare(files.get(i), existing) == 0; i--)
+                  if (files.get(i) == existing)
+                     return i;
+               for (int i = mid + 1; i < files.size() && comparator.compare(files.get(i), existing) == 0; i++)
+                  if (files.get(i) == existing)
+                     return i;
+               break;
+            }
+         }
+      }
+
+      // the list isn't sorted the way we expected; fall back to a scan
+      for (int i = 0, n = files.size(); i < n; i++)
+         if (files.get(i) == existing)
+            return i;
+
+      return -1;
+   }
+
+   // Insert a file at its sorted position (or at the end if the list
+   // isn't sorted), rather than re-sorting the whole list.
+   public void insertSorted(List<FileSystemItem> files,
+                            FileSystemItem file,
+                            Comparator<FileSystemItem> comparator)
+   {
+      int index = files.size();
+      if (comparator != null)
+      {
+         int lo = 0, hi = files.size();
+         while (lo < hi)
+         {
+            int mid = (lo + hi) >>> 1;
+            if (comparator.compare(files.get(mid), file) <= 0)
+               lo = mid + 1;
+            else
+               hi = mid;
+         }
+         index = lo;
+      }
+
+      files.add(index, file);
+      put(file);
+   }
+
+   // Replace the file in the given row, moving it if its sort position
+   // has changed.
+   public void replaceRow(List<FileSystemItem> files,
+                          int row,
+                          FileSystemItem file,
+                          Comparator<FileSystemItem> comparator)
+   {
+      boolean inOrder =
+            comparator == null ||
+            ((row == 0 || comparator.compare(files.get(row - 1), file) <= 0) &&
+             (row == files.size() - 1 || comparator.compare(file, files.get(row + 1)) <= 0));
+
+      if (inOrder)
+      {
+         files.set(row, file);
+         put(file);
+      }
+      else
+      {
+         files.remove(row);
+         insertSorted(files, file, comparator);
+      }
+   }
+
+   public void removeRow(List<FileSystemItem> files, int row)
+   {
+      FileSystemItem file = files.remove(row);
+      filesByPath_.remove(file.getPath());
+   }
+
+   // Replace the file in the given row with its renamed version.
+   public void renameRow(List<FileSystemItem> files,
+                         int row,
+                         FileSystemItem to,
+                         Comparator<FileSystemItem> comparator)
+   {
+      filesByPath_.remove(files.get(row).getPath());
+      replaceRow(files, row, to, comparator);
+   }
+
+   private final HashMap<String, FileSystemItem> filesByPath_ = new HashMap<>();
+}
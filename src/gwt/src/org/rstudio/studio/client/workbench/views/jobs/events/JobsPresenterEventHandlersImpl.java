@@ -15,7 +15,6 @@
 package org.rstudio.studio.client.workbench.views.jobs.events;
 
 import com.google.gwt.core.client.GWT;
-import com.google.gwt.core.client.JsArray;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import org.rstudio.core.client.Debug;
@@ -31,7 +30,6 @@ import org.rstudio.studio.client.workbench.views.jobs.JobsConstants;
 import org.rstudio.studio.client.workbench.views.jobs.model.Job;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobConstants;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobManager;
-import org.rstudio.studio.client.workbench.views.jobs.model.JobOutput;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobState;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobsServerOperations;
 import org.rstudio.studio.client.workbench.views.jobs.model.LauncherJobManager;
@@ -165,10 +163,10 @@ public class JobsPresenterEventHandlersImpl implements JobsPresenterEventHandler
    {
       boolean bypassLauncherCall = (isLauncherJob && getSessionServer() != null);
 
-      server_.setJobListening(id, false, bypassLauncherCall, new ServerRequestCallback<JsArray<JobOutput>>()
+      server_.setJobListening(id, false, bypassLauncherCall, new ServerRequestCallback<Double>()
       {
          @Override
-         public void onResponseReceived(JsArray<JobOutput> output)
+         public void onResponseReceived(Double length)
          {
             if (bypassLauncherCall && Desktop.hasDesktopFrame())
             {
@@ -196,17 +194,17 @@ public class JobsPresenterEventHandlersImpl implements JobsPresenterEventHandler
       
       Job job = pJobManager_.get().getJob(id);
 
-      server_.setJobListening(id, true, bypassLauncherCall, new ServerRequestCallback<JsArray<JobOutput>>()
+      server_.setJobListening(id, true, bypassLauncherCall, new ServerRequestCallback<Double>()
       {
          @Override
-         public void onResponseReceived(JsArray<JobOutput> output)
+         public void onResponseReceived(Double length)
          {
             if (bypassLauncherCall && Desktop.hasDesktopFrame())
             {
                Desktop.getFrame().startLauncherJobOutputStream(id);
             }
 
-            display_.showJobOutput(id, output, animate);
+            display_.showJobOutput(id, length.intValue(), animate);
          }
          
          @Override
@@ -22,7 +22,9 @@ import com.google.gwt.core.client.JsArray;
 public interface JobsServerOperations
 {
    void setJobListening(String id, boolean listening, boolean bypassLauncherCall,
-                        ServerRequestCallback<JsArray<JobOutput> > output);
+                        ServerRequestCallback<Double> length);
+   void getJobOutput(String id, int position, int count,
+                     ServerRequestCallback<JsArray<JobOutput> > output);
    void startJob(JobLaunchSpec spec, ServerRequestCallback<String> callback);
    void clearBackgroundJobs(ServerRequestCallback<Void> callback);
    void executeJobAction(String id, String action, ServerRequestCallback<Void> callback);
@@ -14,18 +14,34 @@
  */
 package org.rstudio.studio.client.workbench.views.jobs.view;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.rstudio.core.client.ElementIds;
+import org.rstudio.core.client.widget.BottomScrollPanel;
+import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.common.compile.CompileOutput;
 import org.rstudio.studio.client.common.compile.CompileOutputBufferWithHighlight;
 import org.rstudio.studio.client.common.compile.CompilePanel;
+import org.rstudio.studio.client.server.ServerError;
+import org.rstudio.studio.client.server.ServerRequestCallback;
+import org.rstudio.studio.client.workbench.views.jobs.model.JobOutput;
 
+import com.google.gwt.animation.client.AnimationScheduler;
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.JsArray;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
 import com.google.gwt.user.client.ui.Composite;
 import com.google.gwt.user.client.ui.Label;
 import com.google.gwt.user.client.ui.Widget;
 
+/**
+ * Shows the output of a job as it streams in. Only the newest output (up to
+ * the console's line limit) is kept on screen; scrolling to the top fetches
+ * older output from the server, and scrolling back to the bottom returns to
+ * the newest output.
+ */
 public class JobOutputPanel extends Composite
 {
    private static JobOutputPanelUiBinder uiBinder = GWT.create(JobOutputPanelUiBinder.class);
@@ -34,47 +50,267 @@ public class JobOutputPanel extends Composite
    {
    }
 
+   // Reads a range of the job's output from the server; a count of -1 reads
+   // everything from the position on
+   public interface OutputSource
+   {
+      void getOutput(int position,
+                     int count,
+                     ServerRequestCallback<JsArray<JobOutput>> callback);
+   }
+
    public JobOutputPanel()
    {
-      output_ = new CompilePanel(new CompileOutputBufferWithHighlight());
+      int maxLines = RStudioGinjector.INSTANCE.getUserPrefs().consoleMaxLines().getValue();
+      window_ = new JobOutputWindow(maxLines);
+      buffer_ = new CompileOutputBufferWithHighlight(maxLines, true);
+      buffer_.getScrollPanel().addScrollHandler(event -> onScroll());
+
+      output_ = new CompilePanel(buffer_);
       output_.setHeight("100%");
       ElementIds.assignElementId(output_.asWidget(), ElementIds.JOB_LAUNCHER_OUTPUT_PANEL);
 
       initWidget(uiBinder.createAndBindUi(this));
-      
+
       // initially empty
       clearOutput();
    }
-   
+
    public void clearOutput()
    {
+      // drop any responses still on their way for the previous job
+      generation_++;
+      loading_ = false;
+      backfillAvailable_ = true;
+      source_ = null;
+      window_.clear();
+      cancelScroll();
+
       output_.clearOutput();
       output_.setVisible(false);
       empty_.setVisible(true);
    }
-   
+
+   /**
+    * Show a job's output so far. Only the newest entries (as many as could
+    * fit in the pane) are read; older output is read as it's scrolled into
+    * view.
+    *
+    * @param length The number of entries the job has emitted
+    * @param source Where to read the job's output from
+    */
+   public void showJobOutput(int length, OutputSource source)
+   {
+      clearOutput();
+      source_ = source;
+      window_.reset(length);
+
+      final int position = window_.getTailStart();
+      if (position == length)
+         return;
+
+      read(position, length - position, output ->
+      {
+         // the server doesn't have all of this output (e.g. the job doesn't
+         // keep its output); don't ask it for older output
+         if (output.size() != length - position)
+            backfillAvailable_ = false;
+
+         window_.fill(output);
+         render(window_.getEntries().size());
+         scrollToBottom();
+      });
+   }
+
+   /**
+    * Add output the job has just emitted. The pane follows the output (once
+    * per frame, no matter how many entries arrive) unless the user has
+    * scrolled away from the bottom.
+    */
+   public void addOutput(int type, String output)
+   {
+      CompileOutput entry = CompileOutput.create(type, output);
+      if (!window_.append(entry))
+         return;
+
+      write(entry);
+      scheduleScroll();
+   }
+
+   public void showBufferedOutput()
+   {
+      output_.showBufferedOutput();
+   }
+
    public void scrollToBottom()
    {
+      cancelScroll();
       output_.scrollToBottom();
    }
-   
-   public void showOutput(CompileOutput output, boolean scrollToBottom)
+
+   private void write(CompileOutput output)
    {
       if (output.getOutput().isEmpty())
          return;
-      
+
       // make sure output is visible
       empty_.setVisible(false);
       output_.setVisible(true);
 
-      output_.showOutput(output, scrollToBottom);
+      output_.showOutput(output, false);
    }
 
-   public void showBufferedOutput()
+   // replace the contents of the pane with the window's entries, returning
+   // the height of the first 'count' of them
+   private int render(int count)
    {
-      output_.showBufferedOutput();
+      output_.clearOutput();
+
+      List<CompileOutput> entries = window_.getEntries();
+      for (int i = 0; i < count; i++)
+         write(entries.get(i));
+
+      int height = buffer_.getScrollPanel().getElement().getScrollHeight();
+      for (int i = count; i < entries.size(); i++)
+         write(entries.get(i));
+
+      return height;
+   }
+
+   private void scheduleScroll()
+   {
+      if (scrollHandle_ != null)
+         return;
+
+      scrollHandle_ = AnimationScheduler.get().requestAnimationFrame(timestamp ->
+      {
+         scrollHandle_ = null;
+         if (buffer_.getScrollPanel().isScrolledToBottom())
+            output_.scrollToBottom();
+      });
+   }
+
+   private void cancelScroll()
+   {
+      if (scrollHandle_ != null)
+      {
+         scrollHandle_.cancel();
+         scrollHandle_ = null;
+      }
    }
-   
+
+   private void onScroll()
+   {
+      if (source_ == null || loading_)
+         return;
+
+      BottomScrollPanel panel = buffer_.getScrollPanel();
+      if (panel.getVerticalScrollPosition() <= BACKFILL_MARGIN_PX &&
+          backfillAvailable_ &&
+          window_.canBackfill())
+      {
+         backfill();
+      }
+      else if (!window_.isAttached() && panel.isScrolledToBottom())
+      {
+         catchUp();
+      }
+   }
+
+   // read the output just before the window, keeping the output that's on
+   // screen where it is
+   private void backfill()
+   {
+      final int end = window_.getStart();
+      final int position = Math.max(0, end - BACKFILL_ENTRIES);
+
+      read(position, end - position, output ->
+      {
+         if (output.size() != end - position)
+         {
+            // the server no longer has this output (e.g. the job doesn't
+            // keep its output); don't keep asking
+            backfillAvailable_ = false;
+            return;
+         }
+
+         BottomScrollPanel panel = buffer_.getScrollPanel();
+         int scrollPosition = panel.getVerticalScrollPosition();
+         int added = window_.prepend(output);
+         int height = render(added);
+         panel.setVerticalScrollPosition(height + scrollPosition);
+      });
+   }
+
+   // return to the newest output
+   private void catchUp()
+   {
+      final int position = Math.max(window_.getEnd(),
+                                    window_.getTotal() - window_.getMaxLines());
+
+      read(position, -1, output ->
+      {
+         window_.catchUp(position, output);
+         render(window_.getEntries().size());
+         scrollToBottom();
+      });
+   }
+
+   private interface OutputHandler
+   {
+      void onOutput(List<CompileOutput> output);
+   }
+
+   private void read(int position, int count, final OutputHandler handler)
+   {
+      final int generation = generation_;
+      loading_ = true;
+      source_.getOutput(position, count, new ServerRequestCallback<JsArray<JobOutput>>()
+      {
+         @Override
+         public void onResponseReceived(JsArray<JobOutput> output)
+         {
+            if (generation != generation_)
+               return;
+
+            loading_ = false;
+            handler.onOutput(toList(output));
+         }
+
+         @Override
+         public void onError(ServerError error)
+         {
+            if (generation != generation_)
+               return;
+
+            loading_ = false;
+            backfillAvailable_ = false;
+         }
+      });
+   }
+
+   private static List<CompileOutput> toList(JsArray<JobOutput> output)
+   {
+      List<CompileOutput> list = new ArrayList<>(output.length());
+      for (int i = 0; i < output.length(); i++)
+         list.add(CompileOutput.create(output.get(i).type(), output.get(i).output()));
+      return list;
+   }
+
    @UiField(provided=true) CompilePanel output_;
    @UiField Label empty_;
+
+   private final CompileOutputBufferWithHighlight buffer_;
+   private final JobOutputWindow window_;
+   private OutputSource source_;
+   private int generation_ = 0;
+   private boolean loading_ = false;
+   private boolean backfillAvailable_ = true;
+   private AnimationScheduler.AnimationHandle scrollHandle_;
+
+   // number of entries read at a time when scrolling up
+   private static final int BACKFILL_ENTRIES = 200;
+
+   // how close to the top the user must scroll to read older output
+   private static final int BACKFILL_MARGIN_PX = 20;
 }
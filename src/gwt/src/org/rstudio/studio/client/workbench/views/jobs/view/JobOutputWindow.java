@@ -0,0 +1,218 @@
+/*
+ * JobOutputWindow.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.jobs.view;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rstudio.core.client.StringUtil;
+import org.rstudio.studio.client.common.compile.CompileOutput;
+
+// The slice of a job's output that the output pane holds on to. The server
+// keeps every entry a job has emitted, numbered from zero; the window holds
+// a contiguous run of them, bounded by a line cap, so that long-running jobs
+// don't grow the pane without limit.
+//
+// While the window ends at the newest entry it's "attached": new output is
+// added at the end and the oldest entries fall off the top. Backfilling older
+// entries (as the user scrolls up) drops entries from the end instead, which
+// detaches the window; new output is then only counted until the window
+// catches up with the newest entries again.
+//
+// Each entry counts as at least one line, so output that never emits a
+// newline is still bounded.
+public class JobOutputWindow
+{
+   public JobOutputWindow(int maxLines)
+   {
+      maxLines_ = Math.max(1, maxLines);
+   }
+
+   /**
+    * Empty the window and move it to the end of a job's output so far; the
+    * newest entries are then read with fill().
+    *
+    * @param length The number of entries the job has emitted
+    */
+   public void reset(int length)
+   {
+      clear();
+      start_ = length;
+      total_ = length;
+   }
+
+   /**
+    * Add the entries that precede the window when it's first shown. Unlike
+    * prepend(), this keeps the newest entries (including any output that
+    * arrived while they were being read) and drops the oldest.
+    *
+    * @param tail The entries immediately before the start of the window
+    */
+   public void fill(List<CompileOutput> tail)
+   {
+      entries_.addAll(0, tail);
+      start_ = Math.max(0, start_ - tail.size());
+      for (CompileOutput entry : tail)
+         lines_ += lineCount(entry);
+      trimOldest();
+   }
+
+   // position of the first entry to read when the window is first shown
+   public int getTailStart()
+   {
+      return Math.max(0, start_ - maxLines_);
+   }
+
+   public void clear()
+   {
+      entries_.clear();
+      start_ = 0;
+      total_ = 0;
+      lines_ = 0;
+   }
+
+   /**
+    * Record new output from the job.
+    *
+    * @return Whether the output was added to the window (and so should be
+    *    shown); output arriving while the window is detached is not.
+    */
+   public boolean append(CompileOutput entry)
+   {
+      boolean attached = isAttached();
+      total_++;
+      if (!attached)
+         return false;
+
+      addLast(entry);
+      trimOldest();
+      return true;
+   }
+
+   /**
+    * Add entries that precede the window, dropping the newest entries if the
+    * window grows past its cap (and, if the older entries don't fit on their
+    * own, the oldest of those too).
+    *
+    * @param older The entries immediately before the start of the window
+    * @return The number of older entries kept
+    */
+   public int prepend(List<CompileOutput> older)
+   {
+      int start = start_;
+
+      entries_.addAll(0, older);
+      start_ = Math.max(0, start_ - older.size());
+      for (CompileOutput entry : older)
+         lines_ += lineCount(entry);
+
+      while (lines_ > maxLines_ && entries_.size() > older.size())
+         lines_ -= lineCount(entries_.remove(entries_.size() - 1));
+      trimOldest();
+
+      return start - start_;
+   }
+
+   /**
+    * Add entries that follow the window, returning it to the newest output.
+    *
+    * @param position The position of the first entry; if this is past the
+    *    end of the window, the entries replace the window's contents
+    * @param newer The entries from that position on
+    */
+   public void catchUp(int position, List<CompileOutput> newer)
+   {
+      if (position != getEnd())
+      {
+         entries_.clear();
+         lines_ = 0;
+         start_ = position;
+      }
+
+      for (CompileOutput entry : newer)
+         addLast(entry);
+      total_ = Math.max(total_, getEnd());
+      trimOldest();
+   }
+
+   public List<CompileOutput> getEntries()
+   {
+      return entries_;
+   }
+
+   // position of the first entry in the window
+   public int getStart()
+   {
+      return start_;
+   }
+
+   // position just past the last entry in the window
+   public int getEnd()
+   {
+      return start_ + entries_.size();
+   }
+
+   // number of entries the job has emitted
+   public int getTotal()
+   {
+      return total_;
+   }
+
+   public int getLineCount()
+   {
+      return lines_;
+   }
+
+   public int getMaxLines()
+   {
+      return maxLines_;
+   }
+
+   public boolean isAttached()
+   {
+      return getEnd() == total_;
+   }
+
+   public boolean canBackfill()
+   {
+      return start_ > 0;
+   }
+
+   private void addLast(CompileOutput entry)
+   {
+      entries_.add(entry);
+      lines_ += lineCount(entry);
+   }
+
+   private void trimOldest()
+   {
+      while (lines_ > maxLines_ && entries_.size() > 1)
+      {
+         lines_ -= lineCount(entries_.remove(0));
+         start_++;
+      }
+   }
+
+   private static int lineCount(CompileOutput entry)
+   {
+      return Math.max(1, StringUtil.newlineCount(entry.getOutput()));
+   }
+
+   private final int maxLines_;
+   private final ArrayList<CompileOutput> entries_ = new ArrayList<>();
+   private int start_ = 0;
+   private int total_ = 0;
+   private int lines_ = 0;
+}
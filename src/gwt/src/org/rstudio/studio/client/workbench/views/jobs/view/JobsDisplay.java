@@ -14,10 +14,8 @@
  */
 package org.rstudio.studio.client.workbench.views.jobs.view;
 
-import com.google.gwt.core.client.JsArray;
 import org.rstudio.studio.client.workbench.WorkbenchView;
 import org.rstudio.studio.client.workbench.views.jobs.model.Job;
-import org.rstudio.studio.client.workbench.views.jobs.model.JobOutput;
 
 import java.util.List;
 
@@ -25,7 +23,7 @@ public interface JobsDisplay extends WorkbenchView
 {
    void updateJob(int updateType, Job job);
    void setInitialJobs(List<Job> jobs);
-   void showJobOutput(String id, JsArray<JobOutput> output, boolean animate);
+   void showJobOutput(String id, int length, boolean animate);
    void addJobOutput(String id, int type, String output);
    void hideJobOutput(String id, boolean animate);
    void syncElapsedTime(int timestamp);
@@ -14,18 +14,16 @@
  */
 package org.rstudio.studio.client.workbench.views.jobs.view;
 
-import com.google.gwt.core.client.JsArray;
 import com.google.inject.Inject;
 import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.widget.SlidingLayoutPanel;
 import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.application.events.EventBus;
-import org.rstudio.studio.client.common.compile.CompileOutput;
 import org.rstudio.studio.client.workbench.ui.WorkbenchPane;
 import org.rstudio.studio.client.workbench.views.jobs.events.JobSelectionEvent;
 import org.rstudio.studio.client.workbench.views.jobs.model.Job;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobConstants;
-import org.rstudio.studio.client.workbench.views.jobs.model.JobOutput;
+import org.rstudio.studio.client.workbench.views.jobs.model.JobsServerOperations;
 
 import java.util.List;
 
@@ -44,9 +42,11 @@ public class JobsDisplayImpl implements JobsDisplay
    }
    
    @Inject
-   private void initialize(EventBus events)
+   private void initialize(EventBus events,
+                           JobsServerOperations server)
    {
       events_ = events;
+      server_ = server;
    }
    
    @Override
@@ -99,22 +99,12 @@ public class JobsDisplayImpl implements JobsDisplay
    }
    
    @Override
-   public void showJobOutput(String id, JsArray<JobOutput> output, boolean animate)
+   public void showJobOutput(String id, int length, boolean animate)
    {
-       // clear any existing output in the pane
-      widgets_.getOutputPanel().clearOutput();
-
-      // display all the output, but don't scroll as we go
-      for (int i = 0; i < output.length(); i++)
-      {
-         widgets_.getOutputPanel().showOutput(CompileOutput.create(
-               output.get(i).type(),
-               output.get(i).output()), false /* scroll */);
-      }
-
-      widgets_.getOutputPanel().output_.showBufferedOutput();
-      // scroll to show all output so far
-      widgets_.getOutputPanel().scrollToBottom();
+      // show the newest output so far; older output is read from the server
+      // as it's scrolled into view
+      widgets_.getOutputPanel().showJobOutput(length, (position, count, callback) ->
+            server_.getJobOutput(id, position, count, callback));
       
       // remove the progress for the current job if we're showing it
       widgets_.removeProgressWidget();
@@ -139,7 +129,7 @@ public class JobsDisplayImpl implements JobsDisplay
       }
       
       // add the output
-      widgets_.getOutputPanel().showOutput(CompileOutput.create(type, output), true /* scroll */);
+      widgets_.getOutputPanel().addOutput(type, output);
    }
    
    @Override
@@ -230,4 +220,5 @@ public class JobsDisplayImpl implements JobsDisplay
   
    // injected
    private EventBus events_;
+   private JobsServerOperations server_;
 }
@@ -20,14 +20,12 @@ import org.rstudio.studio.client.workbench.prefs.model.UserPrefsAccessor;
 import org.rstudio.studio.client.workbench.views.jobs.JobsConstants;
 import org.rstudio.studio.client.workbench.views.jobs.JobsPresenter;
 import org.rstudio.studio.client.workbench.views.jobs.model.Job;
-import org.rstudio.studio.client.workbench.views.jobs.model.JobOutput;
 
 import java.util.List;
 
 import org.rstudio.core.client.widget.Toolbar;
 import org.rstudio.studio.client.workbench.ui.WorkbenchPane;
 
-import com.google.gwt.core.client.JsArray;
 import com.google.gwt.user.client.ui.Widget;
 import com.google.inject.Inject;
 
@@ -75,9 +73,9 @@ public class JobsPane extends WorkbenchPane
    }
 
    @Override
-   public void showJobOutput(String id, JsArray<JobOutput> output, boolean animate)
+   public void showJobOutput(String id, int length, boolean animate)
    {
-      baseImpl_.showJobOutput(id, output, animate);
+      baseImpl_.showJobOutput(id, length, animate);
    }
 
    @Override
@@ -15,7 +15,6 @@
 package org.rstudio.studio.client.workbench.views.jobs.view;
 
 import com.google.gwt.core.client.GWT;
-import com.google.gwt.core.client.JsArray;
 import com.google.gwt.user.client.ui.Widget;
 import com.google.inject.Inject;
 import org.rstudio.core.client.widget.Toolbar;
@@ -24,7 +23,6 @@ import org.rstudio.studio.client.workbench.ui.WorkbenchPane;
 import org.rstudio.studio.client.workbench.views.jobs.JobsConstants;
 import org.rstudio.studio.client.workbench.views.jobs.LauncherJobsPresenter;
 import org.rstudio.studio.client.workbench.views.jobs.model.Job;
-import org.rstudio.studio.client.workbench.views.jobs.model.JobOutput;
 
 import java.util.List;
 
@@ -72,9 +70,9 @@ public class LauncherJobsPane extends WorkbenchPane
    }
 
    @Override
-   public void showJobOutput(String id, JsArray<JobOutput> output, boolean animate)
+   public void showJobOutput(String id, int length, boolean animate)
    {
-      baseImpl_.showJobOutput(id, output, animate);
+      baseImpl_.showJobOutput(id, length, animate);
    }
 
    @Override
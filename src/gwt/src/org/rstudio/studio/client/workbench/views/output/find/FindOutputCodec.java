@@ -16,6 +16,7 @@ package org.rstudio.studio.client.workbench.views.output.find;
 
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.SpanElement;
 import com.google.gwt.dom.client.TableCellElement;
 import com.google.gwt.dom.client.TableRowElement;
 import org.rstudio.core.client.CodeNavigationTarget;
@@ -26,6 +27,8 @@ import org.rstudio.studio.client.workbench.views.output.OutputConstants;
 import org.rstudio.studio.client.workbench.views.output.find.FindOutputResources.Styles;
 import org.rstudio.studio.client.workbench.views.output.find.model.FindResult;
 
+import java.util.HashMap;
+
 public class FindOutputCodec
       extends HeaderBreaksItemCodec<FindResult, CodeNavigationTarget, Object>
 {
@@ -34,6 +37,34 @@ public class FindOutputCodec
       styles_ = resources.styles();
    }
 
+   /**
+    * Show the number of matching lines in each file (according to the given
+    * store) in the file header rows.
+    */
+   public void setResultStore(FindResultStore store)
+   {
+      store_ = store;
+   }
+
+   /**
+    * Refresh the match count in the header row for the given file, if one
+    * has been rendered.
+    */
+   public void updateFileCount(String file)
+   {
+      SpanElement count = headerCounts_.get(file);
+      if (count != null)
+         count.setInnerText(getCountText(file));
+   }
+
+   /**
+    * Forget the header rows rendered so far; call when the table is cleared.
+    */
+   public void clearHeaders()
+   {
+      headerCounts_.clear();
+   }
+
    @Override
    public TableRowElement getRowForItem(FindResult entry)
    {
@@ -44,7 +75,7 @@ public class FindOutputCodec
          TableCellElement td = Document.get().createTDElement();
          td.setClassName(styles_.overflowWarning());
          td.setColSpan(2);
-         td.setInnerText(constants_.overFlowMessage());
+         td.setInnerText(constants_.overFlowMessage(store_.size()));
          tr.appendChild(td);
          return tr;
       }
@@ -87,7 +118,16 @@ public class FindOutputCodec
 
       TableCellElement td = Document.get().createTDElement();
       td.setColSpan(2);
-      td.setInnerText(row.getAttribute(DATA_FILE));
+      String file = row.getAttribute(DATA_FILE);
+      td.setInnerText(file);
+      if (store_ != null)
+      {
+         SpanElement count = Document.get().createSpanElement();
+         count.setClassName(styles_.headerCount());
+         count.setInnerText(getCountText(file));
+         td.appendChild(count);
+         headerCounts_.put(file, count);
+      }
       tr.appendChild(td);
 
       row.getParentElement().insertBefore(tr, row);
@@ -121,7 +161,14 @@ public class FindOutputCodec
       return true;
    }
 
+   private String getCountText(String file)
+   {
+      return "(" + store_.getCountForFile(file) + ")";
+   }
+
    private final Styles styles_;
+   private final HashMap<String, SpanElement> headerCounts_ = new HashMap<>();
+   private FindResultStore store_;
 
    private static final String DATA_FILE = "data-file";
    private static final String DATA_LINE = "data-line";
@@ -16,6 +16,8 @@ package org.rstudio.studio.client.workbench.views.output.find;
 
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.dom.client.NativeEvent;
+import com.google.gwt.dom.client.Style.Unit;
+import com.google.gwt.dom.client.TableElement;
 import com.google.gwt.dom.client.TableRowElement;
 import com.google.gwt.event.dom.client.*;
 import com.google.gwt.event.shared.HandlerRegistration;
@@ -43,6 +45,7 @@ import org.rstudio.studio.client.workbench.views.output.find.model.FindResult;
 import org.rstudio.studio.client.workbench.views.output.find.events.PreviewReplaceEvent;
 
 import java.util.ArrayList;
+import java.util.List;
 
 
 public class FindOutputPane extends WorkbenchPane
@@ -149,8 +152,11 @@ public class FindOutputPane extends WorkbenchPane
       FindOutputResources resources = GWT.create(FindOutputResources.class);
       resources.styles().ensureInjected();
 
+      codec_ = new FindOutputCodec(resources);
+      codec_.setResultStore(store_);
+
       table_ = new FastSelectTable<>(
-            new FindOutputCodec(resources),
+            codec_,
             resources.styles().selectedRow(),
             true,
             false,
@@ -192,8 +198,36 @@ public class FindOutputPane extends WorkbenchPane
       container_.setSize("100%", "100%");
       statusPanel_ = new StatusPanel();
       statusPanel_.setSize("100%", "100%");
+      table_.addSelectionChangedHandler(new SelectionChangedEvent.Handler()
+      {
+         @Override
+         public void onSelectionChanged(SelectionChangedEvent event)
+         {
+            ArrayList<Integer> indices = table_.getSelectedRowIndexes();
+            if (indices.isEmpty())
+               return;
+            selected_ = windowStart_ + indices.get(0);
+
+            // move the window if keyboard navigation has reached its edge
+            boolean nearStart = windowStart_ > 0 &&
+                                selected_ - windowStart_ < EDGE_ROWS;
+            boolean nearEnd = windowEnd_ < store_.size() &&
+                              windowEnd_ - selected_ <= EDGE_ROWS;
+            if (nearStart || nearEnd)
+               renderWindow(selected_ - WINDOW_ROWS / 2);
+         }
+      });
+
       scrollPanel_ = new ScrollPanel(table_);
       scrollPanel_.setSize("100%", "100%");
+      scrollPanel_.addScrollHandler(new ScrollHandler()
+      {
+         @Override
+         public void onScroll(ScrollEvent event)
+         {
+            updateWindow();
+         }
+      });
       container_.setWidget(scrollPanel_);
       return container_;
    }
@@ -222,39 +256,37 @@ public class FindOutputPane extends WorkbenchPane
    @Override
    public void addMatches(ArrayList<FindResult> findResults)
    {
-      int matchesToAdd = Math.min(findResults.size(), MAX_COUNT - matchCount_);
+      // results past the overflow message would leave a gap before them
+      if (overflow_)
+         return;
+
+      int matchesToAdd = Math.min(findResults.size(), MAX_COUNT - store_.size());
 
       if (matchesToAdd > 0)
       {
-         matchCount_ += matchesToAdd;
-
-         if (matchCount_ > 0 && container_.getWidget() != scrollPanel_)
-            container_.setWidget(scrollPanel_);
-
          if (!replaceMode_ || regexPreviewMode_)
             context_.addMatches(findResults.subList(0, matchesToAdd));
-         table_.addItems(findResults.subList(0, matchesToAdd), false);
+         showMatches(findResults.subList(0, matchesToAdd));
       }
 
-      if (matchCount_ >= MAX_COUNT)
+      if (store_.size() >= MAX_COUNT)
          showOverflow();
    }
 
    public void addReplaceMatches(String value)
    {
-      table_.clear();
-      matchCount_ = 0;
+      clearTable();
       context_.updateFileMatches(value);
-      addMatches(context_.getFindResults());
+      showMatches(context_.getFindResults());
+      updateWindow();
    }
 
    @Override
    public void clearMatches()
    {
       context_.reset();
-      table_.clear();
+      clearTable();
       overflow_ = false;
-      matchCount_ = 0;
       statusPanel_.setStatusText("");
       container_.setWidget(statusPanel_);
    }
@@ -262,14 +294,22 @@ public class FindOutputPane extends WorkbenchPane
    @Override
    public void showSearchCompleted()
    {
-      if (matchCount_ == 0)
+      if (store_.size() == 0)
          statusPanel_.setStatusText(constants_.noResultsFoundText());
    }
 
+   @Override
+   public void onResize()
+   {
+      super.onResize();
+      updateWindow();
+   }
+
    @Override
    public void onSelected()
    {
       super.onSelected();
+      updateWindow();
 
       if (!regexPreviewMode_)
       {
@@ -325,9 +365,7 @@ public class FindOutputPane extends WorkbenchPane
       if (overflow_)
          return;
       overflow_ = true;
-      ArrayList<FindResult> items = new ArrayList<>();
-      items.add(null);
-      table_.addItems(items, false);
+      renderOverflow();
    }
 
    @Override
@@ -493,6 +531,165 @@ public class FindOutputPane extends WorkbenchPane
          replaceProgress_.setVisible(false);
    }
 
+   private void showMatches(List<FindResult> findResults)
+   {
+      if (findResults.isEmpty())
+         return;
+
+      if (container_.getWidget() != scrollPanel_)
+         container_.setWidget(scrollPanel_);
+
+      List<String> files = store_.addAll(findResults);
+      for (String file : files)
+         codec_.updateFileCount(file);
+
+      // new results are rendered if the window has room for them; otherwise
+      // they're rendered when scrolled to
+      if (windowEnd_ - windowStart_ < WINDOW_ROWS)
+         appendToWindow(Math.min(store_.size(), windowStart_ + WINDOW_ROWS));
+      else
+         updateSpacers();
+   }
+
+   // Render WINDOW_ROWS results starting at the given one, with margins
+   // above and below the table standing in for the results that aren't
+   // rendered (as LineTableView does for large diffs).
+   private void renderWindow(int start)
+   {
+      start = Math.max(0, Math.min(start, store_.size() - WINDOW_ROWS));
+
+      table_.clear();
+      codec_.clearHeaders();
+      windowStart_ = start;
+      windowEnd_ = start;
+      overflowRendered_ = false;
+      appendToWindow(Math.min(store_.size(), start + WINDOW_ROWS));
+   }
+
+   private void appendToWindow(int end)
+   {
+      int start = windowEnd_;
+      if (end <= start)
+         return;
+
+      table_.addItems(store_.subList(start, end), false);
+      windowEnd_ = end;
+      renderOverflow();
+
+      if (selected_ >= start && selected_ < end)
+         table_.setSelected(selected_ - windowStart_, 1, true);
+
+      updateSpacers();
+   }
+
+   private void renderOverflow()
+   {
+      // the overflow message goes after the last result, so it has to wait
+      // until the last result has been rendered
+      if (!overflow_ || overflowRendered_ || windowEnd_ < store_.size())
+         return;
+
+      overflowRendered_ = true;
+      ArrayList<FindResult> items = new ArrayList<>();
+      items.add(null);
+      table_.addItems(items, false);
+   }
+
+   private void updateSpacers()
+   {
+      // measure what was rendered to estimate the height of the rest
+      int rows = windowEnd_ - windowStart_;
+      int renderedHeight = table_.getOffsetHeight();
+      if (renderedHeight > 0 && rows > 0)
+         rowHeight_ = (double) renderedHeight / rows;
+
+      setSpacers((int) (windowStart_ * rowHeight_),
+                 (int) ((store_.size() - windowEnd_) * rowHeight_));
+   }
+
+   private void setSpacers(int top, int bottom)
+   {
+      topSpacer_ = top;
+      table_.getElement().getStyle().setMarginTop(top, Unit.PX);
+      table_.getElement().getStyle().setMarginBottom(bottom, Unit.PX);
+   }
+
+   // Move the rendered window if the viewport is near (or past) its edges.
+   private void updateWindow()
+   {
+      // a hidden pane has no height, so there's nothing to measure
+      if (scrollPanel_ == null || scrollPanel_.getOffsetHeight() == 0)
+         return;
+
+      if (windowStart_ == 0 && windowEnd_ == store_.size())
+         return;
+
+      int viewTop = scrollPanel_.getVerticalScrollPosition();
+      int viewHeight = scrollPanel_.getOffsetHeight();
+      int renderedHeight = table_.getOffsetHeight();
+      boolean overlaps = viewTop < topSpacer_ + renderedHeight &&
+                         viewTop + viewHeight > topSpacer_;
+
+      int firstVisible;
+      if (overlaps)
+         firstVisible = windowStart_ + (int) ((viewTop - topSpacer_) / rowHeight_);
+      else
+         firstVisible = (int) (viewTop / rowHeight_);
+      firstVisible = Math.max(0, firstVisible);
+      int visibleRows = (int) Math.ceil(viewHeight / rowHeight_);
+
+      int slack = WINDOW_ROWS / 4;
+      boolean nearTop = windowStart_ > 0 && firstVisible - windowStart_ < slack;
+      boolean nearBottom = windowEnd_ < store_.size() &&
+                           windowEnd_ - (firstVisible + visibleRows) < slack;
+      if (!nearTop && !nearBottom)
+         return;
+
+      // keep a row that's on screen in the same place, so that differences
+      // between the estimated and actual row heights don't make the view jump
+      int anchor = -1;
+      int anchorOffset = 0;
+      if (overlaps)
+      {
+         anchor = Math.max(windowStart_, Math.min(firstVisible, windowEnd_ - 1));
+         anchorOffset = getRenderedRow(anchor).getAbsoluteTop() -
+                        scrollPanel_.getAbsoluteTop();
+      }
+
+      renderWindow(firstVisible - (WINDOW_ROWS - visibleRows) / 2);
+
+      if (anchor >= windowStart_ && anchor < windowEnd_)
+      {
+         int newOffset = getRenderedRow(anchor).getAbsoluteTop() -
+                         scrollPanel_.getAbsoluteTop();
+         if (newOffset != anchorOffset)
+         {
+            scrollPanel_.setVerticalScrollPosition(
+                  scrollPanel_.getVerticalScrollPosition() + newOffset - anchorOffset);
+         }
+      }
+   }
+
+   // the table row for a result in the window (past any file header rows)
+   private TableRowElement getRenderedRow(int index)
+   {
+      TableElement table = table_.getElement().cast();
+      int row = codec_.logicalOffsetToPhysicalOffset(table, index - windowStart_);
+      return table.getRows().getItem(row);
+   }
+
+   private void clearTable()
+   {
+      table_.clear();
+      codec_.clearHeaders();
+      store_.clear();
+      windowStart_ = 0;
+      windowEnd_ = 0;
+      selected_ = -1;
+      overflowRendered_ = false;
+      setSpacers(0, 0);
+   }
+
    private void createDisplayPreview()
    {
       displayPreview_ = new DebouncedCommand(500)
@@ -533,7 +730,9 @@ public class FindOutputPane extends WorkbenchPane
    }
 
    private FastSelectTable<FindResult, CodeNavigationTarget, Object> table_;
+   private FindOutputCodec codec_;
    private FindResultContext context_;
+   private final FindResultStore store_ = new FindResultStore();
    private final Commands commands_;
    private final EventBus eventBus_;
    private Label searchLabel_;
@@ -543,7 +742,14 @@ public class FindOutputPane extends WorkbenchPane
    private ScrollPanel scrollPanel_;
    private StatusPanel statusPanel_;
    private boolean overflow_ = false;
-   private int matchCount_;
+   private boolean overflowRendered_ = false;
+
+   // Only a window of the results is rendered (see renderWindow)
+   private int windowStart_ = 0;
+   private int windowEnd_ = 0;
+   private int selected_ = -1;
+   private double rowHeight_ = DEFAULT_ROW_HEIGHT;
+   private int topSpacer_ = 0;
 
    private LeftRightToggleButton showFindButton_;
    private LeftRightToggleButton showReplaceButton_;
@@ -560,6 +766,10 @@ public class FindOutputPane extends WorkbenchPane
    private DebouncedCommand displayPreview_;
 
    // This must be the same as MAX_COUNT in SessionFind.cpp
-   private static final int MAX_COUNT = 1000;
+   static final int MAX_COUNT = 50000;
+
+   private static final int WINDOW_ROWS = 600;
+   private static final int EDGE_ROWS = 20;
+   private static final double DEFAULT_ROW_HEIGHT = 18;
    private static final OutputConstants constants_ = GWT.create(OutputConstants.class);
 }
@@ -479,6 +479,8 @@ public class FindOutputPresenter extends BasePresenter
       currentFindHandle_ = state.getHandle();
       view_.clearMatches();
       view_.addMatches(state.getResults().toArrayList());
+      if (state.isTruncated())
+         view_.showOverflow();
 
       updateSearchLabel(state.getInput(), state.getPath(), state.isWholeWord(), state.isRegex());
 
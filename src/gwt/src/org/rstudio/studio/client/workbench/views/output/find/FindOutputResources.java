@@ -24,6 +24,7 @@ public interface FindOutputResources extends ClientBundle
       String findOutput();
       String findOutputReplace();
       String headerRow();
+      String headerCount();
       String line();
       String lineValue();
       String selectedRow();
@@ -0,0 +1,91 @@
+/*
+ * FindResultStore.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.output.find;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.rstudio.studio.client.workbench.views.output.find.model.FindResult;
+
+// The results shown in the find output pane, in the order they arrived,
+// along with the number of matching lines in each file. The pane only
+// renders rows as they're scrolled into view, so this is the one place
+// that holds the full result set.
+public class FindResultStore
+{
+   /**
+    * Add a batch of results.
+    *
+    * @return The files that had results added, in the order they first
+    *    appear in the batch.
+    */
+   public List<String> addAll(List<FindResult> results)
+   {
+      List<String> files = new ArrayList<>();
+      String lastFile = null;
+      for (FindResult result : results)
+      {
+         results_.add(result);
+
+         String file = result.getFile();
+         Integer count = fileCounts_.get(file);
+         fileCounts_.put(file, count == null ? 1 : count + 1);
+
+         // results are grouped by file, so this is almost always enough to
+         // keep the list free of duplicates
+         if (!file.equals(lastFile) && !files.contains(file))
+            files.add(file);
+         lastFile = file;
+      }
+      return files;
+   }
+
+   public void clear()
+   {
+      results_.clear();
+      fileCounts_.clear();
+   }
+
+   public int size()
+   {
+      return results_.size();
+   }
+
+   public FindResult get(int index)
+   {
+      return results_.get(index);
+   }
+
+   public List<FindResult> subList(int fromIndex, int toIndex)
+   {
+      return results_.subList(fromIndex, toIndex);
+   }
+
+   public int getFileCount()
+   {
+      return fileCounts_.size();
+   }
+
+   // number of matching lines in the given file
+   public int getCountForFile(String file)
+   {
+      Integer count = fileCounts_.get(file);
+      return count == null ? 0 : count;
+   }
+
+   private final ArrayList<FindResult> results_ = new ArrayList<>();
+   private final HashMap<String, Integer> fileCounts_ = new HashMap<>();
+}
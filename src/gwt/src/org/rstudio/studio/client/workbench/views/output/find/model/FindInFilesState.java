@@ -38,6 +38,11 @@ public class FindInFilesState extends JavaScriptObject
       return this.results;
    }-*/;
 
+   // true if the session only kept the first of the results
+   public native final boolean isTruncated() /*-{
+      return !!this.truncated;
+   }-*/;
+
    public native final boolean isRunning() /*-{
       return this.running;
    }-*/;
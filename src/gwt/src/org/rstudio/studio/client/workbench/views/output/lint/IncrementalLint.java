@@ -0,0 +1,236 @@
+/*
+ * IncrementalLint.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.output.lint;
+
+import org.rstudio.studio.client.workbench.views.output.lint.model.LintItem;
+
+import com.google.gwt.core.client.JsArray;
+
+// The lint for a document as of its last lint, kept in step with the edits
+// made since: lint below an edit moves with the rows it belongs to, and the
+// edited rows are remembered as "dirty". The next lint then only needs to
+// cover the dirty rows, and its results are merged with the lint kept for
+// the rest of the document.
+//
+// Linting part of a document can miss problems that span the region's
+// boundaries, so after a number of partial lints the whole document is
+// linted again.
+public class IncrementalLint
+{
+   public IncrementalLint()
+   {
+      this(DEFAULT_MAX_PARTIAL_LINTS);
+   }
+
+   public IncrementalLint(int maxPartialLints)
+   {
+      maxPartialLints_ = maxPartialLints;
+   }
+
+   /**
+    * Record the lint for the whole document.
+    */
+   public void setLint(JsArray<LintItem> lint)
+   {
+      lint_ = copy(lint);
+
+      dirtyStart_ = -1;
+      dirtyEnd_ = -1;
+      partialLints_ = 0;
+   }
+
+   public void reset()
+   {
+      lint_ = null;
+      dirtyStart_ = -1;
+      dirtyEnd_ = -1;
+   }
+
+   /**
+    * Called when text is inserted; rows after the start row move down.
+    */
+   public void onInsert(int startRow, int endRow)
+   {
+      generation_++;
+      int delta = endRow - startRow;
+      if (lint_ != null && delta > 0)
+      {
+         for (int i = 0; i < lint_.length(); i++)
+         {
+            LintItem item = lint_.get(i);
+            item.setStartRow(shiftForInsert(item.getStartRow(), startRow, delta));
+            item.setEndRow(shiftForInsert(item.getEndRow(), startRow, delta));
+         }
+      }
+
+      if (isDirty())
+      {
+         dirtyStart_ = shiftForInsert(dirtyStart_, startRow, delta);
+         dirtyEnd_ = shiftForInsert(dirtyEnd_, startRow, delta);
+      }
+      markDirty(startRow, endRow);
+   }
+
+   /**
+    * Called when text is removed; rows after the end row move up.
+    */
+   public void onRemove(int startRow, int endRow)
+   {
+      generation_++;
+      int delta = endRow - startRow;
+      if (lint_ != null && delta > 0)
+      {
+         for (int i = 0; i < lint_.length(); i++)
+         {
+            LintItem item = lint_.get(i);
+            item.setStartRow(shiftForRemove(item.getStartRow(), startRow, endRow));
+            item.setEndRow(shiftForRemove(item.getEndRow(), startRow, endRow));
+         }
+      }
+
+      if (isDirty())
+      {
+         dirtyStart_ = shiftForRemove(dirtyStart_, startRow, endRow);
+         dirtyEnd_ = shiftForRemove(dirtyEnd_, startRow, endRow);
+      }
+      markDirty(startRow, startRow);
+   }
+
+   /**
+    * Whether only the dirty rows need to be linted.
+    */
+   public boolean canLintPartially()
+   {
+      return lint_ != null && isDirty() && partialLints_ < maxPartialLints_;
+   }
+
+   public boolean isDirty()
+   {
+      return dirtyStart_ >= 0;
+   }
+
+   public int getDirtyStart()
+   {
+      return dirtyStart_;
+   }
+
+   public int getDirtyEnd()
+   {
+      return dirtyEnd_;
+   }
+
+   // changes with every edit; a partial lint is only merged if there have
+   // been no edits since it was requested
+   public int getGeneration()
+   {
+      return generation_;
+   }
+
+   /**
+    * Replace the lint for some rows with the result of linting just those
+    * rows.
+    *
+    * @param startRow The first row linted; should include the dirty rows
+    * @param endRow The last row linted
+    * @param regionLint The lint for those rows, with rows counted from
+    *    startRow
+    * @return The lint for the whole document; a copy that the caller is
+    *    free to add to
+    */
+   public JsArray<LintItem> merge(int startRow, int endRow, JsArray<LintItem> regionLint)
+   {
+      JsArray<LintItem> merged = JsArray.createArray().cast();
+
+      // keep the lint above and below the region, in document order
+      for (int i = 0; i < lint_.length(); i++)
+      {
+         if (lint_.get(i).getEndRow() < startRow)
+            merged.push(lint_.get(i));
+      }
+
+      // drop anything reported outside the rows that were linted
+      for (int i = 0; i < regionLint.length(); i++)
+      {
+         LintItem item = regionLint.get(i);
+         int itemStart = item.getStartRow() + startRow;
+         int itemEnd = item.getEndRow() + startRow;
+         if (itemStart < startRow || itemEnd > endRow)
+            continue;
+         
+         item.setStartRow(itemStart);
+         item.setEndRow(itemEnd);
+         merged.push(item);
+      }
+
+      for (int i = 0; i < lint_.length(); i++)
+      {
+         if (lint_.get(i).getStartRow() > endRow)
+            merged.push(lint_.get(i));
+      }
+
+      lint_ = merged;
+      dirtyStart_ = -1;
+      dirtyEnd_ = -1;
+      partialLints_++;
+      return copy(merged);
+   }
+
+   private static JsArray<LintItem> copy(JsArray<LintItem> lint)
+   {
+      JsArray<LintItem> result = JsArray.createArray().cast();
+      for (int i = 0; i < lint.length(); i++)
+         result.push(lint.get(i));
+      return result;
+   }
+
+   private void markDirty(int startRow, int endRow)
+   {
+      if (!isDirty())
+      {
+         dirtyStart_ = startRow;
+         dirtyEnd_ = endRow;
+      }
+      else
+      {
+         dirtyStart_ = Math.min(dirtyStart_, startRow);
+         dirtyEnd_ = Math.max(dirtyEnd_, endRow);
+      }
+   }
+
+   private static int shiftForInsert(int row, int startRow, int delta)
+   {
+      return row > startRow ? row + delta : row;
+   }
+
+   private static int shiftForRemove(int row, int startRow, int endRow)
+   {
+      if (row > endRow)
+         return row - (endRow - startRow);
+      else if (row > startRow)
+         return startRow;
+      else
+         return row;
+   }
+
+   private final int maxPartialLints_;
+
+   private JsArray<LintItem> lint_;
+   private int dirtyStart_ = -1;
+   private int dirtyEnd_ = -1;
+   private int partialLints_ = 0;
+   private int generation_ = 0;
+
+   private static final int DEFAULT_MAX_PARTIAL_LINTS = 10;
+}
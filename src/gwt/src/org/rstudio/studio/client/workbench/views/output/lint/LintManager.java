@@ -19,6 +19,7 @@ import java.util.List;
 import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.Invalidation;
 import org.rstudio.core.client.StringUtil;
+import org.rstudio.core.client.metrics.MetricsRegistry;
 import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.application.events.EventBus;
 import org.rstudio.studio.client.common.RetinaStyleInjector;
@@ -34,6 +35,8 @@ import org.rstudio.studio.client.workbench.views.presentation.events.SourceFileS
 import org.rstudio.studio.client.workbench.views.source.editors.text.AceEditor;
 import org.rstudio.studio.client.workbench.views.source.editors.text.AceEditor.EditorBehavior;
 import org.rstudio.studio.client.workbench.views.source.editors.text.DocDisplay;
+import org.rstudio.studio.client.workbench.views.source.editors.text.Scope;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceDocumentChangeEventNative;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceEditorNative;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Position;
 import org.rstudio.studio.client.workbench.views.source.editors.text.cpp.CppCompletionContext;
@@ -133,6 +136,19 @@ public class LintManager
          }
       };
 
+      // Keep the last lint in step with edits, so that background lint only
+      // needs to cover the edited rows
+      releaseOnDismiss.add(docDisplay_.addDocumentChangedHandler(event ->
+      {
+         AceDocumentChangeEventNative change = event.getEvent();
+         int startRow = change.start.getRow();
+         int endRow = change.end.getRow();
+         if (StringUtil.equals(change.getAction(), "insert"))
+            incremental_.onInsert(startRow, endRow);
+         else
+            incremental_.onRemove(startRow, endRow);
+      }));
+
       // Background linting
       docDisplay_.addValueChangeHandler(new ValueChangeHandler<Void>()
       {
@@ -223,7 +239,10 @@ public class LintManager
       if (userPrefs_.showDiagnosticsCpp().getValue() && (source_.getTextFileType().isCpp() || source_.getTextFileType().isC()))
          performCppLintServerRequest(context);
       else if (userPrefs_.showDiagnosticsR().getValue() && (source_.getTextFileType().isR() || source_.getTextFileType().isRmd()))
-         performRLintServerRequest(context);
+      {
+         if (!lintPartially(context))
+            performRLintServerRequest(context);
+      }
       else if (userPrefs_.showDiagnosticsYaml().getValue() && (source_.getTextFileType().isYaml()))
          performYamlLintRequest(context);
       else if (userPrefs_.realTimeSpellchecking().getValue())
@@ -257,6 +276,7 @@ public class LintManager
                         StringUtil.notNull(source_.getCode()),
                         context.showMarkers,
                         context.explicit,
+                        false,
                         new ServerRequestCallback<JsArray<LintItem>>()
                         {
                            @Override
@@ -293,13 +313,14 @@ public class LintManager
 
    private void performRLintServerRequest(final LintContext context)
    {
-
+      final int generation = incremental_.getGeneration();
       server_.lintRSourceDocument(
             source_.getId(),
             source_.getPath(),
             StringUtil.notNull(source_.getCode()),
             context.showMarkers,
             context.explicit,
+            false,
             new ServerRequestCallback<JsArray<LintItem>>()
             {
                @Override
@@ -308,6 +329,12 @@ public class LintManager
                   if (context.token.isInvalid())
                      return;
                   
+                  FULL_LINTS.increment();
+                  if (generation == incremental_.getGeneration())
+                     incremental_.setLint(lint);
+                  else
+                     incremental_.reset();
+                  
                   // lint yaml for rmd files and R chunks within rmd files
                   boolean isRmd = docDisplay_.getFileType().isRmd();
                   boolean isRmdRChunk = docDisplay_.getEditorBehavior().equals(EditorBehavior.AceBehaviorEmbedded) &&
@@ -337,6 +364,122 @@ public class LintManager
             });
    }
    
+   // Lint just the top-level expressions that have been edited since the
+   // last lint, keeping the lint for the rest of the document. Only used for
+   // background lint of R scripts; returns false if the whole document
+   // should be linted instead.
+   private boolean lintPartially(final LintContext context)
+   {
+      if (context.showMarkers || context.explicit)
+         return false;
+      
+      if (!docDisplay_.getFileType().isR() ||
+          docDisplay_.getEditorBehavior().equals(EditorBehavior.AceBehaviorEmbedded))
+         return false;
+      
+      if (!incremental_.canLintPartially())
+         return false;
+      
+      // a fragment doesn't see the symbols defined in the rest of the
+      // document, so it can't tell whether a symbol is in scope
+      if (userPrefs_.warnIfNoSuchVariableInScope().getValue())
+         return false;
+      
+      int rowCount = docDisplay_.getRowCount();
+      int startRow = Math.min(incremental_.getDirtyStart(), rowCount - 1);
+      int endRow = Math.min(incremental_.getDirtyEnd(), rowCount - 1);
+      if (!docDisplay_.isScopeTreeReady(endRow))
+         return false;
+      
+      // widen the region to the top-level scopes it touches, and then to the
+      // blank lines around it, so that it holds whole expressions
+      int[] region = expandToScopes(docDisplay_.getScopeTree(), startRow, endRow);
+      startRow = region[0];
+      endRow = Math.min(region[1], rowCount - 1);
+      while (startRow > 0 && !isBlankRow(startRow - 1))
+         startRow--;
+      while (endRow < rowCount - 1 && !isBlankRow(endRow + 1))
+         endRow++;
+      
+      if (endRow - startRow + 1 > rowCount * MAX_PARTIAL_LINT_FRACTION)
+         return false;
+      
+      StringBuilder code = new StringBuilder();
+      for (int row = startRow; row <= endRow; row++)
+         code.append(docDisplay_.getLine(row)).append('\n');
+      
+      final int regionStart = startRow;
+      final int regionEnd = endRow;
+      final int generation = incremental_.getGeneration();
+      PARTIAL_LINTS.increment();
+      server_.lintRSourceDocument(
+            source_.getId(),
+            source_.getPath(),
+            code.toString(),
+            false,
+            false,
+            true,
+            new ServerRequestCallback<JsArray<LintItem>>()
+            {
+               @Override
+               public void onResponseReceived(JsArray<LintItem> lint)
+               {
+                  if (context.token.isInvalid())
+                     return;
+                  
+                  // the document changed while we were linting; the edit
+                  // will schedule another lint
+                  if (generation != incremental_.getGeneration())
+                     return;
+                  
+                  showLint(context, incremental_.merge(regionStart, regionEnd, lint));
+               }
+               
+               @Override
+               public void onError(ServerError error)
+               {
+                  Debug.logError(error);
+               }
+            });
+      
+      return true;
+   }
+   
+   private static int[] expandToScopes(JsArray<Scope> scopes, int startRow, int endRow)
+   {
+      int[] region = new int[] { startRow, endRow };
+      if (scopes == null)
+         return region;
+      
+      for (int i = 0; i < scopes.length(); i++)
+      {
+         Scope scope = scopes.get(i);
+         
+         // sections and chunks hold many expressions; look inside them
+         if (scope.isSection() || scope.isChunk())
+         {
+            int[] inner = expandToScopes(scope.getChildren(), region[0], region[1]);
+            region[0] = inner[0];
+            region[1] = inner[1];
+            continue;
+         }
+         
+         int scopeStart = scope.getPreamble().getRow();
+         int scopeEnd = scope.getEnd() == null ? Integer.MAX_VALUE : scope.getEnd().getRow();
+         if (scopeStart <= region[1] && scopeEnd >= region[0])
+         {
+            region[0] = Math.min(region[0], scopeStart);
+            region[1] = Math.max(region[1], scopeEnd);
+         }
+      }
+      return region;
+   }
+   
+   private boolean isBlankRow(int row)
+   {
+      return StringUtil.isNullOrEmpty(StringUtil.trimRight(docDisplay_.getLine(row)));
+   }
+   
    private void performYamlLintRequest(final LintContext context)
    {
       yamlLinter_.getLint(context.explicit, lint -> {
@@ -354,21 +497,15 @@ public class LintManager
       if (docDisplay_.isPopupVisible())
          return;
 
-      JsArray<LintItem> finalLint;
-
-      // Filter out items at the last cursor position, if the cursor hasn't moved.
+      // Filter out items at the last cursor position, if the cursor hasn't
+      // moved. This always makes a new array, since spelling lint is added
+      // to it and the caller may still be holding on to 'lint'.
+      Position exclude = null;
       if (context.excludeCurrentStatement && docDisplay_.getCursorPosition().isEqualTo(context.cursorPosition))
-      {
-         finalLint = JsArray.createArray().cast();
-         Position pos = context.cursorPosition;
-         for (int i = 0; i < lint.length(); i++)
-            if (!lint.get(i).asRange().contains(pos))
-               finalLint.push(lint.get(i));
-      }
-      else
-      {
-         finalLint = lint;
-      }
+         exclude = context.cursorPosition;
+
+      JsArray<LintItem> finalLint = JsArray.createArray().cast();
+      appendLint(finalLint, lint, exclude);
 
       if (spellcheck && userPrefs_.realTimeSpellchecking().getValue())
       {
@@ -377,8 +514,7 @@ public class LintManager
             @Override
             public void onResponseReceived(JsArray<LintItem> response)
             {
-               for (int i = 0; i < response.length(); i++)
-                  finalLint.push(response.get(i));
+               appendLint(finalLint, response, null);
 
                source_.showLint(finalLint);
             }
@@ -396,6 +532,24 @@ public class LintManager
       }
    }
 
+   /**
+    * Append lint items to another set of lint.
+    *
+    * @param target The lint to append to
+    * @param lint The items to append
+    * @param exclude If not null, items containing this position are skipped
+    */
+   static void appendLint(JsArray<LintItem> target,
+                          JsArray<LintItem> lint,
+                          Position exclude)
+   {
+      for (int i = 0; i < lint.length(); i++)
+      {
+         if (exclude == null || !lint.get(i).asRange().contains(exclude))
+            target.push(lint.get(i));
+      }
+   }
+
    /**
     * Schedule a lint operation.
     *
@@ -453,11 +607,21 @@ public class LintManager
    }-*/;
 
    public final static int DEFAULT_LINT_DELAY = -1;
+   
+   // lint the whole document if the edited region is larger than this
+   // fraction of it
+   private static final double MAX_PARTIAL_LINT_FRACTION = 0.5;
+   
+   private static final MetricsRegistry.Counter FULL_LINTS =
+         MetricsRegistry.get().counter("lint.full");
+   private static final MetricsRegistry.Counter PARTIAL_LINTS =
+         MetricsRegistry.get().counter("lint.partial");
 
    private final Timer timer_;
    private final LintSource source_;
    private final DocDisplay docDisplay_;
    private final Invalidation invalidation_;
+   private final IncrementalLint incremental_ = new IncrementalLint();
    
    private boolean explicit_;
    private boolean showMarkers_;
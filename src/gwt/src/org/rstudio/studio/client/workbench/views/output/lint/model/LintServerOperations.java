@@ -27,6 +27,7 @@ public interface LintServerOperations
                             String content,
                             boolean showMarkersPane,
                             boolean explicit,
+                            boolean partial,
                             ServerRequestCallback<JsArray<LintItem>> requestCallback);
    
    void getCppDiagnostics(
@@ -36,6 +36,7 @@ import org.rstudio.core.client.widget.ToolbarMenuButton;
 import org.rstudio.core.client.widget.ToolbarPopupMenu;
 import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.application.events.EventBus;
+import org.rstudio.studio.client.common.DelayLoadCallback;
 import org.rstudio.studio.client.common.GlobalDisplay;
 import org.rstudio.studio.client.common.SuperDevMode;
 import org.rstudio.studio.client.packrat.model.PackratContext;
@@ -57,7 +58,7 @@ import org.rstudio.studio.client.workbench.views.packages.ui.PackagesDataGridRes
 
 import com.google.gwt.cell.client.AbstractCell;
 import com.google.gwt.cell.client.FieldUpdater;
-import com.google.gwt.core.shared.GWT;
+import com.google.gwt.core.client.GWT;
 import com.google.gwt.dom.builder.shared.TableCellBuilder;
 import com.google.gwt.dom.builder.shared.TableRowBuilder;
 import com.google.gwt.dom.client.Style.Unit;
@@ -133,11 +134,18 @@ public class PackagesPane extends WorkbenchPane implements Packages.Display
                               GlobalDisplay globalDisplay,
                               OperationWithInput<PackageInstallRequest> operation)
    {
-      new InstallPackageDialog(installContext,
-                               defaultInstallOptions,
-                               server, 
-                               globalDisplay, 
-                               operation).showModal();
+      GWT.runAsync(InstallPackageDialog.class, new DelayLoadCallback()
+      {
+         @Override
+         public void onSuccess()
+         {
+            new InstallPackageDialog(installContext,
+                                     defaultInstallOptions,
+                                     server,
+                                     globalDisplay,
+                                     operation).showModal();
+         }
+      });
    }
    
    @Override
@@ -0,0 +1,130 @@
+/*
+ * PlotSizeCache.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.plots;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.rstudio.core.client.Size;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+// The images rendered for each plot at the sizes the plots pane has had
+// recently, so that returning to a size (e.g. switching pane layouts back and
+// forth, or zooming the pane) can show the right image straight away rather
+// than a stretched one. Plot images have unique names and the browser caches
+// them, so an image stays displayable after the server has replaced it.
+//
+// Sizes are rounded to buckets, since the pane and the server don't always
+// agree on the exact size (the server may round the size of some devices).
+// Each plot keeps only its most recently used sizes.
+//
+// The cache also knows which plot is current, so that when the pane changes
+// to a size the current plot has been rendered at, the server can be asked
+// not to render it again.
+@Singleton
+public class PlotSizeCache
+{
+   @Inject
+   public PlotSizeCache()
+   {
+      this(DEFAULT_MAX_SIZES);
+   }
+
+   public PlotSizeCache(int maxSizesPerPlot)
+   {
+      maxSizes_ = Math.max(1, maxSizesPerPlot);
+   }
+
+   public void put(int plot, Size size, double pixelRatio, String url)
+   {
+      LinkedHashMap<String, String> urls = urls_.get(plot);
+      if (urls == null)
+      {
+         urls = new LinkedHashMap<String, String>(16, 0.75f, true)
+         {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest)
+            {
+               return size() > maxSizes_;
+            }
+         };
+         urls_.put(plot, urls);
+      }
+      urls.put(key(size, pixelRatio), url);
+   }
+
+   /**
+    * @return The image for the plot at (about) the given size, or null if
+    *    there isn't one
+    */
+   public String get(int plot, Size size, double pixelRatio)
+   {
+      LinkedHashMap<String, String> urls = urls_.get(plot);
+      return urls == null ? null : urls.get(key(size, pixelRatio));
+   }
+
+   public void setCurrentPlot(int plot)
+   {
+      currentPlot_ = plot;
+   }
+
+   /**
+    * @return Whether there's an image of the current plot at (about) the
+    *    given size
+    */
+   public boolean hasCurrentPlot(Size size, double pixelRatio)
+   {
+      return currentPlot_ >= 0 && get(currentPlot_, size, pixelRatio) != null;
+   }
+
+   /**
+    * Forget the images for a plot whose contents have changed.
+    */
+   public void invalidate(int plot)
+   {
+      urls_.remove(plot);
+   }
+
+   public void clear()
+   {
+      urls_.clear();
+   }
+
+   public int size(int plot)
+   {
+      LinkedHashMap<String, String> urls = urls_.get(plot);
+      return urls == null ? 0 : urls.size();
+   }
+
+   public static int bucket(int pixels)
+   {
+      return (pixels + BUCKET_PX / 2) / BUCKET_PX;
+   }
+
+   private static String key(Size size, double pixelRatio)
+   {
+      return bucket(size.width) + "x" + bucket(size.height) + "@" + pixelRatio;
+   }
+
+   private final int maxSizes_;
+   private int currentPlot_ = -1;
+   private final HashMap<Integer, LinkedHashMap<String, String>> urls_ = new HashMap<>();
+
+   private static final int BUCKET_PX = 8;
+   private static final int DEFAULT_MAX_SIZES = 4;
+}
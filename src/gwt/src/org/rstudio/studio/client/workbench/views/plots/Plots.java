@@ -30,6 +30,7 @@ import org.rstudio.core.client.Point;
 import org.rstudio.core.client.Size;
 import org.rstudio.core.client.dom.WindowEx;
 import org.rstudio.core.client.files.FileSystemItem;
+import org.rstudio.core.client.metrics.MetricsRegistry;
 import org.rstudio.core.client.widget.HasCustomizableToolbar;
 import org.rstudio.core.client.widget.OperationWithInput;
 import org.rstudio.core.client.widget.ProgressIndicator;
@@ -97,7 +98,8 @@ public class Plots extends BasePresenter implements PlotsChangedEvent.Handler,
                 Commands commands,
                 EventBus events,
                 final PlotsServerOperations server,
-                Session session)
+                Session session,
+                PlotSizeCache sizeCache)
    {
       super(view);
       view_ = view;
@@ -106,6 +108,7 @@ public class Plots extends BasePresenter implements PlotsChangedEvent.Handler,
       userState_ = userState;
       server_ = server;
       session_ = session;
+      sizeCache_ = sizeCache;
       exportPlot_ = GWT.create(ExportPlot.class);
       zoomWindow_ = null;
       zoomWindowDefaultSize_ = null;
@@ -155,6 +158,10 @@ public class Plots extends BasePresenter implements PlotsChangedEvent.Handler,
          }
       );
 
+      // show a plot we've already rendered at the pane's new size, if any
+      // (Workbench then asks the server not to render it again)
+      view_.addResizeHandler(event -> showCachedPlot());
+
       events.addHandler(DeferredInitCompletedEvent.TYPE, this);
       events.addHandler(PlotsZoomSizeChangedEvent.TYPE, this);
 }
@@ -176,11 +183,13 @@ public class Plots extends BasePresenter implements PlotsChangedEvent.Handler,
       if (plotsState.getFilename().startsWith("empty."))
       {
          view_.showEmptyPlot();
+         updateSizeCache(plotsState, null);
       }
       else
       {
          String url = server_.getGraphicsUrl(plotsState.getFilename());
          view_.showPlot(url);
+         updateSizeCache(plotsState, url);
       }
 
       // activate the plots tab if requested
@@ -545,6 +554,44 @@ public class Plots extends BasePresenter implements PlotsChangedEvent.Handler,
       zoomWindowDefaultSize_ = new Size(event.getWidth(), event.getHeight());
    }
 
+   private void updateSizeCache(PlotsState plotsState, String url)
+   {
+      Size size = new Size(plotsState.getWidth(), plotsState.getHeight());
+      int index = plotsState.getPlotIndex();
+
+      // plots were added or removed, so the indexes may refer to other plots
+      if (plotsState.getPlotCount() != plotCount_)
+         sizeCache_.clear();
+
+      // the plot was drawn again at the same size, so its contents changed
+      else if (index == plotIndex_ && size.equals(plotSize_))
+         sizeCache_.invalidate(index);
+
+      plotIndex_ = index;
+      plotCount_ = plotsState.getPlotCount();
+      sizeCache_.setCurrentPlot(index);
+
+      if (url != null)
+         sizeCache_.put(index, size, BrowseCap.devicePixelRatio(), url);
+   }
+
+   private void showCachedPlot()
+   {
+      if (plotIndex_ < 0)
+         return;
+
+      Size size = view_.getPlotFrameSize();
+      if (size.isEmpty())
+         return;
+
+      String url = sizeCache_.get(plotIndex_, size, BrowseCap.devicePixelRatio());
+      if (url != null && !url.equals(view_.getPlotUrl()))
+      {
+         SIZE_CACHE_HITS.increment();
+         view_.showPlot(url);
+      }
+   }
+
    private Size getPlotSize()
    {
       // NOTE: the reason we capture the plotSize_ from the PlotChangedEvent
@@ -595,11 +642,16 @@ public class Plots extends BasePresenter implements PlotsChangedEvent.Handler,
    private final ManipulatorManager manipulatorManager_;
    private WindowEx zoomWindow_;
    private Size zoomWindowDefaultSize_;
+   private final PlotSizeCache sizeCache_;
+   private int plotIndex_ = -1;
+   private int plotCount_ = -1;
 
    // export plot impl
    private final ExportPlot exportPlot_;
 
    // size of most recently rendered plot
    Size plotSize_ = null;
+   private static final MetricsRegistry.Counter SIZE_CACHE_HITS =
+         MetricsRegistry.get().counter("plots.size_cache_hits");
    private static final PlotsConstants constants_ = com.google.gwt.core.client.GWT.create(PlotsConstants.class);
 }
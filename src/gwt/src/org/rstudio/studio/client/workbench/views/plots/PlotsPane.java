@@ -118,6 +118,10 @@ public class PlotsPane extends WorkbenchPane implements Plots.Display,
       frame_.setMarginHeight(0);
       frame_.setUrl("about:blank");
       frame_.setSize("100%", "100%");
+
+      // while the pane is being resized, the plot is scaled to fit until
+      // the server renders it at the new size
+      frame_.setPreserveAspectRatio(true);
       ElementIds.assignElementId(frame_.getElement(),
                                  ElementIds.PLOT_IMAGE_FRAME);
 
@@ -19,6 +19,7 @@ import org.rstudio.studio.client.RStudioGinjector;
 import org.rstudio.studio.client.application.ApplicationUncaughtExceptionHandler;
 import org.rstudio.studio.client.common.satellite.Satellite;
 import org.rstudio.studio.client.common.satellite.SatelliteApplication;
+import org.rstudio.studio.client.common.satellite.SatelliteEventTopics;
 import org.rstudio.studio.client.workbench.commands.Commands;
 import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.source.editors.text.themes.AceThemes;
@@ -49,5 +50,16 @@ public class SourceSatellite extends SatelliteApplication
       initialize(name_, view, satellite, pAceThemes, pUserPrefs, exHandler, commands);
    }
    
+   // console output is needed for inline chunk output; the main window's
+   // panes (plots, environment, build, etc.) aren't hosted here
+   @Override
+   protected String[] getEventTopics()
+   {
+      return new String[] {
+         SatelliteEventTopics.CONSOLE,
+         SatelliteEventTopics.PROCESS_OUTPUT
+      };
+   }
+
    private final String name_;
 }
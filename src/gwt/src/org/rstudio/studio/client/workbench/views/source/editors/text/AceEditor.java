@@ -81,6 +81,7 @@ import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceBack
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceClickEvent.Handler;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceCommand;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceCommandManager;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceDocumentChangeEventNative;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceEditorBackgroundLinkHighlighter;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceEditorCommandEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceEditorNative;
@@ -1431,6 +1432,16 @@ public class AceEditor implements DocDisplay,
       return getSession().getLines(startRow, endRow);
    }
 
+   public String getNewLineCharacter()
+   {
+      return getSession().getDocument().getNewLineCharacter();
+   }
+
+   public String getChecksum()
+   {
+      return getSession().getDocument().getChecksum();
+   }
+
    public void focus()
    {
       widget_.getEditor().focus();
@@ -3498,6 +3509,11 @@ public class AceEditor implements DocDisplay,
       return widget_.addHandler(handler, DocumentChangedEvent.TYPE);
    }
 
+   public HandlerRegistration addDocumentChangeListener(CommandWithArg<AceDocumentChangeEventNative> listener)
+   {
+      return getSession().getDocument().addChangeHandler(listener);
+   }
+
    public HandlerRegistration addCapturingKeyDownHandler(KeyDownHandler handler)
    {
       return widget_.addCapturingKeyDownHandler(handler);
@@ -4694,54 +4710,57 @@ public class AceEditor implements DocDisplay,
       widget_.getEditor().removeGhostText();
    }
 
-   private static class BackgroundTokenizer
+   private static class BackgroundTokenizer implements ScopeTreeScheduler.Parser
    {
       public BackgroundTokenizer(final AceEditor editor)
       {
          editor_ = editor;
-
-         timer_ = new Timer()
-         {
-            @Override
-            public void run()
-            {
-               // Stop our timer if we've tokenized up to the end of the document.
-               if (row_ >= editor_.getRowCount())
-               {
-                  editor_.fireEvent(new ScopeTreeReadyEvent(
-                        editor_.getScopeTree(),
-                        editor_.getCurrentScope()));
-                  return;
-               }
-
-               row_ += ROWS_TOKENIZED_PER_ITERATION;
-               row_ = Math.max(row_, editor.buildScopeTreeUpToRow(row_));
-               timer_.schedule(DELAY_MS);
-            }
-         };
+         scheduler_ = new ScopeTreeScheduler(this);
 
          editor_.addDocumentChangedHandler(event ->
          {
             if (editor_.hasCodeModelScopeTree())
-            {
-               row_ = event.getEvent().getRange().getStart().getRow();
-               timer_.schedule(DELAY_MS);
-            }
+               scheduler_.invalidateFrom(event.getEvent().getRange().getStart().getRow());
          });
+
+         // build rows scrolled into view (or jumped to) ahead of the rest
+         editor_.addScrollYHandler(event -> scheduler_.onPriorityRowChanged());
+         editor_.addCursorChangedHandler(event -> scheduler_.onPriorityRowChanged());
       }
 
       public boolean isReady(int row)
       {
-         return row < row_;
+         return scheduler_.isReady(row);
       }
 
-      private final AceEditor editor_;
-      private final Timer timer_;
+      @Override
+      public int getRowCount()
+      {
+         return editor_.getRowCount();
+      }
 
-      private int row_ = 0;
+      @Override
+      public int getPriorityRow()
+      {
+         return Math.max(editor_.getLastVisibleRow(), editor_.getCursorRow());
+      }
 
-      private static final int DELAY_MS = 5;
-      private static final int ROWS_TOKENIZED_PER_ITERATION = 200;
+      @Override
+      public int parseUpToRow(int row)
+      {
+         return editor_.buildScopeTreeUpToRow(row);
+      }
+
+      @Override
+      public void onParseComplete()
+      {
+         editor_.fireEvent(new ScopeTreeReadyEvent(
+               editor_.getScopeTree(),
+               editor_.getCurrentScope()));
+      }
+
+      private final AceEditor editor_;
+      private final ScopeTreeScheduler scheduler_;
    }
 
    private class ScrollAnimator
@@ -24,9 +24,12 @@ import org.rstudio.core.client.CommandWithArg;
 import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.JsVector;
 import org.rstudio.core.client.JsVectorString;
+import org.rstudio.core.client.Stopwatch;
 import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.dom.WindowEx;
 import org.rstudio.core.client.js.JsMap;
+import org.rstudio.core.client.metrics.LatencyHistogram;
+import org.rstudio.core.client.metrics.MetricsRegistry;
 import org.rstudio.core.client.widget.CanSetControlId;
 import org.rstudio.core.client.widget.FontSizer;
 import org.rstudio.studio.client.RStudioGinjector;
@@ -179,6 +182,7 @@ public class AceEditorWidget extends Composite
                return;
             }
             
+            double start = Stopwatch.now();
             try
             {
                inOnChangeHandler_ = true;
@@ -212,6 +216,7 @@ public class AceEditorWidget extends Composite
             finally
             {
                inOnChangeHandler_ = false;
+               CHANGE_TIMING.recordSince(start);
             }
          }
 
@@ -1485,4 +1490,7 @@ public class AceEditorWidget extends Composite
    private UserPrefs uiPrefs_;
    private AceThemes themes_;
    private FilesServerOperations filesServer_;
+
+   private static final LatencyHistogram CHANGE_TIMING =
+         MetricsRegistry.get().histogram("editor.document_change");
 }
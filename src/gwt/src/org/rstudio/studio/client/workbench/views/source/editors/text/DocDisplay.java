@@ -17,6 +17,7 @@ package org.rstudio.studio.client.workbench.views.source.editors.text;
 import java.util.List;
 import java.util.function.BiPredicate;
 
+import org.rstudio.core.client.CommandWithArg;
 import org.rstudio.core.client.Rectangle;
 import org.rstudio.core.client.command.KeySequence;
 import org.rstudio.core.client.js.JsMap;
@@ -33,6 +34,7 @@ import org.rstudio.studio.client.workbench.views.output.lint.model.AceAnnotation
 import org.rstudio.studio.client.workbench.views.output.lint.model.LintItem;
 import org.rstudio.studio.client.workbench.views.source.editors.text.AceEditor.EditorBehavior;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceCommandManager;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceDocumentChangeEventNative;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceFold;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceGhostText;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Anchor;
@@ -128,6 +130,8 @@ public interface DocDisplay extends HasValueChangeHandlers<Void>,
    String getCode();
    JsArrayString getLines();
    JsArrayString getLines(int startRow, int endRow);
+   String getNewLineCharacter();
+   String getChecksum();
    void setCode(String code, boolean preserveCursorPosition);
    void insertCode(String code);
    void insertCode(String code, boolean unused);
@@ -266,6 +270,10 @@ public interface DocDisplay extends HasValueChangeHandlers<Void>,
    HandlerRegistration addSaveCompletedHandler(SaveFileEvent.Handler handler);
    HandlerRegistration addPasteHandler(PasteEvent.Handler handler);
    HandlerRegistration addCapturingKeyDownHandler(KeyDownHandler handler);
+
+   // Called for every change to the document, even those DocumentChangedEvent
+   // skips (see AceEditorWidget); for keeping an exact record of edits.
+   HandlerRegistration addDocumentChangeListener(CommandWithArg<AceDocumentChangeEventNative> listener);
    HandlerRegistration addCapturingKeyPressHandler(KeyPressHandler handler);
    HandlerRegistration addCapturingKeyUpHandler(KeyUpHandler handler);
 
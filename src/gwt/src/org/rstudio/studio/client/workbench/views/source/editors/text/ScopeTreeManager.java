@@ -22,12 +22,12 @@ import org.rstudio.studio.client.workbench.views.source.editors.text.events.Acti
 import org.rstudio.studio.client.workbench.views.source.editors.text.events.CursorChangedEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.text.events.DocumentChangedEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.text.events.ScopeTreeReadyEvent;
+import org.rstudio.studio.client.workbench.views.source.events.ScrollYEvent;
 
 import com.google.gwt.core.client.JsArray;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.event.logical.shared.AttachEvent;
 import com.google.gwt.event.shared.HandlerRegistration;
-import com.google.gwt.user.client.Timer;
 
 // NOTE: Historically, scope tree management was implemented as part of
 // an accompanying code model, written as part of our JavaScript Ace
@@ -69,7 +69,13 @@ public abstract class ScopeTreeManager
                });
             }),
             
+            docDisplay.addScrollYHandler((ScrollYEvent event) -> {
+               worker_.onPriorityRowChanged();
+            }),
+            
             docDisplay.addCursorChangedHandler((CursorChangedEvent event) -> {
+               worker_.onPriorityRowChanged();
+               
                final Position position = event.getPosition();
                Scope scope = scopeManager_.getScopeAt(position);
                if (lastActiveScope_ != scope)
@@ -102,30 +108,36 @@ public abstract class ScopeTreeManager
    {
       for (HandlerRegistration handler : handlers_)
          handler.removeHandler();
+      worker_.cancel();
    }
    
-   private class Worker
+   private class Worker implements ScopeTreeScheduler.Parser
    {
       private Worker()
       {
-         timer_ = new Timer()
-         {
-            @Override
-            public void run()
-            {
-               work();
-            }
-         };
+         scheduler_ = new ScopeTreeScheduler(this);
       }
       
       public void rebuildScopeTreeFromRow(int row)
       {
-         startRow_ = row;
-         endRow_ = Math.min(docDisplay_.getRowCount(), startRow_ + ROWS_TOKENIZED_PER_ITERATION);
-         work();
+         startRow_ = Math.min(startRow_, row);
+         scheduler_.invalidateFrom(startRow_);
+      }
+      
+      @Override
+      public int getRowCount()
+      {
+         return docDisplay_.getRowCount();
       }
       
-      private int work()
+      @Override
+      public int getPriorityRow()
+      {
+         return Math.max(docDisplay_.getLastVisibleRow(), docDisplay_.getCursorPosition().getRow());
+      }
+      
+      @Override
+      public int parseUpToRow(int endRow)
       {
          Position position = Position.create(startRow_ - 1, 0);
          
@@ -139,26 +151,18 @@ public abstract class ScopeTreeManager
          
          while (true)
          {
-            // if we don't have a token, that implies we've reached the end of the document.
-            // notify listeners that we're done building the scope tree
+            // if we don't have a token, that implies we've reached the end of the document
             if (token == null)
             {
                // save the parse position (needed when invalidating rows as the document mutates)
                scopeManager_.setParsePosition(Position.create(it.getCurrentTokenRow(), -1));
-               
-               // notify listeners that we have a scope tree + the current scope
-               JsArray<Scope> scopeTree = scopeManager_.getScopeList();
-               Scope currentScope = scopeManager_.getScopeAt(docDisplay_.getCursorPosition());
-               ScopeTreeReadyEvent event = new ScopeTreeReadyEvent(scopeTree, currentScope);
-               docDisplay_.fireEvent(event);
-               
-               // we're done!
-               return docDisplay_.getRowCount();
+               startRow_ = docDisplay_.getRowCount();
+               return startRow_;
             }
             
             // if we've walked past the end row, bail
             int row = it.getCurrentTokenRow();
-            if (row >= endRow_)
+            if (row >= endRow)
                break;
             
             // let subclass respond to current token, and move forward
@@ -168,26 +172,33 @@ public abstract class ScopeTreeManager
          
          // save the parse position (needed when invalidating rows as the document mutates)
          scopeManager_.setParsePosition(Position.create(it.getCurrentTokenRow(), -1));
-         
-         // if there are still rows to be tokenized in the document,
-         // schedule more work
-         if (startRow_ < docDisplay_.getRowCount())
-         {
-            startRow_ = it.getCurrentTokenRow();
-            endRow_ = Math.min(docDisplay_.getRowCount(), startRow_ + ROWS_TOKENIZED_PER_ITERATION);
-            timer_.schedule(DELAY_MS);
-         }
-         
-         return it.getCurrentTokenRow();
+         startRow_ = it.getCurrentTokenRow();
+         return startRow_;
       }
       
-      private int startRow_;
-      private int endRow_;
+      @Override
+      public void onParseComplete()
+      {
+         // notify listeners that we have a scope tree + the current scope
+         JsArray<Scope> scopeTree = scopeManager_.getScopeList();
+         Scope currentScope = scopeManager_.getScopeAt(docDisplay_.getCursorPosition());
+         ScopeTreeReadyEvent event = new ScopeTreeReadyEvent(scopeTree, currentScope);
+         docDisplay_.fireEvent(event);
+      }
       
-      private final Timer timer_;
+      public void onPriorityRowChanged()
+      {
+         scheduler_.onPriorityRowChanged();
+      }
+      
+      public void cancel()
+      {
+         scheduler_.cancel();
+      }
+      
+      private int startRow_;
       
-      private static final int DELAY_MS = 5;
-      private static final int ROWS_TOKENIZED_PER_ITERATION = 200;
+      private final ScopeTreeScheduler scheduler_;
    }
    
    protected Scope lastActiveScope_;
@@ -0,0 +1,173 @@
+/*
+ * ScopeTreeScheduler.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.source.editors.text;
+
+import org.rstudio.core.client.Stopwatch;
+
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.user.client.Timer;
+
+// Decides when a document's scope tree gets built. A scope tree can only be
+// built from the top of the document down, since the scopes on each row
+// depend on the rows above it; so the scheduler tracks how far the tree has
+// been built, and asks the parser for more in slices bounded by a time
+// budget.
+//
+// Rows up to the "priority row" (the bottom of the viewport or the cursor,
+// whichever is further down) are wanted now, so slices run back to back
+// until those rows are built; the rest of the document is then built in
+// slices with a pause between each, leaving the browser free for typing and
+// scrolling.
+public class ScopeTreeScheduler
+{
+   public interface Parser
+   {
+      int getRowCount();
+
+      // the row that should be built before any others
+      int getPriorityRow();
+
+      // build the scope tree up to (at least) the given row, returning the
+      // row that was reached
+      int parseUpToRow(int row);
+
+      // called once the whole document has been built
+      void onParseComplete();
+   }
+
+   public ScopeTreeScheduler(Parser parser)
+   {
+      this(parser, DEFAULT_SLICE_BUDGET_MS);
+   }
+
+   public ScopeTreeScheduler(Parser parser, double sliceBudgetMs)
+   {
+      parser_ = parser;
+      sliceBudgetMs_ = sliceBudgetMs;
+      timer_ = new Timer()
+      {
+         @Override
+         public void run()
+         {
+            runSlice();
+         }
+      };
+   }
+
+   /**
+    * Rebuild the scope tree from a row that has changed. Rows from there on
+    * stop being ready straight away, but building starts after the current
+    * event: this is called while a change is being dispatched, before the
+    * code model has seen the change, and a single operation (e.g. replace
+    * all) can make many changes in a row.
+    */
+   public void invalidateFrom(int row)
+   {
+      row_ = Math.max(0, Math.min(row_, row));
+      if (slicePending_)
+         return;
+
+      slicePending_ = true;
+      Scheduler.get().scheduleDeferred(() ->
+      {
+         if (slicePending_)
+            runSlice();
+      });
+   }
+
+   /**
+    * Called when the viewport or cursor moves; if rows that are now visible
+    * haven't been built yet, build them without waiting out the pause. The
+    * slice still runs after the current event, so scrolling and cursor
+    * movement aren't held up by it.
+    */
+   public void onPriorityRowChanged()
+   {
+      if (!slicePending_ && timer_.isRunning() && !isReady(parser_.getPriorityRow()))
+         scheduleSlice(0);
+   }
+
+   public boolean isReady(int row)
+   {
+      return row < row_;
+   }
+
+   public boolean isComplete()
+   {
+      return row_ >= parser_.getRowCount();
+   }
+
+   public void cancel()
+   {
+      slicePending_ = false;
+      timer_.cancel();
+   }
+
+   private void runSlice()
+   {
+      slicePending_ = false;
+      timer_.cancel();
+
+      int rowCount = parser_.getRowCount();
+      double deadline = Stopwatch.now() + sliceBudgetMs_;
+      do
+      {
+         if (row_ >= rowCount)
+         {
+            parser_.onParseComplete();
+            return;
+         }
+
+         int target = Math.min(rowCount, row_ + ROWS_PER_STEP);
+         row_ = Math.max(target, parser_.parseUpToRow(target));
+      }
+      while (Stopwatch.now() < deadline);
+
+      if (row_ >= rowCount)
+         parser_.onParseComplete();
+      else if (isReady(parser_.getPriorityRow()))
+         scheduleSlice(IDLE_DELAY_MS);
+      else
+         scheduleSlice(0);
+   }
+
+   private void scheduleSlice(int delayMs)
+   {
+      delayMs_ = delayMs;
+      timer_.schedule(delayMs);
+   }
+
+   // the delay the last slice was scheduled with (used by tests)
+   int getSliceDelayMs()
+   {
+      return delayMs_;
+   }
+
+   private final Parser parser_;
+   private final double sliceBudgetMs_;
+   private final Timer timer_;
+
+   // rows before this one have been built
+   private int row_ = 0;
+
+   // whether a slice has been scheduled by invalidateFrom()
+   private boolean slicePending_ = false;
+
+   private int delayMs_ = -1;
+
+   private static final int ROWS_PER_STEP = 50;
+   static final int IDLE_DELAY_MS = 5;
+   private static final double DEFAULT_SLICE_BUDGET_MS = 8;
+}
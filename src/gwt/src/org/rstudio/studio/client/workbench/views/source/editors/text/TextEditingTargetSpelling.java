@@ -17,6 +17,7 @@ package org.rstudio.studio.client.workbench.views.source.editors.text;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 
 import org.rstudio.core.client.Debug;
@@ -107,6 +108,10 @@ public class TextEditingTargetSpelling extends SpellingContext
          @Override
          public void onResponseReceived(SpellCheckerResult response)
          {
+            // now that the visible words are done, get a head start on the
+            // rows just above and below
+            prefetchNearbyWords(spellingDoc);
+
             // for each incorrect word from the server
             // get the word ranges for that word and add to lint
             for (String word : response.getIncorrect())
@@ -152,6 +157,39 @@ public class TextEditingTargetSpelling extends SpellingContext
       });
    }
 
+   private void prefetchNearbyWords(SpellingDoc spellingDoc)
+   {
+      int firstRow = docDisplay_.getFirstVisibleRow();
+      int lastRow = docDisplay_.getLastVisibleRow();
+      int margin = Math.max(lastRow - firstRow, 1);
+      int lastDocRow = docDisplay_.getRowCount() - 1;
+
+      HashSet<String> words = new HashSet<>();
+      if (firstRow > 0)
+         collectWords(spellingDoc, Math.max(firstRow - margin, 0), firstRow - 1, words);
+      if (lastRow < lastDocRow)
+         collectWords(spellingDoc, lastRow + 1, Math.min(lastRow + margin, lastDocRow), words);
+
+      if (!words.isEmpty())
+         spellChecker().prefetchWords(new ArrayList<>(words));
+   }
+
+   private void collectWords(SpellingDoc spellingDoc,
+                             int startRow,
+                             int endRow,
+                             HashSet<String> words)
+   {
+      Iterable<SpellingDoc.WordRange> wordSource = spellingDoc.getWords(
+            docDisplay_.indexFromPosition(Position.create(startRow, 0)),
+            docDisplay_.indexFromPosition(Position.create(endRow, docDisplay_.getLength(endRow))));
+
+      for (SpellingDoc.WordRange wordRange : wordSource)
+      {
+         if (spellChecker().shouldCheckSpelling(spellingDoc, wordRange))
+            words.add(spellingDoc.getText(wordRange));
+      }
+   }
+
    private void injectContextMenuHandler()
    {
       docDisplay_.addContextMenuHandler((event) ->
@@ -14,8 +14,11 @@
  */
 package org.rstudio.studio.client.workbench.views.source.editors.text.ace;
 
+import org.rstudio.core.client.CommandWithArg;
+
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.event.shared.HandlerRegistration;
 
 public class Document extends JavaScriptObject
 {
@@ -41,6 +44,59 @@ public class Document extends JavaScriptObject
    public native final int getLength() /*-{
       return this.getLength();
    }-*/;
+
+   public native final String getNewLineCharacter() /*-{
+      return this.getNewLineCharacter();
+   }-*/;
+
+   // Listen for changes to the document itself. Unlike the editor's
+   // DocumentChangedEvent, this sees every change, including those made
+   // while other change handlers are running.
+   public final HandlerRegistration addChangeHandler(
+         CommandWithArg<AceDocumentChangeEventNative> handler)
+   {
+      final JavaScriptObject remove = addChangeHandlerImpl(handler);
+      return () -> invoke(remove);
+   }
+
+   private native final JavaScriptObject addChangeHandlerImpl(
+         CommandWithArg<AceDocumentChangeEventNative> handler) /*-{
+      var self = this;
+      var callback = $entry(function(event) {
+         handler.@org.rstudio.core.client.CommandWithArg::execute(Ljava/lang/Object;)(event);
+      });
+      this.on("change", callback);
+      return function() {
+         self.off("change", callback);
+      };
+   }-*/;
+
+   private static native void invoke(JavaScriptObject fn) /*-{
+      fn();
+   }-*/;
+
+   // A 32-bit FNV-1a hash of the document's contents (its rows joined by
+   // its newline character), computed over UTF-16 code units without
+   // building the contents as a single string. The server computes the same
+   // hash to check that a patched document matches the editor.
+   public native final String getChecksum() /*-{
+      var lines = this.$lines;
+      var newline = this.getNewLineCharacter();
+      var hash = 0x811c9dc5;
+      for (var row = 0; row < lines.length; row++)
+      {
+         if (row > 0)
+         {
+            for (var i = 0; i < newline.length; i++)
+               hash = Math.imul(hash ^ newline.charCodeAt(i), 0x01000193);
+         }
+
+         var line = lines[row];
+         for (var i = 0; i < line.length; i++)
+            hash = Math.imul(hash ^ line.charCodeAt(i), 0x01000193);
+      }
+      return (hash >>> 0).toString(16);
+   }-*/;
    
    public native final Position indexToPosition(int index, int startRow) /*-{
       return this.indexToPosition(index, startRow);
@@ -14,6 +14,7 @@
  */
 package org.rstudio.studio.client.workbench.views.source.model;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -23,6 +24,8 @@ import org.rstudio.core.client.DebouncedCommand;
 import org.rstudio.core.client.Debug;
 import org.rstudio.core.client.StringUtil;
 import org.rstudio.core.client.js.JsObject;
+import org.rstudio.core.client.patch.EditJournal;
+import org.rstudio.core.client.patch.LinePatch;
 import org.rstudio.core.client.patch.SubstringDiff;
 import org.rstudio.core.client.widget.Operation;
 import org.rstudio.core.client.widget.ProgressIndicator;
@@ -42,6 +45,7 @@ import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.source.ViewsSourceConstants;
 import org.rstudio.studio.client.workbench.views.source.editors.text.DocDisplay;
 import org.rstudio.studio.client.workbench.views.source.editors.text.Fold;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.AceDocumentChangeEventNative;
 import org.rstudio.studio.client.workbench.views.source.editors.text.ace.VimMarks;
 import org.rstudio.studio.client.workbench.views.source.editors.text.events.FoldChangeEvent;
 import org.rstudio.studio.client.workbench.views.source.editors.text.events.SourceOnSaveChangedEvent;
@@ -84,9 +88,13 @@ public class DocUpdateSentinel
             SourceDocument response)
       {
          sourceDoc_ = response;
+         unappliedPatches_.clear();
          docDisplay_.setCode(sourceDoc_.getContents(), true);
          dirtyState_.markClean();
 
+         // the next save needs to send the full contents
+         startJournal();
+
          if (progress_ != null)
             progress_.onCompleted();
 
@@ -172,6 +180,9 @@ public class DocUpdateSentinel
 
       docDisplay_.addValueChangeHandler(this);
       docDisplay_.addFoldChangeHandler(this);
+      // the edit journal is fed from the document itself, since it must see
+      // every edit for a patch to reproduce the document
+      documentChangeReg_ = docDisplay_.addDocumentChangeListener(this::recordEdit);
       
       // Web only
       if (!Desktop.isDesktop())
@@ -501,8 +512,6 @@ public class DocUpdateSentinel
          actually sent to the server. */
       final ChangeTracker thisChangeTracker = changeTracker_.fork();
 
-      final String newContents = docDisplay_.getCode();
-      String oldContents = sourceDoc_.getContents();
       final String hash = sourceDoc_.getHash();
 
       final String foldSpec = Fold.encode(Fold.flatten(docDisplay_.getFolds()));
@@ -512,14 +521,55 @@ public class DocUpdateSentinel
       JsArray<ChunkDefinition> oldChunkDefs =
             sourceDoc_.getNotebookDoc().getChunkDefs();
 
+      boolean metadataUnchanged =
+            foldSpec == oldFoldSpec &&
+            (newChunkDefs == null ||
+             ChunkDefinition.equalTo(newChunkDefs, oldChunkDefs));
+
+      // If we know the server has the contents the edit journal started
+      // from, just send the rows that were edited since then.
+      if (canSavePatch())
+      {
+         // Don't auto-save when there are no changes. In addition to being
+         // wasteful, it causes the server to think the document is dirty.
+         if (path == null && fileType == null && journal_.isEmpty()
+             && metadataUnchanged)
+         {
+            changesPending_ = false;
+            return false;
+         }
+
+         LinePatch patch = createPatch();
+         fireSaveInitiated(path);
+
+         int saveId = startJournal();
+         server_.saveDocumentPatch(
+               sourceDoc_.getId(),
+               path,
+               fileType,
+               encoding,
+               foldSpec,
+               newChunkDefs,
+               patch,
+               docDisplay_.getChecksum(),
+               hash,
+               retryWrite,
+               new SaveCallback(saveId, null, patch, path, fileType, encoding,
+                     foldSpec, newChunkDefs, hash, retryWrite,
+                     thisChangeTracker, progress));
+
+         return true;
+      }
+
+      final String newContents = docDisplay_.getCode();
+      String oldContents = getContents();
+
       SubstringDiff diff = new SubstringDiff(oldContents, newContents);
 
       // Don't auto-save when there are no changes. In addition to being
       // wasteful, it causes the server to think the document is dirty.
       if (path == null && fileType == null && diff.isValid() && diff.isEmpty()
-          && foldSpec == oldFoldSpec
-          && (newChunkDefs == null ||
-              ChunkDefinition.equalTo(newChunkDefs, oldChunkDefs)))
+          && metadataUnchanged)
       {
          changesPending_ = false;
          return false;
@@ -538,20 +588,9 @@ public class DocUpdateSentinel
          return false;
       }
 
+      fireSaveInitiated(path);
 
-      try
-      {
-         if (path != null)
-         {
-            // notify that a save is underway (for collaborative editing)
-            eventBus_.fireEvent(new SaveInitiatedEvent(path, getId()));
-         }
-      }
-      catch(Exception e)
-      {
-         Debug.logException(e);
-      }
-
+      int saveId = startJournal();
       server_.saveDocumentDiff(
             sourceDoc_.getId(),
             path,
@@ -565,113 +604,203 @@ public class DocUpdateSentinel
             diff.isValid(),
             hash,
             retryWrite,
-            new ServerRequestCallback<String>()
-            {
-               @Override
-               public void onError(ServerError error)
-               {
-                  // Always log save errors.
-                  Debug.logError(error);
+            new SaveCallback(saveId, newContents, null, path, fileType, encoding,
+                  foldSpec, newChunkDefs, hash, retryWrite,
+                  thisChangeTracker, progress));
 
-                  // Report errors to indicator.
-                  if (progress != null)
-                  {
-                     String errorMessage =
-                           constants_.errorSavingPathPlusMessage(path, error.getUserMessage());
+      return true;
+   }
 
-                     progress.onError(errorMessage);
-                  }
+   private void fireSaveInitiated(String path)
+   {
+      try
+      {
+         if (path != null)
+         {
+            // notify that a save is underway (for collaborative editing)
+            eventBus_.fireEvent(new SaveInitiatedEvent(path, getId()));
+         }
+      }
+      catch(Exception e)
+      {
+         Debug.logException(e);
+      }
+   }
 
-                  // Attempt to report save error.
-                  try
-                  {
-                     if (path != null)
-                     {
-                        eventBus_.fireEvent(new SaveFailedEvent(path, getId()));
-                     }
-                  }
-                  catch (Exception e)
-                  {
-                     Debug.logException(e);
-                  }
+   private class SaveCallback extends ServerRequestCallback<String>
+   {
+      // contents is the full document being saved, or null if only a patch
+      // was sent
+      SaveCallback(int saveId,
+                   String contents,
+                   LinePatch patch,
+                   String path,
+                   String fileType,
+                   String encoding,
+                   String foldSpec,
+                   JsArray<ChunkDefinition> chunkDefs,
+                   String hash,
+                   boolean retryWrite,
+                   ChangeTracker changeTracker,
+                   ProgressIndicator progress)
+      {
+         saveId_ = saveId;
+         contents_ = contents;
+         patch_ = patch;
+         path_ = path;
+         fileType_ = fileType;
+         encoding_ = encoding;
+         foldSpec_ = foldSpec;
+         chunkDefs_ = chunkDefs;
+         hash_ = hash;
+         retryWrite_ = retryWrite;
+         changeTrackerFork_ = changeTracker;
+         saveProgress_ = progress;
+      }
 
-                  changesPending_ = false;
-               }
+      @Override
+      public void onError(ServerError error)
+      {
+         // Always log save errors.
+         Debug.logError(error);
 
-               @Override
-               public void onResponseReceived(String newHash)
-               {
-                  if (newHash != null)
-                  {
-                     // If the document hasn't changed further since the version
-                     // we saved, then we know we're all synced up.
-                     try
-                     {
-                        if (!thisChangeTracker.hasChanged())
-                           changeTracker_.reset();
-
-                        // update the foldSpec and newChunkDefs so we
-                        // can use them for change detection the next
-                        // time around
-                        sourceDoc_.setFoldSpec(foldSpec);
-                        sourceDoc_.getNotebookDoc().setChunkDefs(newChunkDefs);
-
-                        onSuccessfulUpdate(newContents,
-                                           newHash,
-                                           path,
-                                           fileType,
-                                           encoding);
-                     }
-                     catch(Exception ex)
-                     {
-                        // log exception, but continue (we want to guarantee the
-                        // progress indicator is updated)
-                        Debug.log("Exception in post-save update " + path +
-                                  " to " + newHash + ": " + ex.getMessage());
-                     }
-                     if (progress != null)
-                        progress.onCompleted();
+         // Report errors to indicator.
+         if (saveProgress_ != null)
+         {
+            String errorMessage =
+                  constants_.errorSavingPathPlusMessage(path_, error.getUserMessage());
 
-                     // let anyone interested know we just saved
-                     SaveFileEvent saveEvent = new SaveFileEvent(path, fileType, encoding);
-                     docDisplay_.fireEvent(saveEvent);
-                     eventBus_.fireEvent(saveEvent);
-                  }
-                  else if (hash != sourceDoc_.getHash())
-                  {
-                     // We just hit a race condition where two updates
-                     // happened at once. Try again
-                     doSave(path, fileType, encoding, retryWrite, progress);
-                  }
-                  else
-                  {
-                     /*Debug.log("Diff-based save failed--falling back to " +
-                               "snapshot save");*/
-                     server_.saveDocument(
-                           sourceDoc_.getId(),
-                           path,
-                           fileType,
-                           encoding,
-                           foldSpec,
-                           newChunkDefs,
-                           newContents,
-                           retryWrite,
-                           this);
-                  }
-               }
-            });
+            saveProgress_.onError(errorMessage);
+         }
 
-      return true;
+         // Attempt to report save error.
+         try
+         {
+            if (path_ != null)
+            {
+               eventBus_.fireEvent(new SaveFailedEvent(path_, getId()));
+            }
+         }
+         catch (Exception e)
+         {
+            Debug.logException(e);
+         }
+
+         changesPending_ = false;
+      }
+
+      @Override
+      public void onResponseReceived(String newHash)
+      {
+         if (newHash != null)
+         {
+            // If the document hasn't changed further since the version
+            // we saved, then we know we're all synced up.
+            try
+            {
+               if (!changeTrackerFork_.hasChanged())
+                  changeTracker_.reset();
+
+               // update the foldSpec and newChunkDefs so we
+               // can use them for change detection the next
+               // time around
+               sourceDoc_.setFoldSpec(foldSpec_);
+               sourceDoc_.getNotebookDoc().setChunkDefs(chunkDefs_);
+
+               onSuccessfulUpdate(contents_,
+                                  patch_,
+                                  newHash,
+                                  path_,
+                                  fileType_,
+                                  encoding_);
+
+               // if this was the most recent save, the edit journal now
+               // holds exactly the edits the server hasn't seen
+               if (saveId_ == saveCount_)
+                  journalHash_ = newHash;
+            }
+            catch(Exception ex)
+            {
+               // log exception, but continue (we want to guarantee the
+               // progress indicator is updated)
+               Debug.log("Exception in post-save update " + path_ +
+                         " to " + newHash + ": " + ex.getMessage());
+            }
+            if (saveProgress_ != null)
+               saveProgress_.onCompleted();
+
+            // let anyone interested know we just saved
+            SaveFileEvent saveEvent = new SaveFileEvent(path_, fileType_, encoding_);
+            docDisplay_.fireEvent(saveEvent);
+            eventBus_.fireEvent(saveEvent);
+         }
+         else if (hash_ != sourceDoc_.getHash())
+         {
+            // We just hit a race condition where two updates
+            // happened at once. Try again
+            doSave(path_, fileType_, encoding_, retryWrite_, saveProgress_);
+         }
+         else
+         {
+            /*Debug.log("Diff-based save failed--falling back to " +
+                      "snapshot save");*/
+
+            // if only a patch was sent, we need the current contents (and
+            // the edit journal restarts from them)
+            if (contents_ == null)
+            {
+               contents_ = docDisplay_.getCode();
+               patch_ = null;
+               saveId_ = startJournal();
+            }
+
+            server_.saveDocument(
+                  sourceDoc_.getId(),
+                  path_,
+                  fileType_,
+                  encoding_,
+                  foldSpec_,
+                  chunkDefs_,
+                  contents_,
+                  retryWrite_,
+                  this);
+         }
+      }
+
+      private int saveId_;
+      private String contents_;
+      private LinePatch patch_;
+      private final String path_;
+      private final String fileType_;
+      private final String encoding_;
+      private final String foldSpec_;
+      private final JsArray<ChunkDefinition> chunkDefs_;
+      private final String hash_;
+      private final boolean retryWrite_;
+      private final ChangeTracker changeTrackerFork_;
+      private final ProgressIndicator saveProgress_;
    }
 
    private void onSuccessfulUpdate(String contents,
+                                   LinePatch patch,
                                    String hash,
                                    String path,
                                    String fileType,
                                    String encoding)
    {
       changesPending_ = false;
-      sourceDoc_.setContents(contents);
+      if (contents != null)
+      {
+         sourceDoc_.setContents(contents);
+         unappliedPatches_.clear();
+      }
+      else
+      {
+         // the saved contents are only built if someone asks for them
+         unappliedPatches_.add(patch);
+         if (unappliedPatches_.size() > MAX_UNAPPLIED_PATCHES)
+            getContents();
+      }
       sourceDoc_.setHash(hash);
       if (path != null)
       {
@@ -885,6 +1014,51 @@ public class DocUpdateSentinel
       nudgeAutosave();
    }
 
+   private void recordEdit(AceDocumentChangeEventNative change)
+   {
+      int row = change.start.getRow();
+      if (StringUtil.equals(change.getAction(), "insert"))
+         journal_.replaceRows(row, 1, change.lines.length());
+      else
+         journal_.replaceRows(row, change.end.getRow() - row + 1, 1);
+   }
+
+   // Start a new edit journal from the document's current contents, which
+   // are about to be sent to the server. Returns an id for the save.
+   private int startJournal()
+   {
+      journal_ = new EditJournal();
+      journalRowCount_ = docDisplay_.getRowCount();
+      journalHash_ = null;
+      return ++saveCount_;
+   }
+
+   private boolean canSavePatch()
+   {
+      if (journalHash_ == null || !StringUtil.equals(journalHash_, sourceDoc_.getHash()))
+         return false;
+
+      if (journal_.isOverflowed())
+         return false;
+
+      // sanity check that the journal has seen every edit
+      return journalRowCount_ + journal_.getRowDelta() == docDisplay_.getRowCount();
+   }
+
+   private LinePatch createPatch()
+   {
+      LinePatch patch = new LinePatch(docDisplay_.getNewLineCharacter());
+      for (EditJournal.Hunk hunk : journal_.getHunks())
+      {
+         int newRow = hunk.getNewRow();
+         patch.addHunk(
+               hunk.getRow(),
+               hunk.getLength(),
+               docDisplay_.getLines(newRow, newRow + hunk.getNewLength() - 1));
+      }
+      return patch;
+   }
+
    public void nudgeAutosave()
    {
       if (suspendDetectChanges_ > 0)
@@ -902,6 +1076,31 @@ public class DocUpdateSentinel
 
    public String getContents()
    {
+      if (!unappliedPatches_.isEmpty())
+      {
+         String contents = sourceDoc_.getContents();
+         for (LinePatch patch : unappliedPatches_)
+         {
+            contents = patch.apply(contents);
+            if (contents == null)
+               break;
+         }
+
+         // shouldn't happen since the server accepted the same patches, but
+         // if it does, fall back to the editor's contents and clear the hash
+         // so that the next save can't be applied as a diff
+         if (contents == null)
+         {
+            Debug.log("Failed to apply saved patches to " + sourceDoc_.getId());
+            contents = docDisplay_.getCode();
+            sourceDoc_.setHash("");
+            journalHash_ = null;
+         }
+
+         sourceDoc_.setContents(contents);
+         unappliedPatches_.clear();
+      }
+
       return sourceDoc_.getContents();
    }
 
@@ -926,6 +1125,12 @@ public class DocUpdateSentinel
          lastChanceSaveHandlerReg_.removeHandler();
          lastChanceSaveHandlerReg_ = null;
       }
+
+      if (documentChangeReg_ != null)
+      {
+         documentChangeReg_.removeHandler();
+         documentChangeReg_ = null;
+      }
    }
 
    public void revert()
@@ -997,6 +1202,20 @@ public class DocUpdateSentinel
 
    private int suspendDetectChanges_ = 0;
    private boolean changesPending_ = false;
+
+   // Edits made since the contents of the most recent save request, and the
+   // hash the server gave those contents once the request succeeded (null
+   // until then, or if the save failed)
+   private EditJournal journal_ = new EditJournal();
+   private int journalRowCount_ = 0;
+   private String journalHash_ = null;
+   private int saveCount_ = 0;
+
+   // Patches the server has applied that haven't yet been applied to
+   // sourceDoc_'s copy of the contents
+   private final ArrayList<LinePatch> unappliedPatches_ = new ArrayList<>();
+   private static final int MAX_UNAPPLIED_PATCHES = 50;
+
    private final ChangeTracker changeTracker_;
    private final SourceServerOperations server_;
    private final DocDisplay docDisplay_;
@@ -1009,6 +1228,7 @@ public class DocUpdateSentinel
    private ApplicationQuit quit_;
    private HandlerRegistration closeHandlerReg_;
    private HandlerRegistration lastChanceSaveHandlerReg_;
+   private HandlerRegistration documentChangeReg_;
    private final HashMap<String, ValueChangeHandlerManager<String>>
                  propertyChangeHandlers_;
    private final ChunkDefinition.Provider chunkDefProvider_;
@@ -18,6 +18,7 @@ import java.util.HashMap;
 import java.util.List;
 
 import org.rstudio.core.client.js.JsObject;
+import org.rstudio.core.client.patch.LinePatch;
 import org.rstudio.studio.client.common.codetools.CodeToolsServerOperations;
 import org.rstudio.studio.client.common.crypto.CryptoServerOperations;
 import org.rstudio.studio.client.events.GetEditorContextEvent;
@@ -133,6 +134,34 @@ public interface SourceServerOperations extends FilesServerOperations,
                          String hash,
                          boolean retryWrite,
                          ServerRequestCallback<String> requestCallback);
+
+   /**
+    * Same as saveDocumentDiff, but the changes are sent as a set of
+    * line-based hunks (see LinePatch), which lets edits in several places
+    * in a document be sent without the text between them.
+    *
+    * If the return value is null, the save failed for some reason (e.g. the
+    * hash didn't match, the patch didn't fit the document, or the patched
+    * document didn't match the checksum) and saveDocument() should be used
+    * as a fallback. If the return value is non-null, it is the hash value of
+    * the new contents.
+    *
+    * The checksum is that of the editor's contents, as computed by
+    * DocDisplay.getChecksum(); it guards against a patch that fits the
+    * document but doesn't reproduce it (e.g. an edit missing from the
+    * patch).
+    */
+   void saveDocumentPatch(String id,
+                          String path,
+                          String fileType,
+                          String encoding,
+                          String foldSpec,
+                          JsArray<ChunkDefinition> chunkOutput,
+                          LinePatch patch,
+                          String checksum,
+                          String hash,
+                          boolean retryWrite,
+                          ServerRequestCallback<String> requestCallback);
    
    /**
     * Given the path to a document on disk, request that it be reformatted
@@ -0,0 +1,249 @@
+/*
+ * TerminalBufferReloader.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.terminal;
+
+import java.util.HashMap;
+
+import org.rstudio.core.client.Stopwatch;
+import org.rstudio.studio.client.server.ServerError;
+import org.rstudio.studio.client.server.ServerRequestCallback;
+import org.rstudio.studio.client.workbench.views.console.model.ProcessBufferChunk;
+
+/**
+ * Reloads a terminal's saved output buffer from the server. The buffer is
+ * fetched in chunks; rather than waiting for each chunk before requesting
+ * the next, several requests are kept in flight and the chunks are written
+ * to the terminal in order as they arrive.
+ *
+ * For large buffers, the last few chunks (i.e. what's on screen) are fetched
+ * and shown first while the rest of the scrollback is backfilled. Terminal
+ * output can't be prepended, so once everything has arrived the terminal is
+ * reset and the whole buffer written in order.
+ */
+public class TerminalBufferReloader
+{
+   public interface ChunkSource
+   {
+      void getChunk(int chunk, ServerRequestCallback<ProcessBufferChunk> callback);
+   }
+
+   public interface Host
+   {
+      void write(String output);
+
+      // discard everything written so far
+      void reset();
+
+      void onReloadComplete();
+      void onReloadError(ServerError error);
+   }
+
+   public TerminalBufferReloader(ChunkSource source,
+                                 Host host,
+                                 TerminalDiagnostics diagnostics)
+   {
+      this(source, host, diagnostics, DEFAULT_MAX_IN_FLIGHT, DEFAULT_TAIL_CHUNKS);
+   }
+
+   /**
+    * @param maxInFlight Maximum number of chunk requests outstanding at once
+    * @param tailChunks Number of chunks at the end of the buffer to show
+    *    before the rest has loaded (0 to always load in order)
+    */
+   public TerminalBufferReloader(ChunkSource source,
+                                 Host host,
+                                 TerminalDiagnostics diagnostics,
+                                 int maxInFlight,
+                                 int tailChunks)
+   {
+      source_ = source;
+      host_ = host;
+      diagnostics_ = diagnostics;
+      maxInFlight_ = Math.max(1, maxInFlight);
+      tailChunks_ = tailChunks;
+   }
+
+   public void start()
+   {
+      startTime_ = Stopwatch.now();
+
+      // Chunk zero is always fetched on its own: the server trims the saved
+      // buffer when it's requested, and the response tells us how many
+      // chunks there are.
+      request(0);
+   }
+
+   /**
+    * Stop the reload; responses for requests still in flight are ignored.
+    */
+   public void cancel()
+   {
+      done_ = true;
+   }
+
+   public boolean isDone()
+   {
+      return done_;
+   }
+
+   private void request(final int chunk)
+   {
+      inFlight_++;
+      source_.getChunk(chunk, new ServerRequestCallback<ProcessBufferChunk>()
+      {
+         @Override
+         public void onResponseReceived(ProcessBufferChunk response)
+         {
+            inFlight_--;
+            if (!done_)
+               onChunk(response);
+         }
+
+         @Override
+         public void onError(ServerError error)
+         {
+            inFlight_--;
+            if (!done_)
+            {
+               done_ = true;
+               host_.onReloadError(error);
+            }
+         }
+      });
+   }
+
+   private void onChunk(ProcessBufferChunk response)
+   {
+      int number = response.getChunkNumber();
+
+      // ignore chunks past the end (requested before we knew where it was)
+      if (number > lastChunk_)
+         return;
+
+      received_.put(number, response.getChunk());
+      if (!response.getMoreAvailable())
+         lastChunk_ = number;
+
+      if (number == 0)
+      {
+         int count = response.getChunkCount();
+         if (count > 0)
+            lastChunk_ = Math.min(lastChunk_, count - 1);
+         nextToRequest_ = 1;
+
+         // if there's a lot to load, get what's on screen first
+         if (count > 0 && tailChunks_ > 0 && count > 2 * tailChunks_)
+         {
+            tailStart_ = count - tailChunks_;
+            for (int i = tailStart_; i < count; i++)
+               request(i);
+         }
+      }
+
+      if (tailStart_ < 0)
+      {
+         // write whatever is now contiguous with what's been written
+         while (received_.containsKey(nextToWrite_))
+         {
+            write(received_.remove(nextToWrite_));
+            nextToWrite_++;
+         }
+      }
+      else if (haveChunks(0, lastChunk_))
+      {
+         if (tailShown_)
+            host_.reset();
+
+         for (int i = 0; i <= lastChunk_; i++)
+            write(received_.get(i));
+         received_.clear();
+         nextToWrite_ = lastChunk_ + 1;
+      }
+      else if (!tailShown_ && haveChunks(tailStart_, lastChunk_))
+      {
+         for (int i = tailStart_; i <= lastChunk_; i++)
+            host_.write(received_.get(i));
+         tailShown_ = true;
+      }
+
+      if (nextToWrite_ > lastChunk_)
+      {
+         complete();
+         return;
+      }
+
+      requestMore();
+   }
+
+   private void requestMore()
+   {
+      // without a chunk count (older servers) we request ahead blindly, and
+      // stop once a chunk says there's nothing more
+      int limit = tailStart_ >= 0 ? tailStart_ : lastChunk_ + 1;
+      while (inFlight_ < maxInFlight_ && nextToRequest_ < limit)
+         request(nextToRequest_++);
+   }
+
+   private boolean haveChunks(int first, int last)
+   {
+      for (int i = first; i <= last; i++)
+      {
+         if (!received_.containsKey(i))
+            return false;
+      }
+      return true;
+   }
+
+   private void write(String output)
+   {
+      bytesWritten_ += output.length();
+      host_.write(output);
+   }
+
+   private void complete()
+   {
+      done_ = true;
+      if (diagnostics_ != null)
+      {
+         diagnostics_.logBufferReload(
+               lastChunk_ + 1,
+               bytesWritten_,
+               Stopwatch.now() - startTime_);
+      }
+      host_.onReloadComplete();
+   }
+
+   private final ChunkSource source_;
+   private final Host host_;
+   private final TerminalDiagnostics diagnostics_;
+   private final int maxInFlight_;
+   private final int tailChunks_;
+
+   // chunks received but not yet written
+   private final HashMap<Integer, String> received_ = new HashMap<>();
+
+   private int nextToRequest_ = 0;
+   private int nextToWrite_ = 0;
+   private int lastChunk_ = Integer.MAX_VALUE - 1;
+   private int tailStart_ = -1;
+   private boolean tailShown_ = false;
+   private int inFlight_ = 0;
+   private boolean done_ = false;
+   private long bytesWritten_ = 0;
+   private double startTime_;
+
+   private static final int DEFAULT_MAX_IN_FLIGHT = 4;
+   private static final int DEFAULT_TAIL_CHUNKS = 2;
+}
@@ -826,4 +826,22 @@ public interface TerminalConstants extends com.google.gwt.i18n.client.Messages {
     @DefaultMessage("Unknown")
     @Key("unknownShellLabel")
     String unknownShellLabel();
+
+    /**
+     * Translated "Reloaded {0} buffer chunks ({1} bytes) in {2} ms ({3} chunks/sec)".
+     *
+     * @return translated "Reloaded {0} buffer chunks ({1} bytes) in {2} ms ({3} chunks/sec)"
+     */
+    @DefaultMessage("Reloaded {0} buffer chunks ({1} bytes) in {2} ms ({3} chunks/sec)")
+    @Key("bufferReloadedMessage")
+    String bufferReloadedMessage(int chunks, String bytes, String ms, String rate);
+
+    /**
+     * Translated "Output: {0} frames in {1} writes ({2} frames/write average, {3} max)\n".
+     *
+     * @return translated "Output: {0} frames in {1} writes ({2} frames/write average, {3} max)\n"
+     */
+    @DefaultMessage("Output: {0} frames in {1} writes ({2} frames/write average, {3} max)\n")
+    @Key("outputCoalescingText")
+    String outputCoalescingText(int frames, int writes, String average, int max);
 }
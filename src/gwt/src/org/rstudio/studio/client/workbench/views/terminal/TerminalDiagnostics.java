@@ -16,6 +16,8 @@ package org.rstudio.studio.client.workbench.views.terminal;
 
 import org.rstudio.core.client.StringUtil;
 
+import com.google.gwt.core.client.GWT;
+
 public class TerminalDiagnostics
 {
    public void log(String msg)
@@ -42,5 +44,43 @@ public class TerminalDiagnostics
       diagnostic_ = null;
    }
 
+   /**
+    * Record the statistics for a completed buffer reload.
+    */
+   public void logBufferReload(int chunks, long bytes, double elapsedMs)
+   {
+      reloadedChunks_ = chunks;
+      reloadedBytes_ = bytes;
+      reloadChunksPerSecond_ = elapsedMs > 0 ? chunks * 1000 / elapsedMs : 0;
+
+      log(constants_.bufferReloadedMessage(
+            chunks,
+            Long.toString(bytes),
+            Long.toString(Math.round(elapsedMs)),
+            Long.toString(Math.round(reloadChunksPerSecond_))));
+   }
+
+   // statistics for the most recent buffer reload
+
+   public int getReloadedChunks()
+   {
+      return reloadedChunks_;
+   }
+
+   public long getReloadedBytes()
+   {
+      return reloadedBytes_;
+   }
+
+   public double getReloadChunksPerSecond()
+   {
+      return reloadChunksPerSecond_;
+   }
+
    private StringBuilder diagnostic_;
+   private int reloadedChunks_;
+   private long reloadedBytes_;
+   private double reloadChunksPerSecond_;
+
+   private static final TerminalConstants constants_ = GWT.create(TerminalConstants.class);
 }
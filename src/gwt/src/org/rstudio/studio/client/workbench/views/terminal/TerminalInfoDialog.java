@@ -85,6 +85,7 @@ public class TerminalInfoDialog extends ModalDialogBase
 
          diagnostics.append(constants_.connectionInformationText());
          diagnostics.append(session.getSocket().getConnectionDiagnostics());
+         diagnostics.append(session.getSocket().getOutputDiagnostics());
 
          diagnostics.append(constants_.matchFailuresText());
          if (!localEchoEnabled)
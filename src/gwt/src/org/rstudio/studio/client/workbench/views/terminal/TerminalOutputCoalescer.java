@@ -0,0 +1,168 @@
+/*
+ * TerminalOutputCoalescer.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.terminal;
+
+import java.util.function.Consumer;
+
+import org.rstudio.core.client.Stopwatch;
+import org.rstudio.core.client.regex.Pattern;
+
+import com.google.gwt.animation.client.AnimationScheduler;
+
+/**
+ * Batches terminal output so that a burst of small frames from the server
+ * (e.g. from `find /`) is written to the terminal once per animation frame
+ * rather than once per frame received.
+ *
+ * Output is written immediately, without waiting for the next animation
+ * frame, when:
+ *  - it arrives after the terminal has been idle, so interactive output
+ *    such as echoed keystrokes isn't delayed;
+ *  - the caller marks it urgent (e.g. local-echoed input is waiting to be
+ *    matched);
+ *  - it ends with something that looks like a shell prompt;
+ *  - the pending output reaches the byte cap.
+ */
+public class TerminalOutputCoalescer implements AnimationScheduler.AnimationCallback
+{
+   public TerminalOutputCoalescer(Consumer<String> writer)
+   {
+      this(writer, DEFAULT_MAX_PENDING_BYTES);
+   }
+
+   public TerminalOutputCoalescer(Consumer<String> writer, int maxPendingBytes)
+   {
+      writer_ = writer;
+      maxPendingBytes_ = Math.max(1, maxPendingBytes);
+   }
+
+   /**
+    * Queue output from the server.
+    *
+    * @param output The output
+    * @param urgent Write the output (and anything pending) right away
+    */
+   public void add(String output, boolean urgent)
+   {
+      if (output.isEmpty())
+         return;
+
+      framesReceived_++;
+      pendingFrames_++;
+      pending_.append(output);
+
+      double now = Stopwatch.now();
+      boolean idle = pendingFrames_ == 1 && now - lastOutputTime_ > IDLE_MS;
+      lastOutputTime_ = now;
+
+      if (urgent || idle ||
+          pending_.length() >= maxPendingBytes_ ||
+          PROMPT_PATTERN.test(output))
+      {
+         flush();
+      }
+      else if (frameHandle_ == null)
+      {
+         frameHandle_ = AnimationScheduler.get().requestAnimationFrame(this);
+      }
+   }
+
+   /**
+    * Write all pending output now.
+    */
+   public void flush()
+   {
+      if (frameHandle_ != null)
+      {
+         frameHandle_.cancel();
+         frameHandle_ = null;
+      }
+
+      if (pendingFrames_ == 0)
+         return;
+
+      String output = pending_.toString();
+      int frames = pendingFrames_;
+
+      pending_.setLength(0);
+      pendingFrames_ = 0;
+
+      flushCount_++;
+      framesFlushed_ += frames;
+      peakFramesPerFlush_ = Math.max(peakFramesPerFlush_, frames);
+
+      writer_.accept(output);
+   }
+
+   @Override
+   public void execute(double timestamp)
+   {
+      frameHandle_ = null;
+      flush();
+   }
+
+   public boolean hasPendingOutput()
+   {
+      return pendingFrames_ > 0;
+   }
+
+   // Counters ----
+
+   public int getFramesReceived()
+   {
+      return framesReceived_;
+   }
+
+   public int getFlushCount()
+   {
+      return flushCount_;
+   }
+
+   public int getMaxFramesMergedPerFlush()
+   {
+      return peakFramesPerFlush_;
+   }
+
+   public double getAverageFramesMergedPerFlush()
+   {
+      return flushCount_ == 0 ? 0 : (double) framesFlushed_ / flushCount_;
+   }
+
+   public void resetCounters()
+   {
+      framesReceived_ = 0;
+      flushCount_ = 0;
+      framesFlushed_ = 0;
+      peakFramesPerFlush_ = 0;
+   }
+
+   private final Consumer<String> writer_;
+   private final int maxPendingBytes_;
+   private final StringBuilder pending_ = new StringBuilder();
+   private int pendingFrames_ = 0;
+   private double lastOutputTime_ = 0;
+   private AnimationScheduler.AnimationHandle frameHandle_;
+
+   private int framesReceived_ = 0;
+   private int flushCount_ = 0;
+   private long framesFlushed_ = 0;
+   private int peakFramesPerFlush_ = 0;
+
+   // common shell prompt endings, e.g. "$ ", "# ", "> ", "% ", "Password: "
+   private static final Pattern PROMPT_PATTERN = Pattern.create("[$#>%:] $", "");
+
+   private static final int DEFAULT_MAX_PENDING_BYTES = 64 * 1024;
+   private static final double IDLE_MS = 50;
+}
@@ -739,7 +739,7 @@ public class TerminalSession extends XTermWidget
       else
       {
          setReloading();
-         fetchNextChunk(0);
+         fetchBuffer();
       }
    }
 
@@ -773,7 +773,7 @@ public class TerminalSession extends XTermWidget
       }
    }
 
-   private void fetchNextChunk(final int chunkToFetch)
+   private void fetchBuffer()
    {
       if (!shellSupportsReload())
       {
@@ -784,20 +784,30 @@ public class TerminalSession extends XTermWidget
       Scheduler.get().scheduleDeferred(() ->
       {
          onResize();
-         if (consoleProcess_ != null)
-         {
-            consoleProcess_.getTerminalBufferChunk(chunkToFetch,
-                  new ServerRequestCallback<ProcessBufferChunk>()
-            {
-               @Override
-               public void onResponseReceived(final ProcessBufferChunk chunk)
+         if (consoleProcess_ == null)
+            return;
+
+         if (bufferReloader_ != null)
+            bufferReloader_.cancel();
+
+         bufferReloader_ = new TerminalBufferReloader(
+               consoleProcess_::getTerminalBufferChunk,
+               new TerminalBufferReloader.Host()
                {
-                  accept(chunk.getChunk());
-                  if (chunk.getMoreAvailable())
+                  @Override
+                  public void write(String output)
                   {
-                     fetchNextChunk(chunk.getChunkNumber() + 1);
+                     accept(output);
                   }
-                  else
+
+                  @Override
+                  public void reset()
+                  {
+                     TerminalSession.this.reset();
+                  }
+
+                  @Override
+                  public void onReloadComplete()
                   {
                      writeRestartSequence();
                      if (procInfo_.getZombie())
@@ -809,18 +819,18 @@ public class TerminalSession extends XTermWidget
                      }
                      deferredOutput_.clear();
                   }
-               }
 
-               @Override
-               public void onError(ServerError error)
-               {
-                  Debug.logError(error);
-                  writeError(error.getUserMessage());
-                  setNotReloading();
-                  deferredOutput_.clear();
-               }
-            });
-         }
+                  @Override
+                  public void onReloadError(ServerError error)
+                  {
+                     Debug.logError(error);
+                     writeError(error.getUserMessage());
+                     setNotReloading();
+                     deferredOutput_.clear();
+                  }
+               },
+               socket_.getDiagnostics());
+         bufferReloader_.start();
       });
    }
 
@@ -951,6 +961,7 @@ public class TerminalSession extends XTermWidget
    private boolean connecting_;
    private boolean terminating_;
    private boolean reloading_;
+   private TerminalBufferReloader bufferReloader_;
    private boolean haveLoadedBuffer_;
    private final ArrayList<String> deferredOutput_ = new ArrayList<>();
    private boolean restartSequenceWritten_;
@@ -95,6 +95,7 @@ public class TerminalSessionSocket
       session_ = session;
       xterm_ = xterm;
       localEcho_ = new TerminalLocalEcho(xterm_);
+      outputCoalescer_ = new TerminalOutputCoalescer(session_::receivedOutput);
       webSocketPingInterval_ = webSocketPingInterval;
       webSocketConnectTimeout_ = webSocketConnectTimeout;
 
@@ -296,6 +297,10 @@ public class TerminalSessionSocket
                              boolean localEcho,
                              VoidServerRequestCallback requestCallback)
    {
+      // anything the user types must be echoed after the output that
+      // preceded it
+      outputCoalescer_.flush();
+
       if (localEcho)
          localEcho_.echo(input);
       else
@@ -361,7 +366,9 @@ public class TerminalSessionSocket
    @Override
    public void onConsoleOutput(ConsoleOutputEvent event)
    {
-      session_.receivedOutput(event.getOutput());
+      // output matching local-echoed input is written right away, so the
+      // echo is reconciled before the user types more
+      outputCoalescer_.add(event.getOutput(), !localEcho_.isEmpty());
    }
 
    private void addHandlerRegistration(HandlerRegistration reg)
@@ -385,6 +392,7 @@ public class TerminalSessionSocket
       if (socket_ != null)
          socket_.close();
       socket_ = null;
+      outputCoalescer_.flush();
       registrations_.removeHandler();
       if (permanent)
       {
@@ -396,6 +404,7 @@ public class TerminalSessionSocket
    {
       diagnostic_.resetLog();
       localEcho_.resetDiagnostics();
+      outputCoalescer_.resetCounters();
    }
 
    public String getConnectionDiagnostics()
@@ -403,6 +412,20 @@ public class TerminalSessionSocket
       return diagnostic_.getLog();
    }
 
+   public String getOutputDiagnostics()
+   {
+      return constants_.outputCoalescingText(
+            outputCoalescer_.getFramesReceived(),
+            outputCoalescer_.getFlushCount(),
+            Double.toString(Math.round(outputCoalescer_.getAverageFramesMergedPerFlush() * 10) / 10.0),
+            outputCoalescer_.getMaxFramesMergedPerFlush());
+   }
+
+   public TerminalDiagnostics getDiagnostics()
+   {
+      return diagnostic_;
+   }
+
    public String getLocalEchoDiagnostics()
    {
       return localEcho_.getDiagnostics();
@@ -426,6 +449,7 @@ public class TerminalSessionSocket
    private HandlerRegistration terminalInputHandler_;
    private Websocket socket_;
    private final TerminalLocalEcho localEcho_;
+   private final TerminalOutputCoalescer outputCoalescer_;
    private final TerminalDiagnostics diagnostic_ = new TerminalDiagnostics();
 
    // RegEx to match common password prompts
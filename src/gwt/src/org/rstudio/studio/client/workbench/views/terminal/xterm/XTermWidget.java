@@ -154,6 +154,14 @@ public class XTermWidget extends Widget
       terminal_.clear();
    }
 
+   /**
+    * Reset the terminal emulator to its initial state, discarding all output.
+    */
+   public void reset()
+   {
+      terminal_.reset();
+   }
+
    @Override
    protected void onUnload()
    {
@@ -0,0 +1,143 @@
+/*
+ * DiffLineSource.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.vcs.common.diff;
+
+import java.util.ArrayList;
+
+import org.rstudio.core.client.Debug;
+
+/**
+ * The rows of a file's diff, parsed from a DiffParser a few chunks at a time
+ * as they're needed (e.g. as the user scrolls), so that a very large diff
+ * doesn't have to be parsed before any of it can be shown.
+ */
+public class DiffLineSource
+{
+   /**
+    * A source for rows that have already been parsed.
+    */
+   public DiffLineSource(ArrayList<ChunkOrLine> rows)
+   {
+      parser_ = null;
+      rows_ = rows;
+      for (ChunkOrLine row : rows)
+      {
+         if (row.getChunk() != null)
+            chunks_.add(row.getChunk());
+      }
+   }
+
+   /**
+    * A source that reads chunks from the parser on demand; the parser should
+    * already be positioned past the file header.
+    */
+   public DiffLineSource(DiffParser parser)
+   {
+      parser_ = parser;
+      rows_ = new ArrayList<>();
+   }
+
+   /**
+    * Parse until at least the given number of rows are available, or the
+    * diff has been fully parsed.
+    *
+    * @return Whether any rows were added.
+    */
+   public boolean ensureRows(int count)
+   {
+      int oldCount = rows_.size();
+      while (rows_.size() < count && !isComplete())
+         parseChunk();
+      return rows_.size() > oldCount;
+   }
+
+   public void parseAll()
+   {
+      ensureRows(Integer.MAX_VALUE);
+   }
+
+   public boolean isComplete()
+   {
+      return parser_ == null;
+   }
+
+   /**
+    * @return The rows parsed so far. The list grows as more of the diff is
+    *    parsed.
+    */
+   public ArrayList<ChunkOrLine> getRows()
+   {
+      return rows_;
+   }
+
+   public int getRowCount()
+   {
+      return rows_.size();
+   }
+
+   /**
+    * @return The (non-ignored) chunks parsed so far. The list grows as more
+    *    of the diff is parsed.
+    */
+   public ArrayList<DiffChunk> getChunks()
+   {
+      return chunks_;
+   }
+
+   /**
+    * @return An estimate of the number of rows in the whole diff, based on
+    *    how much of it has been parsed so far.
+    */
+   public int getEstimatedRowCount()
+   {
+      if (isComplete() || !(parser_ instanceof UnifiedParser))
+         return rows_.size();
+
+      double progress = ((UnifiedParser) parser_).getProgress();
+      if (progress <= 0)
+         return rows_.size();
+
+      return Math.max(rows_.size(), (int) Math.ceil(rows_.size() / progress));
+   }
+
+   private void parseChunk()
+   {
+      DiffChunk chunk;
+      try
+      {
+         chunk = parser_.nextChunk();
+      }
+      catch (DiffFormatException e)
+      {
+         // show what we were able to parse
+         Debug.logException(e);
+         chunk = null;
+      }
+
+      if (chunk == null)
+      {
+         parser_ = null;
+         return;
+      }
+
+      if (!chunk.shouldIgnore())
+         chunks_.add(chunk);
+      rows_.addAll(ChunkOrLine.fromChunk(chunk));
+   }
+
+   private DiffParser parser_;
+   private final ArrayList<ChunkOrLine> rows_;
+   private final ArrayList<DiffChunk> chunks_ = new ArrayList<>();
+}
@@ -27,6 +27,8 @@ import com.google.gwt.user.cellview.client.CellTable;
 import com.google.gwt.user.cellview.client.Column;
 import com.google.gwt.user.cellview.client.RowStyles;
 import com.google.gwt.user.cellview.client.TextColumn;
+import com.google.gwt.user.client.ui.ScrollPanel;
+import com.google.gwt.user.client.ui.Widget;
 import com.google.gwt.view.client.MultiSelectionModel;
 import com.google.gwt.view.client.ProvidesKey;
 import com.google.gwt.view.client.SelectionChangeEvent;
@@ -48,6 +50,7 @@ import org.rstudio.studio.client.workbench.views.vcs.common.events.DiffLinesActi
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 
 public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements Display
 {
@@ -383,14 +386,41 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
 
    private void refreshValue(ChunkOrLine value)
    {
-      int index = lines_.indexOf(value);
-      if (index >= 0)
+      int index = indexOfRow(value);
+      if (index >= getPageStart() && index < getPageStart() + getPageSize())
       {
          ArrayList<ChunkOrLine> list = new ArrayList<>();
          list.add(value);
          setRowData(index, list);
       }
+   }
 
+   // Rows are in diff order, so they can be found by diff index without
+   // scanning the whole (possibly very long) list.
+   private int indexOfRow(ChunkOrLine value)
+   {
+      int key = getDiffIndex(value);
+      int low = 0;
+      int high = lines_.size() - 1;
+      while (low <= high)
+      {
+         int mid = (low + high) >>> 1;
+         int midKey = getDiffIndex(lines_.get(mid));
+         if (midKey < key)
+            low = mid + 1;
+         else if (midKey > key)
+            high = mid - 1;
+         else
+            return lines_.get(mid) == value ? mid : lines_.indexOf(value);
+      }
+      return lines_.indexOf(value);
+   }
+
+   private static int getDiffIndex(ChunkOrLine value)
+   {
+      return value.getChunk() != null
+            ? value.getChunk().getDiffIndex()
+            : value.getLine().getDiffIndex();
    }
 
    private String intToString(Integer value)
@@ -428,6 +458,17 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
 
    @Override
    public void setData(ArrayList<ChunkOrLine> diffData, PatchMode patchMode)
+   {
+      setData(new DiffLineSource(diffData), patchMode);
+   }
+
+   /**
+    * Show the rows of a diff. Small diffs are rendered in full; for large
+    * ones only the rows in and around the scroll panel's viewport are
+    * rendered, and the diff is parsed further as the user scrolls down.
+    */
+   @Override
+   public void setData(DiffLineSource source, PatchMode patchMode)
    {
       removeStyleName(RES.cellTableStyle().stageMode());
       removeStyleName(RES.cellTableStyle().workingMode());
@@ -441,18 +482,44 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
             break;
       }
 
-      lines_ = diffData;
-      setPageSize(diffData.size());
+      source_ = source;
+      source_.ensureRows(MAX_UNWINDOWED_ROWS + 1);
+      lines_ = source_.getRows();
       selectionModel_.clear();
       firstSelectedLine_ = null;
-      setRowData(diffData);
 
       startRows_.clear();
       endRows_.clear();
+      bordersComputed_ = 0;
+      borderState_ = Line.Type.Same;
+      suppressNextStart_ = true; // Suppress at start to avoid 2px border
+      updateBorders();
+
+      windowed_ = lines_.size() > MAX_UNWINDOWED_ROWS;
+      if (windowed_ && (!isAttached() || scrollPanel_ != null))
+      {
+         renderWindow(0);
+      }
+      else
+      {
+         windowed_ = false;
+         showAllRows();
+      }
+   }
 
-      Line.Type state = Line.Type.Same;
-      boolean suppressNextStart = true; // Suppress at start to avoid 2px border
-      for (int i = 0; i < lines_.size(); i++)
+   private void showAllRows()
+   {
+      source_.parseAll();
+      updateBorders();
+      setSpacers(0, 0);
+      setPageSize(lines_.size());
+      setRowData(lines_);
+   }
+
+   // Compute the border rows for any rows parsed since the last call.
+   private void updateBorders()
+   {
+      for (int i = bordersComputed_; i < lines_.size(); i++)
       {
          ChunkOrLine chunkOrLine = lines_.get(i);
          Line line = chunkOrLine.getLine();
@@ -462,34 +529,161 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
          if (useStartBorder_ && i == 0)
             startRows_.add(i);
 
-         // Edge case: last line is a diff line
-         if (useEndBorder_ && i == lines_.size() - 1)
-            endRows_.add(i);
-
-         if (newState != state)
+         if (newState != borderState_)
          {
             // Note: endRows_ doesn't include the borders between insertions and
             // deletions, or vice versa. This is to avoid 2px borders between
             // these regions when just about everything else is 1px.
-            if (state != Line.Type.Same && newState == Line.Type.Same && !isChunk)
+            if (borderState_ != Line.Type.Same && newState == Line.Type.Same && !isChunk)
                endRows_.add(i-1);
-            if (!suppressNextStart && newState != Line.Type.Same)
+            if (!suppressNextStart_ && newState != Line.Type.Same)
                startRows_.add(i);
 
-            state = newState;
+            borderState_ = newState;
          }
 
-         suppressNextStart = isChunk;
+         suppressNextStart_ = isChunk;
+      }
+      bordersComputed_ = lines_.size();
+
+      // Edge case: last line is a diff line
+      if (useEndBorder_ && source_.isComplete() && !lines_.isEmpty())
+         endRows_.add(lines_.size() - 1);
+   }
+
+   // Render WINDOW_ROWS rows starting at the given row, with margins above
+   // and below the table standing in for the rows that aren't rendered.
+   private void renderWindow(int start)
+   {
+      source_.ensureRows(start + WINDOW_ROWS);
+      updateBorders();
+
+      start = Math.max(0, Math.min(start, lines_.size() - WINDOW_ROWS));
+      int length = Math.min(WINDOW_ROWS, lines_.size() - start);
+
+      setRowCount(lines_.size(), source_.isComplete());
+      setVisibleRange(start, length);
+      setRowData(start, new ArrayList<>(lines_.subList(start, start + length)));
+
+      // measure what was rendered to estimate the height of the rest
+      int renderedHeight = getRowContainer().getOffsetHeight();
+      if (renderedHeight > 0 && length > 0)
+         rowHeight_ = (double) renderedHeight / length;
+
+      int rowsAfter = Math.max(0, source_.getEstimatedRowCount() - (start + length));
+      setSpacers((int) (start * rowHeight_), (int) (rowsAfter * rowHeight_));
+   }
+
+   private void setSpacers(int top, int bottom)
+   {
+      topSpacer_ = top;
+      getElement().getStyle().setMarginTop(top, Unit.PX);
+      getElement().getStyle().setMarginBottom(bottom, Unit.PX);
+   }
+
+   // Move the rendered window if the viewport is near (or past) its edges.
+   private void updateWindow()
+   {
+      if (!windowed_ || scrollPanel_ == null)
+         return;
+
+      int viewHeight = scrollPanel_.getOffsetHeight();
+      int tableTop = getElement().getAbsoluteTop() - topSpacer_;
+      int viewTop = scrollPanel_.getAbsoluteTop() - tableTop;
+      int tableHeight = topSpacer_ + getOffsetHeight() +
+            (int) (source_.isComplete() ? 0 : rowHeight_ * WINDOW_ROWS);
+      if (viewTop + viewHeight < 0 || viewTop > tableHeight)
+         return;
+
+      int start = getPageStart();
+      int length = getPageSize();
+      int renderedTop = topSpacer_;
+      int renderedHeight = getRowContainer().getOffsetHeight();
+      boolean overlaps = viewTop < renderedTop + renderedHeight &&
+                         viewTop + viewHeight > renderedTop;
+
+      int firstVisible;
+      if (overlaps)
+         firstVisible = start + (int) ((viewTop - renderedTop) / rowHeight_);
+      else
+         firstVisible = (int) (viewTop / rowHeight_);
+      firstVisible = Math.max(0, firstVisible);
+      int visibleRows = (int) Math.ceil(viewHeight / rowHeight_);
+
+      int slack = WINDOW_ROWS / 4;
+      boolean nearTop = start > 0 && firstVisible - start < slack;
+      boolean nearBottom =
+            (start + length < lines_.size() || !source_.isComplete()) &&
+            start + length - (firstVisible + visibleRows) < slack;
+      if (!nearTop && !nearBottom)
+         return;
+
+      // keep a row that's on screen in the same place, so that differences
+      // between the estimated and actual row heights don't make the view jump
+      int anchor = -1;
+      int anchorOffset = 0;
+      if (overlaps)
+      {
+         anchor = Math.max(start, Math.min(firstVisible, start + length - 1));
+         anchorOffset = getRowElement(anchor - start).getAbsoluteTop() -
+                        scrollPanel_.getAbsoluteTop();
+      }
+
+      renderWindow(firstVisible - (WINDOW_ROWS - visibleRows) / 2);
+
+      if (anchor >= getPageStart() && anchor < getPageStart() + getPageSize())
+      {
+         int newOffset = getRowElement(anchor - getPageStart()).getAbsoluteTop() -
+                         scrollPanel_.getAbsoluteTop();
+         if (newOffset != anchorOffset)
+         {
+            scrollPanel_.setVerticalScrollPosition(
+                  scrollPanel_.getVerticalScrollPosition() + newOffset - anchorOffset);
+         }
       }
    }
 
+   @Override
+   protected void onLoad()
+   {
+      super.onLoad();
+
+      Widget parent = getParent();
+      while (parent != null && !(parent instanceof ScrollPanel))
+         parent = parent.getParent();
+      scrollPanel_ = (ScrollPanel) parent;
+
+      if (scrollPanel_ != null)
+         scrollHandler_ = scrollPanel_.addScrollHandler(event -> updateWindow());
+      else if (windowed_)
+      {
+         // nothing to scroll the window with
+         windowed_ = false;
+         showAllRows();
+      }
+   }
+
+   @Override
+   protected void onUnload()
+   {
+      if (scrollHandler_ != null)
+      {
+         scrollHandler_.removeHandler();
+         scrollHandler_ = null;
+      }
+      scrollPanel_ = null;
+
+      super.onUnload();
+   }
+
    @Override
    protected boolean canSelectVisibleRow(int visibleRow)
    {
-      if (visibleRow < 0 || visibleRow >= lines_.size())
+      int row = getPageStart() + visibleRow;
+      if (visibleRow < 0 || row >= lines_.size())
          return false;
 
-      Line line = lines_.get(visibleRow).getLine();
+      Line line = lines_.get(row).getLine();
       return line != null && (line.getType() == Type.Insertion
                               || line.getType() == Type.Deletion);
    }
@@ -510,9 +704,18 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
       return selected;
    }
 
+   @Override
+   protected List<ChunkOrLine> getSelectableItems()
+   {
+      // select across the whole diff, not just the rendered rows
+      parseAll();
+      return lines_;
+   }
+
    @Override
    public ArrayList<Line> getAllLines()
    {
+      parseAll();
       ArrayList<Line> selected = new ArrayList<>();
       for (ChunkOrLine line : lines_)
          if (line.getLine() != null)
@@ -538,22 +741,49 @@ public class LineTableView extends MultiSelectCellTable<ChunkOrLine> implements
       return selectionModel_.addSelectionChangeHandler(handler);
    }
 
+   private void parseAll()
+   {
+      if (source_.isComplete())
+         return;
+
+      source_.parseAll();
+      updateBorders();
+      if (windowed_)
+         renderWindow(getPageStart());
+   }
+
    public static void ensureStylesInjected()
    {
       RES.cellTableStyle().ensureInjected();
    }
 
    private boolean showActions_ = true;
+   private DiffLineSource source_;
    private ArrayList<ChunkOrLine> lines_;
    private SwitchableSelectionModel<ChunkOrLine> selectionModel_;
    private HashSet<Integer> startRows_ = new HashSet<>();
    private HashSet<Integer> endRows_ = new HashSet<>();
    private boolean useStartBorder_ = false;
    private boolean useEndBorder_ = true;
+   private int bordersComputed_;
+   private Line.Type borderState_;
+   private boolean suppressNextStart_;
+
+   // For large diffs only a window of rows is rendered (see renderWindow)
+   private boolean windowed_ = false;
+   private ScrollPanel scrollPanel_;
+   private HandlerRegistration scrollHandler_;
+   private double rowHeight_ = DEFAULT_ROW_HEIGHT;
+   private int topSpacer_ = 0;
+
    // Keep explicit track of the first selected line so we can render it differently
    private ChunkOrLine firstSelectedLine_;
    private static final LineTableViewCellTableResources RES = GWT.create(LineTableViewCellTableResources.class);
    private static final LineActionButtonRenderer blueButtonRenderer_ = LineActionButtonRenderer.createBlue();
    private static final LineActionButtonRenderer grayButtonRenderer_ = LineActionButtonRenderer.createGray();
    private static final ViewVcsConstants constants_ = GWT.create(ViewVcsConstants.class);
+
+   private static final int MAX_UNWINDOWED_ROWS = 2000;
+   private static final int WINDOW_ROWS = 600;
+   private static final double DEFAULT_ROW_HEIGHT = 16;
 }
@@ -39,6 +39,17 @@ public class UnifiedParser implements DiffParser
       return diffIndex_;
    }
 
+   /**
+    * @return The fraction of the diff parsed so far, between 0 and 1. Callers
+    *    that parse chunks on demand use this to estimate how much is left.
+    */
+   public double getProgress()
+   {
+      if (data_.isEmpty())
+         return 1;
+      return Math.min(1, (double) pos_ / data_.length());
+   }
+
    @Override
    public DiffFileHeader nextFilePair()
    {
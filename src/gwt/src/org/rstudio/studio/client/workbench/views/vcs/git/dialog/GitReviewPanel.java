@@ -59,7 +59,7 @@ import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
 import org.rstudio.studio.client.workbench.views.vcs.CheckoutBranchToolbarButton;
 import org.rstudio.studio.client.workbench.views.vcs.ViewVcsConstants;
 import org.rstudio.studio.client.workbench.views.vcs.common.ChangelistTable;
-import org.rstudio.studio.client.workbench.views.vcs.common.diff.ChunkOrLine;
+import org.rstudio.studio.client.workbench.views.vcs.common.diff.DiffLineSource;
 import org.rstudio.studio.client.workbench.views.vcs.common.diff.LineTablePresenter;
 import org.rstudio.studio.client.workbench.views.vcs.common.diff.LineTableView;
 import org.rstudio.studio.client.workbench.views.vcs.dialog.SharedStyles;
@@ -495,7 +495,7 @@ public class GitReviewPanel extends ResizeComposite implements Display
    }
 
    @Override
-   public void setData(ArrayList<ChunkOrLine> lines, PatchMode patchMode)
+   public void setData(DiffLineSource lines, PatchMode patchMode)
    {
       int vscroll = diffScroll_.getVerticalScrollPosition();
       int hscroll = diffScroll_.getHorizontalScrollPosition();
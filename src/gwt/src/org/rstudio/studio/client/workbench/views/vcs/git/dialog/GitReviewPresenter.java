@@ -112,7 +112,7 @@ public class GitReviewPresenter implements ReviewPresenter
 
       HasValue<Boolean> getCommitIsAmend();
 
-      void setData(ArrayList<ChunkOrLine> lines, PatchMode patchMode);
+      void setData(DiffLineSource lines, PatchMode patchMode);
 
       HasClickHandlers getOverrideSizeWarningButton();
       void showSizeWarning(long sizeInBytes);
@@ -812,22 +812,14 @@ public class GitReviewPresenter implements ReviewPresenter
                   UnifiedParser parser = new UnifiedParser(response);
                   parser.nextFilePair();
 
-                  ArrayList<ChunkOrLine> allLines = new ArrayList<>();
-
-                  activeChunks_.clear();
-                  for (DiffChunk chunk;
-                       null != (chunk = parser.nextChunk());)
-                  {
-                     activeChunks_.add(chunk);
-                     allLines.add(new ChunkOrLine(chunk));
-                     for (Line line : chunk.getLines())
-                        allLines.add(new ChunkOrLine(line));
-                  }
+                  // chunks are parsed as the diff view needs them
+                  DiffLineSource lines = new DiffLineSource(parser);
+                  activeChunks_ = lines.getChunks();
 
                   view_.setShowActions(
                         !"??".equals(item.getStatus()) &&
                         !"UU".equals(item.getStatus()));
-                  view_.setData(allLines, patchMode);
+                  view_.setData(lines, patchMode);
                }
 
                @Override
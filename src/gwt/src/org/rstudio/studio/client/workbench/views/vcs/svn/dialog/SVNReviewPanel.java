@@ -52,7 +52,7 @@ import org.rstudio.studio.client.common.vcs.StatusAndPath;
 import org.rstudio.studio.client.workbench.commands.Commands;
 import org.rstudio.studio.client.workbench.views.vcs.ViewVcsConstants;
 import org.rstudio.studio.client.workbench.views.vcs.common.ChangelistTable;
-import org.rstudio.studio.client.workbench.views.vcs.common.diff.ChunkOrLine;
+import org.rstudio.studio.client.workbench.views.vcs.common.diff.DiffLineSource;
 import org.rstudio.studio.client.workbench.views.vcs.common.diff.LineTablePresenter;
 import org.rstudio.studio.client.workbench.views.vcs.common.diff.LineTableView;
 import org.rstudio.studio.client.workbench.views.vcs.dialog.SharedStyles;
@@ -358,7 +358,7 @@ public class SVNReviewPanel extends ResizeComposite implements Display
 
 
    @Override
-   public void setData(ArrayList<ChunkOrLine> lines)
+   public void setData(DiffLineSource lines)
    {
       int vscroll = diffScroll_.getVerticalScrollPosition();
       int hscroll = diffScroll_.getHorizontalScrollPosition();
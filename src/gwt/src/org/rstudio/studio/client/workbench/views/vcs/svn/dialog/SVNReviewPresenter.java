@@ -84,7 +84,7 @@ public class SVNReviewPresenter implements ReviewPresenter
 
       HasClickHandlers getDiscardAllButton();
 
-      void setData(ArrayList<ChunkOrLine> lines);
+      void setData(DiffLineSource lines);
 
       HasClickHandlers getOverrideSizeWarningButton();
       void showSizeWarning(long sizeInBytes);
@@ -412,25 +412,13 @@ public class SVNReviewPresenter implements ReviewPresenter
                   SVNDiffParser parser = new SVNDiffParser(response);
                   parser.nextFilePair();
 
-                  ArrayList<ChunkOrLine> allLines = new ArrayList<>();
-
-                  activeChunks_.clear();
-                  for (DiffChunk chunk;
-                       null != (chunk = parser.nextChunk());)
-                  {
-                     if (!chunk.shouldIgnore())
-                     {
-                        activeChunks_.add(chunk);
-                        allLines.add(new ChunkOrLine(chunk));
-                     }
-
-                     for (Line line : chunk.getLines())
-                        allLines.add(new ChunkOrLine(line));
-                  }
+                  // chunks are parsed as the diff view needs them
+                  DiffLineSource lines = new DiffLineSource(parser);
+                  activeChunks_ = lines.getChunks();
 
                   view_.getLineTableDisplay().setShowActions(
                         !"?".equals(item.getStatus()));
-                  view_.setData(allLines);
+                  view_.setData(lines);
                }
 
                @Override
@@ -1268,4 +1268,89 @@ public class VirtualConsoleTests extends GWTTestCase
       
       Assert.assertEquals(ele.getInnerText(), "hello");
    }
+
+   public void testCompactionKeepsRecentLines()
+   {
+      PreElement ele = Document.get().createPreElement();
+      VirtualConsole vc = getVC(ele);
+      vc.setMaxLines(2);
+      vc.submit("a\nb\nc\nd\ne\n");
+
+      // the model only keeps the last two lines; the DOM is left alone
+      Assert.assertEquals("d\ne\n", vc.toString());
+      Assert.assertEquals("a\nb\nc\nd\ne\n", ele.getInnerText());
+   }
+
+   public void testCompactionCarriageReturn()
+   {
+      PreElement ele = Document.get().createPreElement();
+      VirtualConsole vc = getVC(ele);
+      vc.setMaxLines(1);
+      for (int i = 0; i < 10; i++)
+         vc.submit("line " + i + "\n");
+
+      vc.submit("\033[32m50%\033[39m");
+      vc.submit("\r\033[32m100%\033[39m");
+
+      Assert.assertEquals("line 9\n100%", vc.toString());
+      Assert.assertTrue(ele.getInnerText().startsWith("line 0\n"));
+      Assert.assertTrue(ele.getInnerHTML().endsWith("line 9\n</span><span class=\"xtermColor2\">100%</span>"));
+   }
+
+   public void testCompactionOverwriteInSpanningRange()
+   {
+      // the range holding all the text now starts before the retained text;
+      // overwriting the last line must still land in the right place
+      PreElement ele = Document.get().createPreElement();
+      VirtualConsole vc = getVC(ele);
+      vc.setMaxLines(1);
+      vc.submit("aaa\nbbb\nccc\nhello");
+      Assert.assertEquals("ccc\nhello", vc.toString());
+
+      vc.submit("\rj");
+      Assert.assertEquals("ccc\njello", vc.toString());
+      Assert.assertEquals("aaa\nbbb\nccc\njello", ele.getInnerText());
+
+      vc.submit("\rjel\033[31mLL\033[39m");
+      Assert.assertEquals("ccc\njelLL", vc.toString());
+      Assert.assertEquals("aaa\nbbb\nccc\njelLL", ele.getInnerText());
+      Assert.assertEquals(2, vc.getRangeCount());
+   }
+
+   public void testCompactionBackspaceStopsAtRetainedText()
+   {
+      // lines that have been dropped can't be backed into
+      VirtualConsole vc = getVC(Document.get().createPreElement());
+      vc.setMaxLines(1);
+      vc.submit("one\ntwo\nthree");
+      vc.submit("\b\b\b\b\b\b\b\b\b\b\b\bX");
+      Assert.assertEquals("Xwo\nthree", vc.toString());
+   }
+
+   // Writes many short colored lines, as a long running job would, and
+   // compares the console's text and range map with and without a line limit.
+   public void testCompactionBoundsMemory()
+   {
+      int lines = 5000;
+      int maxLines = 500;
+
+      VirtualConsole unbounded = getVC(Document.get().createPreElement());
+      writeColoredLines(unbounded, lines);
+
+      VirtualConsole bounded = getVC(Document.get().createPreElement());
+      bounded.setMaxLines(maxLines);
+      writeColoredLines(bounded, lines);
+
+      // each line is a colored range plus its newline
+      Assert.assertTrue(unbounded.getRangeCount() >= lines);
+      Assert.assertTrue(bounded.getRangeCount() < maxLines * 5);
+      Assert.assertTrue(bounded.getLength() * 3 < unbounded.getLength());
+      Assert.assertTrue(bounded.toString().endsWith("line " + (lines - 1) + "\n"));
+   }
+
+   private static void writeColoredLines(VirtualConsole vc, int count)
+   {
+      for (int i = 0; i < count; i++)
+         vc.submit(setForegroundIndex(i % 8) + "line " + i + "\033[39m\n");
+   }
 }
@@ -0,0 +1,130 @@
+/*
+ * RingBufferTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client.container;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+import junit.framework.Assert;
+
+public class RingBufferTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   // ---- tests start here ----
+
+   public void testDrainsInInsertionOrder()
+   {
+      RingBuffer<Integer> buffer = new RingBuffer<>();
+      Assert.assertTrue(buffer.isEmpty());
+      Assert.assertNull(buffer.poll());
+      Assert.assertNull(buffer.peek());
+
+      for (int i = 0; i < 10; i++)
+         buffer.add(i);
+      Assert.assertEquals(10, buffer.size());
+      Assert.assertEquals(0, (int) buffer.peek());
+
+      for (int i = 0; i < 10; i++)
+         Assert.assertEquals(i, (int) buffer.poll());
+      Assert.assertTrue(buffer.isEmpty());
+      Assert.assertNull(buffer.poll());
+   }
+
+   public void testWrapsAround()
+   {
+      RingBuffer<Integer> buffer = new RingBuffer<>(4);
+
+      // move the head along so that later items wrap past the end of the
+      // backing array
+      int next = 0;
+      int expected = 0;
+      for (int round = 0; round < 10; round++)
+      {
+         buffer.add(next++);
+         buffer.add(next++);
+         buffer.add(next++);
+         Assert.assertEquals(expected++, (int) buffer.poll());
+         Assert.assertEquals(expected++, (int) buffer.poll());
+      }
+
+      Assert.assertEquals(10, buffer.size());
+      for (int i = 0; i < buffer.size(); i++)
+         Assert.assertEquals(expected + i, (int) buffer.get(i));
+      while (!buffer.isEmpty())
+         Assert.assertEquals(expected++, (int) buffer.poll());
+      Assert.assertEquals(next, expected);
+   }
+
+   public void testGrowsWhileWrapped()
+   {
+      RingBuffer<Integer> buffer = new RingBuffer<>(4);
+      buffer.add(0);
+      buffer.add(1);
+      buffer.add(2);
+      Assert.assertEquals(0, (int) buffer.poll());
+      Assert.assertEquals(1, (int) buffer.poll());
+
+      // the buffer is full, and wrapped, when it has to grow for item 6
+      for (int i = 3; i < 7; i++)
+         buffer.add(i);
+      Assert.assertEquals(5, buffer.size());
+
+      for (int i = 7; i < 100; i++)
+         buffer.add(i);
+      Assert.assertEquals(98, buffer.size());
+      Assert.assertEquals(2, (int) buffer.peek());
+      Assert.assertEquals(99, (int) buffer.get(97));
+
+      for (int i = 2; i < 100; i++)
+         Assert.assertEquals(i, (int) buffer.poll());
+      Assert.assertTrue(buffer.isEmpty());
+   }
+
+   public void testGetOutOfRange()
+   {
+      RingBuffer<String> buffer = new RingBuffer<>();
+      buffer.add("a");
+      try
+      {
+         buffer.get(1);
+         Assert.fail("expected IndexOutOfBoundsException");
+      }
+      catch (IndexOutOfBoundsException e)
+      {
+      }
+   }
+
+   public void testClear()
+   {
+      RingBuffer<Integer> buffer = new RingBuffer<>(4);
+      buffer.add(0);
+      buffer.add(1);
+      buffer.poll();
+      buffer.add(2);
+      buffer.add(3);
+      buffer.add(4);
+      buffer.clear();
+      Assert.assertTrue(buffer.isEmpty());
+      Assert.assertNull(buffer.poll());
+
+      buffer.add(5);
+      Assert.assertEquals(1, buffer.size());
+      Assert.assertEquals(5, (int) buffer.poll());
+   }
+}
@@ -0,0 +1,129 @@
+/*
+ * MetricsRegistryTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client.metrics;
+
+import com.google.gwt.json.client.JSONArray;
+import com.google.gwt.json.client.JSONObject;
+import com.google.gwt.junit.client.GWTTestCase;
+
+import junit.framework.Assert;
+
+public class MetricsRegistryTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   // ---- tests start here ----
+
+   public void testBucketBoundaries()
+   {
+      Assert.assertEquals(0, LatencyHistogram.bucketFor(0));
+      Assert.assertEquals(0, LatencyHistogram.bucketFor(1.0 / 64));
+
+      // 1ms is exactly 2^6 times the smallest bucket
+      Assert.assertEquals(6, LatencyHistogram.bucketFor(1));
+      Assert.assertEquals(7, LatencyHistogram.bucketFor(1.01));
+      Assert.assertEquals(7, LatencyHistogram.bucketFor(2));
+
+      // anything huge lands in the overflow bucket
+      LatencyHistogram histogram = new LatencyHistogram("test");
+      int overflow = histogram.getBucketCount() - 1;
+      Assert.assertEquals(overflow, LatencyHistogram.bucketFor(1e9));
+      Assert.assertTrue(Double.isInfinite(LatencyHistogram.getBucketUpperBoundMs(overflow)));
+   }
+
+   public void testHistogramSummary()
+   {
+      LatencyHistogram histogram = new LatencyHistogram("test");
+      for (int i = 0; i < 90; i++)
+         histogram.record(1);
+      for (int i = 0; i < 10; i++)
+         histogram.record(100);
+
+      Assert.assertEquals(100, histogram.getCount());
+      Assert.assertEquals(1090, histogram.getTotalMs(), 0.001);
+      Assert.assertEquals(10.9, histogram.getMeanMs(), 0.001);
+      Assert.assertEquals(1, histogram.getMinMs(), 0.001);
+      Assert.assertEquals(100, histogram.getMaxMs(), 0.001);
+
+      // percentiles are reported at bucket resolution, capped at the max
+      Assert.assertEquals(1, histogram.getPercentileMs(0.5), 0.001);
+      Assert.assertEquals(1, histogram.getPercentileMs(0.9), 0.001);
+      Assert.assertEquals(100, histogram.getPercentileMs(0.99), 0.001);
+
+      histogram.reset();
+      Assert.assertEquals(0, histogram.getCount());
+      Assert.assertEquals(0, histogram.getPercentileMs(0.5), 0.001);
+   }
+
+   public void testRegistryReturnsSameMetric()
+   {
+      MetricsRegistry registry = new MetricsRegistry();
+      Assert.assertSame(registry.counter("a"), registry.counter("a"));
+      Assert.assertSame(registry.gauge("a"), registry.gauge("a"));
+      Assert.assertSame(registry.histogram("a"), registry.histogram("a"));
+   }
+
+   public void testResetKeepsMetricsRegistered()
+   {
+      MetricsRegistry registry = new MetricsRegistry();
+      MetricsRegistry.Counter counter = registry.counter("requests");
+      MetricsRegistry.Gauge gauge = registry.gauge("depth");
+      counter.add(5);
+      gauge.set(10);
+      gauge.set(3);
+      Assert.assertEquals(10, gauge.getMax(), 0.001);
+
+      registry.reset();
+      Assert.assertEquals(0, counter.get());
+      Assert.assertEquals(0, gauge.getMax(), 0.001);
+
+      counter.increment();
+      Assert.assertEquals(1, registry.counter("requests").get());
+   }
+
+   public void testJsonDump()
+   {
+      MetricsRegistry registry = new MetricsRegistry();
+      registry.counter("rpc.errors").add(2);
+      registry.gauge("client_event.queue_depth").set(7);
+      registry.histogram("rpc.get_events").record(3);
+      registry.histogram("rpc.get_events").record(5);
+      registry.histogram("unused");
+
+      JSONObject json = registry.toJson();
+      Assert.assertEquals(2, (int) json.get("counters").isObject()
+            .get("rpc.errors").isNumber().doubleValue());
+      Assert.assertEquals(7, (int) json.get("gauges").isObject()
+            .get("client_event.queue_depth").isObject()
+            .get("value").isNumber().doubleValue());
+
+      JSONObject histograms = json.get("histograms").isObject();
+      Assert.assertNull(histograms.get("unused"));
+
+      JSONObject rpc = histograms.get("rpc.get_events").isObject();
+      Assert.assertEquals(2, (int) rpc.get("count").isNumber().doubleValue());
+      Assert.assertEquals(8, rpc.get("total_ms").isNumber().doubleValue(), 0.001);
+
+      // 3ms and 5ms fall in the (2, 4] and (4, 8] buckets
+      JSONArray buckets = rpc.get("buckets").isArray();
+      Assert.assertEquals(2, buckets.size());
+      Assert.assertEquals(4, buckets.get(0).isArray().get(0).isNumber().doubleValue(), 0.001);
+      Assert.assertEquals(8, buckets.get(1).isArray().get(0).isNumber().doubleValue(), 0.001);
+   }
+}
@@ -0,0 +1,150 @@
+/*
+ * EditJournalTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client.patch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.junit.client.GWTTestCase;
+
+import junit.framework.Assert;
+
+public class EditJournalTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   // A document that records its edits in a journal.
+   private static class Doc
+   {
+      Doc(String... rows)
+      {
+         rows_ = new ArrayList<>(Arrays.asList(rows));
+      }
+
+      void replace(int row, int length, String... rows)
+      {
+         for (int i = 0; i < length; i++)
+            rows_.remove(row);
+         rows_.addAll(row, Arrays.asList(rows));
+         journal_.replaceRows(row, length, rows.length);
+      }
+
+      LinePatch createPatch()
+      {
+         LinePatch patch = new LinePatch("\n");
+         for (EditJournal.Hunk hunk : journal_.getHunks())
+         {
+            JsArrayString lines = JavaScriptObject.createArray().cast();
+            for (int i = 0; i < hunk.getNewLength(); i++)
+               lines.push(rows_.get(hunk.getNewRow() + i));
+            patch.addHunk(hunk.getRow(), hunk.getLength(), lines);
+         }
+         return patch;
+      }
+
+      String getContents()
+      {
+         return String.join("\n", rows_);
+      }
+
+      final List<String> rows_;
+      EditJournal journal_ = new EditJournal();
+   }
+
+   private void assertPatchApplies(String base, Doc doc)
+   {
+      Assert.assertEquals(doc.getContents(), doc.createPatch().apply(base));
+   }
+
+   // ---- tests start here ----
+
+   public void testSingleEdit()
+   {
+      Doc doc = new Doc("a", "b", "c");
+      String base = doc.getContents();
+      doc.replace(1, 1, "B");
+
+      List<EditJournal.Hunk> hunks = doc.journal_.getHunks();
+      Assert.assertEquals(1, hunks.size());
+      Assert.assertEquals(1, hunks.get(0).getRow());
+      Assert.assertEquals(1, hunks.get(0).getLength());
+      assertPatchApplies(base, doc);
+   }
+
+   public void testSeparateEditsStaySeparate()
+   {
+      String[] rows = new String[100];
+      for (int i = 0; i < rows.length; i++)
+         rows[i] = "row" + i;
+
+      Doc doc = new Doc(rows);
+      String base = doc.getContents();
+
+      // edit near the top and the bottom; the patch shouldn't need any of
+      // the rows in between
+      doc.replace(2, 1, "top", "inserted");
+      doc.replace(95, 1, "bottom");
+      doc.replace(0, 2, "first");
+
+      List<EditJournal.Hunk> hunks = doc.journal_.getHunks();
+      Assert.assertEquals(2, hunks.size());
+      Assert.assertEquals(0, hunks.get(0).getRow());
+      Assert.assertEquals(94, hunks.get(1).getRow());
+      Assert.assertEquals(0, doc.journal_.getRowDelta());
+      assertPatchApplies(base, doc);
+   }
+
+   public void testOverlappingEditsMerge()
+   {
+      Doc doc = new Doc("a", "b", "c", "d", "e", "f");
+      String base = doc.getContents();
+
+      doc.replace(1, 1, "b1", "b2", "b3");
+      doc.replace(5, 1, "e1");
+      doc.replace(3, 3, "x");
+
+      Assert.assertEquals(1, doc.journal_.getHunks().size());
+      assertPatchApplies(base, doc);
+   }
+
+   public void testOverflow()
+   {
+      Doc doc = new Doc("a", "b", "c", "d", "e");
+      doc.journal_ = new EditJournal(2);
+      doc.replace(0, 1, "A");
+      doc.replace(2, 1, "C");
+      Assert.assertFalse(doc.journal_.isOverflowed());
+
+      doc.replace(4, 1, "E");
+      Assert.assertTrue(doc.journal_.isOverflowed());
+      Assert.assertFalse(doc.journal_.isEmpty());
+   }
+
+   public void testPatchMustFitDocument()
+   {
+      LinePatch patch = new LinePatch("\n");
+      JsArrayString lines = JavaScriptObject.createArray().cast();
+      lines.push("x");
+      patch.addHunk(5, 1, lines);
+      Assert.assertNull(patch.apply("a\nb"));
+   }
+}
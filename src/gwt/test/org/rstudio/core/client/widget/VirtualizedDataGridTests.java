@@ -0,0 +1,86 @@
+/*
+ * VirtualizedDataGridTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.core.client.widget;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+import junit.framework.Assert;
+
+public class VirtualizedDataGridTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private static final int PADDING = VirtualizedDataGrid.ROW_PADDING;
+
+   // the active rows plus the rows standing in for the top and bottom
+   // padding must account for every row exactly once
+   private static void assertCoversAllRows(int scrolled, int visible, int n)
+   {
+      int first = VirtualizedDataGrid.firstActiveRow(scrolled);
+      int last = VirtualizedDataGrid.lastActiveRow(scrolled, visible, n);
+      int top = first;
+      int bottom = n - last - 1;
+
+      Assert.assertTrue(top >= 0);
+      Assert.assertTrue(bottom >= 0);
+      Assert.assertEquals(n, top + (last - first + 1) + bottom);
+   }
+
+   // ---- tests start here ----
+
+   public void testWindowAtTop()
+   {
+      Assert.assertEquals(0, VirtualizedDataGrid.firstActiveRow(0));
+      Assert.assertEquals(PADDING + 30,
+            VirtualizedDataGrid.lastActiveRow(0, 30, 10000));
+      assertCoversAllRows(0, 30, 10000);
+   }
+
+   public void testWindowInMiddle()
+   {
+      // the visible rows plus the padding either side of them
+      int scrolled = 5000;
+      Assert.assertEquals(scrolled - PADDING,
+            VirtualizedDataGrid.firstActiveRow(scrolled));
+      Assert.assertEquals(scrolled + 30 + PADDING,
+            VirtualizedDataGrid.lastActiveRow(scrolled, 30, 10000));
+      assertCoversAllRows(scrolled, 30, 10000);
+   }
+
+   public void testWindowAtBottom()
+   {
+      // the last active row is the last row, not one past it
+      Assert.assertEquals(9999,
+            VirtualizedDataGrid.lastActiveRow(9980, 30, 10000));
+      assertCoversAllRows(9980, 30, 10000);
+   }
+
+   public void testAllRowsFit()
+   {
+      Assert.assertEquals(0, VirtualizedDataGrid.firstActiveRow(0));
+      Assert.assertEquals(9, VirtualizedDataGrid.lastActiveRow(0, 30, 10));
+      assertCoversAllRows(0, 30, 10);
+   }
+
+   public void testNoRows()
+   {
+      Assert.assertEquals(-1, VirtualizedDataGrid.lastActiveRow(0, 30, 0));
+      assertCoversAllRows(0, 30, 0);
+   }
+}
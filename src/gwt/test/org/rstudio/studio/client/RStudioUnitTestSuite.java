@@ -22,16 +22,43 @@ import org.rstudio.core.client.StringUtilTests;
 import org.rstudio.core.client.TextCursorTests;
 import org.rstudio.core.client.URIUtilsTests;
 import org.rstudio.core.client.VirtualConsoleTests;
+import org.rstudio.core.client.container.RingBufferTests;
 import org.rstudio.core.client.dom.DomUtilsTests;
+import org.rstudio.core.client.metrics.MetricsRegistryTests;
+import org.rstudio.core.client.patch.EditJournalTests;
+import org.rstudio.core.client.widget.VirtualizedDataGridTests;
 import org.rstudio.studio.client.application.ApplicationUtilsTests;
 import org.rstudio.studio.client.application.model.SessionScopeTests;
 import org.rstudio.studio.client.common.r.RTokenizerTests;
+import org.rstudio.studio.client.common.satellite.SatellitePendingEventsTests;
+import org.rstudio.studio.client.common.spelling.SpellingRequestQueueTests;
 import org.rstudio.studio.client.projects.model.ProjectMRUEntryTests;
+import org.rstudio.studio.client.server.remote.ClientEventDispatcherTests;
+import org.rstudio.studio.client.server.remote.ClientEventFlowControlTests;
+import org.rstudio.studio.client.server.remote.ConsoleWriteCoalescerTests;
+import org.rstudio.studio.client.workbench.codesearch.CodeSearchIndexTests;
+import org.rstudio.studio.client.workbench.prefs.model.PrefsTests;
+import org.rstudio.studio.client.workbench.views.ai.AiStreamCoalescerTests;
+import org.rstudio.studio.client.workbench.views.ai.widgets.AiStreamingMarkdownRendererTests;
+import org.rstudio.studio.client.workbench.views.console.shell.assist.CompletionCacheTests;
+import org.rstudio.studio.client.workbench.views.console.shell.assist.NamespaceCompletionCacheTests;
+import org.rstudio.studio.client.workbench.views.environment.PendingObjectChangesTests;
+import org.rstudio.studio.client.workbench.views.environment.view.EnvironmentObjectIndexTests;
+import org.rstudio.studio.client.workbench.views.files.ui.FilesListIndexTests;
 import org.rstudio.studio.client.workbench.views.jobs.model.JobManagerTests;
+import org.rstudio.studio.client.workbench.views.jobs.view.JobOutputWindowTests;
 import org.rstudio.studio.client.workbench.views.jobs.view.JobsListTests;
+import org.rstudio.studio.client.workbench.views.output.find.FindResultStoreTests;
+import org.rstudio.studio.client.workbench.views.output.lint.IncrementalLintTests;
+import org.rstudio.studio.client.workbench.views.output.lint.LintManagerTests;
+import org.rstudio.studio.client.workbench.views.plots.PlotSizeCacheTests;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ScopeTreeSchedulerTests;
 import org.rstudio.studio.client.workbench.views.source.editors.text.assist.RChunkHeaderParserTests;
+import org.rstudio.studio.client.workbench.views.terminal.TerminalBufferReloaderTests;
 import org.rstudio.studio.client.workbench.views.terminal.TerminalLocalEchoTests;
+import org.rstudio.studio.client.workbench.views.terminal.TerminalOutputCoalescerTests;
 import org.rstudio.studio.client.workbench.views.terminal.TerminalSessionSocketTests;
+import org.rstudio.studio.client.workbench.views.vcs.common.diff.DiffLineSourceTests;
 import org.rstudio.studio.client.workbench.views.source.editors.text.rmd.ChunkContextUiTests;
 import org.rstudio.studio.client.workbench.views.source.editors.text.rmd.DefaultChunkOptionsPopupPanelTests;
 
@@ -65,6 +92,33 @@ public class RStudioUnitTestSuite extends GWTTestSuite
       suite.addTestSuite(TestMocks.class);
       suite.addTestSuite(ApplicationUtilsTests.class);
       suite.addTestSuite(ProjectMRUEntryTests.class);
+      suite.addTestSuite(AiStreamingMarkdownRendererTests.class);
+      suite.addTestSuite(ClientEventDispatcherTests.class);
+      suite.addTestSuite(ConsoleWriteCoalescerTests.class);
+      suite.addTestSuite(ClientEventFlowControlTests.class);
+      suite.addTestSuite(NamespaceCompletionCacheTests.class);
+      suite.addTestSuite(MetricsRegistryTests.class);
+      suite.addTestSuite(SatellitePendingEventsTests.class);
+      suite.addTestSuite(EditJournalTests.class);
+      suite.addTestSuite(TerminalBufferReloaderTests.class);
+      suite.addTestSuite(TerminalOutputCoalescerTests.class);
+      suite.addTestSuite(DiffLineSourceTests.class);
+      suite.addTestSuite(FindResultStoreTests.class);
+      suite.addTestSuite(CodeSearchIndexTests.class);
+      suite.addTestSuite(SpellingRequestQueueTests.class);
+      suite.addTestSuite(JobOutputWindowTests.class);
+      suite.addTestSuite(PlotSizeCacheTests.class);
+      suite.addTestSuite(PrefsTests.class);
+      suite.addTestSuite(ScopeTreeSchedulerTests.class);
+      suite.addTestSuite(IncrementalLintTests.class);
+      suite.addTestSuite(AiStreamCoalescerTests.class);
+      suite.addTestSuite(CompletionCacheTests.class);
+      suite.addTestSuite(LintManagerTests.class);
+      suite.addTestSuite(RingBufferTests.class);
+      suite.addTestSuite(FilesListIndexTests.class);
+      suite.addTestSuite(VirtualizedDataGridTests.class);
+      suite.addTestSuite(PendingObjectChangesTests.class);
+      suite.addTestSuite(EnvironmentObjectIndexTests.class);
 
       return suite;
    }
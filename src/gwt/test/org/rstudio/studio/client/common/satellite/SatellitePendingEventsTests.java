@@ -0,0 +1,112 @@
+/*
+ * SatellitePendingEventsTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.common.satellite;
+
+import java.util.List;
+
+import org.rstudio.core.client.metrics.MetricsRegistry;
+import org.rstudio.studio.client.server.remote.ClientEvent;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+import junit.framework.Assert;
+
+public class SatellitePendingEventsTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   // ---- tests start here ----
+
+   public void testDrainPreservesOrder()
+   {
+      SatellitePendingEvents<String> pending = new SatellitePendingEvents<>();
+      pending.add(ClientEvent.ConsoleOutput, "a");
+      pending.add(ClientEvent.FileChanged, "b");
+      pending.add(ClientEvent.ConsoleOutput, "c");
+      Assert.assertEquals(3, pending.size());
+
+      List<String> events = pending.drain();
+      Assert.assertEquals("[a, b, c]", events.toString());
+      Assert.assertEquals(0, pending.size());
+      Assert.assertTrue(pending.drain().isEmpty());
+   }
+
+   public void testCollapsibleEventsKeepLatest()
+   {
+      SatellitePendingEvents<String> pending = new SatellitePendingEvents<>();
+      pending.add(ClientEvent.PlotsStateChanged, "plot1");
+      pending.add(ClientEvent.ConsoleOutput, "out");
+      pending.add(ClientEvent.PlotsStateChanged, "plot2");
+      pending.add(ClientEvent.PlotsStateChanged, "plot3");
+
+      Assert.assertEquals(2, pending.size());
+      Assert.assertEquals(2, pending.getCollapsedCount());
+      Assert.assertEquals("[out, plot3]", pending.drain().toString());
+   }
+
+   public void testOverflowDropsOldest()
+   {
+      SatellitePendingEvents<String> pending = new SatellitePendingEvents<>(3);
+      for (int i = 0; i < 5; i++)
+         pending.add(ClientEvent.ConsoleOutput, "e" + i);
+
+      Assert.assertEquals(3, pending.size());
+      Assert.assertEquals(2, pending.getDroppedCount());
+      Assert.assertEquals("[e2, e3, e4]", pending.drain().toString());
+   }
+
+   public void testOverflowIsCounted()
+   {
+      MetricsRegistry.Counter dropped =
+            MetricsRegistry.get().counter("satellite.events_dropped");
+      long before = dropped.get();
+
+      SatellitePendingEvents<String> pending = new SatellitePendingEvents<>(3);
+      for (int i = 0; i < 3; i++)
+         pending.add(ClientEvent.ConsoleOutput, "e" + i);
+      Assert.assertEquals(before, dropped.get());
+
+      pending.add(ClientEvent.ConsoleOutput, "e3");
+      pending.add(ClientEvent.ConsoleOutput, "e4");
+      Assert.assertEquals(before + 2, dropped.get());
+   }
+
+   public void testManySupersededEventsStayBounded()
+   {
+      SatellitePendingEvents<String> pending = new SatellitePendingEvents<>(4);
+      for (int i = 0; i < 1000; i++)
+         pending.add(ClientEvent.MemoryUsageChanged, "m" + i);
+
+      Assert.assertEquals(1, pending.size());
+      Assert.assertEquals(0, pending.getDroppedCount());
+      Assert.assertEquals("[m999]", pending.drain().toString());
+   }
+
+   public void testTopics()
+   {
+      Assert.assertEquals(SatelliteEventTopics.CONSOLE,
+            SatelliteEventTopics.topicFor(ClientEvent.ConsoleOutput));
+      Assert.assertEquals(SatelliteEventTopics.PLOTS,
+            SatelliteEventTopics.topicFor(ClientEvent.PlotsStateChanged));
+
+      // events outside any topic are delivered everywhere
+      Assert.assertNull(SatelliteEventTopics.topicFor(ClientEvent.FileChanged));
+      Assert.assertNull(SatelliteEventTopics.topicFor("no_such_event"));
+   }
+}
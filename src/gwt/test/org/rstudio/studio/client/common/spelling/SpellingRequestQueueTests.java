@@ -0,0 +1,183 @@
+/*
+ * SpellingRequestQueueTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.common.spelling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.rstudio.studio.client.common.spelling.model.SpellCheckerResult;
+import org.rstudio.studio.client.server.ServerError;
+import org.rstudio.studio.client.server.ServerRequestCallback;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayInteger;
+import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.junit.client.GWTTestCase;
+import junit.framework.Assert;
+
+public class SpellingRequestQueueTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   // Holds requests until told to respond; words starting with 'x' are
+   // misspelled.
+   private static class FakeServer implements SpellingRequestQueue.Server
+   {
+      @Override
+      public void checkSpelling(JsArrayString words,
+                                ServerRequestCallback<JsArrayInteger> callback)
+      {
+         List<String> batch = new ArrayList<>();
+         for (int i = 0; i < words.length(); i++)
+            batch.add(words.get(i));
+         batches_.add(batch);
+         callbacks_.add(callback);
+      }
+
+      void respond()
+      {
+         List<String> batch = batches_.get(responded_);
+         JsArrayInteger misspelled = JavaScriptObject.createArray().cast();
+         for (int i = 0; i < batch.size(); i++)
+         {
+            if (batch.get(i).startsWith("x"))
+               misspelled.push(i);
+         }
+         callbacks_.get(responded_++).onResponseReceived(misspelled);
+      }
+
+      int pending()
+      {
+         return callbacks_.size() - responded_;
+      }
+
+      final List<List<String>> batches_ = new ArrayList<>();
+      final List<ServerRequestCallback<JsArrayInteger>> callbacks_ = new ArrayList<>();
+      int responded_ = 0;
+   }
+
+   private static class Collector extends ServerRequestCallback<SpellCheckerResult>
+   {
+      @Override
+      public void onResponseReceived(SpellCheckerResult response)
+      {
+         result_ = response;
+      }
+
+      @Override
+      public void onError(ServerError error)
+      {
+         Assert.fail();
+      }
+
+      SpellCheckerResult result_;
+   }
+
+   // ---- tests start here ----
+
+   public void testBatchesAndSingleRequest()
+   {
+      FakeServer server = new FakeServer();
+      SpellingRequestQueue queue =
+            new SpellingRequestQueue(server, new SpellingVerdictCache(null), 2);
+
+      Collector first = new Collector();
+      queue.check(Arrays.asList("one", "xtwo", "three"), true, first);
+
+      // only one request goes out at a time, with at most two words
+      Assert.assertEquals(1, server.pending());
+      Assert.assertEquals(Arrays.asList("one", "xtwo"), server.batches_.get(0));
+
+      server.respond();
+      Assert.assertNull(first.result_);
+      Assert.assertEquals(1, server.pending());
+
+      server.respond();
+      Assert.assertEquals(2, first.result_.getCorrect().size());
+      Assert.assertEquals(Arrays.asList("xtwo"), first.result_.getIncorrect());
+      Assert.assertTrue(queue.isIdle());
+      Assert.assertEquals(2, queue.getRequestCount());
+   }
+
+   public void testDedupeAndCache()
+   {
+      FakeServer server = new FakeServer();
+      SpellingRequestQueue queue =
+            new SpellingRequestQueue(server, new SpellingVerdictCache(null));
+
+      // two documents ask about the same words while a request is in flight
+      Collector first = new Collector();
+      Collector second = new Collector();
+      queue.check(Arrays.asList("alpha", "xbeta"), true, first);
+      queue.check(Arrays.asList("xbeta", "gamma"), true, second);
+
+      server.respond();
+      Assert.assertNotNull(first.result_);
+      Assert.assertNull(second.result_);
+      Assert.assertEquals(Arrays.asList("gamma"), server.batches_.get(1));
+
+      server.respond();
+      Assert.assertEquals(Arrays.asList("xbeta"), second.result_.getIncorrect());
+
+      // everything is cached now
+      Collector third = new Collector();
+      queue.check(Arrays.asList("alpha", "gamma"), true, third);
+      Assert.assertEquals(0, server.pending());
+      Assert.assertEquals(2, third.result_.getCorrect().size());
+      Assert.assertEquals(6, queue.getWordsChecked());
+      Assert.assertEquals(2, queue.getCacheHits());
+   }
+
+   public void testVisibleWordsFirst()
+   {
+      FakeServer server = new FakeServer();
+      SpellingRequestQueue queue =
+            new SpellingRequestQueue(server, new SpellingVerdictCache(null), 2);
+
+      queue.check(Arrays.asList("busy"), false, null);
+      queue.check(Arrays.asList("later1", "later2"), false, null);
+      queue.check(Arrays.asList("now1", "now2"), true, null);
+
+      server.respond();
+      Assert.assertEquals(Arrays.asList("now1", "now2"), server.batches_.get(1));
+      server.respond();
+      Assert.assertEquals(Arrays.asList("later1", "later2"), server.batches_.get(2));
+   }
+
+   public void testVerdictCache()
+   {
+      SpellingVerdictCache cache = new SpellingVerdictCache(null, 3);
+      cache.put("a", true);
+      cache.put("b", false);
+      cache.put("c", true);
+      cache.put("d", true);
+
+      // the oldest verdict is dropped
+      Assert.assertEquals(3, cache.size());
+      Assert.assertNull(cache.get("a"));
+      Assert.assertEquals(Boolean.FALSE, cache.get("b"));
+
+      SpellingVerdictCache copy = new SpellingVerdictCache(null, 3);
+      copy.deserialize(cache.serialize());
+      Assert.assertEquals(3, copy.size());
+      Assert.assertEquals(Boolean.FALSE, copy.get("b"));
+      Assert.assertEquals(Boolean.TRUE, copy.get("d"));
+   }
+}
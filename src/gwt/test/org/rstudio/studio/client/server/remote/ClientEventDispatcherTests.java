@@ -0,0 +1,556 @@
+/*
+ * ClientEventDispatcherTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.server.remote;
+
+import org.rstudio.core.client.command.CommandCallbacksChangedEvent;
+import org.rstudio.core.client.events.ExecuteAppCommandEvent;
+import org.rstudio.core.client.events.HighlightEvent;
+import org.rstudio.core.client.files.filedialog.events.OpenFileDialogEvent;
+import org.rstudio.studio.client.application.events.ClipboardActionEvent;
+import org.rstudio.studio.client.application.events.ComputeThemeColorsEvent;
+import org.rstudio.studio.client.application.events.DeferredInitCompletedEvent;
+import org.rstudio.studio.client.application.events.DeploymentRecordsUpdatedEvent;
+import org.rstudio.studio.client.application.events.HandleUnsavedChangesEvent;
+import org.rstudio.studio.client.application.events.QuitEvent;
+import org.rstudio.studio.client.application.events.RVersionsChangedEvent;
+import org.rstudio.studio.client.application.events.ReloadWithLastChanceSaveEvent;
+import org.rstudio.studio.client.application.events.RunAutomationEvent;
+import org.rstudio.studio.client.application.events.SaveActionChangedEvent;
+import org.rstudio.studio.client.application.events.SessionAbendWarningEvent;
+import org.rstudio.studio.client.application.events.SessionCountChangedEvent;
+import org.rstudio.studio.client.application.events.SessionLabelChangedEvent;
+import org.rstudio.studio.client.application.events.SessionSerializationEvent;
+import org.rstudio.studio.client.application.events.SessionSuspendBlockedEvent;
+import org.rstudio.studio.client.application.events.SuicideEvent;
+import org.rstudio.studio.client.application.events.SuspendAndRestartEvent;
+import org.rstudio.studio.client.common.compilepdf.events.CompilePdfCompletedEvent;
+import org.rstudio.studio.client.common.compilepdf.events.CompilePdfErrorsEvent;
+import org.rstudio.studio.client.common.compilepdf.events.CompilePdfOutputEvent;
+import org.rstudio.studio.client.common.compilepdf.events.CompilePdfStartedEvent;
+import org.rstudio.studio.client.common.console.ConsoleProcessCreatedEvent;
+import org.rstudio.studio.client.common.console.ServerConsoleOutputEvent;
+import org.rstudio.studio.client.common.console.ServerConsolePromptEvent;
+import org.rstudio.studio.client.common.console.ServerProcessExitEvent;
+import org.rstudio.studio.client.common.debugging.events.ErrorHandlerChangedEvent;
+import org.rstudio.studio.client.common.debugging.events.PackageLoadedEvent;
+import org.rstudio.studio.client.common.debugging.events.PackageUnloadedEvent;
+import org.rstudio.studio.client.common.debugging.events.UnhandledErrorEvent;
+import org.rstudio.studio.client.common.dependencies.events.InstallShinyEvent;
+import org.rstudio.studio.client.common.rpubs.events.RPubsUploadStatusEvent;
+import org.rstudio.studio.client.common.rstudioapi.events.AskSecretEvent;
+import org.rstudio.studio.client.common.rstudioapi.events.RStudioAPIShowDialogEvent;
+import org.rstudio.studio.client.common.synctex.events.SynctexEditFileEvent;
+import org.rstudio.studio.client.events.EditorCommandDispatchEvent;
+import org.rstudio.studio.client.events.RStudioApiRequestEvent;
+import org.rstudio.studio.client.events.ReticulateEvent;
+import org.rstudio.studio.client.htmlpreview.events.HTMLPreviewCompletedEvent;
+import org.rstudio.studio.client.htmlpreview.events.HTMLPreviewOutputEvent;
+import org.rstudio.studio.client.htmlpreview.events.HTMLPreviewStartedEvent;
+import org.rstudio.studio.client.htmlpreview.events.ShowPageViewerEvent;
+import org.rstudio.studio.client.packages.events.PackageExtensionIndexingCompletedEvent;
+import org.rstudio.studio.client.plumber.events.PlumberAPIStatusEvent;
+import org.rstudio.studio.client.projects.events.FollowUserEvent;
+import org.rstudio.studio.client.projects.events.OpenProjectErrorEvent;
+import org.rstudio.studio.client.projects.events.ProjectAccessRevokedEvent;
+import org.rstudio.studio.client.projects.events.ProjectTemplateRegistryUpdatedEvent;
+import org.rstudio.studio.client.projects.events.ProjectUserChangedEvent;
+import org.rstudio.studio.client.projects.events.RequestOpenProjectEvent;
+import org.rstudio.studio.client.rmarkdown.events.ChunkExecStateChangedEvent;
+import org.rstudio.studio.client.rmarkdown.events.ChunkPlotRefreshFinishedEvent;
+import org.rstudio.studio.client.rmarkdown.events.ChunkPlotRefreshedEvent;
+import org.rstudio.studio.client.rmarkdown.events.NotebookRangeExecutedEvent;
+import org.rstudio.studio.client.rmarkdown.events.PreviewRmdEvent;
+import org.rstudio.studio.client.rmarkdown.events.RmdChunkOutputEvent;
+import org.rstudio.studio.client.rmarkdown.events.RmdChunkOutputFinishedEvent;
+import org.rstudio.studio.client.rmarkdown.events.RmdParamsReadyEvent;
+import org.rstudio.studio.client.rmarkdown.events.RmdRenderCompletedEvent;
+import org.rstudio.studio.client.rmarkdown.events.RmdRenderOutputEvent;
+import org.rstudio.studio.client.rmarkdown.events.RmdRenderStartedEvent;
+import org.rstudio.studio.client.rmarkdown.events.RmdShinyDocStartedEvent;
+import org.rstudio.studio.client.rmarkdown.events.ShinyGadgetDialogEvent;
+import org.rstudio.studio.client.rmarkdown.events.WebsiteFileSavedEvent;
+import org.rstudio.studio.client.rsconnect.events.EnableRStudioConnectUIEvent;
+import org.rstudio.studio.client.rsconnect.events.RSConnectDeploymentCompletedEvent;
+import org.rstudio.studio.client.rsconnect.events.RSConnectDeploymentFailedEvent;
+import org.rstudio.studio.client.rsconnect.events.RSConnectDeploymentOutputEvent;
+import org.rstudio.studio.client.server.model.DocumentCloseAllNoSaveEvent;
+import org.rstudio.studio.client.server.model.RequestDocumentCloseEvent;
+import org.rstudio.studio.client.server.model.RequestDocumentCloseForRevertEvent;
+import org.rstudio.studio.client.server.model.RequestDocumentSaveEvent;
+import org.rstudio.studio.client.shiny.events.ShinyApplicationStatusEvent;
+import org.rstudio.studio.client.shiny.events.ShinyFrameNavigatedEvent;
+import org.rstudio.studio.client.tests.events.TestsCompletedEvent;
+import org.rstudio.studio.client.tests.events.TestsOutputEvent;
+import org.rstudio.studio.client.tests.events.TestsStartedEvent;
+import org.rstudio.studio.client.workbench.addins.events.AddinRegistryUpdatedEvent;
+import org.rstudio.studio.client.workbench.events.ActivatePaneEvent;
+import org.rstudio.studio.client.workbench.events.AdminNotificationEvent;
+import org.rstudio.studio.client.workbench.events.BrowseUrlEvent;
+import org.rstudio.studio.client.workbench.events.BusyEvent;
+import org.rstudio.studio.client.workbench.events.InstallRtoolsEvent;
+import org.rstudio.studio.client.workbench.events.ListChangedEvent;
+import org.rstudio.studio.client.workbench.events.QuotaStatusEvent;
+import org.rstudio.studio.client.workbench.events.ShowErrorMessageEvent;
+import org.rstudio.studio.client.workbench.events.ShowWarningBarEvent;
+import org.rstudio.studio.client.workbench.events.UserPromptEvent;
+import org.rstudio.studio.client.workbench.prefs.events.UserPrefsChangedEvent;
+import org.rstudio.studio.client.workbench.prefs.events.UserStateChangedEvent;
+import org.rstudio.studio.client.workbench.snippets.model.SnippetsChangedEvent;
+import org.rstudio.studio.client.workbench.views.ai.events.AiLoadConversationEvent;
+import org.rstudio.studio.client.workbench.views.ai.events.AiStartConversationEvent;
+import org.rstudio.studio.client.workbench.views.ai.events.AiStreamDataEvent;
+import org.rstudio.studio.client.workbench.views.ai.events.StoreActiveRequestIdEvent;
+import org.rstudio.studio.client.workbench.views.ai.events.UpdateThinkingMessageEvent;
+import org.rstudio.studio.client.workbench.views.buildtools.events.BuildCompletedEvent;
+import org.rstudio.studio.client.workbench.views.buildtools.events.BuildErrorsEvent;
+import org.rstudio.studio.client.workbench.views.buildtools.events.BuildOutputEvent;
+import org.rstudio.studio.client.workbench.views.buildtools.events.BuildStartedEvent;
+import org.rstudio.studio.client.workbench.views.choosefile.events.ChooseFileEvent;
+import org.rstudio.studio.client.workbench.views.connections.events.ActiveConnectionsChangedEvent;
+import org.rstudio.studio.client.workbench.views.connections.events.ConnectionListChangedEvent;
+import org.rstudio.studio.client.workbench.views.connections.events.ConnectionOpenedEvent;
+import org.rstudio.studio.client.workbench.views.connections.events.ConnectionUpdatedEvent;
+import org.rstudio.studio.client.workbench.views.connections.events.EnableConnectionsEvent;
+import org.rstudio.studio.client.workbench.views.connections.events.NewConnectionDialogUpdatedEvent;
+import org.rstudio.studio.client.workbench.views.console.events.ConsoleActivateEvent;
+import org.rstudio.studio.client.workbench.views.console.events.ConsolePromptEvent;
+import org.rstudio.studio.client.workbench.views.console.events.ConsoleResetHistoryEvent;
+import org.rstudio.studio.client.workbench.views.console.events.ConsoleWriteErrorEvent;
+import org.rstudio.studio.client.workbench.views.console.events.ConsoleWriteInputEvent;
+import org.rstudio.studio.client.workbench.views.console.events.ConsoleWriteOutputEvent;
+import org.rstudio.studio.client.workbench.views.console.events.ConsoleWritePromptEvent;
+import org.rstudio.studio.client.workbench.views.console.events.SendToConsoleEvent;
+import org.rstudio.studio.client.workbench.views.console.events.WorkingDirChangedEvent;
+import org.rstudio.studio.client.workbench.views.console.model.ConsoleText;
+import org.rstudio.studio.client.workbench.views.edit.events.ShowEditorEvent;
+import org.rstudio.studio.client.workbench.views.environment.events.BrowserLineChangedEvent;
+import org.rstudio.studio.client.workbench.views.environment.events.ContextDepthChangedEvent;
+import org.rstudio.studio.client.workbench.views.environment.events.DebugSourceCompletedEvent;
+import org.rstudio.studio.client.workbench.views.environment.events.EnvironmentChangedEvent;
+import org.rstudio.studio.client.workbench.views.environment.events.EnvironmentObjectAssignedEvent;
+import org.rstudio.studio.client.workbench.views.environment.events.EnvironmentObjectRemovedEvent;
+import org.rstudio.studio.client.workbench.views.environment.events.EnvironmentRefreshEvent;
+import org.rstudio.studio.client.workbench.views.environment.events.JumpToFunctionEvent;
+import org.rstudio.studio.client.workbench.views.environment.events.MemoryUsageChangedEvent;
+import org.rstudio.studio.client.workbench.views.files.events.DirectoryNavigateEvent;
+import org.rstudio.studio.client.workbench.views.files.events.FileChangeEvent;
+import org.rstudio.studio.client.workbench.views.help.events.ShowHelpEvent;
+import org.rstudio.studio.client.workbench.views.history.events.HistoryEntriesAddedEvent;
+import org.rstudio.studio.client.workbench.views.jobs.events.JobOutputEvent;
+import org.rstudio.studio.client.workbench.views.jobs.events.JobRefreshEvent;
+import org.rstudio.studio.client.workbench.views.jobs.events.JobUpdatedEvent;
+import org.rstudio.studio.client.workbench.views.jobs.events.JobsActivateEvent;
+import org.rstudio.studio.client.workbench.views.output.data.events.DataOutputCompletedEvent;
+import org.rstudio.studio.client.workbench.views.output.find.events.FindOperationEndedEvent;
+import org.rstudio.studio.client.workbench.views.output.find.events.FindResultEvent;
+import org.rstudio.studio.client.workbench.views.output.find.events.ReplaceProgressEvent;
+import org.rstudio.studio.client.workbench.views.output.find.events.ReplaceResultEvent;
+import org.rstudio.studio.client.workbench.views.output.lint.events.LintEvent;
+import org.rstudio.studio.client.workbench.views.output.markers.events.MarkersChangedEvent;
+import org.rstudio.studio.client.workbench.views.output.sourcecpp.events.SourceCppCompletedEvent;
+import org.rstudio.studio.client.workbench.views.output.sourcecpp.events.SourceCppStartedEvent;
+import org.rstudio.studio.client.workbench.views.packages.events.LoadedPackageUpdatesEvent;
+import org.rstudio.studio.client.workbench.views.packages.events.PackageStateChangedEvent;
+import org.rstudio.studio.client.workbench.views.packages.events.PackageStatusChangedEvent;
+import org.rstudio.studio.client.workbench.views.plots.events.LocatorEvent;
+import org.rstudio.studio.client.workbench.views.plots.events.PlotsChangedEvent;
+import org.rstudio.studio.client.workbench.views.plots.events.PlotsZoomSizeChangedEvent;
+import org.rstudio.studio.client.workbench.views.presentation.events.PresentationPaneRequestCompletedEvent;
+import org.rstudio.studio.client.workbench.views.presentation.events.ShowPresentationPaneEvent;
+import org.rstudio.studio.client.workbench.views.presentation2.events.PresentationPreviewEvent;
+import org.rstudio.studio.client.workbench.views.source.editors.explorer.events.ObjectExplorerEvent;
+import org.rstudio.studio.client.workbench.views.source.editors.profiler.RprofEvent;
+import org.rstudio.studio.client.workbench.views.source.events.AvailablePackagesReadyEvent;
+import org.rstudio.studio.client.workbench.views.source.events.CodeBrowserNavigationEvent;
+import org.rstudio.studio.client.workbench.views.source.events.CollabEditEndedEvent;
+import org.rstudio.studio.client.workbench.views.source.events.CollabEditSavedEvent;
+import org.rstudio.studio.client.workbench.views.source.events.CollabEditStartedEvent;
+import org.rstudio.studio.client.workbench.views.source.events.DataViewChangedEvent;
+import org.rstudio.studio.client.workbench.views.source.events.FileEditEvent;
+import org.rstudio.studio.client.workbench.views.source.events.NewDocumentWithCodeEvent;
+import org.rstudio.studio.client.workbench.views.source.events.RefreshDocumentContentEvent;
+import org.rstudio.studio.client.workbench.views.source.events.ShowContentEvent;
+import org.rstudio.studio.client.workbench.views.source.events.ShowDataEvent;
+import org.rstudio.studio.client.workbench.views.source.events.SourceExtendedTypeDetectedEvent;
+import org.rstudio.studio.client.workbench.views.terminal.events.ActivateNamedTerminalEvent;
+import org.rstudio.studio.client.workbench.views.terminal.events.AddTerminalEvent;
+import org.rstudio.studio.client.workbench.views.terminal.events.ClearTerminalEvent;
+import org.rstudio.studio.client.workbench.views.terminal.events.RemoveTerminalEvent;
+import org.rstudio.studio.client.workbench.views.terminal.events.SendToTerminalEvent;
+import org.rstudio.studio.client.workbench.views.terminal.events.TerminalCwdEvent;
+import org.rstudio.studio.client.workbench.views.terminal.events.TerminalSubprocEvent;
+import org.rstudio.studio.client.workbench.views.tutorial.events.TutorialCommandEvent;
+import org.rstudio.studio.client.workbench.views.tutorial.events.TutorialLaunchEvent;
+import org.rstudio.studio.client.workbench.views.vcs.common.events.AskPassEvent;
+import org.rstudio.studio.client.workbench.views.vcs.common.events.VcsRefreshEvent;
+import org.rstudio.studio.client.workbench.views.viewer.events.ViewerNavigateEvent;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.event.shared.GwtEvent;
+import com.google.gwt.junit.client.GWTTestCase;
+
+import junit.framework.Assert;
+
+public class ClientEventDispatcherTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private static void assertRoutedTo(ClientEventRegistry registry,
+                                      String type,
+                                      GwtEvent.Type<?> eventType)
+   {
+      Assert.assertTrue("No decoder registered for " + type,
+            registry.isRegistered(type));
+      Assert.assertSame("Wrong event class for " + type,
+            eventType, registry.getEventType(type));
+   }
+
+   private static native ClientEvent createEvent(String type, Object data) /*-{
+      return { id: 1, type: type, data: data };
+   }-*/;
+
+   // decode a client event with the built-in decoder for its type, checking
+   // that the result is the type of event the decoder was registered with
+   private static GwtEvent<?> decode(String type, Object data)
+   {
+      ClientEventRegistry registry = ClientEventDispatcher.getDefaultRegistry();
+      GwtEvent<?> event = registry.getDecoder(type).decode(createEvent(type, data));
+      Assert.assertNotNull("No event decoded for " + type, event);
+      Assert.assertSame(registry.getEventType(type), event.getAssociatedType());
+      return event;
+   }
+
+   private static native JavaScriptObject boolData(boolean value) /*-{
+      return { value: value };
+   }-*/;
+
+   // the shape R sends: every field is a length-one vector
+   private static native JavaScriptObject streamData(String messageId,
+                                                     String delta,
+                                                     int sequence,
+                                                     boolean isComplete) /*-{
+      return {
+         messageId: [messageId],
+         delta: [delta],
+         sequence: [sequence],
+         isComplete: [isComplete],
+         isEditFile: [true],
+         filename: ["analysis.R"],
+         requestId: ["request-1"]
+      };
+   }-*/;
+
+   private static native JavaScriptObject operationData(String operationType) /*-{
+      return { operation_type: [operationType], message_id: ["m1"], sequence: [1] };
+   }-*/;
+
+   // ---- tests start here ----
+
+   // Every client event type must be routed to the same GWT event class as
+   // the if/else chain that the registry replaced.
+   public void testEventTypesRoutedToEventClasses()
+   {
+      ClientEventRegistry registry = ClientEventDispatcher.getDefaultRegistry();
+
+      assertRoutedTo(registry, ClientEvent.Busy, BusyEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.AiStreamData, AiStreamDataEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ConsoleOutput, ConsoleWriteOutputEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ConsoleError, ConsoleWriteErrorEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ConsoleWritePrompt, ConsoleWritePromptEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ConsoleWriteInput, ConsoleWriteInputEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ConsolePrompt, ConsolePromptEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ShowEditor, ShowEditorEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.FileChanged, FileChangeEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.WorkingDirChanged, WorkingDirChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ShowHelp, ShowHelpEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ShowErrorMessage, ShowErrorMessageEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ChooseFile, ChooseFileEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.BrowseUrl, BrowseUrlEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.PlotsStateChanged, PlotsChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.PackageStateChanged, PackageStateChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.PackageStatusChanged, PackageStatusChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.Locator, LocatorEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ConsoleResetHistory, ConsoleResetHistoryEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.SessionSerialization, SessionSerializationEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.HistoryEntriesAdded, HistoryEntriesAddedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.QuotaStatus, QuotaStatusEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.FileEdit, FileEditEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ShowContent, ShowContentEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ShowData, ShowDataEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.AbendWarning, SessionAbendWarningEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ShowWarningBar, ShowWarningBarEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.OpenProjectError, OpenProjectErrorEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.VcsRefresh, VcsRefreshEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.AskPass, AskPassEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ConsoleProcessOutput, ServerConsoleOutputEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ConsoleProcessPrompt, ServerConsolePromptEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ConsoleProcessCreated, ConsoleProcessCreatedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ConsoleProcessExit, ServerProcessExitEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.HTMLPreviewStartedEvent, HTMLPreviewStartedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.HTMLPreviewOutputEvent, HTMLPreviewOutputEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.HTMLPreviewCompletedEvent, HTMLPreviewCompletedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.CompilePdfStartedEvent, CompilePdfStartedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.CompilePdfOutputEvent, CompilePdfOutputEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.CompilePdfErrorsEvent, CompilePdfErrorsEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.CompilePdfCompletedEvent, CompilePdfCompletedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.SynctexEditFile, SynctexEditFileEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.FindResult, FindResultEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.FindOperationEnded, FindOperationEndedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ReplaceResult, ReplaceResultEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ReplaceProgress, ReplaceProgressEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RPubsUploadStatus, RPubsUploadStatusEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.BuildStarted, BuildStartedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.BuildOutput, BuildOutputEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.BuildCompleted, BuildCompletedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.BuildErrors, BuildErrorsEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.DirectoryNavigate, DirectoryNavigateEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.DeferredInitCompleted, DeferredInitCompletedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.PlotsZoomSizeChanged, PlotsZoomSizeChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.SourceCppStarted, SourceCppStartedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.SourceCppCompleted, SourceCppCompletedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.LoadedPackageUpdates, LoadedPackageUpdatesEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ActivatePane, ActivatePaneEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ShowPresentationPane, ShowPresentationPaneEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.EnvironmentRefresh, EnvironmentRefreshEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ListChanged, ListChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.UserPrefsChanged, UserPrefsChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.UserStateChanged, UserStateChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ContextDepthChanged, ContextDepthChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.HandleUnsavedChanges, HandleUnsavedChangesEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.Quit, QuitEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.Suicide, SuicideEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.SaveActionChanged, SaveActionChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.EnvironmentAssigned, EnvironmentObjectAssignedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.EnvironmentRemoved, EnvironmentObjectRemovedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.EnvironmentChanged, EnvironmentChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.BrowserLineChanged, BrowserLineChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.PackageLoaded, PackageLoadedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.PackageUnloaded, PackageUnloadedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.PresentationPaneRequestCompleted, PresentationPaneRequestCompletedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.UnhandledError, UnhandledErrorEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ErrorHandlerChanged, ErrorHandlerChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ViewerNavigate, ViewerNavigateEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.SourceExtendedTypeDetected, SourceExtendedTypeDetectedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ShinyViewer, ShinyApplicationStatusEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.DebugSourceCompleted, DebugSourceCompletedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RmdRenderStarted, RmdRenderStartedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RmdRenderOutput, RmdRenderOutputEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RmdRenderCompleted, RmdRenderCompletedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RmdShinyDocStarted, RmdShinyDocStartedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RSConnectDeploymentOutput, RSConnectDeploymentOutputEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RSConnectDeploymentCompleted, RSConnectDeploymentCompletedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RSConnectDeploymentFailed, RSConnectDeploymentFailedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.UserPrompt, UserPromptEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.InstallRtools, InstallRtoolsEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.InstallShiny, InstallShinyEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.SuspendAndRestart, SuspendAndRestartEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.DataViewChanged, DataViewChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ViewFunction, CodeBrowserNavigationEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.MarkersChanged, MarkersChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.EnableRStudioConnect, EnableRStudioConnectUIEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.UpdateGutterMarkers, LintEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.SnippetsChanged, SnippetsChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.JumpToFunction, JumpToFunctionEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.CollabEditStarted, CollabEditStartedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.SessionCountChanged, SessionCountChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.SessionLabelChanged, SessionLabelChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.CollabEditEnded, CollabEditEndedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ProjectUsersChanged, ProjectUserChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RVersionsChanged, RVersionsChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ShinyGadgetDialog, ShinyGadgetDialogEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RmdParamsReady, RmdParamsReadyEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RegisterUserCommand, RegisterUserCommandEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.SendToConsole, SendToConsoleEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.UserFollowStarted, FollowUserEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.UserFollowEnded, FollowUserEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ProjectAccessRevoked, ProjectAccessRevokedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.CollabEditSaved, CollabEditSavedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.AddinRegistryUpdated, AddinRegistryUpdatedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ChunkOutput, RmdChunkOutputEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ChunkOutputFinished, RmdChunkOutputFinishedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RprofStarted, RprofEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RprofStopped, RprofEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RprofCreated, RprofEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.EditorCommand, EditorCommandDispatchEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.PreviewRmd, PreviewRmdEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.WebsiteFileSaved, WebsiteFileSavedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ChunkPlotRefreshed, ChunkPlotRefreshedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ChunkPlotRefreshFinished, ChunkPlotRefreshFinishedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ReloadWithLastChanceSave, ReloadWithLastChanceSaveEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ConnectionUpdated, ConnectionUpdatedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.EnableConnections, EnableConnectionsEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ConnectionListChanged, ConnectionListChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ActiveConnectionsChanged, ActiveConnectionsChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ConnectionOpened, ConnectionOpenedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.NotebookRangeExecuted, NotebookRangeExecutedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ChunkExecStateChanged, ChunkExecStateChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.NavigateShinyFrame, ShinyFrameNavigatedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.UpdateNewConnectionDialog, NewConnectionDialogUpdatedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ProjectTemplateRegistryUpdated, ProjectTemplateRegistryUpdatedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.TerminalSubProcs, TerminalSubprocEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.PackageExtensionIndexingCompleted, PackageExtensionIndexingCompletedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RStudioAPIShowDialog, RStudioAPIShowDialogEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ObjectExplorerEvent, ObjectExplorerEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.SendToTerminal, SendToTerminalEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ClearTerminal, ClearTerminalEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.AddTerminal, AddTerminalEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RemoveTerminal, RemoveTerminalEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ActivateTerminal, ActivateNamedTerminalEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.TerminalCwd, TerminalCwdEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.AdminNotification, AdminNotificationEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RequestDocumentSave, RequestDocumentSaveEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RequestOpenProject, RequestOpenProjectEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.OpenFileDialog, OpenFileDialogEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ShowPageViewer, ShowPageViewerEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.AskSecret, AskSecretEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.TestsStarted, TestsStartedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.TestsOutput, TestsOutputEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.TestsCompleted, TestsCompletedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.JobUpdated, JobUpdatedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.JobRefresh, JobRefreshEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.JobOutput, JobOutputEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.DataOutputCompleted, DataOutputCompletedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.NewDocumentWithCode, NewDocumentWithCodeEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.AvailablePackagesReady, AvailablePackagesReadyEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.PlumberViewer, PlumberAPIStatusEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ComputeThemeColors, ComputeThemeColorsEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RequestDocumentClose, RequestDocumentCloseEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ExecuteAppCommand, ExecuteAppCommandEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.HighlightUi, HighlightEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.TutorialCommand, TutorialCommandEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.TutorialLaunch, TutorialLaunchEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ReticulateEvent, ReticulateEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RStudioApiRequest, RStudioApiRequestEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.DocumentCloseAllNoSave, DocumentCloseAllNoSaveEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.MemoryUsageChanged, MemoryUsageChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.CommandCallbacksChanged, CommandCallbacksChangedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ConsoleActivate, ConsoleActivateEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.JobsActivate, JobsActivateEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.PresentationPreview, PresentationPreviewEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.SuspendBlocked, SessionSuspendBlockedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.ClipboardAction, ClipboardActionEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.DeploymentRecordsUpdated, DeploymentRecordsUpdatedEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RunAutomation, RunAutomationEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.UpdateThinkingMessage, UpdateThinkingMessageEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.StoreActiveRequestId, StoreActiveRequestIdEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.AiStartConversation, AiStartConversationEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.AiLoadConversation, AiLoadConversationEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RefreshDocumentContent, RefreshDocumentContentEvent.TYPE);
+      assertRoutedTo(registry, ClientEvent.RequestDocumentCloseForRevert, RequestDocumentCloseForRevertEvent.TYPE);
+
+      // AI operations are forwarded to the AI pane directly rather than
+      // through the event bus
+      Assert.assertTrue(registry.isRegistered(ClientEvent.AiOperation));
+      Assert.assertNull(registry.getEventType(ClientEvent.AiOperation));
+
+      Assert.assertEquals(186, registry.getRegisteredTypes().size());
+   }
+
+   public void testDecodesBusy()
+   {
+      BusyEvent event = (BusyEvent) decode(ClientEvent.Busy, boolData(true));
+      Assert.assertTrue(event.isBusy());
+   }
+
+   public void testDecodesConsoleOutput()
+   {
+      ConsoleText text = new ConsoleText();
+      text.text = "[1] 42\n";
+      text.console = "c1";
+
+      ConsoleWriteOutputEvent event =
+            (ConsoleWriteOutputEvent) decode(ClientEvent.ConsoleOutput, text);
+      Assert.assertEquals("[1] 42\n", event.getOutput());
+      Assert.assertEquals("c1", event.getConsole());
+   }
+
+   public void testDecodesWorkingDirChanged()
+   {
+      WorkingDirChangedEvent event =
+            (WorkingDirChangedEvent) decode(ClientEvent.WorkingDirChanged, "~/project");
+      Assert.assertEquals("~/project", event.getPath());
+   }
+
+   public void testDecodesAiStreamData()
+   {
+      AiStreamDataEvent event = (AiStreamDataEvent) decode(
+            ClientEvent.AiStreamData, streamData("m1", "Hello", 3, true));
+      Assert.assertEquals("m1", event.getMessageId());
+      Assert.assertEquals("Hello", event.getDelta());
+      Assert.assertEquals(3, event.getSequence());
+      Assert.assertEquals(3, event.getLastSequence());
+      Assert.assertTrue(event.isComplete());
+      Assert.assertTrue(event.isEditFile());
+      Assert.assertEquals("analysis.R", event.getFilename());
+      Assert.assertEquals("request-1", event.getRequestId());
+      Assert.assertFalse(event.isCancelled());
+   }
+
+   public void testAiStreamDataRequiresSequence()
+   {
+      ClientEventRegistry.Decoder decoder =
+            ClientEventDispatcher.getDefaultRegistry().getDecoder(ClientEvent.AiStreamData);
+      try
+      {
+         decoder.decode(createEvent(ClientEvent.AiStreamData,
+                                    streamData("m1", "Hello", 0, false)));
+         Assert.fail("Expected an invalid sequence number to be rejected");
+      }
+      catch (RuntimeException e)
+      {
+         // expected
+      }
+   }
+
+   public void testUnknownAiOperationIgnored()
+   {
+      ClientEventRegistry.Decoder decoder =
+            ClientEventDispatcher.getDefaultRegistry().getDecoder(ClientEvent.AiOperation);
+      Assert.assertNull(decoder.decode(createEvent(ClientEvent.AiOperation,
+                                                   operationData("no_such_operation"))));
+   }
+
+   public void testDefaultRegistryIsShared()
+   {
+      ClientEventDispatcher first = new ClientEventDispatcher(null);
+      ClientEventDispatcher second = new ClientEventDispatcher(null);
+      Assert.assertSame(first.getDecoder(ClientEvent.Busy), second.getDecoder(ClientEvent.Busy));
+   }
+
+   public void testRegisterDecoderReplacesExisting()
+   {
+      ClientEventDispatcher dispatcher = new ClientEventDispatcher(null);
+      ClientEventRegistry.Decoder builtIn = dispatcher.getDecoder(ClientEvent.Busy);
+      ClientEventRegistry.Decoder decoder = event -> null;
+      dispatcher.registerDecoder(ClientEvent.Busy, null, decoder);
+
+      Assert.assertSame(decoder, dispatcher.getDecoder(ClientEvent.Busy));
+
+      // other dispatchers keep the built-in decoder
+      Assert.assertSame(builtIn, new ClientEventDispatcher(null).getDecoder(ClientEvent.Busy));
+      Assert.assertSame(builtIn, ClientEventDispatcher.getDefaultRegistry().getDecoder(ClientEvent.Busy));
+   }
+
+   public void testUnknownTypeNotRegistered()
+   {
+      ClientEventRegistry registry = ClientEventDispatcher.getDefaultRegistry();
+      Assert.assertFalse(registry.isRegistered("no_such_event"));
+      Assert.assertNull(new ClientEventDispatcher(null).getDecoder("no_such_event"));
+   }
+}
@@ -0,0 +1,219 @@
+/*
+ * ClientEventFlowControlTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.server.remote;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rstudio.core.client.metrics.MetricsRegistry;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+import junit.framework.Assert;
+
+public class ClientEventFlowControlTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private static class FakeQueue implements ClientEventFlowControl.QueueDepth
+   {
+      @Override
+      public int getPendingEventCount()
+      {
+         return depth;
+      }
+
+      void drain(int count)
+      {
+         depth = Math.max(0, depth - count);
+      }
+
+      int depth = 0;
+   }
+
+   // Stands in for the session's event service: holds a backlog of events
+   // (each with an id and a payload size) and pages them out the same way
+   // ClientEventService::setClientEventResult does.
+   private static class StubEventServer
+   {
+      StubEventServer(int eventCount, int eventBytes)
+      {
+         for (int i = 0; i < eventCount; i++)
+            pending_.add(new int[] { i, eventBytes });
+      }
+
+      List<int[]> getEvents(int lastEventId, int maxEvents, int maxBytes)
+      {
+         // drop everything the client has acknowledged
+         while (!pending_.isEmpty() && pending_.get(0)[0] <= lastEventId)
+            pending_.remove(0);
+
+         List<int[]> batch = new ArrayList<>();
+         int bytes = 0;
+         for (int[] event : pending_)
+         {
+            if (maxEvents > 0 && batch.size() >= maxEvents)
+               break;
+            if (maxBytes > 0 && !batch.isEmpty() && bytes + event[1] > maxBytes)
+               break;
+            bytes += event[1];
+            batch.add(event);
+         }
+         return batch;
+      }
+
+      private final List<int[]> pending_ = new ArrayList<>();
+   }
+
+   private static int bytesOf(List<int[]> batch)
+   {
+      int bytes = 0;
+      for (int[] event : batch)
+         bytes += event[1];
+      return bytes;
+   }
+
+   // ---- tests start here ----
+
+   public void testHoldsBetweenWatermarks()
+   {
+      FakeQueue queue = new FakeQueue();
+      ClientEventFlowControl fc = new ClientEventFlowControl(queue);
+      fc.setWatermarks(10, 100);
+
+      queue.depth = 99;
+      Assert.assertTrue(fc.canPoll());
+
+      queue.depth = 100;
+      Assert.assertFalse(fc.canPoll());
+      Assert.assertEquals(1, fc.getHoldCount());
+
+      // still held until we drop below the low watermark
+      queue.depth = 50;
+      Assert.assertFalse(fc.canPoll());
+      queue.depth = 10;
+      Assert.assertFalse(fc.canPoll());
+
+      queue.depth = 9;
+      Assert.assertTrue(fc.canPoll());
+      Assert.assertFalse(fc.isHolding());
+      Assert.assertEquals(1, fc.getHoldCount());
+   }
+
+   public void testRecordsMetrics()
+   {
+      FakeQueue queue = new FakeQueue();
+      ClientEventFlowControl fc = new ClientEventFlowControl(queue);
+
+      queue.depth = 20;
+      fc.recordBatch(20, 2000, 1.5);
+      queue.depth = 40;
+      fc.recordBatch(10, 500, 0.5);
+
+      Assert.assertEquals(2, fc.getPollCount());
+      Assert.assertEquals(10, fc.getLastBatchEvents());
+      Assert.assertEquals(20, fc.getMaxBatchEvents());
+      Assert.assertEquals(15.0, fc.getAverageBatchEvents(), 0.001);
+      Assert.assertEquals(500, fc.getLastBatchBytes());
+      Assert.assertEquals(2000, fc.getMaxBatchBytes());
+      Assert.assertEquals(1.5, fc.getMaxParseMs(), 0.001);
+      Assert.assertEquals(1.0, fc.getAverageParseMs(), 0.001);
+      Assert.assertEquals(40, fc.getLastQueueDepth());
+      Assert.assertEquals(40, fc.getMaxQueueDepth());
+
+      fc.resetMetrics();
+      Assert.assertEquals(0, fc.getPollCount());
+      Assert.assertEquals(0, fc.getMaxQueueDepth());
+   }
+
+   public void testPublishesMetrics()
+   {
+      MetricsRegistry metrics = MetricsRegistry.get();
+      long polls = metrics.counter("client_event.polls").get();
+      long holds = metrics.counter("client_event.poll_holds").get();
+      int parses = metrics.histogram("client_event.poll_parse").getCount();
+
+      FakeQueue queue = new FakeQueue();
+      ClientEventFlowControl fc = new ClientEventFlowControl(queue);
+      fc.setWatermarks(10, 100);
+      fc.recordBatch(20, 2000, 1.5);
+
+      queue.depth = 100;
+      Assert.assertFalse(fc.canPoll());
+
+      Assert.assertEquals(polls + 1, metrics.counter("client_event.polls").get());
+      Assert.assertEquals(holds + 1, metrics.counter("client_event.poll_holds").get());
+      Assert.assertEquals(parses + 1, metrics.histogram("client_event.poll_parse").getCount());
+      Assert.assertEquals(20.0, metrics.gauge("client_event.poll_events").get(), 0.001);
+      Assert.assertEquals(2000.0, metrics.gauge("client_event.poll_bytes").get(), 0.001);
+   }
+
+   public void testPagedBacklogStaysBounded()
+   {
+      final int maxEvents = 100;
+      final int maxBytes = 16 * 1024;
+      final int lowWatermark = 50;
+      final int highWatermark = 300;
+
+      FakeQueue queue = new FakeQueue();
+      ClientEventFlowControl fc = new ClientEventFlowControl(queue);
+      fc.setLimits(maxEvents, maxBytes);
+      fc.setWatermarks(lowWatermark, highWatermark);
+
+      // a large backlog, e.g. after a reconnect during a chatty job
+      StubEventServer server = new StubEventServer(5000, 256);
+
+      int lastEventId = -1;
+      int received = 0;
+      int ticks = 0;
+      while (received < 5000)
+      {
+         Assert.assertTrue("backlog not drained", ++ticks < 10000);
+
+         if (fc.canPoll())
+         {
+            List<int[]> batch = server.getEvents(lastEventId,
+                                                 fc.getMaxEventsPerPoll(),
+                                                 fc.getMaxBytesPerPoll());
+            Assert.assertTrue(batch.size() <= maxEvents);
+            Assert.assertTrue(bytesOf(batch) <= maxBytes);
+
+            for (int[] event : batch)
+            {
+               // events arrive exactly once, in order
+               Assert.assertEquals(lastEventId + 1, event[0]);
+               lastEventId = event[0];
+            }
+
+            received += batch.size();
+            queue.depth += batch.size();
+            fc.recordBatch(batch.size(), bytesOf(batch), 0);
+         }
+
+         // the dispatcher works through a slice of its queue per frame
+         queue.drain(40);
+      }
+
+      // the queue never grows much past the high watermark, no matter how
+      // big the server's backlog is
+      Assert.assertTrue(fc.getMaxQueueDepth() < highWatermark + maxEvents);
+      Assert.assertTrue(fc.getHoldCount() > 0);
+      Assert.assertEquals(64, fc.getMaxBatchEvents());
+   }
+}
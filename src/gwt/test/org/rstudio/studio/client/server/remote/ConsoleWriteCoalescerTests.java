@@ -0,0 +1,254 @@
+/*
+ * ConsoleWriteCoalescerTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.server.remote;
+
+import org.rstudio.core.client.VirtualConsole;
+import org.rstudio.core.client.container.RingBuffer;
+import org.rstudio.studio.client.workbench.prefs.model.UserPrefs;
+import org.rstudio.studio.client.workbench.views.console.model.ConsoleText;
+
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.PreElement;
+import com.google.gwt.junit.client.GWTTestCase;
+
+import junit.framework.Assert;
+
+public class ConsoleWriteCoalescerTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private static class FakePrefs implements VirtualConsole.Preferences
+   {
+      @Override
+      public int truncateLongLinesInConsoleHistory()
+      {
+         return 1000;
+      }
+
+      @Override
+      public String consoleAnsiMode()
+      {
+         return UserPrefs.ANSI_CONSOLE_MODE_ON;
+      }
+
+      @Override
+      public boolean screenReaderEnabled()
+      {
+         return false;
+      }
+
+      @Override
+      public boolean limitConsoleVisible()
+      {
+         return false;
+      }
+   }
+
+   private static native ClientEvent createEvent(int id, String type, Object data) /*-{
+      return { id: id, type: type, data: data };
+   }-*/;
+
+   private static int nextId_ = 0;
+
+   private static ClientEvent write(String type, String text)
+   {
+      return write(type, text, null);
+   }
+
+   private static ClientEvent write(String type, String text, String console)
+   {
+      ConsoleText data = new ConsoleText();
+      data.text = text;
+      data.console = console;
+      return createEvent(++nextId_, type, data);
+   }
+
+   private static RingBuffer<ClientEvent> queue(ClientEvent... events)
+   {
+      RingBuffer<ClientEvent> queue = new RingBuffer<>();
+      for (ClientEvent event : events)
+         queue.add(event);
+      return queue;
+   }
+
+   private static String textOf(ClientEvent event)
+   {
+      return event.<ConsoleText>getData().text;
+   }
+
+   // Drain the queue the way ClientEventDispatcher does, submitting each
+   // console write to the given VirtualConsole.
+   private static int drainInto(VirtualConsole vc,
+                                RingBuffer<ClientEvent> queue,
+                                ConsoleWriteCoalescer coalescer)
+   {
+      int submits = 0;
+      while (!queue.isEmpty())
+      {
+         ClientEvent event = queue.poll();
+         if (coalescer != null)
+            event = coalescer.coalesce(event, queue);
+
+         String clazz = ClientEvent.ConsoleError.equals(event.getType()) ? "error" : null;
+         vc.submit(textOf(event), clazz);
+         submits++;
+      }
+      return submits;
+   }
+
+   // ---- tests start here ----
+
+   public void testMergesAdjacentOutput()
+   {
+      ConsoleWriteCoalescer coalescer = new ConsoleWriteCoalescer();
+      ClientEvent first = write(ClientEvent.ConsoleOutput, "a\n");
+      RingBuffer<ClientEvent> queue = queue(
+            write(ClientEvent.ConsoleOutput, "b\n"),
+            write(ClientEvent.ConsoleOutput, "c\n"));
+
+      ClientEvent merged = coalescer.coalesce(first, queue);
+      Assert.assertEquals(ClientEvent.ConsoleOutput, merged.getType());
+      Assert.assertEquals("a\nb\nc\n", textOf(merged));
+      Assert.assertTrue(queue.isEmpty());
+      Assert.assertEquals(3, coalescer.getEventsMerged());
+   }
+
+   public void testDoesNotMixOutputAndError()
+   {
+      ConsoleWriteCoalescer coalescer = new ConsoleWriteCoalescer();
+      ClientEvent first = write(ClientEvent.ConsoleOutput, "out\n");
+      RingBuffer<ClientEvent> queue = queue(
+            write(ClientEvent.ConsoleError, "err\n"),
+            write(ClientEvent.ConsoleOutput, "out2\n"));
+
+      ClientEvent result = coalescer.coalesce(first, queue);
+      Assert.assertSame(first, result);
+      Assert.assertEquals(2, queue.size());
+   }
+
+   public void testStopsAtPrompt()
+   {
+      ConsoleWriteCoalescer coalescer = new ConsoleWriteCoalescer();
+      ClientEvent first = write(ClientEvent.ConsoleError, "e1\n");
+      RingBuffer<ClientEvent> queue = queue(
+            write(ClientEvent.ConsoleError, "e2\n"),
+            createEvent(++nextId_, ClientEvent.ConsoleWritePrompt, "> "),
+            write(ClientEvent.ConsoleError, "e3\n"));
+
+      ClientEvent merged = coalescer.coalesce(first, queue);
+      Assert.assertEquals(ClientEvent.ConsoleError, merged.getType());
+      Assert.assertEquals("e1\ne2\n", textOf(merged));
+      Assert.assertEquals(2, queue.size());
+      Assert.assertEquals(ClientEvent.ConsoleWritePrompt, queue.peek().getType());
+   }
+
+   public void testDoesNotMixConsoles()
+   {
+      ConsoleWriteCoalescer coalescer = new ConsoleWriteCoalescer();
+      ClientEvent first = write(ClientEvent.ConsoleOutput, "one", "console1");
+      RingBuffer<ClientEvent> queue = queue(
+            write(ClientEvent.ConsoleOutput, "two", "console2"));
+
+      Assert.assertSame(first, coalescer.coalesce(first, queue));
+      Assert.assertEquals(1, queue.size());
+   }
+
+   public void testMergedEventKeepsLastId()
+   {
+      ConsoleWriteCoalescer coalescer = new ConsoleWriteCoalescer();
+      ClientEvent first = write(ClientEvent.ConsoleOutput, "x");
+      ClientEvent second = write(ClientEvent.ConsoleOutput, "y");
+
+      ClientEvent merged = coalescer.coalesce(first, queue(second));
+      Assert.assertEquals(second.getId(), merged.getId());
+   }
+
+   public void testRespectsMaxMergedChars()
+   {
+      ConsoleWriteCoalescer coalescer = new ConsoleWriteCoalescer();
+      coalescer.setMaxMergedChars(4);
+      ClientEvent first = write(ClientEvent.ConsoleOutput, "ab");
+      RingBuffer<ClientEvent> queue = queue(
+            write(ClientEvent.ConsoleOutput, "cd"),
+            write(ClientEvent.ConsoleOutput, "ef"));
+
+      ClientEvent merged = coalescer.coalesce(first, queue);
+      Assert.assertEquals("abcd", textOf(merged));
+      Assert.assertEquals(1, queue.size());
+   }
+
+   public void testRenderingUnchangedByMerging()
+   {
+      // carriage returns, backspaces and ANSI colors split across writes
+      String[][] writes = {
+            { ClientEvent.ConsoleOutput, "progress: 10%" },
+            { ClientEvent.ConsoleOutput, "\rprogress: 50%" },
+            { ClientEvent.ConsoleOutput, "\rprogress: 100%\n" },
+            { ClientEvent.ConsoleError, "Warning: \033[31mred" },
+            { ClientEvent.ConsoleError, " still red\033[0m\n" },
+            { ClientEvent.ConsoleOutput, "bool\b" },
+            { ClientEvent.ConsoleOutput, "k\n" },
+      };
+
+      RingBuffer<ClientEvent> separate = new RingBuffer<>();
+      RingBuffer<ClientEvent> merged = new RingBuffer<>();
+      for (String[] write : writes)
+      {
+         separate.add(write(write[0], write[1]));
+         merged.add(write(write[0], write[1]));
+      }
+
+      PreElement separateEle = Document.get().createPreElement();
+      VirtualConsole separateVC = new VirtualConsole(separateEle, new FakePrefs());
+      Assert.assertEquals(writes.length, drainInto(separateVC, separate, null));
+
+      PreElement mergedEle = Document.get().createPreElement();
+      VirtualConsole mergedVC = new VirtualConsole(mergedEle, new FakePrefs());
+      Assert.assertEquals(3, drainInto(mergedVC, merged, new ConsoleWriteCoalescer()));
+
+      Assert.assertEquals(separateVC.toString(), mergedVC.toString());
+      Assert.assertEquals(separateEle.getInnerText(), mergedEle.getInnerText());
+   }
+
+   // a burst of short lines, as a chatty loop would print, is rendered in a
+   // single write
+   public void testBurstMergedIntoOneWrite()
+   {
+      final int lines = 2000;
+
+      PreElement separateEle = Document.get().createPreElement();
+      VirtualConsole separateVC = new VirtualConsole(separateEle, new FakePrefs());
+      Assert.assertEquals(lines, drainInto(separateVC, burst(lines), null));
+
+      PreElement mergedEle = Document.get().createPreElement();
+      VirtualConsole mergedVC = new VirtualConsole(mergedEle, new FakePrefs());
+      Assert.assertEquals(1, drainInto(mergedVC, burst(lines), new ConsoleWriteCoalescer()));
+
+      Assert.assertEquals(separateVC.toString(), mergedVC.toString());
+      Assert.assertEquals(separateEle.getInnerText(), mergedEle.getInnerText());
+   }
+
+   private static RingBuffer<ClientEvent> burst(int lines)
+   {
+      RingBuffer<ClientEvent> queue = new RingBuffer<>();
+      for (int i = 0; i < lines; i++)
+         queue.add(write(ClientEvent.ConsoleOutput, "[" + i + "] some output\n"));
+      return queue;
+   }
+}
@@ -0,0 +1,110 @@
+/*
+ * CodeSearchIndexTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.codesearch;
+
+import java.util.ArrayList;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import junit.framework.Assert;
+
+public class CodeSearchIndexTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private static CodeSearchIndex<String> createIndex()
+   {
+      CodeSearchIndex<String> index = new CodeSearchIndex<>();
+      index.add("f:~/proj/R/plot_data.R", "plot_data.R", "~/proj/R/plot_data.R", true, "plot_data.R");
+      index.add("s:~/proj/R/plot_data.R:1", "plotData", "~/proj/R/plot_data.R", false, "plotData");
+      index.add("s:~/proj/R/plot_data.R:9", "plotAxes", "~/proj/R/plot_data.R", false, "plotAxes");
+      index.add("s:~/proj/R/utils.R:1", "parseLine", "~/proj/R/utils.R", false, "parseLine");
+      index.addCoverage("p");
+      return index;
+   }
+
+   // ---- tests start here ----
+
+   public void testColdQueries()
+   {
+      CodeSearchIndex<String> index = createIndex();
+
+      // nothing known about queries that don't refine a complete one
+      Assert.assertNull(index.lookup("x"));
+      Assert.assertNull(index.lookup(""));
+      Assert.assertTrue(index.isCovered("pl"));
+   }
+
+   public void testSubsequenceLookup()
+   {
+      CodeSearchIndex<String> index = createIndex();
+
+      ArrayList<String> results = index.lookup("pld");
+      Assert.assertEquals(2, results.size());
+      Assert.assertTrue(results.contains("plot_data.R"));
+      Assert.assertTrue(results.contains("plotData"));
+
+      // case insensitive, and line/column suffixes are ignored
+      results = index.lookup("PLAX:10");
+      Assert.assertEquals(1, results.size());
+      Assert.assertEquals("plotAxes", results.get(0));
+
+      results = index.lookup("p*line");
+      Assert.assertEquals(1, results.size());
+      Assert.assertEquals("parseLine", results.get(0));
+   }
+
+   public void testFileChanges()
+   {
+      CodeSearchIndex<String> index = createIndex();
+
+      // deleting a file removes its entries but keeps coverage
+      index.removeFile("~/proj/R/plot_data.R");
+      Assert.assertEquals(1, index.size());
+      Assert.assertEquals(0, index.lookup("plot").size());
+
+      // a new file drops coverage it could match
+      index.addCoverage("q");
+      index.addFile("pie.R");
+      Assert.assertNull(index.lookup("pa"));
+      Assert.assertTrue(index.isCovered("qu"));
+
+      // a changed file could define anything
+      index.invalidateSymbols("~/proj/R/utils.R");
+      Assert.assertEquals(0, index.size());
+      Assert.assertFalse(index.isCovered("qu"));
+   }
+
+   public void testLimits()
+   {
+      // coverage expires
+      CodeSearchIndex<String> index = new CodeSearchIndex<>(10, -1);
+      index.addCoverage("a");
+      Assert.assertFalse(index.isCovered("ab"));
+
+      // too many entries starts over
+      index = new CodeSearchIndex<>(2, 60000);
+      index.addCoverage("a");
+      index.add("1", "a1", "a1", true, "a1");
+      index.add("2", "a2", "a2", true, "a2");
+      Assert.assertEquals(2, index.lookup("a").size());
+      index.add("3", "a3", "a3", true, "a3");
+      Assert.assertEquals(0, index.size());
+      Assert.assertNull(index.lookup("a"));
+   }
+}
@@ -0,0 +1,163 @@
+/*
+ * PrefsTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.prefs.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rstudio.core.client.js.JsObject;
+import org.rstudio.core.client.js.JsUtil;
+
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.junit.client.GWTTestCase;
+import junit.framework.Assert;
+
+public class PrefsTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private static class TestPrefs extends Prefs
+   {
+      public TestPrefs(JsArray<PrefLayer> layers)
+      {
+         super(layers);
+      }
+
+      public Prefs.PrefValue<Integer> fontSize()
+      {
+         return integer("font_size", "", "", 12);
+      }
+
+      public Prefs.PrefValue<Boolean> softWrap()
+      {
+         return bool("soft_wrap", "", "", false);
+      }
+
+      public void replaceLayers(JsArray<PrefLayer> layers)
+      {
+         updatePrefs(layers);
+      }
+
+      @Override
+      public int userLayer()
+      {
+         return 1;
+      }
+
+      @Override
+      public int projectLayer()
+      {
+         return 2;
+      }
+   }
+
+   private static native JsArray<PrefLayer> createLayers(int userFontSize) /*-{
+      var user = {};
+      if (userFontSize > 0)
+         user.font_size = userFontSize;
+      return [
+         { name: "default", values: { soft_wrap: true } },
+         { name: "user",    values: user },
+         { name: "project", values: {} }
+      ];
+   }-*/;
+
+   // ---- tests start here ----
+
+   public void testResolvesMostSpecificLayer()
+   {
+      TestPrefs prefs = new TestPrefs(createLayers(0));
+      Prefs.JsonValue<Integer> fontSize = (Prefs.JsonValue<Integer>) prefs.fontSize();
+
+      Assert.assertEquals(12, fontSize.getValue().intValue());
+      Assert.assertEquals(-1, fontSize.getSourceLayer());
+      Assert.assertFalse(fontSize.hasValue());
+
+      fontSize.setValue(PrefLayer.LAYER_USER, 14);
+      Assert.assertEquals(14, fontSize.getValue().intValue());
+      Assert.assertEquals(1, fontSize.getSourceLayer());
+
+      fontSize.setProjectValue(16);
+      Assert.assertEquals(16, fontSize.getValue().intValue());
+      Assert.assertEquals(2, fontSize.getSourceLayer());
+
+      fontSize.removeProjectValue(false);
+      Assert.assertEquals(14, fontSize.getValue().intValue());
+
+      fontSize.removeGlobalValue(false);
+      Assert.assertEquals(12, fontSize.getValue().intValue());
+      Assert.assertFalse(fontSize.hasValue());
+
+      Assert.assertTrue(prefs.softWrap().getValue());
+      Assert.assertTrue(prefs.softWrap().hasValue());
+   }
+
+   public void testChangeHandlersSeeNewValue()
+   {
+      TestPrefs prefs = new TestPrefs(createLayers(0));
+      final Prefs.PrefValue<Integer> fontSize = prefs.fontSize();
+      Assert.assertEquals(12, fontSize.getValue().intValue());
+
+      final List<Integer> seen = new ArrayList<>();
+      fontSize.addValueChangeHandler(event ->
+      {
+         seen.add(event.getValue());
+         seen.add(fontSize.getValue());
+      });
+
+      fontSize.setGlobalValue(18);
+      Assert.assertEquals(2, seen.size());
+      Assert.assertEquals(18, seen.get(0).intValue());
+      Assert.assertEquals(18, seen.get(1).intValue());
+   }
+
+   public void testReplacedLayersInvalidate()
+   {
+      TestPrefs prefs = new TestPrefs(createLayers(0));
+      Assert.assertEquals(12, prefs.fontSize().getValue().intValue());
+
+      prefs.replaceLayers(createLayers(20));
+      Assert.assertEquals(20, prefs.fontSize().getValue().intValue());
+   }
+
+   // Reading a pref through the cache gives the same value as walking the
+   // layers on every read (the previous behavior), including on repeated
+   // reads.
+   public void testCachedReadsMatchLayers()
+   {
+      TestPrefs prefs = new TestPrefs(createLayers(14));
+      Prefs.JsonValue<Boolean> softWrap = (Prefs.JsonValue<Boolean>) prefs.softWrap();
+      JsArray<PrefLayer> layers = createLayers(14);
+
+      Boolean uncached = null;
+      for (PrefLayer layer: JsUtil.asReverseIterable(layers))
+      {
+         JsObject values = layer.getValues();
+         if (values.hasKey("soft_wrap"))
+         {
+            uncached = softWrap.doGetValue(values);
+            break;
+         }
+      }
+
+      Assert.assertEquals(Boolean.TRUE, uncached);
+      for (int i = 0; i < 100; i++)
+         Assert.assertEquals(uncached, softWrap.getValue());
+   }
+}
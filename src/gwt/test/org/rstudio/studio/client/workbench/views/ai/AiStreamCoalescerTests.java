@@ -0,0 +1,155 @@
+/*
+ * AiStreamCoalescerTests.java
+ *
+ * Copyright (C) 2025 by William Nickols
+ *
+ * This program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ */
+package org.rstudio.studio.client.workbench.views.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rstudio.studio.client.application.events.EventBus;
+import org.rstudio.studio.client.workbench.views.ai.events.AiStreamDataEvent;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+import junit.framework.Assert;
+
+public class AiStreamCoalescerTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   @Override
+   protected void gwtSetUp()
+   {
+      dispatched_ = new ArrayList<>();
+      EventBus eventBus = new EventBus(() -> null, () -> null);
+      eventBus.addHandler(AiStreamDataEvent.TYPE, event -> dispatched_.add(event));
+      coalescer_ = new AiStreamCoalescer(eventBus, 100);
+   }
+
+   private static AiStreamDataEvent delta(String messageId, int sequence, String text)
+   {
+      return new AiStreamDataEvent(messageId, text, false, false, null, sequence);
+   }
+
+   private static AiStreamDataEvent complete(String messageId, int sequence, String text)
+   {
+      return new AiStreamDataEvent(messageId, text, true, false, null, sequence);
+   }
+
+   // ---- tests start here ----
+
+   public void testMergesAdjacentDeltas()
+   {
+      coalescer_.add(delta("m", 1, "a"));
+      coalescer_.add(delta("m", 2, "b"));
+      coalescer_.add(delta("m", 3, "c"));
+      Assert.assertEquals(0, dispatched_.size());
+
+      coalescer_.flush();
+      Assert.assertEquals(1, dispatched_.size());
+
+      AiStreamDataEvent event = dispatched_.get(0);
+      Assert.assertEquals("abc", event.getDelta());
+      Assert.assertEquals(1, event.getSequence());
+      Assert.assertEquals(3, event.getLastSequence());
+      Assert.assertEquals(3, event.getMergedCount());
+      Assert.assertEquals(3, coalescer_.getDeltasReceived());
+      Assert.assertEquals(1, coalescer_.getEventsDispatched());
+   }
+
+   public void testDoesNotMergeAcrossSequenceGap()
+   {
+      coalescer_.add(delta("m", 1, "a"));
+      coalescer_.add(delta("m", 3, "c"));
+      coalescer_.flush();
+
+      Assert.assertEquals(2, dispatched_.size());
+      Assert.assertEquals(1, dispatched_.get(0).getLastSequence());
+      Assert.assertEquals(3, dispatched_.get(1).getSequence());
+   }
+
+   public void testDoesNotMergeDifferentKinds()
+   {
+      coalescer_.add(delta("m", 1, "a"));
+      coalescer_.add(new AiStreamDataEvent("m", "b", false, true, "f.R", 2));
+      coalescer_.flush();
+
+      Assert.assertEquals(2, dispatched_.size());
+      Assert.assertFalse(dispatched_.get(0).isEditFile());
+      Assert.assertTrue(dispatched_.get(1).isEditFile());
+   }
+
+   public void testKeepsSequenceOrderPerMessage()
+   {
+      coalescer_.add(delta("m1", 1, "a"));
+      coalescer_.add(delta("m2", 1, "x"));
+      coalescer_.add(delta("m1", 2, "b"));
+      coalescer_.add(delta("m2", 2, "y"));
+      coalescer_.flush();
+
+      // every sequence number of each message is covered exactly once, in
+      // order
+      Assert.assertEquals(2, dispatched_.size());
+      Assert.assertEquals("m1", dispatched_.get(0).getMessageId());
+      Assert.assertEquals("ab", dispatched_.get(0).getDelta());
+      Assert.assertEquals(2, dispatched_.get(0).getLastSequence());
+      Assert.assertEquals("m2", dispatched_.get(1).getMessageId());
+      Assert.assertEquals("xy", dispatched_.get(1).getDelta());
+      Assert.assertEquals(2, dispatched_.get(1).getLastSequence());
+   }
+
+   public void testCompleteFlushesImmediately()
+   {
+      coalescer_.add(delta("m", 1, "a"));
+      coalescer_.add(complete("m", 2, "b"));
+
+      Assert.assertEquals(1, dispatched_.size());
+      Assert.assertEquals("ab", dispatched_.get(0).getDelta());
+      Assert.assertTrue(dispatched_.get(0).isComplete());
+
+      // later deltas start a new event
+      coalescer_.add(delta("m", 3, "c"));
+      coalescer_.flush();
+      Assert.assertEquals(2, dispatched_.size());
+   }
+
+   public void testFlushesAtCap()
+   {
+      coalescer_.setMaxDeltasPerFlush(3);
+      coalescer_.add(delta("m", 1, "a"));
+      coalescer_.add(delta("m", 2, "b"));
+      Assert.assertEquals(0, dispatched_.size());
+
+      coalescer_.add(delta("m", 3, "c"));
+      Assert.assertEquals(1, dispatched_.size());
+      Assert.assertEquals(3, coalescer_.getLastDeltasMergedPerFlush());
+   }
+
+   public void testFlushWithNothingPending()
+   {
+      coalescer_.flush();
+      Assert.assertEquals(0, dispatched_.size());
+      Assert.assertEquals(0, coalescer_.getFlushCount());
+
+      coalescer_.add(delta("m", 1, "a"));
+      coalescer_.flush();
+      coalescer_.flush();
+      Assert.assertEquals(1, dispatched_.size());
+      Assert.assertEquals(1, coalescer_.getFlushCount());
+   }
+
+   private List<AiStreamDataEvent> dispatched_;
+   private AiStreamCoalescer coalescer_;
+}
@@ -0,0 +1,192 @@
+/*
+ * AiStreamingMarkdownRendererTests.java
+ *
+ * Copyright (C) 2025 by William Nickols
+ *
+ * This program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ */
+package org.rstudio.studio.client.workbench.views.ai.widgets;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rstudio.core.client.CommandWithArg;
+
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.junit.client.GWTTestCase;
+import com.google.gwt.safehtml.shared.SafeHtmlUtils;
+
+import junit.framework.Assert;
+
+public class AiStreamingMarkdownRendererTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   // Synchronous stand-in for showdown whose cost scales with input length
+   private static class FakeConverter implements AiStreamingMarkdownRenderer.Converter
+   {
+      @Override
+      public void convert(String markdown, CommandWithArg<String> onConverted)
+      {
+         onConverted.execute("<p>" + SafeHtmlUtils.htmlEscape(markdown) + "</p>");
+      }
+   }
+
+   private static AiStreamingMarkdownRenderer createRenderer(FakeConverter converter)
+   {
+      Element container = Document.get().createDivElement();
+      return new AiStreamingMarkdownRenderer(container, converter);
+   }
+
+   private static void streamByChar(AiStreamingMarkdownRenderer renderer, String text)
+   {
+      for (int i = 0; i < text.length(); i++)
+         renderer.append(text.substring(i, i + 1));
+   }
+
+   // ---- tests start here ----
+
+   public void testParagraphsFreezeAtBlankLine()
+   {
+      FakeConverter converter = new FakeConverter();
+      AiStreamingMarkdownRenderer renderer = createRenderer(converter);
+
+      renderer.append("First paragraph.\n\n");
+      Assert.assertEquals(0, renderer.getFrozenLength());
+
+      // the blank line only ends the block once the next block's first
+      // line is complete (it could still continue the block)
+      renderer.append("Second");
+      Assert.assertEquals(0, renderer.getFrozenLength());
+      renderer.append(" paragraph.\n");
+      Assert.assertEquals("First paragraph.\n\n".length(), renderer.getFrozenLength());
+      Assert.assertEquals(1, renderer.getFrozenBlockCount());
+
+      renderer.finish();
+      Assert.assertEquals(renderer.getContent().length(), renderer.getFrozenLength());
+      Assert.assertEquals(2, renderer.getFrozenBlockCount());
+   }
+
+   public void testCodeFenceNotSplitOnBlankLines()
+   {
+      FakeConverter converter = new FakeConverter();
+      AiStreamingMarkdownRenderer renderer = createRenderer(converter);
+
+      String fence = "```r\nx <- 1\n\ny <- 2\n```\n";
+      streamByChar(renderer, fence);
+      Assert.assertEquals(fence.length(), renderer.getFrozenLength());
+      Assert.assertEquals(1, renderer.getFrozenBlockCount());
+
+      renderer.append("After the fence");
+      Assert.assertEquals(fence.length(), renderer.getFrozenLength());
+   }
+
+   public void testListItemsStayTogether()
+   {
+      FakeConverter converter = new FakeConverter();
+      AiStreamingMarkdownRenderer renderer = createRenderer(converter);
+
+      String list = "1. one\n\n2. two\n\n   continued\n\n";
+      streamByChar(renderer, list);
+      Assert.assertEquals(0, renderer.getFrozenLength());
+
+      renderer.append("Done.\n");
+      Assert.assertEquals(list.length(), renderer.getFrozenLength());
+      Assert.assertEquals(1, renderer.getFrozenBlockCount());
+   }
+
+   public void testHeadingFreezesImmediately()
+   {
+      FakeConverter converter = new FakeConverter();
+      AiStreamingMarkdownRenderer renderer = createRenderer(converter);
+
+      streamByChar(renderer, "## Results\n");
+      Assert.assertEquals("## Results\n".length(), renderer.getFrozenLength());
+   }
+
+   public void testFrozenBlocksCoverContent()
+   {
+      FakeConverter converter = new FakeConverter();
+      Element container = Document.get().createDivElement();
+      AiStreamingMarkdownRenderer renderer =
+            new AiStreamingMarkdownRenderer(container, converter);
+
+      String text = "# Title\n\nSome text\nmore text\n\n- a\n- b\n\n```\ncode\n```\nTail";
+      streamByChar(renderer, text);
+      renderer.finish();
+
+      Assert.assertEquals(text, renderer.getContent());
+      Assert.assertEquals(5, renderer.getFrozenBlockCount());
+      Assert.assertEquals(5, container.getFirstChildElement().getChildCount() - 1);
+      Assert.assertEquals("", container.getFirstChildElement().getLastChild().<Element>cast().getInnerHTML());
+   }
+
+   // Streams a ~50 KB transcript and checks that the incremental renderer
+   // converts far less markdown than re-rendering the whole message on every
+   // delta (the previous behavior) would have.
+   public void testStreamingConvertsEachBlockOnce()
+   {
+      String transcript = buildTranscript(50 * 1024);
+      List<String> deltas = splitIntoDeltas(transcript);
+
+      long fullChars = 0;
+      long accumulated = 0;
+      for (String delta : deltas)
+      {
+         accumulated += delta.length();
+         fullChars += accumulated;
+      }
+
+      AiStreamingMarkdownRenderer renderer = createRenderer(new FakeConverter());
+      for (String delta : deltas)
+         renderer.append(delta);
+      renderer.finish();
+
+      Assert.assertEquals(transcript, renderer.getContent());
+      Assert.assertTrue(renderer.getConvertedChars() * 10 < fullChars);
+   }
+
+   private static String buildTranscript(int size)
+   {
+      StringBuilder builder = new StringBuilder();
+      int section = 0;
+      while (builder.length() < size)
+      {
+         section++;
+         builder.append("## Step " + section + "\n\n");
+         builder.append("Here is an explanation of what the next piece of code does, ")
+                .append("including a reference to `dplyr::mutate()` and some **bold** text.\n\n");
+         builder.append("- first point about section " + section + "\n")
+                .append("- second point about section " + section + "\n\n");
+         builder.append("```r\n")
+                .append("df <- data.frame(x = 1:10)\n\n")
+                .append("df$y <- df$x * " + section + "\n")
+                .append("```\n\n");
+      }
+      return builder.toString();
+   }
+
+   private static List<String> splitIntoDeltas(String text)
+   {
+      // deltas of 1-12 characters, approximating provider token sizes
+      List<String> deltas = new ArrayList<>();
+      int offset = 0;
+      int step = 0;
+      while (offset < text.length())
+      {
+         int length = Math.min(1 + (step++ * 7) % 12, text.length() - offset);
+         deltas.add(text.substring(offset, offset + length));
+         offset += length;
+      }
+      return deltas;
+   }
+}
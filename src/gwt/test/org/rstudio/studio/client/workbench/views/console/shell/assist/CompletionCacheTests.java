@@ -0,0 +1,209 @@
+/*
+ * CompletionCacheTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.console.shell.assist;
+
+import org.rstudio.studio.client.common.codetools.Completions;
+import org.rstudio.studio.client.common.codetools.RCompletionType;
+import org.rstudio.studio.client.server.ServerError;
+import org.rstudio.studio.client.server.ServerRequestCallback;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayBoolean;
+import com.google.gwt.core.client.JsArrayInteger;
+import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.junit.client.GWTTestCase;
+
+import junit.framework.Assert;
+
+public class CompletionCacheTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private static Completions completions(String token, String... names)
+   {
+      JsArrayString results = JavaScriptObject.createArray().cast();
+      JsArrayString packages = JavaScriptObject.createArray().cast();
+      JsArrayBoolean flags = JavaScriptObject.createArray().cast();
+      JsArrayInteger types = JavaScriptObject.createArray().cast();
+      JsArrayInteger contexts = JavaScriptObject.createArray().cast();
+      JsArrayString meta = JavaScriptObject.createArray().cast();
+      for (String name : names)
+      {
+         results.push(name);
+         packages.push("stats");
+         flags.push(false);
+         types.push(RCompletionType.FUNCTION);
+         contexts.push(0);
+         meta.push("");
+      }
+
+      return Completions.createCompletions(
+            token, results, results, packages, flags, types, flags, flags,
+            meta, "", false, false, false, true, null, "R", contexts);
+   }
+
+   private static class Result extends ServerRequestCallback<Completions>
+   {
+      @Override
+      public void onResponseReceived(Completions response)
+      {
+         completions = response;
+      }
+
+      @Override
+      public void onError(ServerError error)
+      {
+         Assert.fail(error.getMessage());
+      }
+
+      Completions completions;
+   }
+
+   // the cached completions for a line, or null if it can't be satisfied
+   // from the cache
+   private static Completions request(CompletionCache cache, String line)
+   {
+      Result result = new Result();
+      if (!cache.satisfyRequest(line, result))
+      {
+         Assert.assertNull(result.completions);
+         return null;
+      }
+
+      Assert.assertNotNull(result.completions);
+      return result.completions;
+   }
+
+   private static String names(Completions completions)
+   {
+      return completions.getCompletions().join(",");
+   }
+
+   // ---- tests start here ----
+
+   public void testMissWithoutCachedPrefix()
+   {
+      CompletionCache cache = new CompletionCache();
+      Assert.assertNull(request(cache, "rn"));
+
+      cache.store("rn", completions("rn", "rnorm"));
+      Assert.assertNull(request(cache, "r"));
+      Assert.assertNull(request(cache, "x"));
+      Assert.assertNull(request(cache, ""));
+   }
+
+   public void testExactHit()
+   {
+      CompletionCache cache = new CompletionCache();
+      Completions stored = completions("rn", "rnorm", "rnbinom");
+      cache.store("rn", stored);
+      Assert.assertSame(stored, request(cache, "rn"));
+   }
+
+   public void testNarrowsFromLongestCachedPrefix()
+   {
+      CompletionCache cache = new CompletionCache();
+      cache.store("r", completions("r", "rbinom", "rnbinom", "rnorm", "runif"));
+      cache.store("rn", completions("rn", "rnorm"));
+
+      // "rnbinom" also matches "rno", but only the entry for "rn" (the
+      // longest cached prefix) should be narrowed
+      Completions narrowed = request(cache, "rno");
+      Assert.assertEquals("rno", narrowed.getToken());
+      Assert.assertEquals("rnorm", names(narrowed));
+
+      // from "r", everything with "u" as a subsequence
+      Assert.assertEquals("runif", names(request(cache, "ru")));
+   }
+
+   public void testNarrowedTokenExtendsCachedToken()
+   {
+      // the cached token is the end of the line it was requested for
+      CompletionCache cache = new CompletionCache();
+      cache.store("x <- rn", completions("rn", "rnbinom", "rnorm"));
+
+      Completions narrowed = request(cache, "x <- rnb");
+      Assert.assertEquals("rnb", narrowed.getToken());
+      Assert.assertEquals("rnbinom", names(narrowed));
+   }
+
+   public void testNarrowedResultIsStored()
+   {
+      CompletionCache cache = new CompletionCache();
+      cache.store("r", completions("r", "rbinom", "rnbinom", "rnorm"));
+
+      Completions narrowed = request(cache, "rn");
+      Assert.assertSame(narrowed, request(cache, "rn"));
+
+      // later keystrokes narrow from the stored (smaller) result
+      cache.store("r", completions("r"));
+      Assert.assertEquals("rnorm", names(request(cache, "rnor")));
+   }
+
+   public void testNarrowedEntriesKeepTheirFields()
+   {
+      CompletionCache cache = new CompletionCache();
+      Completions stored = completions("r", "rbinom", "rnbinom", "rnorm");
+      stored.getPackages().set(1, "MASS");
+      stored.getType().set(2, RCompletionType.ARGUMENT);
+      cache.store("r", stored);
+
+      // narrow twice, so the second narrows the first's view
+      Assert.assertEquals("rnorm,rnbinom", names(request(cache, "rn")));
+      Completions narrowed = request(cache, "rnb");
+      Assert.assertEquals("rnbinom", names(narrowed));
+      Assert.assertEquals("MASS", narrowed.getPackages().get(0));
+      Assert.assertEquals(RCompletionType.FUNCTION, narrowed.getType().get(0));
+
+      narrowed = request(cache, "rno");
+      Assert.assertEquals("rnorm", names(narrowed));
+      Assert.assertEquals(RCompletionType.ARGUMENT, narrowed.getType().get(0));
+      Assert.assertEquals("stats", narrowed.getPackages().get(0));
+
+      // the stored response is left alone
+      Assert.assertEquals("rbinom,rnbinom,rnorm", names(stored));
+   }
+
+   public void testStoreReplacesExisting()
+   {
+      CompletionCache cache = new CompletionCache();
+      cache.store("rn", completions("rn", "rnorm"));
+
+      Completions replacement = completions("rn", "rnbinom");
+      cache.store("rn", replacement);
+      Assert.assertSame(replacement, request(cache, "rn"));
+   }
+
+   public void testFlushInvalidatesEverything()
+   {
+      CompletionCache cache = new CompletionCache();
+      cache.store("r", completions("r", "rnorm"));
+      cache.store("rn", completions("rn", "rnorm"));
+      Assert.assertNotNull(request(cache, "rno"));
+
+      cache.flush();
+      Assert.assertNull(request(cache, "r"));
+      Assert.assertNull(request(cache, "rn"));
+      Assert.assertNull(request(cache, "rno"));
+
+      // and the cache is usable again afterwards
+      cache.store("ru", completions("ru", "runif"));
+      Assert.assertEquals("runif", names(request(cache, "run")));
+   }
+}
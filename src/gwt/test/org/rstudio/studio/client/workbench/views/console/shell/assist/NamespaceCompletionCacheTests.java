@@ -0,0 +1,106 @@
+/*
+ * NamespaceCompletionCacheTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.console.shell.assist;
+
+import java.util.ArrayList;
+
+import org.rstudio.studio.client.common.debugging.events.PackageLoadedEvent;
+import org.rstudio.studio.client.common.debugging.events.PackageUnloadedEvent;
+import org.rstudio.studio.client.workbench.views.console.shell.assist.CompletionRequester.CompletionResult;
+import org.rstudio.studio.client.workbench.views.console.shell.assist.CompletionRequester.QualifiedName;
+import org.rstudio.studio.client.workbench.views.console.shell.assist.RCompletionManager.AutocompletionContext;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+import junit.framework.Assert;
+
+public class NamespaceCompletionCacheTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private static CompletionResult namespace(String pkg, int count)
+   {
+      ArrayList<QualifiedName> names = new ArrayList<>();
+      for (int i = 0; i < count; i++)
+         names.add(new QualifiedName("fn" + i, pkg));
+      return new CompletionResult("", names, null, false);
+   }
+
+   // ---- tests start here ----
+
+   public void testKeyForNamespaceContext()
+   {
+      AutocompletionContext context = new AutocompletionContext(
+            "", AutocompletionContext.TYPE_UNKNOWN);
+      Assert.assertNull(NamespaceCompletionCache.keyFor(context));
+
+      context.add("dplyr", AutocompletionContext.TYPE_NAMESPACE_EXPORTED);
+      String exported = NamespaceCompletionCache.keyFor(context);
+      Assert.assertNotNull(exported);
+      Assert.assertEquals("dplyr", NamespaceCompletionCache.packageFor(context));
+
+      AutocompletionContext all = new AutocompletionContext(
+            "", AutocompletionContext.TYPE_UNKNOWN);
+      all.add("dplyr", AutocompletionContext.TYPE_NAMESPACE_ALL);
+      Assert.assertFalse(exported.equals(NamespaceCompletionCache.keyFor(all)));
+   }
+
+   public void testInvalidatedOnPackageLoadAndUnload()
+   {
+      NamespaceCompletionCache cache = new NamespaceCompletionCache();
+      cache.put("stats", "stats", namespace("stats", 10));
+      cache.put("utils", "utils", namespace("utils", 10));
+      cache.put("dplyr", "dplyr", namespace("dplyr", 10));
+
+      cache.onPackageLoaded(new PackageLoadedEvent("stats"));
+      Assert.assertNull(cache.get("stats"));
+      Assert.assertNotNull(cache.get("utils"));
+
+      cache.onPackageUnloaded(new PackageUnloadedEvent("dplyr"));
+      Assert.assertNull(cache.get("dplyr"));
+      Assert.assertEquals(1, cache.size());
+   }
+
+   public void testEvictsLeastRecentlyUsedOverBudget()
+   {
+      NamespaceCompletionCache cache = new NamespaceCompletionCache();
+      cache.put("a", "a", namespace("a", 100));
+      int entryBytes = cache.getSizeBytes();
+      cache.setBudgetBytes(entryBytes * 2);
+
+      cache.put("b", "b", namespace("b", 100));
+      Assert.assertEquals(2, cache.size());
+
+      // touch 'a' so that 'b' becomes the least recently used entry
+      Assert.assertNotNull(cache.get("a"));
+
+      cache.put("c", "c", namespace("c", 100));
+      Assert.assertEquals(2, cache.size());
+      Assert.assertNull(cache.get("b"));
+      Assert.assertNotNull(cache.get("a"));
+      Assert.assertNotNull(cache.get("c"));
+      Assert.assertEquals(1, cache.getEvictions());
+      Assert.assertTrue(cache.getSizeBytes() <= entryBytes * 2);
+
+      // entries larger than the whole budget are never stored
+      cache.put("huge", "huge", namespace("huge", 1000));
+      Assert.assertNull(cache.get("huge"));
+      Assert.assertNotNull(cache.get("a"));
+   }
+}
@@ -0,0 +1,156 @@
+/*
+ * PendingObjectChangesTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.environment;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.rstudio.studio.client.workbench.views.environment.model.RObject;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+import junit.framework.Assert;
+
+public class PendingObjectChangesTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private static native RObject object(String name, String value) /*-{
+      return { name: name, value: value };
+   }-*/;
+
+   // an environment, as a map from name to value
+   private static Map<String, String> environment(String... names)
+   {
+      Map<String, String> environment = new HashMap<>();
+      for (String name : names)
+         environment.put(name, "initial");
+      return environment;
+   }
+
+   // applies the pending changes the way the presenter hands them to the
+   // view: removals first, then assignments
+   private static void applyBatch(Map<String, String> environment,
+                                  PendingObjectChanges changes)
+   {
+      List<String> removed = changes.getRemoved();
+      List<RObject> assigned = changes.getAssigned();
+      for (String name : removed)
+         environment.remove(name);
+      for (RObject object : assigned)
+         environment.put(object.getName(), object.getValue());
+   }
+
+   // a change is a name and a value, with a null value meaning a removal
+   private static void assertBatchMatchesSequential(String[][] changes)
+   {
+      Map<String, String> sequential = environment("a", "b", "c");
+      Map<String, String> batched = environment("a", "b", "c");
+
+      PendingObjectChanges pending = new PendingObjectChanges();
+      for (String[] change : changes)
+      {
+         if (change[1] == null)
+         {
+            sequential.remove(change[0]);
+            pending.remove(change[0]);
+         }
+         else
+         {
+            sequential.put(change[0], change[1]);
+            pending.assign(object(change[0], change[1]));
+         }
+      }
+
+      applyBatch(batched, pending);
+      Assert.assertEquals(sequential, batched);
+   }
+
+   // ---- tests start here ----
+
+   public void testBatchMatchesSequentialChanges()
+   {
+      assertBatchMatchesSequential(new String[][] {
+         { "a", "1" },
+         { "d", "1" },
+         { "b", null },
+         { "e", "1" },
+         { "e", null },
+      });
+
+      // removed and then assigned again, and the reverse
+      assertBatchMatchesSequential(new String[][] {
+         { "a", null },
+         { "a", "2" },
+         { "b", "2" },
+         { "b", null },
+         { "c", "2" },
+         { "c", "3" },
+      });
+
+      assertBatchMatchesSequential(new String[][] {
+         { "x", null },
+         { "a", null },
+         { "a", null },
+      });
+   }
+
+   public void testKeepsLatestChangePerName()
+   {
+      PendingObjectChanges pending = new PendingObjectChanges();
+      pending.assign(object("a", "1"));
+      pending.assign(object("b", "1"));
+      pending.assign(object("a", "2"));
+      pending.remove("b");
+
+      List<RObject> assigned = pending.getAssigned();
+      Assert.assertEquals(1, assigned.size());
+      Assert.assertEquals("2", assigned.get(0).getValue());
+      Assert.assertEquals(1, pending.getRemoved().size());
+      Assert.assertEquals("b", pending.getRemoved().get(0));
+   }
+
+   public void testAssignmentsInOrderOfLastChange()
+   {
+      PendingObjectChanges pending = new PendingObjectChanges();
+      pending.assign(object("a", "1"));
+      pending.assign(object("b", "1"));
+      pending.assign(object("a", "2"));
+
+      List<RObject> assigned = pending.getAssigned();
+      Assert.assertEquals("b", assigned.get(0).getName());
+      Assert.assertEquals("a", assigned.get(1).getName());
+   }
+
+   public void testClear()
+   {
+      PendingObjectChanges pending = new PendingObjectChanges();
+      Assert.assertTrue(pending.isEmpty());
+
+      pending.assign(object("a", "1"));
+      pending.remove("b");
+      Assert.assertFalse(pending.isEmpty());
+
+      pending.clear();
+      Assert.assertTrue(pending.isEmpty());
+      Assert.assertTrue(pending.getAssigned().isEmpty());
+      Assert.assertTrue(pending.getRemoved().isEmpty());
+   }
+}
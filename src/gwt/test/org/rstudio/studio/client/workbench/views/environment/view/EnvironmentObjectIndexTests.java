@@ -0,0 +1,258 @@
+/*
+ * EnvironmentObjectIndexTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.environment.view;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rstudio.studio.client.workbench.views.environment.model.RObject;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+import junit.framework.Assert;
+
+// EnvironmentObjects applies small batches of changes one at a time through
+// assign() and remove(), and larger ones through update(); these tests check
+// that both leave the index and the list in the same state.
+public class EnvironmentObjectIndexTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private static native RObject object(String name,
+                                        String type,
+                                        int size,
+                                        boolean deferred) /*-{
+      return {
+         name: name,
+         type: type,
+         clazz: [type],
+         is_data: false,
+         value: name,
+         length: 1,
+         size: size,
+         contents: [],
+         contents_deferred: deferred
+      };
+   }-*/;
+
+   private static RObject object(String name, int size)
+   {
+      return object(name, "numeric", size, false);
+   }
+
+   private static RObjectEntry entry(RObject object)
+   {
+      return new RObjectEntry(object, true);
+   }
+
+   private static List<RObjectEntry> entries(List<RObject> objects)
+   {
+      List<RObjectEntry> entries = new ArrayList<>();
+      for (RObject object : objects)
+         entries.add(entry(object));
+      return entries;
+   }
+
+   private static String names(List<RObjectEntry> objects)
+   {
+      StringBuilder builder = new StringBuilder();
+      for (int i = 0; i < objects.size(); i++)
+      {
+         if (i > 0)
+            builder.append(",");
+         builder.append(objects.get(i).rObject.getName());
+      }
+      return builder.toString();
+   }
+
+   // the list is sorted, and every entry in it can be found by name in its
+   // own row; the index holds nothing else
+   private static void assertConsistent(EnvironmentObjectIndex index,
+                                        List<RObjectEntry> objects,
+                                        RObjectEntrySort sort)
+   {
+      Assert.assertEquals(objects.size(), index.size());
+      for (int i = 0; i < objects.size(); i++)
+      {
+         RObjectEntry entry = objects.get(i);
+         String name = entry.rObject.getName();
+         Assert.assertSame(entry, index.get(name));
+         Assert.assertEquals(i, index.indexOf(objects, name, sort));
+         if (i > 0)
+            Assert.assertTrue(sort.compare(objects.get(i - 1), entry) <= 0);
+      }
+   }
+
+   // applies the changes one at a time, as EnvironmentObjects does for
+   // small batches
+   private static void applyIncrementally(EnvironmentObjectIndex index,
+                                          List<RObjectEntry> objects,
+                                          List<RObject> assigned,
+                                          List<String> removed,
+                                          RObjectEntrySort sort)
+   {
+      for (String name : removed)
+         index.remove(objects, name, sort);
+      for (RObject object : assigned)
+      {
+         RObjectEntry entry = entry(object);
+         EnvironmentObjectIndex.carryExpandedState(
+               index.get(object.getName()), entry);
+         index.assign(objects, entry, sort);
+      }
+   }
+
+   private static List<RObject> initialObjects()
+   {
+      List<RObject> objects = new ArrayList<>();
+      for (int i = 0; i < 20; i++)
+         objects.add(object("x" + (char) ('a' + (i * 7) % 20), 100 + i % 5));
+      objects.add(object("f", "function", 10, false));
+      return objects;
+   }
+
+   // ---- tests start here ----
+
+   public void testBatchMatchesIncrementalUpdates()
+   {
+      for (int column : new int[] { -1, ObjectGridColumn.COLUMN_SIZE })
+      {
+         RObjectEntrySort sort = new RObjectEntrySort();
+         if (column != -1)
+         {
+            sort.setSortType(RObjectEntrySort.SORT_COLUMN);
+            sort.setSortColumn(column);
+         }
+
+         List<RObject> assigned = new ArrayList<>();
+         assigned.add(object("xc", 50));                       // resized
+         assigned.add(object("xd", "function", 100, false));   // retyped
+         assigned.add(object("new1", 100));
+         assigned.add(object("new2", 500));
+         assigned.add(object("xa", 103));                      // unchanged sort key
+         List<String> removed = new ArrayList<>();
+         removed.add("xb");
+         removed.add("f");
+         removed.add("missing");
+
+         EnvironmentObjectIndex incremental = new EnvironmentObjectIndex();
+         List<RObjectEntry> incrementalObjects = new ArrayList<>();
+         applyIncrementally(incremental, incrementalObjects,
+               initialObjects(), new ArrayList<>(), sort);
+         applyIncrementally(incremental, incrementalObjects,
+               assigned, removed, sort);
+         assertConsistent(incremental, incrementalObjects, sort);
+
+         EnvironmentObjectIndex batched = new EnvironmentObjectIndex();
+         batched.update(entries(initialObjects()), new ArrayList<>(),
+               sort, new ArrayList<>());
+         List<RObjectEntry> batchedObjects = batched.update(
+               entries(assigned), removed, sort, new ArrayList<>());
+         assertConsistent(batched, batchedObjects, sort);
+
+         Assert.assertEquals(incrementalObjects.size(), batchedObjects.size());
+         Assert.assertNull(batched.get("xb"));
+         Assert.assertNull(batched.get("f"));
+         Assert.assertSame(assigned.get(0), batched.get("xc").rObject);
+         Assert.assertSame(assigned.get(1), batched.get("xd").rObject);
+
+         // entries that compare equal (when sorting by size) may be ordered
+         // differently, but otherwise the rows match
+         for (int i = 0; i < batchedObjects.size(); i++)
+         {
+            Assert.assertEquals(0, sort.compare(incrementalObjects.get(i),
+                                                batchedObjects.get(i)));
+            String name = batchedObjects.get(i).rObject.getName();
+            Assert.assertSame(incremental.get(name).rObject,
+                              batched.get(name).rObject);
+         }
+         if (column == -1)
+            Assert.assertEquals(names(incrementalObjects), names(batchedObjects));
+      }
+   }
+
+   public void testAssignReplacesInPlaceOrMoves()
+   {
+      RObjectEntrySort sort = new RObjectEntrySort();
+      sort.setSortType(RObjectEntrySort.SORT_COLUMN);
+      sort.setSortColumn(ObjectGridColumn.COLUMN_SIZE);
+
+      EnvironmentObjectIndex index = new EnvironmentObjectIndex();
+      List<RObjectEntry> objects = new ArrayList<>();
+      index.assign(objects, entry(object("a", 30)), sort);
+      index.assign(objects, entry(object("b", 20)), sort);
+      index.assign(objects, entry(object("c", 10)), sort);
+      Assert.assertEquals("a,b,c", names(objects));
+
+      // same size: replaced in its row
+      Assert.assertEquals(1, index.assign(objects, entry(object("b", 20)), sort));
+      Assert.assertEquals("a,b,c", names(objects));
+      assertConsistent(index, objects, sort);
+
+      // larger: moved to the top
+      Assert.assertEquals(0, index.assign(objects, entry(object("c", 40)), sort));
+      Assert.assertEquals("c,a,b", names(objects));
+      assertConsistent(index, objects, sort);
+
+      index.remove(objects, "a", sort);
+      Assert.assertEquals("c,b", names(objects));
+      Assert.assertEquals(-1, index.indexOf(objects, "a", sort));
+      assertConsistent(index, objects, sort);
+   }
+
+   public void testExpandedStateCarriedOver()
+   {
+      RObjectEntrySort sort = new RObjectEntrySort();
+      List<RObjectEntry> refill = new ArrayList<>();
+
+      EnvironmentObjectIndex index = new EnvironmentObjectIndex();
+      List<RObjectEntry> objects = index.update(
+            entries(initialObjects()), new ArrayList<>(), sort, refill);
+      for (RObjectEntry entry : objects)
+         entry.expanded = true;
+
+      List<RObject> assigned = new ArrayList<>();
+      assigned.add(object("xa", 1));                          // same type
+      assigned.add(object("xb", "numeric", 1, true));         // deferred
+      assigned.add(object("xc", "character", 1, false));      // retyped
+      for (int i = 0; i < 10; i++)
+         assigned.add(object("new" + i, 1));
+      objects = index.update(entries(assigned), new ArrayList<>(), sort, refill);
+
+      Assert.assertTrue(index.get("xa").expanded);
+      Assert.assertFalse(index.get("xb").expanded);
+      Assert.assertFalse(index.get("xc").expanded);
+      Assert.assertFalse(index.get("new0").expanded);
+      Assert.assertEquals(1, refill.size());
+      Assert.assertSame(index.get("xb"), refill.get(0));
+      assertConsistent(index, objects, sort);
+   }
+
+   public void testClear()
+   {
+      RObjectEntrySort sort = new RObjectEntrySort();
+      EnvironmentObjectIndex index = new EnvironmentObjectIndex();
+      List<RObjectEntry> objects = new ArrayList<>();
+      index.assign(objects, entry(object("a", 1)), sort);
+
+      index.clear();
+      Assert.assertEquals(0, index.size());
+      Assert.assertEquals(-1, index.indexOf(objects, "a", sort));
+   }
+}
@@ -0,0 +1,177 @@
+/*
+ * FilesListIndexTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.files.ui;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.rstudio.core.client.files.FileSystemItem;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+import junit.framework.Assert;
+
+public class FilesListIndexTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private static final Comparator<FileSystemItem> BY_NAME =
+         (lhs, rhs) -> lhs.getName().compareTo(rhs.getName());
+
+   private static final Comparator<FileSystemItem> BY_SIZE =
+         (lhs, rhs) -> Integer.compare(lhs.getLength(), rhs.getLength());
+
+   private static FileSystemItem file(String name)
+   {
+      return FileSystemItem.create("/files/" + name, false, 10, 0);
+   }
+
+   private static String names(List<FileSystemItem> files)
+   {
+      StringBuilder builder = new StringBuilder();
+      for (int i = 0; i < files.size(); i++)
+      {
+         if (i > 0)
+            builder.append(",");
+         builder.append(files.get(i).getName());
+      }
+      return builder.toString();
+   }
+
+   // every file in the list can be found in its own row, and the index holds
+   // nothing else
+   private static void assertConsistent(FilesListIndex index,
+                                        List<FileSystemItem> files,
+                                        Comparator<FileSystemItem> comparator)
+   {
+      Assert.assertEquals(files.size(), index.size());
+      for (int i = 0; i < files.size(); i++)
+      {
+         FileSystemItem file = files.get(i);
+         Assert.assertSame(file, index.get(file.getPath()));
+         Assert.assertEquals(i, index.rowForFile(files, file, comparator));
+      }
+   }
+
+   // ---- tests start here ----
+
+   public void testInsertKeepsSortedOrder()
+   {
+      FilesListIndex index = new FilesListIndex();
+      List<FileSystemItem> files = new ArrayList<>();
+      for (String name : new String[] { "d", "b", "e", "a", "c" })
+         index.insertSorted(files, file(name), BY_NAME);
+
+      Assert.assertEquals("a,b,c,d,e", names(files));
+      assertConsistent(index, files, BY_NAME);
+      Assert.assertEquals(-1, index.rowForFile(files, file("f"), BY_NAME));
+   }
+
+   public void testLookupMatchesByPath()
+   {
+      FilesListIndex index = new FilesListIndex();
+      List<FileSystemItem> files = new ArrayList<>();
+      index.insertSorted(files, file("a"), BY_NAME);
+      index.insertSorted(files, file("b"), BY_NAME);
+
+      // a different item for the same path (as a file change carries)
+      Assert.assertEquals(1, index.rowForFile(files, file("b"), BY_NAME));
+   }
+
+   public void testRemove()
+   {
+      FilesListIndex index = new FilesListIndex();
+      List<FileSystemItem> files = new ArrayList<>();
+      for (String name : new String[] { "a", "b", "c", "d" })
+         index.insertSorted(files, file(name), BY_NAME);
+
+      index.removeRow(files, index.rowForFile(files, file("b"), BY_NAME));
+      Assert.assertEquals("a,c,d", names(files));
+      Assert.assertNull(index.get(file("b").getPath()));
+      Assert.assertEquals(-1, index.rowForFile(files, file("b"), BY_NAME));
+      assertConsistent(index, files, BY_NAME);
+
+      // and it can be added back
+      index.insertSorted(files, file("b"), BY_NAME);
+      Assert.assertEquals("a,b,c,d", names(files));
+      assertConsistent(index, files, BY_NAME);
+   }
+
+   public void testRenameMovesRow()
+   {
+      FilesListIndex index = new FilesListIndex();
+      List<FileSystemItem> files = new ArrayList<>();
+      for (String name : new String[] { "a", "b", "c" })
+         index.insertSorted(files, file(name), BY_NAME);
+
+      index.renameRow(files, 0, file("z"), BY_NAME);
+      Assert.assertEquals("b,c,z", names(files));
+      Assert.assertNull(index.get(file("a").getPath()));
+      Assert.assertEquals(-1, index.rowForFile(files, file("a"), BY_NAME));
+      assertConsistent(index, files, BY_NAME);
+
+      // renaming without changing position replaces the row in place
+      index.renameRow(files, 1, file("d"), BY_NAME);
+      Assert.assertEquals("b,d,z", names(files));
+      assertConsistent(index, files, BY_NAME);
+   }
+
+   public void testRowsThatCompareEqual()
+   {
+      FilesListIndex index = new FilesListIndex();
+      List<FileSystemItem> files = new ArrayList<>();
+      for (String name : new String[] { "a", "b", "c", "d", "e" })
+         index.insertSorted(files, file(name), BY_SIZE);
+
+      // every file has the same size, so each is found by identity among
+      // the equal rows
+      assertConsistent(index, files, BY_SIZE);
+
+      index.removeRow(files, 2);
+      assertConsistent(index, files, BY_SIZE);
+   }
+
+   public void testUnsortedList()
+   {
+      FilesListIndex index = new FilesListIndex();
+      List<FileSystemItem> files = new ArrayList<>();
+      for (String name : new String[] { "c", "a", "b" })
+         index.insertSorted(files, file(name), null);
+
+      // without a comparator files are appended, and found by scanning
+      Assert.assertEquals("c,a,b", names(files));
+      assertConsistent(index, files, null);
+
+      index.renameRow(files, 0, file("d"), null);
+      Assert.assertEquals("d,a,b", names(files));
+      assertConsistent(index, files, null);
+   }
+
+   public void testClear()
+   {
+      FilesListIndex index = new FilesListIndex();
+      List<FileSystemItem> files = new ArrayList<>();
+      index.insertSorted(files, file("a"), BY_NAME);
+
+      index.clear();
+      Assert.assertEquals(0, index.size());
+      Assert.assertEquals(-1, index.rowForFile(files, file("a"), BY_NAME));
+   }
+}
@@ -0,0 +1,172 @@
+/*
+ * JobOutputWindowTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.jobs.view;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rstudio.studio.client.common.compile.CompileOutput;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import junit.framework.Assert;
+
+public class JobOutputWindowTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   // entries 'from' through 'to' (exclusive), one line each
+   private static List<CompileOutput> lines(int from, int to)
+   {
+      List<CompileOutput> output = new ArrayList<>();
+      for (int i = from; i < to; i++)
+         output.add(CompileOutput.create(CompileOutput.kNormal, "line " + i + "\n"));
+      return output;
+   }
+
+   // a window showing a job's first 'length' entries, read the way the
+   // output panel reads them when the job is selected
+   private static JobOutputWindow shown(int maxLines, int length)
+   {
+      JobOutputWindow window = new JobOutputWindow(maxLines);
+      window.reset(length);
+      window.fill(lines(window.getTailStart(), length));
+      return window;
+   }
+
+   // ---- tests start here ----
+
+   public void testShowReadsOnlyTail()
+   {
+      JobOutputWindow window = new JobOutputWindow(10);
+      window.reset(25);
+
+      Assert.assertEquals(15, window.getTailStart());
+      Assert.assertEquals(25, window.getStart());
+      Assert.assertEquals(0, window.getEntries().size());
+      Assert.assertTrue(window.isAttached());
+
+      window.fill(lines(15, 25));
+      Assert.assertEquals(15, window.getStart());
+      Assert.assertEquals(25, window.getEnd());
+      Assert.assertEquals(25, window.getTotal());
+      Assert.assertEquals(10, window.getLineCount());
+      Assert.assertEquals("line 15\n", window.getEntries().get(0).getOutput());
+      Assert.assertTrue(window.isAttached());
+      Assert.assertTrue(window.canBackfill());
+   }
+
+   public void testShowShortOutput()
+   {
+      JobOutputWindow window = new JobOutputWindow(10);
+      window.reset(4);
+      Assert.assertEquals(0, window.getTailStart());
+
+      window.fill(lines(0, 4));
+      Assert.assertEquals(0, window.getStart());
+      Assert.assertEquals(4, window.getEnd());
+      Assert.assertFalse(window.canBackfill());
+
+      window.reset(0);
+      Assert.assertEquals(0, window.getTailStart());
+      Assert.assertFalse(window.canBackfill());
+   }
+
+   public void testOutputArrivesWhileShowing()
+   {
+      JobOutputWindow window = new JobOutputWindow(10);
+      window.reset(25);
+
+      // new output arrives before the tail has been read
+      for (CompileOutput entry : lines(25, 28))
+         Assert.assertTrue(window.append(entry));
+
+      // the oldest of the tail is dropped to make room for it
+      window.fill(lines(15, 25));
+      Assert.assertEquals(18, window.getStart());
+      Assert.assertEquals(28, window.getEnd());
+      Assert.assertEquals(28, window.getTotal());
+      Assert.assertEquals(10, window.getLineCount());
+      Assert.assertEquals("line 18\n", window.getEntries().get(0).getOutput());
+      Assert.assertEquals("line 27\n", window.getEntries().get(9).getOutput());
+      Assert.assertTrue(window.isAttached());
+   }
+
+   public void testAppendTrimsOldest()
+   {
+      JobOutputWindow window = new JobOutputWindow(3);
+      for (CompileOutput entry : lines(0, 5))
+         Assert.assertTrue(window.append(entry));
+
+      Assert.assertEquals(2, window.getStart());
+      Assert.assertEquals(3, window.getEntries().size());
+      Assert.assertEquals(3, window.getLineCount());
+
+      // output without newlines still counts against the cap
+      window.append(CompileOutput.create(CompileOutput.kNormal, "partial"));
+      Assert.assertEquals(3, window.getStart());
+      Assert.assertEquals(6, window.getTotal());
+   }
+
+   public void testBackfillDetachesWindow()
+   {
+      JobOutputWindow window = shown(10, 30);
+
+      Assert.assertEquals(4, window.prepend(lines(16, 20)));
+      Assert.assertEquals(16, window.getStart());
+      Assert.assertEquals(26, window.getEnd());
+      Assert.assertEquals(10, window.getLineCount());
+      Assert.assertEquals("line 16\n", window.getEntries().get(0).getOutput());
+      Assert.assertFalse(window.isAttached());
+
+      // new output is only counted while detached
+      Assert.assertFalse(window.append(CompileOutput.create(CompileOutput.kNormal, "x\n")));
+      Assert.assertEquals(31, window.getTotal());
+      Assert.assertEquals(26, window.getEnd());
+   }
+
+   public void testBackfillLargerThanCap()
+   {
+      JobOutputWindow window = shown(5, 20);
+
+      // only the newest of the older entries fit
+      Assert.assertEquals(5, window.prepend(lines(5, 15)));
+      Assert.assertEquals(10, window.getStart());
+      Assert.assertEquals(15, window.getEnd());
+      Assert.assertEquals(5, window.getLineCount());
+   }
+
+   public void testCatchUp()
+   {
+      JobOutputWindow window = shown(10, 30);
+      window.prepend(lines(10, 20));
+      Assert.assertEquals(20, window.getEnd());
+
+      // contiguous with the window
+      window.catchUp(20, lines(20, 30));
+      Assert.assertTrue(window.isAttached());
+      Assert.assertEquals(20, window.getStart());
+
+      // past the end of the window; the window is replaced
+      window.prepend(lines(10, 20));
+      window.catchUp(25, lines(25, 30));
+      Assert.assertTrue(window.isAttached());
+      Assert.assertEquals(25, window.getStart());
+      Assert.assertEquals(5, window.getEntries().size());
+   }
+}
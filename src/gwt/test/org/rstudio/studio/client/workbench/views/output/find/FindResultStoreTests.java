@@ -0,0 +1,86 @@
+/*
+ * FindResultStoreTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.output.find;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rstudio.studio.client.workbench.views.output.find.model.FindResult;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import junit.framework.Assert;
+
+public class FindResultStoreTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private static List<FindResult> results(String file, int count)
+   {
+      List<FindResult> results = new ArrayList<>();
+      for (int i = 1; i <= count; i++)
+         results.add(FindResult.create(file, i, "line " + i));
+      return results;
+   }
+
+   // ---- tests start here ----
+
+   public void testCountsAcrossBatches()
+   {
+      FindResultStore store = new FindResultStore();
+
+      List<String> files = store.addAll(results("a.R", 3));
+      Assert.assertEquals(1, files.size());
+      Assert.assertEquals("a.R", files.get(0));
+
+      // a file's results can be split across batches
+      List<FindResult> batch = results("a.R", 2);
+      batch.addAll(results("b.R", 4));
+      files = store.addAll(batch);
+      Assert.assertEquals(2, files.size());
+      Assert.assertEquals("b.R", files.get(1));
+
+      Assert.assertEquals(9, store.size());
+      Assert.assertEquals(2, store.getFileCount());
+      Assert.assertEquals(5, store.getCountForFile("a.R"));
+      Assert.assertEquals(4, store.getCountForFile("b.R"));
+      Assert.assertEquals(0, store.getCountForFile("c.R"));
+   }
+
+   public void testPaging()
+   {
+      FindResultStore store = new FindResultStore();
+      store.addAll(results("a.R", 1200));
+
+      List<FindResult> page = store.subList(500, 1000);
+      Assert.assertEquals(500, page.size());
+      Assert.assertEquals(501, page.get(0).getLine());
+      Assert.assertEquals(1200, store.get(1199).getLine());
+   }
+
+   public void testClear()
+   {
+      FindResultStore store = new FindResultStore();
+      store.addAll(results("a.R", 10));
+      store.clear();
+
+      Assert.assertEquals(0, store.size());
+      Assert.assertEquals(0, store.getFileCount());
+      Assert.assertEquals(0, store.getCountForFile("a.R"));
+   }
+}
@@ -0,0 +1,135 @@
+/*
+ * IncrementalLintTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.output.lint;
+
+import org.rstudio.studio.client.workbench.views.output.lint.model.LintItem;
+
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.junit.client.GWTTestCase;
+import junit.framework.Assert;
+
+public class IncrementalLintTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   // one single-row lint item on each of the given rows
+   private static JsArray<LintItem> lintOnRows(int... rows)
+   {
+      JsArray<LintItem> lint = JsArray.createArray().cast();
+      for (int row : rows)
+         lint.push(LintItem.create(row, 0, row, 1, "row " + row, "warning"));
+      return lint;
+   }
+
+   private static String rows(JsArray<LintItem> lint)
+   {
+      StringBuilder builder = new StringBuilder();
+      for (int i = 0; i < lint.length(); i++)
+      {
+         if (i > 0)
+            builder.append(",");
+         builder.append(lint.get(i).getStartRow());
+      }
+      return builder.toString();
+   }
+
+   // ---- tests start here ----
+
+   public void testInsertShiftsLintBelow()
+   {
+      IncrementalLint incremental = new IncrementalLint();
+      JsArray<LintItem> lint = lintOnRows(2, 10);
+      incremental.setLint(lint);
+      Assert.assertFalse(incremental.isDirty());
+
+      incremental.onInsert(5, 7);
+      Assert.assertEquals(5, incremental.getDirtyStart());
+      Assert.assertEquals(7, incremental.getDirtyEnd());
+      Assert.assertTrue(incremental.canLintPartially());
+
+      JsArray<LintItem> merged = incremental.merge(4, 8, lintOnRows(1));
+      Assert.assertEquals("2,5,12", rows(merged));
+      Assert.assertEquals("row 10", merged.get(2).getText());
+      Assert.assertFalse(incremental.isDirty());
+   }
+
+   public void testRemoveDropsLintInRemovedRows()
+   {
+      IncrementalLint incremental = new IncrementalLint();
+      incremental.setLint(lintOnRows(2, 6, 10));
+
+      incremental.onRemove(4, 7);
+      Assert.assertEquals(4, incremental.getDirtyStart());
+      Assert.assertEquals(4, incremental.getDirtyEnd());
+
+      // the lint from the removed rows is replaced by the region's lint
+      Assert.assertEquals("2,7", rows(incremental.merge(3, 5, JsArray.createArray().cast())));
+   }
+
+   public void testMergeDropsLintOutsideRegion()
+   {
+      IncrementalLint incremental = new IncrementalLint();
+      incremental.setLint(lintOnRows(1, 20));
+      incremental.onInsert(5, 6);
+
+      // rows 4-8 were linted; the items at region rows 7 and 30 (document
+      // rows 11 and 34) can't have come from those rows
+      JsArray<LintItem> merged = incremental.merge(4, 8, lintOnRows(0, 4, 7, 30));
+      Assert.assertEquals("1,4,8,21", rows(merged));
+   }
+
+   public void testDirtyRegionFollowsLaterEdits()
+   {
+      IncrementalLint incremental = new IncrementalLint();
+      incremental.setLint(lintOnRows());
+
+      incremental.onInsert(10, 10);
+      incremental.onInsert(2, 5);
+      Assert.assertEquals(2, incremental.getDirtyStart());
+      Assert.assertEquals(13, incremental.getDirtyEnd());
+
+      incremental.onRemove(0, 1);
+      Assert.assertEquals(0, incremental.getDirtyStart());
+      Assert.assertEquals(12, incremental.getDirtyEnd());
+   }
+
+   public void testFullLintAfterPartialLints()
+   {
+      IncrementalLint incremental = new IncrementalLint(2);
+      incremental.onInsert(1, 1);
+      Assert.assertFalse(incremental.canLintPartially());
+
+      incremental.setLint(lintOnRows(3));
+      for (int i = 0; i < 2; i++)
+      {
+         int generation = incremental.getGeneration();
+         incremental.onInsert(1, 1);
+         Assert.assertTrue(generation != incremental.getGeneration());
+         Assert.assertTrue(incremental.canLintPartially());
+         incremental.merge(0, 1, lintOnRows());
+      }
+
+      incremental.onInsert(1, 1);
+      Assert.assertFalse(incremental.canLintPartially());
+
+      incremental.setLint(lintOnRows(3));
+      incremental.onInsert(1, 1);
+      Assert.assertTrue(incremental.canLintPartially());
+   }
+}
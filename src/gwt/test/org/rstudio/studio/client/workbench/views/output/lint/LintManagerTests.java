@@ -0,0 +1,109 @@
+/*
+ * LintManagerTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.output.lint;
+
+import org.rstudio.studio.client.workbench.views.output.lint.model.LintItem;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Position;
+
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.junit.client.GWTTestCase;
+import junit.framework.Assert;
+
+// LintManager needs the application's injector, so these tests drive the
+// steps it takes for a background lint (merging the partial lint and then
+// adding spelling lint to what's shown) directly.
+public class LintManagerTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private static JsArray<LintItem> lintOnRows(String type, int... rows)
+   {
+      JsArray<LintItem> lint = JsArray.createArray().cast();
+      for (int row : rows)
+         lint.push(LintItem.create(row, 0, row, 4, type + " " + row, type));
+      return lint;
+   }
+
+   private static int countOfType(JsArray<LintItem> lint, String type)
+   {
+      int count = 0;
+      for (int i = 0; i < lint.length(); i++)
+      {
+         if (lint.get(i).getType().equals(type))
+            count++;
+      }
+      return count;
+   }
+
+   // what showLint() passes to the editor, given the lint for the document
+   // and the spelling lint
+   private static JsArray<LintItem> shown(JsArray<LintItem> lint,
+                                          JsArray<LintItem> spelling)
+   {
+      JsArray<LintItem> result = JsArray.createArray().cast();
+      LintManager.appendLint(result, lint, null);
+      LintManager.appendLint(result, spelling, null);
+      return result;
+   }
+
+   // ---- tests start here ----
+
+   public void testSpellingNotKeptAcrossPartialLints()
+   {
+      IncrementalLint incremental = new IncrementalLint();
+      incremental.setLint(lintOnRows("warning", 2, 20));
+
+      for (int i = 0; i < 5; i++)
+      {
+         incremental.onInsert(10, 10);
+         Assert.assertTrue(incremental.canLintPartially());
+
+         JsArray<LintItem> merged =
+               incremental.merge(8, 12, lintOnRows("warning", 1));
+         JsArray<LintItem> shown = shown(merged, lintOnRows("spelling", 3, 15));
+
+         Assert.assertEquals(3, countOfType(shown, "warning"));
+         Assert.assertEquals(2, countOfType(shown, "spelling"));
+      }
+   }
+
+   public void testMergeResultCanBeAddedTo()
+   {
+      IncrementalLint incremental = new IncrementalLint();
+      incremental.setLint(lintOnRows("warning", 2, 20));
+
+      incremental.onInsert(10, 10);
+      JsArray<LintItem> merged = incremental.merge(8, 12, lintOnRows("warning"));
+      LintManager.appendLint(merged, lintOnRows("spelling", 3), null);
+
+      // the next partial lint doesn't see the added item
+      incremental.onInsert(10, 10);
+      merged = incremental.merge(8, 12, lintOnRows("warning"));
+      Assert.assertEquals(2, merged.length());
+      Assert.assertEquals(0, countOfType(merged, "spelling"));
+   }
+
+   public void testAppendLintExcludesPosition()
+   {
+      JsArray<LintItem> target = lintOnRows("spelling", 0);
+      LintManager.appendLint(target, lintOnRows("warning", 2, 5), Position.create(5, 2));
+      Assert.assertEquals(2, target.length());
+      Assert.assertEquals(2, target.get(1).getStartRow());
+   }
+}
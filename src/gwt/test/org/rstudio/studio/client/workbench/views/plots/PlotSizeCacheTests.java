@@ -0,0 +1,96 @@
+/*
+ * PlotSizeCacheTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.plots;
+
+import org.rstudio.core.client.Size;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import junit.framework.Assert;
+
+public class PlotSizeCacheTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   // ---- tests start here ----
+
+   public void testSizesAreBucketed()
+   {
+      PlotSizeCache cache = new PlotSizeCache();
+      cache.put(0, new Size(640, 480), 1.0, "plot_a.png");
+
+      Assert.assertEquals("plot_a.png", cache.get(0, new Size(640, 480), 1.0));
+      Assert.assertEquals("plot_a.png", cache.get(0, new Size(642, 477), 1.0));
+      Assert.assertNull(cache.get(0, new Size(700, 480), 1.0));
+
+      // a different pixel ratio (e.g. after zooming the browser) or plot
+      // needs its own image
+      Assert.assertNull(cache.get(0, new Size(640, 480), 2.0));
+      Assert.assertNull(cache.get(1, new Size(640, 480), 1.0));
+   }
+
+   public void testLeastRecentlyUsedSizeIsDropped()
+   {
+      PlotSizeCache cache = new PlotSizeCache(2);
+      cache.put(0, new Size(400, 300), 1.0, "small.png");
+      cache.put(0, new Size(800, 600), 1.0, "large.png");
+
+      // using the small image makes the large one the oldest
+      Assert.assertEquals("small.png", cache.get(0, new Size(400, 300), 1.0));
+      cache.put(0, new Size(1200, 900), 1.0, "huge.png");
+
+      Assert.assertEquals(2, cache.size(0));
+      Assert.assertNull(cache.get(0, new Size(800, 600), 1.0));
+      Assert.assertEquals("small.png", cache.get(0, new Size(400, 300), 1.0));
+      Assert.assertEquals("huge.png", cache.get(0, new Size(1200, 900), 1.0));
+   }
+
+   public void testCurrentPlot()
+   {
+      PlotSizeCache cache = new PlotSizeCache();
+      cache.put(0, new Size(400, 300), 1.0, "a.png");
+      cache.put(1, new Size(800, 600), 1.0, "b.png");
+      Assert.assertFalse(cache.hasCurrentPlot(new Size(400, 300), 1.0));
+
+      cache.setCurrentPlot(0);
+      Assert.assertTrue(cache.hasCurrentPlot(new Size(403, 298), 1.0));
+      Assert.assertFalse(cache.hasCurrentPlot(new Size(800, 600), 1.0));
+      Assert.assertFalse(cache.hasCurrentPlot(new Size(400, 300), 2.0));
+
+      cache.setCurrentPlot(1);
+      Assert.assertTrue(cache.hasCurrentPlot(new Size(800, 600), 1.0));
+
+      // once the plot changes, the server has to render it again
+      cache.invalidate(1);
+      Assert.assertFalse(cache.hasCurrentPlot(new Size(800, 600), 1.0));
+   }
+
+   public void testInvalidate()
+   {
+      PlotSizeCache cache = new PlotSizeCache();
+      cache.put(0, new Size(400, 300), 1.0, "a.png");
+      cache.put(1, new Size(400, 300), 1.0, "b.png");
+
+      cache.invalidate(0);
+      Assert.assertNull(cache.get(0, new Size(400, 300), 1.0));
+      Assert.assertEquals("b.png", cache.get(1, new Size(400, 300), 1.0));
+
+      cache.clear();
+      Assert.assertEquals(0, cache.size(1));
+   }
+}
@@ -0,0 +1,346 @@
+/*
+ * ScopeTreeSchedulerTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.source.editors.text;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rstudio.studio.client.common.filetypes.FileTypeRegistry;
+import org.rstudio.studio.client.workbench.views.source.editors.text.ace.Position;
+
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.junit.client.GWTTestCase;
+import com.google.gwt.user.client.ui.RootPanel;
+import junit.framework.Assert;
+
+public class ScopeTreeSchedulerTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   private static class FakeParser implements ScopeTreeScheduler.Parser
+   {
+      FakeParser(int rowCount, int priorityRow)
+      {
+         rowCount_ = rowCount;
+         priorityRow_ = priorityRow;
+      }
+
+      @Override
+      public int getRowCount()
+      {
+         return rowCount_;
+      }
+
+      @Override
+      public int getPriorityRow()
+      {
+         return priorityRow_;
+      }
+
+      @Override
+      public int parseUpToRow(int row)
+      {
+         requests_.add(row);
+         if (scheduler_ != null)
+            delays_.add(scheduler_.getSliceDelayMs());
+         return row;
+      }
+
+      @Override
+      public void onParseComplete()
+      {
+         completed_++;
+         if (onComplete_ != null)
+            onComplete_.run();
+      }
+
+      final int rowCount_;
+      int priorityRow_;
+      final List<Integer> requests_ = new ArrayList<>();
+      int completed_ = 0;
+      Runnable onComplete_;
+
+      // the delay each slice was scheduled with, if a scheduler is given
+      ScopeTreeScheduler scheduler_;
+      final List<Integer> delays_ = new ArrayList<>();
+   }
+
+   // checks that each slice up to (and including) the one that reached the
+   // given row ran straight after the one before, and that the rest ran
+   // after a pause; the first slice is deferred rather than scheduled
+   private static void assertPausedAfterRow(FakeParser parser, int row)
+   {
+      Assert.assertEquals(-1, parser.delays_.get(0).intValue());
+      for (int i = 1; i < parser.requests_.size(); i++)
+      {
+         int expected = parser.requests_.get(i) <= row
+               ? 0
+               : ScopeTreeScheduler.IDLE_DELAY_MS;
+         Assert.assertEquals(expected, parser.delays_.get(i).intValue());
+      }
+   }
+
+   // run a command after the scheduler's deferred slice
+   private static void afterSlice(ScheduledCommand command)
+   {
+      Scheduler.get().scheduleDeferred(command);
+   }
+
+   private static boolean hasScope(JsArray<Scope> scopes, String label)
+   {
+      for (int i = 0; i < scopes.length(); i++)
+      {
+         if (label.equals(scopes.get(i).getLabel()))
+            return true;
+         if (hasScope(scopes.get(i).getChildren(), label))
+            return true;
+      }
+      return false;
+   }
+
+   private static String functions(String prefix, int count)
+   {
+      StringBuilder code = new StringBuilder();
+      for (int i = 0; i < count; i++)
+         code.append(prefix).append(i).append(" <- function(x) {\n   x + 1\n}\n\n");
+      return code.toString();
+   }
+
+   // ---- tests start here ----
+
+   public void testFirstSliceIsDeferred()
+   {
+      // with no time budget, each slice builds a single step
+      final FakeParser parser = new FakeParser(1000, 20);
+      final ScopeTreeScheduler scheduler = new ScopeTreeScheduler(parser, 0);
+      scheduler.invalidateFrom(0);
+
+      // nothing is built while the change is being dispatched
+      Assert.assertFalse(scheduler.isReady(0));
+      Assert.assertEquals(0, parser.requests_.size());
+
+      delayTestFinish(5000);
+      afterSlice(() ->
+      {
+         Assert.assertTrue(scheduler.isReady(49));
+         Assert.assertFalse(scheduler.isReady(50));
+         Assert.assertFalse(scheduler.isComplete());
+         Assert.assertEquals(0, parser.completed_);
+         scheduler.cancel();
+         finishTest();
+      });
+   }
+
+   public void testCompletesWithinBudget()
+   {
+      final FakeParser parser = new FakeParser(1000, 20);
+      final ScopeTreeScheduler scheduler = new ScopeTreeScheduler(parser, 1000);
+      scheduler.invalidateFrom(0);
+
+      delayTestFinish(5000);
+      afterSlice(() ->
+      {
+         Assert.assertTrue(scheduler.isComplete());
+         Assert.assertTrue(scheduler.isReady(999));
+         Assert.assertEquals(1, parser.completed_);
+         Assert.assertEquals(1000, parser.requests_.get(parser.requests_.size() - 1).intValue());
+         finishTest();
+      });
+   }
+
+   public void testEditsCoalesceIntoOneSlice()
+   {
+      final FakeParser parser = new FakeParser(1000, 20);
+      final ScopeTreeScheduler scheduler = new ScopeTreeScheduler(parser, 0);
+
+      // e.g. a replace all; the build restarts from the earliest edit, once
+      for (int row = 900; row >= 100; row -= 100)
+         scheduler.invalidateFrom(row);
+      scheduler.invalidateFrom(0);
+
+      delayTestFinish(5000);
+      afterSlice(() ->
+      {
+         Assert.assertEquals(1, parser.requests_.size());
+         Assert.assertEquals(50, parser.requests_.get(0).intValue());
+         scheduler.cancel();
+         finishTest();
+      });
+   }
+
+   public void testInvalidateRestartsFromEditedRow()
+   {
+      final FakeParser parser = new FakeParser(1000, 20);
+      final ScopeTreeScheduler scheduler = new ScopeTreeScheduler(parser, 1000);
+      scheduler.invalidateFrom(0);
+
+      delayTestFinish(5000);
+      afterSlice(() ->
+      {
+         Assert.assertTrue(scheduler.isComplete());
+
+         // rows from the edit on stop being ready straight away
+         parser.requests_.clear();
+         scheduler.invalidateFrom(500);
+         Assert.assertTrue(scheduler.isReady(499));
+         Assert.assertFalse(scheduler.isReady(500));
+
+         afterSlice(() ->
+         {
+            Assert.assertEquals(550, parser.requests_.get(0).intValue());
+            Assert.assertEquals(2, parser.completed_);
+            finishTest();
+         });
+      });
+   }
+
+   public void testBuildsWholeDocumentInSlices()
+   {
+      final FakeParser parser = new FakeParser(500, 120);
+      final ScopeTreeScheduler scheduler = new ScopeTreeScheduler(parser, 0);
+      parser.scheduler_ = scheduler;
+      parser.onComplete_ = () ->
+      {
+         Assert.assertTrue(scheduler.isReady(499));
+         Assert.assertEquals(10, parser.requests_.size());
+         for (int i = 0; i < parser.requests_.size(); i++)
+            Assert.assertEquals((i + 1) * 50, parser.requests_.get(i).intValue());
+
+         // back to back until the slice that builds row 120
+         assertPausedAfterRow(parser, 150);
+         finishTest();
+      };
+
+      delayTestFinish(5000);
+      scheduler.invalidateFrom(0);
+   }
+
+   public void testPriorityRowChangeSkipsPause()
+   {
+      final FakeParser parser = new FakeParser(1000, 20);
+      final ScopeTreeScheduler scheduler = new ScopeTreeScheduler(parser, 0);
+      parser.scheduler_ = scheduler;
+      parser.onComplete_ = () ->
+      {
+         Assert.assertEquals(20, parser.requests_.size());
+
+         // back to back until the slice that builds row 400
+         assertPausedAfterRow(parser, 450);
+         finishTest();
+      };
+
+      delayTestFinish(5000);
+      scheduler.invalidateFrom(0);
+      afterSlice(() ->
+      {
+         // the first slice built the priority row, so the next one waits
+         Assert.assertEquals(1, parser.requests_.size());
+         Assert.assertEquals(ScopeTreeScheduler.IDLE_DELAY_MS,
+                             scheduler.getSliceDelayMs());
+
+         // scroll down; the slice isn't run from the scroll handler itself
+         parser.priorityRow_ = 400;
+         scheduler.onPriorityRowChanged();
+         Assert.assertEquals(1, parser.requests_.size());
+         Assert.assertEquals(0, scheduler.getSliceDelayMs());
+      });
+   }
+
+   public void testPriorityRowChangeWhenAlreadyBuilt()
+   {
+      final FakeParser parser = new FakeParser(1000, 20);
+      final ScopeTreeScheduler scheduler = new ScopeTreeScheduler(parser, 0);
+      scheduler.invalidateFrom(0);
+
+      delayTestFinish(5000);
+      afterSlice(() ->
+      {
+         // still within the rows that have been built; keep pausing
+         parser.priorityRow_ = 30;
+         scheduler.onPriorityRowChanged();
+         Assert.assertEquals(1, parser.requests_.size());
+         Assert.assertEquals(ScopeTreeScheduler.IDLE_DELAY_MS,
+                             scheduler.getSliceDelayMs());
+         scheduler.cancel();
+         finishTest();
+      });
+   }
+
+   public void testPriorityRowChangeWhileSlicePending()
+   {
+      final FakeParser parser = new FakeParser(1000, 20);
+      final ScopeTreeScheduler scheduler = new ScopeTreeScheduler(parser, 0);
+      scheduler.invalidateFrom(0);
+
+      // the deferred slice will see the new priority row anyway
+      parser.priorityRow_ = 400;
+      scheduler.onPriorityRowChanged();
+      Assert.assertEquals(0, parser.requests_.size());
+      Assert.assertEquals(-1, scheduler.getSliceDelayMs());
+
+      delayTestFinish(5000);
+      afterSlice(() ->
+      {
+         Assert.assertEquals(1, parser.requests_.size());
+         Assert.assertEquals(0, scheduler.getSliceDelayMs());
+         scheduler.cancel();
+         finishTest();
+      });
+   }
+
+   // An edit to an R document, through the editor and its code model: the
+   // scope tree must be rebuilt from the code model's updated tokens, so a
+   // function added by the edit shows up once the tree is ready again.
+   public void testRebuildsAfterEditInRDocument()
+   {
+      delayTestFinish(20000);
+      AceEditor.load(() ->
+      {
+         final AceEditor editor = new AceEditor();
+         RootPanel.get().add(editor.asWidget());
+         editor.setFileType(FileTypeRegistry.R);
+         editor.setCode(functions("before", 50) + functions("after", 50), false);
+
+         final HandlerRegistration[] reg = new HandlerRegistration[1];
+         reg[0] = editor.addScopeTreeReadyHandler(ready ->
+         {
+            reg[0].removeHandler();
+            Assert.assertTrue(hasScope(editor.getScopeTree(), "after49"));
+
+            // add a function in the middle of the document
+            int row = editor.getRowCount() / 2;
+            editor.insertCode(Position.create(row, 0), functions("added", 1));
+            Assert.assertFalse(editor.isScopeTreeReady(row));
+            Assert.assertFalse(editor.isScopeTreeReady(editor.getRowCount() - 1));
+
+            editor.addScopeTreeReadyHandler(rebuilt ->
+            {
+               Assert.assertTrue(editor.isScopeTreeReady(editor.getRowCount() - 1));
+               Assert.assertTrue(hasScope(editor.getScopeTree(), "added0"));
+               Assert.assertTrue(hasScope(editor.getScopeTree(), "after49"));
+               RootPanel.get().remove(editor.asWidget());
+               finishTest();
+            });
+         });
+      });
+   }
+}
@@ -0,0 +1,196 @@
+/*
+ * TerminalBufferReloaderTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.terminal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.rstudio.studio.client.server.ServerError;
+import org.rstudio.studio.client.server.ServerRequestCallback;
+import org.rstudio.studio.client.workbench.views.console.model.ProcessBufferChunk;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import junit.framework.Assert;
+
+public class TerminalBufferReloaderTests extends GWTTestCase
+{
+   // Serves a buffer made of the given chunks; requests are held until the
+   // test responds to them, so responses can be delivered in any order.
+   static class FakeSource implements TerminalBufferReloader.ChunkSource
+   {
+      FakeSource(boolean reportCount, String... chunks)
+      {
+         reportCount_ = reportCount;
+         chunks_ = chunks;
+      }
+
+      @Override
+      public void getChunk(int chunk, ServerRequestCallback<ProcessBufferChunk> callback)
+      {
+         requested_.add(chunk);
+         pending_.add(new Object[] { chunk, callback });
+      }
+
+      int pendingCount()
+      {
+         return pending_.size();
+      }
+
+      @SuppressWarnings("unchecked")
+      void respond(int index)
+      {
+         Object[] request = pending_.remove(index);
+         int chunk = (Integer) request[0];
+         boolean inRange = chunk < chunks_.length;
+         ((ServerRequestCallback<ProcessBufferChunk>) request[1]).onResponseReceived(
+               createChunk(
+                     inRange ? chunks_[chunk] : "",
+                     chunk,
+                     reportCount_ ? chunks_.length : -1,
+                     chunk < chunks_.length - 1));
+      }
+
+      void respondAll()
+      {
+         while (!pending_.isEmpty())
+            respond(0);
+      }
+
+      final boolean reportCount_;
+      final String[] chunks_;
+      final List<Integer> requested_ = new ArrayList<>();
+      final List<Object[]> pending_ = new ArrayList<>();
+   }
+
+   static class FakeHost implements TerminalBufferReloader.Host
+   {
+      @Override
+      public void write(String output)
+      {
+         output_.append(output);
+      }
+
+      @Override
+      public void reset()
+      {
+         output_.setLength(0);
+         resets_++;
+      }
+
+      @Override
+      public void onReloadComplete()
+      {
+         complete_ = true;
+      }
+
+      @Override
+      public void onReloadError(ServerError error)
+      {
+         Assert.fail();
+      }
+
+      final StringBuilder output_ = new StringBuilder();
+      int resets_ = 0;
+      boolean complete_ = false;
+   }
+
+   private static native ProcessBufferChunk createChunk(String chunk,
+                                                        int number,
+                                                        int count,
+                                                        boolean more) /*-{
+      var result = { chunk: chunk, chunk_number: number, more_available: more };
+      if (count >= 0)
+         result.chunk_count = count;
+      return result;
+   }-*/;
+
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   // ---- tests start here ----
+
+   public void testSingleChunk()
+   {
+      FakeSource source = new FakeSource(true, "hello");
+      FakeHost host = new FakeHost();
+      TerminalDiagnostics diagnostics = new TerminalDiagnostics();
+      new TerminalBufferReloader(source, host, diagnostics).start();
+
+      source.respondAll();
+      Assert.assertTrue(host.complete_);
+      Assert.assertEquals("hello", host.output_.toString());
+      Assert.assertEquals(1, source.requested_.size());
+      Assert.assertEquals(1, diagnostics.getReloadedChunks());
+      Assert.assertEquals(5, diagnostics.getReloadedBytes());
+   }
+
+   public void testPipelinedOutOfOrder()
+   {
+      FakeSource source = new FakeSource(true, "a", "b", "c", "d", "e");
+      FakeHost host = new FakeHost();
+      new TerminalBufferReloader(source, host, null, 3, 0).start();
+
+      // chunk zero goes out alone, then the next three together
+      source.respond(0);
+      Assert.assertEquals(3, source.pendingCount());
+
+      // a later chunk can't be written before an earlier one
+      source.respond(1);
+      Assert.assertEquals("a", host.output_.toString());
+
+      source.respondAll();
+      Assert.assertTrue(host.complete_);
+      Assert.assertEquals("abcde", host.output_.toString());
+      Assert.assertEquals(0, host.resets_);
+   }
+
+   public void testWithoutChunkCount()
+   {
+      FakeSource source = new FakeSource(false, "a", "b", "c");
+      FakeHost host = new FakeHost();
+      new TerminalBufferReloader(source, host, null, 4, 0).start();
+
+      source.respondAll();
+      Assert.assertTrue(host.complete_);
+      Assert.assertEquals("abc", host.output_.toString());
+   }
+
+   public void testTailFirst()
+   {
+      FakeSource source = new FakeSource(true, "0", "1", "2", "3", "4", "5");
+      FakeHost host = new FakeHost();
+      new TerminalBufferReloader(source, host, null, 2, 2).start();
+
+      source.respond(0);
+
+      // the tail is requested right after chunk zero, and shown as soon as
+      // it arrives
+      Assert.assertEquals(4, (int) source.requested_.get(1));
+      Assert.assertEquals(5, (int) source.requested_.get(2));
+      source.respond(0);
+      source.respond(0);
+      Assert.assertEquals("45", host.output_.toString());
+      Assert.assertFalse(host.complete_);
+
+      // once the scrollback arrives the whole buffer is rewritten in order
+      source.respondAll();
+      Assert.assertTrue(host.complete_);
+      Assert.assertEquals(1, host.resets_);
+      Assert.assertEquals("012345", host.output_.toString());
+   }
+}
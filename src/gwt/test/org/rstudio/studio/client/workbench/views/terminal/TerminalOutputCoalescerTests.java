@@ -0,0 +1,98 @@
+/*
+ * TerminalOutputCoalescerTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.terminal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import junit.framework.Assert;
+
+public class TerminalOutputCoalescerTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   // ---- tests start here ----
+
+   public void testBurstIsMerged()
+   {
+      List<String> writes = new ArrayList<>();
+      TerminalOutputCoalescer coalescer = new TerminalOutputCoalescer(writes::add);
+
+      // the first frame after idle is written right away
+      coalescer.add("one\n", false);
+      Assert.assertEquals(1, writes.size());
+
+      coalescer.add("two\n", false);
+      coalescer.add("three\n", false);
+      Assert.assertEquals(1, writes.size());
+      Assert.assertTrue(coalescer.hasPendingOutput());
+
+      coalescer.flush();
+      Assert.assertEquals(2, writes.size());
+      Assert.assertEquals("two\nthree\n", writes.get(1));
+      Assert.assertFalse(coalescer.hasPendingOutput());
+
+      Assert.assertEquals(3, coalescer.getFramesReceived());
+      Assert.assertEquals(2, coalescer.getFlushCount());
+      Assert.assertEquals(2, coalescer.getMaxFramesMergedPerFlush());
+      Assert.assertEquals(1.5, coalescer.getAverageFramesMergedPerFlush(), 0.001);
+   }
+
+   public void testUrgentOutputFlushesPending()
+   {
+      List<String> writes = new ArrayList<>();
+      TerminalOutputCoalescer coalescer = new TerminalOutputCoalescer(writes::add);
+
+      coalescer.add("a", false);
+      coalescer.add("b", false);
+      coalescer.add("c", true);
+      Assert.assertEquals(2, writes.size());
+      Assert.assertEquals("bc", writes.get(1));
+   }
+
+   public void testPromptFlushesPending()
+   {
+      List<String> writes = new ArrayList<>();
+      TerminalOutputCoalescer coalescer = new TerminalOutputCoalescer(writes::add);
+
+      coalescer.add("a", false);
+      coalescer.add("b\n", false);
+      coalescer.add("user@host:~$ ", false);
+      Assert.assertEquals(2, writes.size());
+      Assert.assertEquals("b\nuser@host:~$ ", writes.get(1));
+
+      coalescer.add("c", false);
+      coalescer.add("Password: ", false);
+      Assert.assertEquals(3, writes.size());
+   }
+
+   public void testByteCap()
+   {
+      List<String> writes = new ArrayList<>();
+      TerminalOutputCoalescer coalescer = new TerminalOutputCoalescer(writes::add, 8);
+
+      coalescer.add("a", false);
+      coalescer.add("1234", false);
+      Assert.assertEquals(1, writes.size());
+      coalescer.add("5678", false);
+      Assert.assertEquals(2, writes.size());
+      Assert.assertEquals("12345678", writes.get(1));
+   }
+}
@@ -0,0 +1,136 @@
+/*
+ * DiffLineSourceTests.java
+ *
+ * Copyright (C) 2025 by Posit Software, PBC
+ *
+ * Unless you have received this program directly from Posit Software pursuant
+ * to the terms of a commercial license agreement with Posit Software, then
+ * this program is licensed to you under the terms of version 3 of the
+ * GNU Affero General Public License. This program is distributed WITHOUT
+ * ANY EXPRESS OR IMPLIED WARRANTY, INCLUDING THOSE OF NON-INFRINGEMENT,
+ * MERCHANTABILITY OR FITNESS FOR A PARTICULAR PURPOSE. Please refer to the
+ * AGPL (http://www.gnu.org/licenses/agpl-3.0.txt) for more details.
+ *
+ */
+package org.rstudio.studio.client.workbench.views.vcs.common.diff;
+
+import java.util.ArrayList;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import junit.framework.Assert;
+
+public class DiffLineSourceTests extends GWTTestCase
+{
+   @Override
+   public String getModuleName()
+   {
+      return "org.rstudio.studio.RStudioTests";
+   }
+
+   // A diff of one file with the given number of chunks, each replacing
+   // one line.
+   private static String createDiff(int chunks)
+   {
+      StringBuilder diff = new StringBuilder();
+      diff.append("diff --git a/file.txt b/file.txt\n");
+      diff.append("--- a/file.txt\n");
+      diff.append("+++ b/file.txt\n");
+      for (int i = 0; i < chunks; i++)
+      {
+         int row = i * 10 + 1;
+         diff.append("@@ -" + row + ",2 +" + row + ",2 @@\n");
+         diff.append(" same " + i + "\n");
+         diff.append("-old " + i + "\n");
+         diff.append("+new " + i + "\n");
+      }
+      return diff.toString();
+   }
+
+   private static DiffLineSource createSource(int chunks)
+   {
+      UnifiedParser parser = new UnifiedParser(createDiff(chunks));
+      parser.nextFilePair();
+      return new DiffLineSource(parser);
+   }
+
+   // ---- tests start here ----
+
+   public void testParsesOnDemand()
+   {
+      DiffLineSource source = createSource(100);
+      Assert.assertEquals(0, source.getRowCount());
+      Assert.assertFalse(source.isComplete());
+
+      // each chunk is a header row plus three lines
+      Assert.assertTrue(source.ensureRows(10));
+      Assert.assertEquals(12, source.getRowCount());
+      Assert.assertEquals(3, source.getChunks().size());
+      Assert.assertFalse(source.isComplete());
+
+      // already available
+      Assert.assertFalse(source.ensureRows(5));
+      Assert.assertEquals(12, source.getRowCount());
+   }
+
+   public void testEstimatedRowCount()
+   {
+      DiffLineSource source = createSource(100);
+      source.ensureRows(40);
+
+      int estimate = source.getEstimatedRowCount();
+      Assert.assertTrue(estimate > 300);
+      Assert.assertTrue(estimate < 500);
+
+      source.parseAll();
+      Assert.assertTrue(source.isComplete());
+      Assert.assertEquals(400, source.getRowCount());
+      Assert.assertEquals(400, source.getEstimatedRowCount());
+      Assert.assertEquals(100, source.getChunks().size());
+   }
+
+   public void testRowsMatchEagerParse()
+   {
+      UnifiedParser parser = new UnifiedParser(createDiff(20));
+      parser.nextFilePair();
+      ArrayList<ChunkOrLine> expected = new ArrayList<>();
+      for (DiffChunk chunk; null != (chunk = parser.nextChunk());)
+         expected.addAll(ChunkOrLine.fromChunk(chunk));
+
+      DiffLineSource source = createSource(20);
+      source.ensureRows(7);
+      source.ensureRows(33);
+      source.parseAll();
+
+      ArrayList<ChunkOrLine> rows = source.getRows();
+      Assert.assertEquals(expected.size(), rows.size());
+      for (int i = 0; i < rows.size(); i++)
+      {
+         ChunkOrLine a = expected.get(i);
+         ChunkOrLine b = rows.get(i);
+         if (a.getLine() == null)
+         {
+            Assert.assertNull(b.getLine());
+            Assert.assertEquals(a.getChunk().getDiffIndex(),
+                                b.getChunk().getDiffIndex());
+         }
+         else
+         {
+            Assert.assertEquals(a.getLine().getText(), b.getLine().getText());
+            Assert.assertEquals(a.getLine().getDiffIndex(),
+                                b.getLine().getDiffIndex());
+         }
+      }
+   }
+
+   public void testParsedRows()
+   {
+      DiffLineSource source = createSource(2);
+      source.parseAll();
+
+      DiffLineSource copy = new DiffLineSource(source.getRows());
+      Assert.assertTrue(copy.isComplete());
+      Assert.assertFalse(copy.ensureRows(100));
+      Assert.assertEquals(8, copy.getRowCount());
+      Assert.assertEquals(2, copy.getChunks().size());
+   }
+}